@@ -98,7 +98,8 @@ public interface AdvancedAchievementsAPI {
 
 	/**
 	 * Retrieves a statistic for a normal category. The underlying implementation of this API method benefits from
-	 * Advanced Achievements caching if method called from the main server thread.
+	 * Advanced Achievements caching if method called from the main server thread. If the statistic is not cached yet,
+	 * the calling thread waits for it to be retrieved from the database, including the main server thread.
 	 *
 	 * @param player should not be null
 	 * @param category should not be null
@@ -109,7 +110,8 @@ public interface AdvancedAchievementsAPI {
 
 	/**
 	 * Retrieves a statistic for a multiple category. The underlying implementation of this API method benefits from
-	 * Advanced Achievements caching if method called from the main server thread.
+	 * Advanced Achievements caching if method called from the main server thread. If the statistic is not cached yet,
+	 * the calling thread waits for it to be retrieved from the database, including the main server thread.
 	 *
 	 * @param player should not be null
 	 * @param category should not be null
@@ -139,7 +141,8 @@ public interface AdvancedAchievementsAPI {
 	Map<UUID, Integer> getPlayersTotalAchievements();
 
 	/**
-	 * Increments the given category for the given player.
+	 * Increments the given category for the given player. If the statistic is not cached yet, it is retrieved from the
+	 * database asynchronously and the achievements are checked once it is available.
 	 *
 	 * @param category should not be null
 	 * @param player should not be null
@@ -149,7 +152,8 @@ public interface AdvancedAchievementsAPI {
 	void incrementCategoryForPlayer(NormalAchievements category, Player player, int valueToAdd);
 
 	/**
-	 * Increments the given category for the given player.
+	 * Increments the given category for the given player. If the statistic is not cached yet, it is retrieved from the
+	 * database asynchronously and the achievements are checked once it is available.
 	 *
 	 * @param category should not be null
 	 * @param subcategory within the main multiple category
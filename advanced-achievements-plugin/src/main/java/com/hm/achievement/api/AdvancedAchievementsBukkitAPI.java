@@ -20,6 +20,7 @@ import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.AbstractDatabaseManager;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.db.Leaderboard;
 import com.hm.achievement.domain.AwardedAchievement;
 import com.hm.achievement.utils.StatisticIncreaseHandler;
 
@@ -34,16 +35,18 @@ public class AdvancedAchievementsBukkitAPI implements AdvancedAchievementsAPI {
 	private final AdvancedAchievements advancedAchievements;
 	private final CacheManager cacheManager;
 	private final AbstractDatabaseManager databaseManager;
+	private final Leaderboard leaderboard;
 	private final StatisticIncreaseHandler statisticIncreaseHandler;
 	private final AchievementMap achievementMap;
 
 	@Inject
 	AdvancedAchievementsBukkitAPI(AdvancedAchievements advancedAchievements, CacheManager cacheManager,
-			AbstractDatabaseManager databaseManager, StatisticIncreaseHandler statisticIncreaseHandler,
-			AchievementMap achievementMap) {
+			AbstractDatabaseManager databaseManager, Leaderboard leaderboard,
+			StatisticIncreaseHandler statisticIncreaseHandler, AchievementMap achievementMap) {
 		this.advancedAchievements = advancedAchievements;
 		this.cacheManager = cacheManager;
 		this.databaseManager = databaseManager;
+		this.leaderboard = leaderboard;
 		this.statisticIncreaseHandler = statisticIncreaseHandler;
 		this.achievementMap = achievementMap;
 	}
@@ -98,6 +101,10 @@ public class AdvancedAchievementsBukkitAPI implements AdvancedAchievementsAPI {
 	@Override
 	public Rank getPlayerRank(UUID player, long rankingPeriodStart) {
 		validateNotNull(player, "Player");
+		if (rankingPeriodStart == 0L && leaderboard.isLoaded()) {
+			int playerRank = leaderboard.getRank(player);
+			return new Rank(playerRank == 0 ? Integer.MAX_VALUE : playerRank, leaderboard.getRankedPlayerCount());
+		}
 		Map<String, Integer> rankings = databaseManager.getTopList(rankingPeriodStart);
 		List<Integer> achievementCounts = new ArrayList<>(rankings.values());
 		Integer achievementsCount = rankings.get(player.toString());
@@ -112,6 +119,10 @@ public class AdvancedAchievementsBukkitAPI implements AdvancedAchievementsAPI {
 
 	@Override
 	public List<UUID> getTopPlayers(int numOfPlayers, long rankingPeriodStart) {
+		if (rankingPeriodStart == 0L && leaderboard.isLoaded()) {
+			return leaderboard.getTopList(numOfPlayers).keySet().stream().map(UUID::fromString)
+					.collect(Collectors.toList());
+		}
 		return databaseManager.getTopList(rankingPeriodStart).keySet().stream().limit(numOfPlayers).map(UUID::fromString)
 				.collect(Collectors.toList());
 	}
@@ -150,7 +161,7 @@ public class AdvancedAchievementsBukkitAPI implements AdvancedAchievementsAPI {
 
 	@Override
 	public Map<UUID, Integer> getPlayersTotalAchievements() {
-		return databaseManager.getPlayersAchievementsAmount();
+		return leaderboard.isLoaded() ? leaderboard.getAchievementCounts() : databaseManager.getPlayersAchievementsAmount();
 	}
 
 	@Override
@@ -158,8 +169,8 @@ public class AdvancedAchievementsBukkitAPI implements AdvancedAchievementsAPI {
 		validateNotNull(category, "category");
 		validateNotNull(player, "player");
 
-		long amount = cacheManager.getAndIncrementStatisticAmount(category, player.getUniqueId(), valueToAdd);
-		statisticIncreaseHandler.checkThresholdsAndAchievements(player, category, amount);
+		cacheManager.incrementStatisticAmount(category, player.getUniqueId(), valueToAdd,
+				amount -> statisticIncreaseHandler.checkThresholdsAndAchievements(player, category, amount));
 	}
 
 	@Override
@@ -169,8 +180,9 @@ public class AdvancedAchievementsBukkitAPI implements AdvancedAchievementsAPI {
 		validateNotEmpty(subcategory, "subcategory");
 		validateNotNull(player, "player");
 
-		long amount = cacheManager.getAndIncrementStatisticAmount(category, subcategory, player.getUniqueId(), valueToAdd);
-		statisticIncreaseHandler.checkThresholdsAndAchievements(player, category, subcategory, amount);
+		cacheManager.incrementStatisticAmount(category, subcategory, player.getUniqueId(), valueToAdd,
+				amount -> statisticIncreaseHandler.checkThresholdsAndAchievements(player, category, subcategory,
+						amount));
 	}
 
 	/**
@@ -83,16 +83,9 @@ public abstract class AbstractRankingCommand extends AbstractCommand {
 
 	@Override
 	public void onExecute(CommandSender sender, String[] args) {
-		if (System.currentTimeMillis() - lastCacheUpdate >= CACHE_EXPIRATION_DELAY) {
-			// Update cached data structures.
-			cachedSortedRankings = databaseManager.getTopList(getRankingStartTime());
-			cachedAchievementCounts = new ArrayList<>(cachedSortedRankings.values());
-			lastCacheUpdate = System.currentTimeMillis();
-		}
-
 		sender.sendMessage(langPeriodAchievement);
 
-		List<String> rankingMessages = getRankingMessages(sender);
+		List<String> rankingMessages = getRankingMessages(sender, getTopRankings(configTopList));
 
 		// If config has top set at less than one page, don't use pagination.
 		if (configTopList < PER_PAGE) {
@@ -104,31 +97,72 @@ public abstract class AbstractRankingCommand extends AbstractCommand {
 		}
 
 		if (sender instanceof Player) {
-			Integer achievementsCount = cachedSortedRankings.get(((Player) sender).getUniqueId().toString());
-			// If not entry in the map, player has not yet received an achievement for this period, not ranked.
-			if (achievementsCount == null) {
+			int playerRank = getPlayerRank(((Player) sender).getUniqueId());
+			// If rank is 0, player has not yet received an achievement for this period, not ranked.
+			if (playerRank == 0) {
 				sender.sendMessage(langNotRanked);
 			} else {
-				// Rank is the first index in the list that has received as many achievements as the player.
-				int playerRank = cachedAchievementCounts.indexOf(achievementsCount) + 1;
 				// Launch effect if player is in top list.
 				if (playerRank <= configTopList) {
 					launchEffects((Player) sender);
 				}
-				sender.sendMessage(
-						langPlayerRank + playerRank + ChatColor.GRAY + "/" + configColor + cachedSortedRankings.size());
+				sender.sendMessage(langPlayerRank + playerRank + ChatColor.GRAY + "/" + configColor
+						+ getRankedPlayerCount());
 			}
 		}
 	}
 
+	/**
+	 * Returns the players with the most achievements over the ranking period, in decreasing order of achievements.
+	 * Rankings are retrieved from the database and cached for {@code CACHE_EXPIRATION_DELAY} milliseconds.
+	 *
+	 * @param limit maximum number of players to include
+	 * @return LinkedHashMap with keys corresponding to player UUIDs and values corresponding to their achievement count
+	 */
+	Map<String, Integer> getTopRankings(int limit) {
+		updateCachedRankings();
+		return cachedSortedRankings;
+	}
+
+	/**
+	 * Returns the rank of a player over the ranking period.
+	 *
+	 * @param player
+	 * @return the rank, starting at 1, or 0 if the player has not received any achievements during the period
+	 */
+	int getPlayerRank(UUID player) {
+		updateCachedRankings();
+		Integer achievementsCount = cachedSortedRankings.get(player.toString());
+		// Rank is the first index in the list that has received as many achievements as the player.
+		return achievementsCount == null ? 0 : cachedAchievementCounts.indexOf(achievementsCount) + 1;
+	}
+
+	/**
+	 * Returns the number of players that have received achievements over the ranking period.
+	 *
+	 * @return the number of ranked players
+	 */
+	int getRankedPlayerCount() {
+		updateCachedRankings();
+		return cachedSortedRankings.size();
+	}
+
+	private void updateCachedRankings() {
+		if (System.currentTimeMillis() - lastCacheUpdate >= CACHE_EXPIRATION_DELAY) {
+			cachedSortedRankings = databaseManager.getTopList(getRankingStartTime());
+			cachedAchievementCounts = new ArrayList<>(cachedSortedRankings.values());
+			lastCacheUpdate = System.currentTimeMillis();
+		}
+	}
+
 	private int getPage(String[] args) {
 		return args.length > 1 && NumberUtils.isDigits(args[1]) ? Integer.parseInt(args[1]) : 1;
 	}
 
-	private List<String> getRankingMessages(CommandSender sender) {
+	private List<String> getRankingMessages(CommandSender sender, Map<String, Integer> topRankings) {
 		List<String> rankingMessages = new ArrayList<>();
 		int currentRank = 1;
-		for (Entry<String, Integer> ranking : cachedSortedRankings.entrySet()) {
+		for (Entry<String, Integer> ranking : topRankings.entrySet()) {
 			String playerName = Bukkit.getOfflinePlayer(UUID.fromString(ranking.getKey())).getName();
 			if (playerName != null) {
 				// Color the name of the player if he is in the top list.
@@ -76,22 +76,25 @@ public class AddCommand extends AbstractParsableCommand {
 			if (args[2].contains(".")) {
 				MultipleAchievements category = MultipleAchievements.getByName(StringUtils.substringBefore(args[2], "."));
 				String subcategory = StringUtils.substringAfter(args[2], ".");
-				long amount = cacheManager.getAndIncrementStatisticAmount(category, subcategory, uuid, valueToAdd);
-				statisticIncreaseHandler.checkThresholdsAndAchievements(player, category, subcategory, amount);
+				cacheManager.incrementStatisticAmount(category, subcategory, uuid, valueToAdd,
+						amount -> statisticIncreaseHandler.checkThresholdsAndAchievements(player, category, subcategory,
+								amount));
 			} else {
 				NormalAchievements category = NormalAchievements.getByName(args[2]);
-				long amount;
 				if (category == NormalAchievements.PLAYEDTIME) {
 					// Thresholds in the configuration are in hours, underlying statistics are millis.
-					valueToAdd = (int) (valueToAdd * MILLIS_PER_HOUR);
-					amount = cacheManager.getAndIncrementStatisticAmount(category, uuid, valueToAdd) / MILLIS_PER_HOUR;
+					cacheManager.incrementStatisticAmount(category, uuid, (int) (valueToAdd * MILLIS_PER_HOUR),
+							amount -> statisticIncreaseHandler.checkThresholdsAndAchievements(player, category,
+									amount / MILLIS_PER_HOUR));
 				} else if (category == NormalAchievements.CONNECTIONS) {
-					amount = databaseManager.getNormalAchievementAmount(uuid, NormalAchievements.CONNECTIONS) + valueToAdd;
+					long amount = databaseManager.getNormalAchievementAmount(uuid, NormalAchievements.CONNECTIONS)
+							+ valueToAdd;
 					databaseManager.updateConnectionInformation(uuid, amount);
+					statisticIncreaseHandler.checkThresholdsAndAchievements(player, category, amount);
 				} else {
-					amount = cacheManager.getAndIncrementStatisticAmount(category, uuid, valueToAdd);
+					cacheManager.incrementStatisticAmount(category, uuid, valueToAdd,
+							amount -> statisticIncreaseHandler.checkThresholdsAndAchievements(player, category, amount));
 				}
-				statisticIncreaseHandler.checkThresholdsAndAchievements(player, category, amount);
 			}
 			sender.sendMessage(StringUtils.replaceEach(langStatisticIncreased, new String[] { "ACH", "AMOUNT", "PLAYER" },
 					new String[] { args[2], args[1], args[3] }));
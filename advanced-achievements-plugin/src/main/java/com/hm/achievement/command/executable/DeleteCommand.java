@@ -14,6 +14,7 @@ import org.bukkit.entity.Player;
 import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.AbstractDatabaseManager;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.db.Leaderboard;
 
 /**
  * Class in charge of handling the /aach delete command, which deletes an achievement from a player.
@@ -28,6 +29,7 @@ public class DeleteCommand extends AbstractParsableCommand {
 
 	private final CacheManager cacheManager;
 	private final AbstractDatabaseManager databaseManager;
+	private final Leaderboard leaderboard;
 	private final AchievementMap achievementMap;
 
 	private String langCheckAchievementFalse;
@@ -37,10 +39,11 @@ public class DeleteCommand extends AbstractParsableCommand {
 	@Inject
 	public DeleteCommand(@Named("main") YamlConfiguration mainConfig, @Named("lang") YamlConfiguration langConfig,
 			StringBuilder pluginHeader, CacheManager cacheManager, AbstractDatabaseManager databaseManager,
-			AchievementMap achievementMap) {
+			Leaderboard leaderboard, AchievementMap achievementMap) {
 		super(mainConfig, langConfig, pluginHeader);
 		this.cacheManager = cacheManager;
 		this.databaseManager = databaseManager;
+		this.leaderboard = leaderboard;
 		this.achievementMap = achievementMap;
 	}
 
@@ -60,11 +63,13 @@ public class DeleteCommand extends AbstractParsableCommand {
 		if (WILDCARD.equals(achievementName)) {
 			cacheManager.removePreviouslyReceivedAchievements(player.getUniqueId(), achievementMap.getAllNames());
 			databaseManager.deleteAllPlayerAchievements(player.getUniqueId());
+			leaderboard.remove(player.getUniqueId());
 			sender.sendMessage(StringUtils.replace(langAllDeleteAchievements, "PLAYER", args[args.length - 1]));
 		} else if (cacheManager.hasPlayerAchievement(player.getUniqueId(), achievementName)) {
 			cacheManager.removePreviouslyReceivedAchievements(player.getUniqueId(),
 					Collections.singletonList(achievementName));
 			databaseManager.deletePlayerAchievement(player.getUniqueId(), achievementName);
+			leaderboard.decrement(player.getUniqueId());
 			sender.sendMessage(StringUtils.replaceEach(langDeleteAchievements, new String[] { "PLAYER", "ACH" },
 					new String[] { args[args.length - 1], achievementName }));
 		} else {
@@ -1,5 +1,7 @@
 package com.hm.achievement.command.executable;
 
+import java.util.Map;
+import java.util.UUID;
 import java.util.logging.Logger;
 
 import javax.inject.Inject;
@@ -9,6 +11,7 @@ import javax.inject.Singleton;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import com.hm.achievement.db.AbstractDatabaseManager;
+import com.hm.achievement.db.Leaderboard;
 import com.hm.achievement.utils.SoundPlayer;
 
 /**
@@ -20,11 +23,29 @@ import com.hm.achievement.utils.SoundPlayer;
 @CommandSpec(name = "top", permission = "top", minArgs = 1, maxArgs = 2)
 public class TopCommand extends AbstractRankingCommand {
 
+	private final Leaderboard leaderboard;
+
 	@Inject
 	public TopCommand(@Named("main") YamlConfiguration mainConfig, @Named("lang") YamlConfiguration langConfig,
 			StringBuilder pluginHeader, Logger logger, int serverVersion, AbstractDatabaseManager databaseManager,
-			SoundPlayer soundPlayer) {
+			Leaderboard leaderboard, SoundPlayer soundPlayer) {
 		super(mainConfig, langConfig, pluginHeader, logger, serverVersion, "top-achievement", databaseManager, soundPlayer);
+		this.leaderboard = leaderboard;
+	}
+
+	@Override
+	Map<String, Integer> getTopRankings(int limit) {
+		return leaderboard.isLoaded() ? leaderboard.getTopList(limit) : super.getTopRankings(limit);
+	}
+
+	@Override
+	int getPlayerRank(UUID player) {
+		return leaderboard.isLoaded() ? leaderboard.getRank(player) : super.getPlayerRank(player);
+	}
+
+	@Override
+	int getRankedPlayerCount() {
+		return leaderboard.isLoaded() ? leaderboard.getRankedPlayerCount() : super.getRankedPlayerCount();
 	}
 
 	@Override
@@ -1,17 +1,22 @@
 package com.hm.achievement.config;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import org.apache.commons.lang3.StringUtils;
+
 import com.hm.achievement.category.Category;
 import com.hm.achievement.category.MultipleAchievements;
 import com.hm.achievement.category.NormalAchievements;
@@ -21,14 +26,22 @@ import com.hm.achievement.utils.StringHelper;
 @Singleton
 public class AchievementMap {
 
+	// Identifier of sub-categories that are neither configured nor interned, no statistics can be cached for them.
+	public static final int UNKNOWN_SUBCATEGORY_ID = -1;
+
 	private final Map<String, Achievement> namesToAchievements = new HashMap<>();
 	private final Map<String, Achievement> sanitisedDisplayNamesToAchievements = new HashMap<>();
 	private final Map<Category, List<Achievement>> categoriesToAchievements = new HashMap<>();
 	private final Map<String, List<Achievement>> categoriesSubcategoriesToAchievements = new HashMap<>();
 	private final Map<Category, Set<String>> categoriesToSubcategories = new HashMap<>();
+	// Never cleared, so that identifiers held by the statistic caches remain valid across reloads.
+	private final Map<MultipleAchievements, SubcategoryIds> subcategoryIds = new EnumMap<>(MultipleAchievements.class);
 
 	@Inject
 	public AchievementMap() {
+		for (MultipleAchievements category : MultipleAchievements.values()) {
+			subcategoryIds.put(category, new SubcategoryIds());
+		}
 	}
 
 	public void put(Achievement achievement) {
@@ -43,6 +56,9 @@ public class AchievementMap {
 		} else if (category instanceof MultipleAchievements) {
 			categoriesSubcategoriesToAchievements
 					.computeIfAbsent(category + "." + achievement.getSubcategory(), c -> new ArrayList<>()).add(achievement);
+			if (achievement.getSubcategory() != null) {
+				subcategoryIds.get(category).intern(achievement.getSubcategory(), true);
+			}
 		}
 	}
 
@@ -90,8 +106,92 @@ public class AchievementMap {
 		return categoriesSubcategoriesToAchievements.keySet();
 	}
 
+	/**
+	 * Returns the dense identifier of a sub-category without interning it. Configured sub-categories are interned when
+	 * achievements are loaded, so that their lookups do not allocate; other sub-categories are only known once
+	 * interned via {@link #internSubcategoryId(MultipleAchievements, String)}, so that arbitrary strings looked up by
+	 * placeholders or API callers are not retained. Sub-categories differing only by whitespace share the same
+	 * identifier. Can be called from any thread.
+	 *
+	 * @param category
+	 * @param subcategory
+	 * @return the identifier of the sub-category, or {@link #UNKNOWN_SUBCATEGORY_ID} if it was never interned
+	 */
+	public int getSubcategoryId(MultipleAchievements category, String subcategory) {
+		return subcategoryIds.get(category).getId(subcategory);
+	}
+
+	/**
+	 * Returns the dense identifier of a sub-category, interning it if it was not already. Identifiers are never
+	 * released, this must therefore only be called for sub-categories whose statistics are cached, for instance ones
+	 * being increased. Can be called from any thread.
+	 *
+	 * @param category
+	 * @param subcategory
+	 * @return the identifier of the sub-category
+	 */
+	public int internSubcategoryId(MultipleAchievements category, String subcategory) {
+		SubcategoryIds categoryIds = subcategoryIds.get(category);
+		int id = categoryIds.getId(subcategory);
+		return id == UNKNOWN_SUBCATEGORY_ID ? categoryIds.intern(subcategory, false) : id;
+	}
+
+	/**
+	 * Returns the sub-category corresponding to an identifier, without whitespace.
+	 *
+	 * @param category
+	 * @param subcategoryId
+	 * @return the sub-category, as stored in the database
+	 */
+	public String getSubcategoryName(MultipleAchievements category, int subcategoryId) {
+		return subcategoryIds.get(category).getName(subcategoryId);
+	}
+
 	private String sanitise(String displayName) {
 		return StringHelper.removeFormattingCodes(displayName).toLowerCase();
 	}
 
+	/**
+	 * Append-only mapping between the sub-categories of a category and consecutive identifiers.
+	 */
+	private static final class SubcategoryIds {
+
+		// Contains the normalised sub-categories in addition to the configured ones as written in the configuration, so
+		// that lookups of configured strings do not need to normalise them again.
+		private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+		// Written before the corresponding identifier is published via the map. Guarded by the instance's monitor.
+		private volatile String[] names = new String[16];
+		private int size;
+
+		private int getId(String subcategory) {
+			Integer id = ids.get(subcategory);
+			if (id == null) {
+				// Only allocates if the sub-category contains whitespace.
+				id = ids.get(StringUtils.deleteWhitespace(subcategory));
+			}
+			return id == null ? UNKNOWN_SUBCATEGORY_ID : id;
+		}
+
+		private String getName(int id) {
+			return names[id];
+		}
+
+		private synchronized int intern(String subcategory, boolean configured) {
+			String normalisedSubcategory = StringUtils.deleteWhitespace(subcategory);
+			Integer id = ids.get(normalisedSubcategory);
+			if (id == null) {
+				id = size++;
+				if (id == names.length) {
+					names = Arrays.copyOf(names, id * 2);
+				}
+				names[id] = normalisedSubcategory;
+				ids.put(normalisedSubcategory, id);
+			}
+			if (configured) {
+				ids.put(subcategory, id);
+			}
+			return id;
+		}
+	}
+
 }
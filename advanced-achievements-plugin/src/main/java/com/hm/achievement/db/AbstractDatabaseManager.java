@@ -8,19 +8,22 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.text.DateFormat;
+import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -31,6 +34,7 @@ import com.hm.achievement.category.MultipleAchievements;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.db.data.AwardedDBAchievement;
 import com.hm.achievement.db.data.ConnectionInformation;
+import com.hm.achievement.db.data.PreloadedPlayerData;
 import com.hm.achievement.exception.PluginLoadError;
 import com.hm.achievement.lifecycle.Reloadable;
 
@@ -48,12 +52,19 @@ public abstract class AbstractDatabaseManager implements Reloadable {
 
 	volatile String prefix;
 
-	// Connection to the database; remains opened and shared.
-	private final AtomicReference<Connection> connectionHolder = new AtomicReference<>();
 	private final DatabaseUpdater databaseUpdater;
+	// Achievement registrations and deletions waiting to be sent to the database.
+	private final Map<UUID, PendingAchievementWrites> pendingAchievementWrites = new ConcurrentHashMap<>();
+	// Achievement registrations and deletions of the batch being written, until its transaction is committed.
+	private final Map<UUID, PendingAchievementWrites> inFlightAchievementWrites = new ConcurrentHashMap<>();
+	// Summed daily achievement counts of players from a given start day to the day before pastDailyTotalsDay.
+	private final Map<String, Map<String, Integer>> pastDailyTotals = new ConcurrentHashMap<>();
+	private final AtomicBoolean pastDailyCountsModified = new AtomicBoolean();
+	private volatile String pastDailyTotalsDay;
 
 	private DateFormat dateFormat;
 	private boolean configBookChronologicalOrder;
+	private boolean configDeltaStatisticWrites;
 	private boolean initialised = false;
 
 	public AbstractDatabaseManager(YamlConfiguration mainConfig, Logger logger, DatabaseUpdater databaseUpdater,
@@ -68,6 +79,7 @@ public abstract class AbstractDatabaseManager implements Reloadable {
 	@Override
 	public void extractConfigurationParameters() {
 		configBookChronologicalOrder = mainConfig.getBoolean("BookChronologicalOrder");
+		configDeltaStatisticWrites = mainConfig.getBoolean("DeltaStatisticWrites");
 		String localeString = mainConfig.getString("DateLocale");
 		boolean dateDisplayTime = mainConfig.getBoolean("DateDisplayTime");
 		Locale locale = new Locale(localeString);
@@ -97,15 +109,14 @@ public abstract class AbstractDatabaseManager implements Reloadable {
 		}
 
 		// Try to establish connection with database; stays opened until explicitly closed by the plugin.
-		if (getConnection() == null) {
-			throw new PluginLoadError("Failed to establish database connection. Please verify your settings in config.yml.");
+		try {
+			openConnections();
+		} catch (SQLException e) {
+			throw new PluginLoadError("Failed to establish database connection. Please verify your settings in config.yml.",
+					e);
 		}
 
-		databaseUpdater.renameExistingTables(this);
-		int size = mainConfig.getInt("TableMaxSizeOfGroupedSubcategories");
-		databaseUpdater.initialiseTables(this, size);
-		databaseUpdater.removeAchievementDescriptions(this);
-		Arrays.stream(MultipleAchievements.values()).forEach(m -> databaseUpdater.updateOldDBColumnSize(this, m, size));
+		databaseUpdater.updateSchema(this, mainConfig.getInt("TableMaxSizeOfGroupedSubcategories"));
 		initialised = true;
 	}
 
@@ -136,38 +147,39 @@ public abstract class AbstractDatabaseManager implements Reloadable {
 			logger.log(Level.SEVERE, "Error while waiting for database write operations to complete:", e);
 			Thread.currentThread().interrupt();
 		} finally {
-			try {
-				Connection connection = connectionHolder.get();
-				if (connection != null) {
-					connection.close();
-				}
-			} catch (SQLException e) {
-				logger.log(Level.SEVERE, "Error while closing connection to the database:", e);
-			}
+			closeConnections();
 		}
 	}
 
 	/**
-	 * Retrieves SQL connection to MySQL, PostgreSQL, H2 or SQLite database.
+	 * Opens the connections to the database; they remain opened until explicitly closed by the plugin.
 	 *
-	 * @return the cached SQL connection or a new one
+	 * @throws SQLException
 	 */
-	Connection getConnection() {
-		Connection currentConnection = connectionHolder.get();
-		try {
-			// Check if Connection was not previously closed.
-			if (currentConnection == null || currentConnection.isClosed()) {
-				Connection newConnection = createConnection();
-				if (!connectionHolder.compareAndSet(currentConnection, newConnection)) {
-					newConnection.close();
-				}
-				return connectionHolder.get();
-			}
-		} catch (SQLException e) {
-			logger.log(Level.SEVERE, "Error while attempting to retrieve a connection to the database:", e);
-		}
-		return currentConnection;
-	}
+	abstract void openConnections() throws SQLException;
+
+	/**
+	 * Retrieves a connection to MySQL, PostgreSQL, H2 or SQLite database, to be used for read operations. The
+	 * connection must be closed once no longer needed.
+	 *
+	 * @return a connection to the database
+	 * @throws SQLException
+	 */
+	abstract Connection getConnection() throws SQLException;
+
+	/**
+	 * Retrieves a connection to MySQL, PostgreSQL, H2 or SQLite database, to be used for write operations. The
+	 * connection must be closed once no longer needed.
+	 *
+	 * @return a connection to the database
+	 * @throws SQLException
+	 */
+	abstract Connection getWriteConnection() throws SQLException;
+
+	/**
+	 * Closes the connections to the database.
+	 */
+	abstract void closeConnections();
 
 	/**
 	 * Creates a new Connection object to the database.
@@ -178,16 +190,25 @@ public abstract class AbstractDatabaseManager implements Reloadable {
 	abstract Connection createConnection() throws SQLException;
 
 	/**
-	 * Gets the list of names of all the achievements of a player.
+	 * Gets the list of names of all the achievements of a player, including the registrations and deletions that have
+	 * not yet been sent to the database.
 	 *
 	 * @param uuid
 	 * @return array list with Name parameters
 	 */
 	public Set<String> getPlayerAchievementNames(UUID uuid) {
+		List<PendingAchievementWrites> earlierWrites = getUnwrittenAchievementWrites(uuid);
+		Set<String> achievementNames = getStoredPlayerAchievementNames(uuid);
+		earlierWrites.forEach(writes -> writes.applyTo(achievementNames));
+		getUnwrittenAchievementWrites(uuid).forEach(writes -> writes.applyTo(achievementNames));
+		return achievementNames;
+	}
+
+	private Set<String> getStoredPlayerAchievementNames(UUID uuid) {
 		return ((SQLReadOperation<Set<String>>) () -> {
 			String sql = "SELECT achievement FROM " + prefix + "achievements WHERE playername = ?";
 			Set<String> achievementNamesList = new HashSet<>();
-			try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+			try (Connection connection = getConnection(); PreparedStatement ps = connection.prepareStatement(sql)) {
 				ps.setString(1, uuid.toString());
 				ps.setFetchSize(1000);
 				try (ResultSet rs = ps.executeQuery()) {
@@ -200,6 +221,44 @@ public abstract class AbstractDatabaseManager implements Reloadable {
 		}).executeOperation("retrieving the names of received achievements");
 	}
 
+	/**
+	 * Gets the reception times of all the achievements of a player in a single query, including the registrations and
+	 * deletions that have not yet been sent to the database.
+	 *
+	 * @param uuid
+	 * @return map from achievement name to reception time in epoch milliseconds
+	 */
+	public Map<String, Long> getPlayerAchievementReceptionTimes(UUID uuid) {
+		List<PendingAchievementWrites> earlierWrites = getUnwrittenAchievementWrites(uuid);
+		Map<String, Long> receptionTimes = ((SQLReadOperation<Map<String, Long>>) () -> {
+			String sql = "SELECT achievement, date FROM " + prefix + "achievements WHERE playername = ?";
+			Map<String, Long> achievementTimes = new HashMap<>();
+			try (Connection connection = getConnection(); PreparedStatement ps = connection.prepareStatement(sql)) {
+				ps.setString(1, uuid.toString());
+				ps.setFetchSize(1000);
+				try (ResultSet rs = ps.executeQuery()) {
+					while (rs.next()) {
+						achievementTimes.put(rs.getString(1), rs.getTimestamp(2).getTime());
+					}
+				}
+			}
+			return achievementTimes;
+		}).executeOperation("retrieving the reception dates of received achievements");
+		earlierWrites.forEach(writes -> writes.applyTo(receptionTimes));
+		getUnwrittenAchievementWrites(uuid).forEach(writes -> writes.applyTo(receptionTimes));
+		return receptionTimes;
+	}
+
+	/**
+	 * Formats a reception time in the same way as the dates retrieved from the database.
+	 *
+	 * @param epochMs
+	 * @return date represented as a string
+	 */
+	public String formatReceptionDate(long epochMs) {
+		return dateFormat.format(new Date(epochMs));
+	}
+
 	/**
 	 * Gets the reception date of a specific achievement.
 	 *
@@ -210,7 +269,7 @@ public abstract class AbstractDatabaseManager implements Reloadable {
 	public String getPlayerAchievementDate(UUID uuid, String achName) {
 		return ((SQLReadOperation<String>) () -> {
 			String sql = "SELECT date FROM " + prefix + "achievements WHERE playername = ? AND achievement = ?";
-			try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+			try (Connection connection = getConnection(); PreparedStatement ps = connection.prepareStatement(sql)) {
 				ps.setString(1, uuid.toString());
 				ps.setString(2, achName);
 				try (ResultSet rs = ps.executeQuery()) {
@@ -233,7 +292,7 @@ public abstract class AbstractDatabaseManager implements Reloadable {
 		return ((SQLReadOperation<Map<UUID, Integer>>) () -> {
 			String sql = "SELECT playername, COUNT(*) FROM " + prefix + "achievements GROUP BY playername";
 			Map<UUID, Integer> achievementAmounts = new HashMap<>();
-			try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+			try (Connection connection = getConnection(); PreparedStatement ps = connection.prepareStatement(sql)) {
 				ps.setFetchSize(1000);
 				try (ResultSet rs = ps.executeQuery()) {
 					while (rs.next()) {
@@ -249,24 +308,22 @@ public abstract class AbstractDatabaseManager implements Reloadable {
 	}
 
 	/**
-	 * Constructs a mapping of players with the most achievements over a given period.
+	 * Constructs a mapping of players with the most achievements over a given period. Periods other than all time are
+	 * computed from the daily achievement counts, the start of the period is therefore rounded down to the beginning of
+	 * its day.
 	 *
 	 * @param start
 	 * @return LinkedHashMap with keys corresponding to player UUIDs and values corresponding to their achievement count
 	 */
 	public Map<String, Integer> getTopList(long start) {
+		if (start > 0L) {
+			return getPeriodTopList(toDay(new Timestamp(start)));
+		}
 		return ((SQLReadOperation<Map<String, Integer>>) () -> {
-			// Either consider all the achievements or only those received after the start date.
-			String sql = start == 0L
-					? "SELECT playername, COUNT(*) FROM " + prefix
-							+ "achievements GROUP BY playername ORDER BY COUNT(*) DESC"
-					: "SELECT playername, COUNT(*) FROM " + prefix
-							+ "achievements WHERE date > ? GROUP BY playername ORDER BY COUNT(*) DESC";
+			String sql = "SELECT playername, COUNT(*) FROM " + prefix
+					+ "achievements GROUP BY playername ORDER BY COUNT(*) DESC";
 			Map<String, Integer> topList = new LinkedHashMap<>();
-			try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
-				if (start > 0L) {
-					ps.setTimestamp(1, new Timestamp(start));
-				}
+			try (Connection connection = getConnection(); PreparedStatement ps = connection.prepareStatement(sql)) {
 				ps.setFetchSize(1000);
 				try (ResultSet rs = ps.executeQuery()) {
 					while (rs.next()) {
@@ -279,22 +336,97 @@ public abstract class AbstractDatabaseManager implements Reloadable {
 	}
 
 	/**
-	 * Registers a new achievement for a player.
+	 * Sums the daily achievement counts of players from a given day onwards. The totals of the days preceding the
+	 * current one do not change as players receive new achievements, they are cached and only today's counts are
+	 * retrieved on subsequent calls.
+	 *
+	 * @param startDay
+	 * @return LinkedHashMap with keys corresponding to player UUIDs and values corresponding to their achievement count
+	 */
+	private Map<String, Integer> getPeriodTopList(String startDay) {
+		String today = LocalDate.now().toString();
+		if (!today.equals(pastDailyTotalsDay)) {
+			pastDailyTotals.clear();
+			pastDailyTotalsDay = today;
+		}
+		Map<String, Integer> totals = new HashMap<>();
+		if (startDay.compareTo(today) < 0) {
+			totals.putAll(pastDailyTotals.computeIfAbsent(startDay, day -> getDailyTotals(day, today)));
+		}
+		if (startDay.compareTo(today) <= 0) {
+			getDailyTotals(today, null).forEach((player, count) -> totals.merge(player, count, Integer::sum));
+		}
+		Map<String, Integer> topList = new LinkedHashMap<>();
+		totals.entrySet().stream().sorted(Entry.<String, Integer> comparingByValue().reversed())
+				.forEachOrdered(e -> topList.put(e.getKey(), e.getValue()));
+		return topList;
+	}
+
+	/**
+	 * Sums the daily achievement counts of players over a range of days.
+	 *
+	 * @param startDay first day of the range
+	 * @param endDay day following the range, or null to only consider the start day
+	 * @return map with keys corresponding to player UUIDs and values corresponding to their achievement count
+	 */
+	private Map<String, Integer> getDailyTotals(String startDay, String endDay) {
+		return ((SQLReadOperation<Map<String, Integer>>) () -> {
+			String sql = endDay == null
+					? "SELECT playername, achievements FROM " + prefix + "daily_achievements WHERE date = ?"
+					: "SELECT playername, SUM(achievements) FROM " + prefix
+							+ "daily_achievements WHERE date >= ? AND date < ? GROUP BY playername";
+			Map<String, Integer> totals = new HashMap<>();
+			try (Connection connection = getConnection(); PreparedStatement ps = connection.prepareStatement(sql)) {
+				ps.setString(1, startDay);
+				if (endDay != null) {
+					ps.setString(2, endDay);
+				}
+				ps.setFetchSize(1000);
+				try (ResultSet rs = ps.executeQuery()) {
+					while (rs.next()) {
+						totals.put(rs.getString(1), rs.getInt(2));
+					}
+				}
+			}
+			return totals;
+		}).executeOperation("computing daily achievement totals");
+	}
+
+	/**
+	 * Clears the cached totals of past days if the daily achievement counts of these days were modified by the last
+	 * committed writes, for instance following deletions.
+	 */
+	void invalidateModifiedPastDailyTotals() {
+		if (pastDailyCountsModified.getAndSet(false)) {
+			pastDailyTotals.clear();
+		}
+	}
+
+	/**
+	 * Returns the day of a timestamp in the server's time zone, in ISO format so that days can be compared
+	 * lexicographically.
+	 *
+	 * @param timestamp
+	 * @return the day as a yyyy-MM-dd string
+	 */
+	static String toDay(Timestamp timestamp) {
+		return timestamp.toLocalDateTime().toLocalDate().toString();
+	}
+
+	/**
+	 * Registers a new achievement for a player. The write is buffered and sent to the database with the next batch of
+	 * cached requests.
 	 *
 	 * @param uuid
 	 * @param achName
 	 * @param epochMs Moment the achievement was registered at.
 	 */
 	public void registerAchievement(UUID uuid, String achName, long epochMs) {
-		((SQLWriteOperation) () -> {
-			String sql = "REPLACE INTO " + prefix + "achievements VALUES (?,?,?)";
-			try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
-				ps.setString(1, uuid.toString());
-				ps.setString(2, achName);
-				ps.setTimestamp(3, new Timestamp(epochMs));
-				ps.execute();
-			}
-		}).executeOperation(writeExecutor, logger, "registering an achievement");
+		pendingAchievementWrites.compute(uuid, (key, writes) -> {
+			PendingAchievementWrites playerWrites = writes == null ? new PendingAchievementWrites() : writes;
+			playerWrites.register(achName, epochMs);
+			return playerWrites;
+		});
 	}
 
 	/**
@@ -308,7 +440,7 @@ public abstract class AbstractDatabaseManager implements Reloadable {
 		return ((SQLReadOperation<Long>) () -> {
 			String dbName = category.toDBName();
 			String sql = "SELECT " + dbName + " FROM " + prefix + dbName + " WHERE playername = ?";
-			try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+			try (Connection connection = getConnection(); PreparedStatement ps = connection.prepareStatement(sql)) {
 				ps.setString(1, uuid.toString());
 				try (ResultSet rs = ps.executeQuery()) {
 					if (rs.next()) {
@@ -333,7 +465,7 @@ public abstract class AbstractDatabaseManager implements Reloadable {
 			String dbName = category.toDBName();
 			String sql = "SELECT " + dbName + " FROM " + prefix + dbName + " WHERE playername = ? AND "
 					+ category.toSubcategoryDBName() + " = ?";
-			try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+			try (Connection connection = getConnection(); PreparedStatement ps = connection.prepareStatement(sql)) {
 				ps.setString(1, uuid.toString());
 				ps.setString(2, subcategory);
 				try (ResultSet rs = ps.executeQuery()) {
@@ -356,7 +488,7 @@ public abstract class AbstractDatabaseManager implements Reloadable {
 		return ((SQLReadOperation<ConnectionInformation>) () -> {
 			String dbName = NormalAchievements.CONNECTIONS.toDBName();
 			String sql = "SELECT " + dbName + ", date FROM " + prefix + dbName + " WHERE playername = ?";
-			try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+			try (Connection connection = getConnection(); PreparedStatement ps = connection.prepareStatement(sql)) {
 				ps.setString(1, uuid.toString());
 				try (ResultSet rs = ps.executeQuery()) {
 					if (rs.next()) {
@@ -368,6 +500,75 @@ public abstract class AbstractDatabaseManager implements Reloadable {
 		}).executeOperation("retrieving a player's connection information");
 	}
 
+	/**
+	 * Retrieves all the statistics, received achievements and connection information of a player. Statistics of
+	 * categories belonging to the same group are retrieved with a single UNION ALL query, so that the whole profile is
+	 * loaded in a handful of database round trips.
+	 *
+	 * @param uuid
+	 * @return the player's data as stored in the database
+	 */
+	public PreloadedPlayerData getPreloadedPlayerData(UUID uuid) {
+		// Names of received achievements are derived from their reception times, retrieved with the same query.
+		return new PreloadedPlayerData(uuid, getNormalAchievementAmounts(uuid), getMultipleAchievementAmounts(uuid),
+				getPlayerAchievementReceptionTimes(uuid), getConnectionInformation(uuid));
+	}
+
+	private Map<NormalAchievements, Long> getNormalAchievementAmounts(UUID uuid) {
+		return ((SQLReadOperation<Map<NormalAchievements, Long>>) () -> {
+			NormalAchievements[] categories = NormalAchievements.values();
+			List<String> selects = new ArrayList<>();
+			for (NormalAchievements category : categories) {
+				// Connections are stored alongside a date and retrieved separately.
+				if (category != NormalAchievements.CONNECTIONS) {
+					String dbName = category.toDBName();
+					selects.add("SELECT " + category.ordinal() + ", " + dbName + " FROM " + prefix + dbName
+							+ " WHERE playername = ?");
+				}
+			}
+			Map<NormalAchievements, Long> statistics = new EnumMap<>(NormalAchievements.class);
+			try (Connection connection = getConnection();
+					PreparedStatement ps = connection.prepareStatement(StringUtils.join(selects, " UNION ALL "))) {
+				for (int i = 1; i <= selects.size(); ++i) {
+					ps.setString(i, uuid.toString());
+				}
+				try (ResultSet rs = ps.executeQuery()) {
+					while (rs.next()) {
+						statistics.put(categories[rs.getInt(1)], rs.getLong(2));
+					}
+				}
+			}
+			return statistics;
+		}).executeOperation("retrieving all Normal statistics of a player");
+	}
+
+	private Map<MultipleAchievements, Map<String, Long>> getMultipleAchievementAmounts(UUID uuid) {
+		return ((SQLReadOperation<Map<MultipleAchievements, Map<String, Long>>>) () -> {
+			MultipleAchievements[] categories = MultipleAchievements.values();
+			List<String> selects = new ArrayList<>();
+			for (MultipleAchievements category : categories) {
+				String dbName = category.toDBName();
+				selects.add("SELECT " + category.ordinal() + ", " + category.toSubcategoryDBName() + ", " + dbName
+						+ " FROM " + prefix + dbName + " WHERE playername = ?");
+			}
+			Map<MultipleAchievements, Map<String, Long>> statistics = new EnumMap<>(MultipleAchievements.class);
+			try (Connection connection = getConnection();
+					PreparedStatement ps = connection.prepareStatement(StringUtils.join(selects, " UNION ALL "))) {
+				for (int i = 1; i <= selects.size(); ++i) {
+					ps.setString(i, uuid.toString());
+				}
+				ps.setFetchSize(1000);
+				try (ResultSet rs = ps.executeQuery()) {
+					while (rs.next()) {
+						statistics.computeIfAbsent(categories[rs.getInt(1)], c -> new HashMap<>()).put(rs.getString(2),
+								rs.getLong(3));
+					}
+				}
+			}
+			return statistics;
+		}).executeOperation("retrieving all Multiple statistics of a player");
+	}
+
 	/**
 	 * Updates a player's number of connections and last connection date.
 	 *
@@ -377,45 +578,44 @@ public abstract class AbstractDatabaseManager implements Reloadable {
 	public void updateConnectionInformation(UUID uuid, long connections) {
 		((SQLWriteOperation) () -> {
 			String sql = "REPLACE INTO " + prefix + NormalAchievements.CONNECTIONS.toDBName() + " VALUES (?,?,?)";
-			try (PreparedStatement writePrep = getConnection().prepareStatement(sql)) {
+			try (Connection connection = getWriteConnection();
+					PreparedStatement writePrep = connection.prepareStatement(sql)) {
 				writePrep.setString(1, uuid.toString());
 				writePrep.setLong(2, connections);
 				writePrep.setString(3, ConnectionInformation.today());
 				writePrep.execute();
 			}
-		}).executeOperation(writeExecutor, logger, "updating connection date and count");
+		}).executeOperation(writeExecutor, connectionWriteKey(uuid), logger,
+				"updating connection date and count");
 	}
 
 	/**
-	 * Deletes an achievement from a player.
+	 * Deletes an achievement from a player. The write is buffered and sent to the database with the next batch of
+	 * cached requests.
 	 *
 	 * @param uuid
 	 * @param achName
 	 */
 	public void deletePlayerAchievement(UUID uuid, String achName) {
-		((SQLWriteOperation) () -> {
-			String sql = "DELETE FROM " + prefix + "achievements WHERE playername = ? AND achievement = ?";
-			try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
-				ps.setString(1, uuid.toString());
-				ps.setString(2, achName);
-				ps.execute();
-			}
-		}).executeOperation(writeExecutor, logger, "deleting an achievement");
+		pendingAchievementWrites.compute(uuid, (key, writes) -> {
+			PendingAchievementWrites playerWrites = writes == null ? new PendingAchievementWrites() : writes;
+			playerWrites.delete(achName);
+			return playerWrites;
+		});
 	}
 
 	/**
-	 * Deletes all achievements from a player.
+	 * Deletes all achievements from a player. The write is buffered and sent to the database with the next batch of
+	 * cached requests.
 	 *
 	 * @param uuid
 	 */
 	public void deleteAllPlayerAchievements(UUID uuid) {
-		((SQLWriteOperation) () -> {
-			String sql = "DELETE FROM " + prefix + "achievements WHERE playername = ?";
-			try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
-				ps.setString(1, uuid.toString());
-				ps.execute();
-			}
-		}).executeOperation(writeExecutor, logger, "deleting all achievements");
+		pendingAchievementWrites.compute(uuid, (key, writes) -> {
+			PendingAchievementWrites playerWrites = writes == null ? new PendingAchievementWrites() : writes;
+			playerWrites.deleteAll();
+			return playerWrites;
+		});
 	}
 
 	/**
@@ -426,16 +626,276 @@ public abstract class AbstractDatabaseManager implements Reloadable {
 	public void clearConnection(UUID uuid) {
 		((SQLWriteOperation) () -> {
 			String sql = "DELETE FROM " + prefix + "connections WHERE playername = '" + uuid + "'";
-			try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+			try (Connection connection = getWriteConnection();
+					PreparedStatement ps = connection.prepareStatement(sql)) {
 				ps.execute();
 			}
-		}).executeOperation(writeExecutor, logger, "clearing connection statistics");
+		}).executeOperation(writeExecutor, connectionWriteKey(uuid), logger,
+				"clearing connection statistics");
+	}
+
+	/**
+	 * Returns the key identifying writes to a player's connection row; a write supersedes pending ones with the same
+	 * key.
+	 *
+	 * @param uuid
+	 * @return the coalescing key
+	 */
+	static String connectionWriteKey(UUID uuid) {
+		return "connections." + uuid;
+	}
+
+	/**
+	 * Returns the achievement registrations and deletions of a player that are not yet committed to the database, in
+	 * the order in which they must be applied: the ones being written by the current batch, followed by a copy of the
+	 * ones buffered since.
+	 *
+	 * The stored achievements must be read after calling this method, and both the returned writes and those returned
+	 * by a second call made after the read must be applied to them: writes committed in the meantime are then part of
+	 * the stored achievements, and applying them again has no effect.
+	 *
+	 * @param uuid
+	 * @return the unwritten changes of the player
+	 */
+	private List<PendingAchievementWrites> getUnwrittenAchievementWrites(UUID uuid) {
+		List<PendingAchievementWrites> unwrittenWrites = new ArrayList<>(2);
+		PendingAchievementWrites inFlightWrites = inFlightAchievementWrites.get(uuid);
+		if (inFlightWrites != null) {
+			unwrittenWrites.add(inFlightWrites);
+		}
+		pendingAchievementWrites.computeIfPresent(uuid, (key, writes) -> {
+			unwrittenWrites.add(writes.copy());
+			return writes;
+		});
+		return unwrittenWrites;
+	}
+
+	/**
+	 * Moves the buffered achievement registrations and deletions to the batch being written to the database. Operations
+	 * buffered from now on are part of the next batch. The drained writes remain visible to the methods retrieving
+	 * received achievements until {@link #completeAchievementWrites()} or {@link #restoreAchievementWrites()} is
+	 * called.
+	 *
+	 * @return the pending writes, keyed by player
+	 */
+	Map<UUID, PendingAchievementWrites> drainPendingAchievementWrites() {
+		// A previous batch that was neither completed nor restored must not be lost.
+		restoreAchievementWrites();
+		for (UUID uuid : pendingAchievementWrites.keySet()) {
+			pendingAchievementWrites.computeIfPresent(uuid, (key, writes) -> {
+				inFlightAchievementWrites.put(key, writes);
+				return null;
+			});
+		}
+		return new HashMap<>(inFlightAchievementWrites);
+	}
+
+	/**
+	 * Forgets about the drained achievement writes, once the transaction containing them has been committed.
+	 */
+	void completeAchievementWrites() {
+		inFlightAchievementWrites.clear();
+	}
+
+	/**
+	 * Puts the drained achievement writes back in front of the ones buffered in the meantime, once writing them has
+	 * been given up, so that they are sent with the next batch.
+	 */
+	void restoreAchievementWrites() {
+		for (Entry<UUID, PendingAchievementWrites> entry : inFlightAchievementWrites.entrySet()) {
+			pendingAchievementWrites.compute(entry.getKey(), (key, laterWrites) -> {
+				// In-flight writes may be read concurrently, the merged writes are therefore built from a copy.
+				PendingAchievementWrites mergedWrites = entry.getValue().copy();
+				if (laterWrites != null) {
+					mergedWrites.append(laterWrites);
+				}
+				return mergedWrites;
+			});
+			// Removed once merged, so that the writes remain visible at all times.
+			inFlightAchievementWrites.remove(entry.getKey());
+		}
+	}
+
+	/**
+	 * Sends achievement registrations and deletions as batches of prepared statements. Deletions of all of a player's
+	 * achievements are sent first, as the other buffered changes of that player were made after them.
+	 *
+	 * @param connection
+	 * @param achievementWrites
+	 * @throws SQLException
+	 */
+	void writeAchievements(Connection connection, Map<UUID, PendingAchievementWrites> achievementWrites)
+			throws SQLException {
+		// Computed before modifying the achievements, as the reception dates being replaced must be known.
+		Map<UUID, Map<String, Integer>> dailyDeltas = computeDailyAchievementDeltas(connection, achievementWrites);
+		String deleteAllSql = "DELETE FROM " + prefix + "achievements WHERE playername = ?";
+		String deleteSql = "DELETE FROM " + prefix + "achievements WHERE playername = ? AND achievement = ?";
+		String registerSql = getUpsertStatement("achievements", "date", "playername", "achievement");
+		try (PreparedStatement deleteAllPs = connection.prepareStatement(deleteAllSql);
+				PreparedStatement deletePs = connection.prepareStatement(deleteSql);
+				PreparedStatement registerPs = connection.prepareStatement(registerSql)) {
+			for (Entry<UUID, PendingAchievementWrites> entry : achievementWrites.entrySet()) {
+				String uuid = entry.getKey().toString();
+				if (entry.getValue().isDeleteAll()) {
+					deleteAllPs.setString(1, uuid);
+					deleteAllPs.addBatch();
+				}
+				for (Entry<String, Long> change : entry.getValue().getAchievementChanges().entrySet()) {
+					if (change.getValue() == null) {
+						deletePs.setString(1, uuid);
+						deletePs.setString(2, change.getKey());
+						deletePs.addBatch();
+					} else {
+						registerPs.setString(1, uuid);
+						registerPs.setString(2, change.getKey());
+						registerPs.setTimestamp(3, new Timestamp(change.getValue()));
+						registerPs.addBatch();
+					}
+				}
+			}
+			deleteAllPs.executeBatch();
+			deletePs.executeBatch();
+			registerPs.executeBatch();
+		}
+		updateDailyAchievementCounts(connection, achievementWrites, dailyDeltas);
+	}
+
+	/**
+	 * Computes the changes to the daily achievement counts resulting from achievement writes, so that the cost of a
+	 * flush does not depend on the number of achievements already received by the players. A registration adds one to
+	 * its reception day, and a deletion or a registration replacing a stored achievement removes one from the stored
+	 * reception day. After a deletion of all of a player's achievements, only the registrations that follow count.
+	 *
+	 * @param connection
+	 * @param achievementWrites
+	 * @return the non-zero changes of the counts, keyed by player and by day
+	 * @throws SQLException
+	 */
+	private Map<UUID, Map<String, Integer>> computeDailyAchievementDeltas(Connection connection,
+			Map<UUID, PendingAchievementWrites> achievementWrites) throws SQLException {
+		String dateSql = "SELECT date FROM " + prefix + "achievements WHERE playername = ? AND achievement = ?";
+		Map<UUID, Map<String, Integer>> dailyDeltas = new HashMap<>();
+		try (PreparedStatement datePs = connection.prepareStatement(dateSql)) {
+			for (Entry<UUID, PendingAchievementWrites> entry : achievementWrites.entrySet()) {
+				Map<String, Integer> playerDeltas = new HashMap<>();
+				boolean deleteAll = entry.getValue().isDeleteAll();
+				for (Entry<String, Long> change : entry.getValue().getAchievementChanges().entrySet()) {
+					if (!deleteAll) {
+						datePs.setString(1, entry.getKey().toString());
+						datePs.setString(2, change.getKey());
+						try (ResultSet rs = datePs.executeQuery()) {
+							Timestamp storedDate = rs.next() ? rs.getTimestamp(1) : null;
+							if (storedDate != null) {
+								playerDeltas.merge(toDay(storedDate), -1, Integer::sum);
+							}
+						}
+					}
+					if (change.getValue() != null) {
+						playerDeltas.merge(toDay(new Timestamp(change.getValue())), 1, Integer::sum);
+					}
+				}
+				playerDeltas.values().removeIf(delta -> delta == 0);
+				dailyDeltas.put(entry.getKey(), playerDeltas);
+			}
+		}
+		return dailyDeltas;
+	}
+
+	/**
+	 * Applies the changes of the daily achievement counts of players whose achievements were modified. The counts of
+	 * players whose achievements were all deleted are cleared first, and days whose count drops to zero are removed.
+	 *
+	 * @param connection
+	 * @param achievementWrites
+	 * @param dailyDeltas
+	 * @throws SQLException
+	 */
+	private void updateDailyAchievementCounts(Connection connection,
+			Map<UUID, PendingAchievementWrites> achievementWrites, Map<UUID, Map<String, Integer>> dailyDeltas)
+			throws SQLException {
+		String today = LocalDate.now().toString();
+		String deleteAllSql = "DELETE FROM " + prefix + "daily_achievements WHERE playername = ?";
+		String incrementSql = getIncrementStatement("daily_achievements", "achievements", "playername", "date");
+		String deleteEmptySql = "DELETE FROM " + prefix
+				+ "daily_achievements WHERE playername = ? AND achievements <= 0";
+		try (PreparedStatement deleteAllPs = connection.prepareStatement(deleteAllSql);
+				PreparedStatement incrementPs = connection.prepareStatement(incrementSql);
+				PreparedStatement deleteEmptyPs = connection.prepareStatement(deleteEmptySql)) {
+			for (Entry<UUID, Map<String, Integer>> entry : dailyDeltas.entrySet()) {
+				String uuid = entry.getKey().toString();
+				if (achievementWrites.get(entry.getKey()).isDeleteAll()) {
+					// The cleared counts are not read, past ones are assumed to have changed.
+					pastDailyCountsModified.set(true);
+					deleteAllPs.setString(1, uuid);
+					deleteAllPs.addBatch();
+				}
+				boolean decremented = false;
+				for (Entry<String, Integer> dailyDelta : entry.getValue().entrySet()) {
+					incrementPs.setString(1, uuid);
+					incrementPs.setString(2, dailyDelta.getKey());
+					incrementPs.setInt(3, dailyDelta.getValue());
+					incrementPs.setInt(4, dailyDelta.getValue());
+					incrementPs.addBatch();
+					decremented |= dailyDelta.getValue() < 0;
+					if (dailyDelta.getKey().compareTo(today) < 0) {
+						pastDailyCountsModified.set(true);
+					}
+				}
+				if (decremented) {
+					deleteEmptyPs.setString(1, uuid);
+					deleteEmptyPs.addBatch();
+				}
+			}
+			deleteAllPs.executeBatch();
+			incrementPs.executeBatch();
+			deleteEmptyPs.executeBatch();
+		}
 	}
 
 	String getPrefix() {
 		return prefix;
 	}
 
+	/**
+	 * Returns a statement inserting a row into a table, or updating its value column if a row with the same key already
+	 * exists. Parameters are the key columns followed by the value column, in the same order as in the table. Defaults
+	 * to the MySQL syntax, other database types override this method with their native construct.
+	 *
+	 * @param table
+	 * @param valueColumn
+	 * @param keyColumns
+	 * @return the upsert statement
+	 */
+	String getUpsertStatement(String table, String valueColumn, String... keyColumns) {
+		return "INSERT INTO " + prefix + table + " VALUES (" + StringUtils.repeat("?", ",", keyColumns.length + 1)
+				+ ") ON DUPLICATE KEY UPDATE " + valueColumn + "=VALUES(" + valueColumn + ")";
+	}
+
+	/**
+	 * Returns a statement inserting a row into a table, or adding an increment to its value column if a row with the
+	 * same key already exists. Parameters are the key columns, the value of the inserted row, and the increment.
+	 * Defaults to the MySQL syntax, which H2 also supports; other database types override this method.
+	 *
+	 * @param table
+	 * @param valueColumn
+	 * @param keyColumns
+	 * @return the increment statement
+	 */
+	String getIncrementStatement(String table, String valueColumn, String... keyColumns) {
+		return "INSERT INTO " + prefix + table + " VALUES (" + StringUtils.repeat("?", ",", keyColumns.length + 1)
+				+ ") ON DUPLICATE KEY UPDATE " + valueColumn + "=" + valueColumn + "+?";
+	}
+
+	/**
+	 * Whether statistics are written to the database as increments rather than absolute values, so that servers
+	 * sharing the same database do not overwrite each other's progress.
+	 *
+	 * @return true if delta writes are enabled
+	 */
+	boolean isDeltaStatisticWrites() {
+		return configDeltaStatisticWrites;
+	}
+
 	/**
 	 * Returns a list of AwardedDBAchievements get by a player.
 	 *
@@ -448,7 +908,7 @@ public abstract class AbstractDatabaseManager implements Reloadable {
 			String sql = "SELECT achievement, date FROM " + prefix + "achievements WHERE playername = ? ORDER BY date "
 					+ (configBookChronologicalOrder ? "ASC" : "DESC");
 			List<AwardedDBAchievement> achievements = new ArrayList<>();
-			try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+			try (Connection connection = getConnection(); PreparedStatement ps = connection.prepareStatement(sql)) {
 				ps.setFetchSize(1000);
 				ps.setString(1, uuid.toString());
 				try (ResultSet rs = ps.executeQuery()) {
@@ -476,7 +936,7 @@ public abstract class AbstractDatabaseManager implements Reloadable {
 				" ORDER BY date DESC LIMIT 1000";
 		return ((SQLReadOperation<List<AwardedDBAchievement>>) () -> {
 			List<AwardedDBAchievement> achievements = new ArrayList<>();
-			try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+			try (Connection connection = getConnection(); PreparedStatement ps = connection.prepareStatement(sql)) {
 				ps.setFetchSize(1000);
 				ps.setString(1, achievementName);
 				try (ResultSet rs = ps.executeQuery()) {
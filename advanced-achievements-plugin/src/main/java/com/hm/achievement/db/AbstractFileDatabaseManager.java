@@ -2,6 +2,9 @@ package com.hm.achievement.db;
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.sql.Connection;
@@ -9,6 +12,9 @@ import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -30,6 +36,11 @@ public class AbstractFileDatabaseManager extends AbstractDatabaseManager {
 	private final AdvancedAchievements advancedAchievements;
 	private final String url;
 	private final String filename;
+	// Connection to the database; remains opened and shared by all operations, file databases being single-writer.
+	private final AtomicReference<Connection> connectionHolder = new AtomicReference<>();
+	// Held by a thread from the moment it retrieves a view of the shared connection until it closes it, so that
+	// operations of other threads do not join a transaction in progress and are not committed or rolled back with it.
+	private final ReentrantLock connectionLock = new ReentrantLock();
 
 	public AbstractFileDatabaseManager(@Named("main") YamlConfiguration mainConfig, Logger logger,
 			DatabaseUpdater databaseUpdater, AdvancedAchievements advancedAchievements,
@@ -62,4 +73,94 @@ public class AbstractFileDatabaseManager extends AbstractDatabaseManager {
 	Connection createConnection() throws SQLException {
 		return DriverManager.getConnection(url);
 	}
+
+	@Override
+	void openConnections() throws SQLException {
+		getOpenedConnection();
+	}
+
+	/**
+	 * Retrieves a view of the shared connection, giving the calling thread exclusive use of the connection until the
+	 * view is closed. Closing the view does not close the shared connection.
+	 *
+	 * @return a view of the shared connection
+	 * @throws SQLException
+	 */
+	@Override
+	Connection getConnection() throws SQLException {
+		connectionLock.lock();
+		try {
+			getOpenedConnection();
+		} catch (SQLException e) {
+			connectionLock.unlock();
+			throw e;
+		}
+		AtomicBoolean released = new AtomicBoolean();
+		return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+				new Class<?>[] { Connection.class },
+				(proxy, method, args) -> invokeOnSharedConnection(proxy, method, args, released));
+	}
+
+	@Override
+	Connection getWriteConnection() throws SQLException {
+		return getConnection();
+	}
+
+	@Override
+	void closeConnections() {
+		try {
+			Connection connection = connectionHolder.get();
+			if (connection != null) {
+				connection.close();
+			}
+		} catch (SQLException e) {
+			logger.log(Level.SEVERE, "Error while closing connection to the database:", e);
+		}
+	}
+
+	/**
+	 * Retrieves the shared connection, opening a new one if it was previously closed.
+	 *
+	 * @return the cached SQL connection or a new one
+	 * @throws SQLException
+	 */
+	private Connection getOpenedConnection() throws SQLException {
+		Connection currentConnection = connectionHolder.get();
+		if (currentConnection == null || currentConnection.isClosed()) {
+			Connection newConnection = createConnection();
+			if (!connectionHolder.compareAndSet(currentConnection, newConnection)) {
+				newConnection.close();
+			}
+			return connectionHolder.get();
+		}
+		return currentConnection;
+	}
+
+	private Object invokeOnSharedConnection(Object proxy, Method method, Object[] args, AtomicBoolean released)
+			throws Throwable {
+		switch (method.getName()) {
+			case "close":
+				// The shared connection remains opened until the plugin is disabled, only the lock is released.
+				if (released.compareAndSet(false, true)) {
+					connectionLock.unlock();
+				}
+				return null;
+			case "isClosed":
+				return released.get() || getOpenedConnection().isClosed();
+			case "abort":
+				// Close the underlying connection, a new one will be opened when next needed.
+				closeConnections();
+				return null;
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			default:
+				try {
+					return method.invoke(getOpenedConnection(), args);
+				} catch (InvocationTargetException e) {
+					throw e.getCause();
+				}
+		}
+	}
 }
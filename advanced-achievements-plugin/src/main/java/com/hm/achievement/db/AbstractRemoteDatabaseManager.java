@@ -8,6 +8,7 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 import javax.inject.Named;
@@ -29,6 +30,10 @@ public class AbstractRemoteDatabaseManager extends AbstractDatabaseManager {
 
 	private final String databaseType;
 
+	// Reads and writes use separate pools, so that slow writes such as statistic flushes do not hold up reads.
+	private volatile ConnectionPool readPool;
+	private volatile ConnectionPool writePool;
+
 	public AbstractRemoteDatabaseManager(@Named("main") YamlConfiguration mainConfig, Logger logger,
 			DatabaseUpdater databaseUpdater, String driverPath, String databaseType, ExecutorService writeExecutor) {
 		super(mainConfig, logger, databaseUpdater, driverPath, writeExecutor);
@@ -51,6 +56,37 @@ public class AbstractRemoteDatabaseManager extends AbstractDatabaseManager {
 				+ databaseUser + "&password=" + databasePassword);
 	}
 
+	@Override
+	void openConnections() throws SQLException {
+		int minSize = mainConfig.getInt("DatabasePoolMinSize");
+		int maxSize = mainConfig.getInt("DatabasePoolMaxSize");
+		long idleTimeoutMillis = TimeUnit.SECONDS.toMillis(mainConfig.getInt("DatabasePoolIdleTimeout"));
+		readPool = new ConnectionPool("read", this::createConnection, logger, minSize, maxSize, idleTimeoutMillis);
+		writePool = new ConnectionPool("write", this::createConnection, logger, minSize, maxSize, idleTimeoutMillis);
+		readPool.fill();
+		writePool.fill();
+	}
+
+	@Override
+	Connection getConnection() throws SQLException {
+		return readPool.getConnection();
+	}
+
+	@Override
+	Connection getWriteConnection() throws SQLException {
+		return writePool.getConnection();
+	}
+
+	@Override
+	void closeConnections() {
+		if (readPool != null) {
+			readPool.shutdown();
+		}
+		if (writePool != null) {
+			writePool.shutdown();
+		}
+	}
+
 	private String getDatabaseAddress() {
 		String databaseAddress = mainConfig.getString("DatabaseAddress");
 		// Attempt to deal with common address mistakes where prefixes such as jdbc: or jdbc:mysql:// are omitted.
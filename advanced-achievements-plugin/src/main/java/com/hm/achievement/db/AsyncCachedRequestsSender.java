@@ -1,24 +1,30 @@
 package com.hm.achievement.db;
 
 import java.sql.BatchUpdateException;
-import java.sql.Statement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.logging.Logger;
 
 import javax.inject.Inject;
 
-import org.apache.commons.lang3.StringUtils;
-
 import com.hm.achievement.category.MultipleAchievements;
 import com.hm.achievement.category.NormalAchievements;
+import com.hm.achievement.exception.UncertainCommitException;
 
 /**
  * Class used to write the modified cached statistics to the database.
- * 
+ *
  * @author Pyves
  *
  */
@@ -27,12 +33,17 @@ public class AsyncCachedRequestsSender implements Runnable {
 	private final Logger logger;
 	private final CacheManager cacheManager;
 	private final AbstractDatabaseManager databaseManager;
+	private final StatisticJournal statisticJournal;
+	private final InvalidationBus invalidationBus;
 
 	@Inject
-	public AsyncCachedRequestsSender(Logger logger, CacheManager cacheManager, AbstractDatabaseManager databaseManager) {
+	public AsyncCachedRequestsSender(Logger logger, CacheManager cacheManager, AbstractDatabaseManager databaseManager,
+			StatisticJournal statisticJournal, InvalidationBus invalidationBus) {
 		this.logger = logger;
 		this.cacheManager = cacheManager;
 		this.databaseManager = databaseManager;
+		this.statisticJournal = statisticJournal;
+		this.invalidationBus = invalidationBus;
 	}
 
 	/**
@@ -47,90 +58,230 @@ public class AsyncCachedRequestsSender implements Runnable {
 
 	/**
 	 * Writes cached statistics to the database, with batched writes for efficiency purposes. If a failure occurs, the
-	 * same queries will be attempted again.
+	 * same queries will be attempted again. Only the statistics of the players queued as dirty by the CacheManager are
+	 * considered, the cost of a flush is therefore proportional to the number of players with modified statistics.
+	 * Lazily incremented statistics of these players are written alongside their other statistics.
+	 *
+	 * Statistics are grouped by table and each group is sent as a single batch of a prepared upsert statement, using
+	 * the native construct of the database type; with delta writes, increments are added to the database values rather
+	 * than overwriting them. Buffered achievement registrations and deletions are sent alongside
+	 * them, and the whole flush is committed in a single transaction. The journal segments holding the collected
+	 * statistics are deleted once the transaction is committed, and the other servers sharing the database are then
+	 * notified of the players whose data was written. The flush is only attempted again if its transaction was rolled
+	 * back, so that deltas are never applied twice. If it is given up, the achievement writes are put back in front of
+	 * the ones buffered in the meantime and the collected deltas are added back to the statistics; if the commit
+	 * itself failed, the deltas may have been applied and the statistics are written as absolute values instead.
+	 *
+	 * Flushes are serialised, as the one performed when the plugin is disabled may overlap with the scheduled one.
 	 */
-	public void sendBatchedRequests() {
-		List<String> batchedRequests = new ArrayList<>();
-		for (MultipleAchievements category : MultipleAchievements.values()) {
-			addRequestsForMultipleCategory(batchedRequests, category);
-		}
-		for (NormalAchievements category : NormalAchievements.values()) {
-			addRequestsForNormalCategory(batchedRequests, category);
-		}
+	public synchronized void sendBatchedRequests() {
+		Map<UUID, PendingAchievementWrites> achievementWrites = databaseManager.drainPendingAchievementWrites();
+		Map<MultipleAchievements, Map<SubcategoryUUID, Long>> multipleValues = new EnumMap<>(MultipleAchievements.class);
+		Map<MultipleAchievements, Map<SubcategoryUUID, Long>> multipleDeltas = new EnumMap<>(MultipleAchievements.class);
+		Map<NormalAchievements, Map<UUID, Long>> normalValues = new EnumMap<>(NormalAchievements.class);
+		Map<NormalAchievements, Map<UUID, Long>> normalDeltas = new EnumMap<>(NormalAchievements.class);
+		// Collected statistics, marked as dirty again if the flush is given up.
+		Map<PlayerStatistics, List<CachedStatistic>> collectedStatistics = new HashMap<>();
+		// Rotate before collecting dirty values, so that the rotated segments only contain values written by this flush.
+		long journalSequence = statisticJournal.rotate(() -> {
+			PlayerStatistics statistics;
+			while ((statistics = cacheManager.getDirtyPlayers().poll()) != null) {
+				// Clear the mark before collecting, so that statistics modified in the meantime queue the player again.
+				statistics.clearDirty();
+				statistics.promoteLazyIncrements();
+				UUID uuid = statistics.getUUID();
+				List<CachedStatistic> playerStatistics = collectedStatistics.computeIfAbsent(statistics,
+						s -> new ArrayList<>());
+				statistics.forEachNormalStatistic((category, statistic) -> collectDirtyValue(statistic, category,
+						uuid, normalValues, normalDeltas, playerStatistics));
+				statistics.forEachMultipleStatistic((category, subcategoryId, statistic) -> collectDirtyValue(
+						statistic, category,
+						new SubcategoryUUID(cacheManager.getSubcategoryName(category, subcategoryId), uuid),
+						multipleValues, multipleDeltas, playerStatistics));
+			}
+		});
+		multipleValues.values().removeIf(Map::isEmpty);
+		multipleDeltas.values().removeIf(Map::isEmpty);
+		normalValues.values().removeIf(Map::isEmpty);
+		normalDeltas.values().removeIf(Map::isEmpty);
 
-		if (!batchedRequests.isEmpty()) {
-			((SQLWriteOperation) () -> {
-				try (Statement st = databaseManager.getConnection().createStatement()) {
-					for (String request : batchedRequests) {
-						st.addBatch(request);
+		Set<UUID> modifiedPlayers = new HashSet<>(achievementWrites.keySet());
+		collectPlayers(multipleValues, SubcategoryUUID::getUUID, modifiedPlayers);
+		collectPlayers(multipleDeltas, SubcategoryUUID::getUUID, modifiedPlayers);
+		collectPlayers(normalValues, uuid -> uuid, modifiedPlayers);
+		collectPlayers(normalDeltas, uuid -> uuid, modifiedPlayers);
+
+		if (!modifiedPlayers.isEmpty()) {
+			boolean[] commitFailed = { false };
+			boolean written = ((SQLWriteOperation) () -> {
+				try (Connection connection = databaseManager.getWriteConnection()) {
+					// Prevent from doing any commits before entire flush is ready.
+					connection.setAutoCommit(false);
+					try {
+						databaseManager.writeAchievements(connection, achievementWrites);
+						// Absolute values are written first, as the deltas of the same statistics were received after.
+						writeValues(connection, multipleValues, normalValues, false);
+						writeValues(connection, multipleDeltas, normalDeltas, true);
+					} catch (BatchUpdateException e) { // Attempt to solve issue #309.
+						// Do not reuse the connection.
+						connection.abort(Runnable::run);
+						throw e;
+					} catch (SQLException e) {
+						connection.rollback();
+						connection.setAutoCommit(true);
+						throw e;
+					}
+					try {
+						connection.commit();
+					} catch (SQLException e) {
+						commitFailed[0] = true;
+						// Do not reuse the connection, the transaction may or may not have been applied.
+						connection.abort(Runnable::run);
+						throw new UncertainCommitException(e);
 					}
-					st.executeBatch();
-				} catch (BatchUpdateException e) { // Attempt to solve issue #309.
-					databaseManager.getConnection().close();
-					throw e;
+					connection.setAutoCommit(true);
 				}
-			}).attemptWrites(logger, "batching statistic updates");
+			}).attemptWrites(logger, "batching statistic and achievement updates");
+			if (written) {
+				databaseManager.completeAchievementWrites();
+				for (List<CachedStatistic> statistics : collectedStatistics.values()) {
+					statistics.forEach(CachedStatistic::completeDatabaseWrite);
+				}
+				databaseManager.invalidateModifiedPastDailyTotals();
+				statisticJournal.truncate(journalSequence);
+				// Published outside of the write operation, so that a failure cannot lead to the deltas being applied
+				// again, and once the connection is released, as the bus may need one of its own.
+				invalidationBus.publish(modifiedPlayers);
+			} else {
+				// Achievement writes are idempotent and can be sent again even if the commit may have been applied.
+				databaseManager.restoreAchievementWrites();
+				abandonStatisticWrites(collectedStatistics, commitFailed[0]);
+			}
+		} else {
+			// No statistics are waiting to be written, the rotated segments are no longer needed.
+			statisticJournal.truncate(journalSequence);
 		}
 	}
 
 	/**
-	 * Adds the database queries to perform for a given Multiple category.
-	 * 
-	 * PostgreSQL has no REPLACE operator. We have to use the INSERT ... ON CONFLICT construct, which is available for
-	 * PostgreSQL 9.5+.
-	 * 
-	 * @param batchedRequests
-	 * @param category
+	 * Sends the values of each table as a batch of prepared upsert statements. Deltas are added to the database values,
+	 * rows that do not exist yet are inserted with the category's default value plus the delta.
+	 *
+	 * @param connection
+	 * @param multipleValues
+	 * @param normalValues
+	 * @param deltas
+	 * @throws SQLException
 	 */
-	private void addRequestsForMultipleCategory(List<String> batchedRequests, MultipleAchievements category) {
-		Map<SubcategoryUUID, CachedStatistic> categoryMap = cacheManager.getHashMap(category);
-		for (Entry<SubcategoryUUID, CachedStatistic> entry : categoryMap.entrySet()) {
-			CachedStatistic statistic = entry.getValue();
-			if (!statistic.isDatabaseConsistent()) {
-				// Set flag before writing to database so that concurrent updates are not wrongly marked as consistent.
-				statistic.prepareDatabaseWrite();
-				UUID uuid = entry.getKey().getUUID();
-				String subcategory = StringUtils.replace(entry.getKey().getSubcategory(), "'", "''");
-				if (databaseManager instanceof PostgreSQLDatabaseManager) {
-					batchedRequests.add("INSERT INTO " + databaseManager.getPrefix() + category.toDBName() + " VALUES ('"
-							+ uuid + "', '" + subcategory + "', " + statistic.getValue() + ") ON CONFLICT (playername, "
-							+ category.toSubcategoryDBName() + ") DO UPDATE SET (" + category.toDBName() + ")=("
-							+ statistic.getValue() + ")");
-				} else {
-					batchedRequests.add("REPLACE INTO " + databaseManager.getPrefix() + category.toDBName() + " VALUES ('"
-							+ uuid + "', '" + subcategory + "', " + statistic.getValue() + ")");
+	private void writeValues(Connection connection,
+			Map<MultipleAchievements, Map<SubcategoryUUID, Long>> multipleValues,
+			Map<NormalAchievements, Map<UUID, Long>> normalValues, boolean deltas) throws SQLException {
+		for (Entry<MultipleAchievements, Map<SubcategoryUUID, Long>> entry : multipleValues.entrySet()) {
+			MultipleAchievements category = entry.getKey();
+			String sql = deltas
+					? databaseManager.getIncrementStatement(category.toDBName(), category.toDBName(), "playername",
+							category.toSubcategoryDBName())
+					: databaseManager.getUpsertStatement(category.toDBName(), category.toDBName(), "playername",
+							category.toSubcategoryDBName());
+			long defaultValue = category == MultipleAchievements.JOBSREBORN ? 1L : 0L;
+			try (PreparedStatement ps = connection.prepareStatement(sql)) {
+				for (Entry<SubcategoryUUID, Long> value : entry.getValue().entrySet()) {
+					ps.setString(1, value.getKey().getUUID().toString());
+					ps.setString(2, value.getKey().getSubcategory());
+					if (deltas) {
+						ps.setLong(3, defaultValue + value.getValue());
+						ps.setLong(4, value.getValue());
+					} else {
+						ps.setLong(3, value.getValue());
+					}
+					ps.addBatch();
+				}
+				ps.executeBatch();
+			}
+		}
+		for (Entry<NormalAchievements, Map<UUID, Long>> entry : normalValues.entrySet()) {
+			NormalAchievements category = entry.getKey();
+			String sql = deltas
+					? databaseManager.getIncrementStatement(category.toDBName(), category.toDBName(), "playername")
+					: databaseManager.getUpsertStatement(category.toDBName(), category.toDBName(), "playername");
+			try (PreparedStatement ps = connection.prepareStatement(sql)) {
+				for (Entry<UUID, Long> value : entry.getValue().entrySet()) {
+					ps.setString(1, value.getKey().toString());
+					ps.setLong(2, value.getValue());
+					if (deltas) {
+						ps.setLong(3, value.getValue());
+					}
+					ps.addBatch();
 				}
+				ps.executeBatch();
 			}
 		}
 	}
 
 	/**
-	 * Adds the database queries to perform for a given Normal category.
-	 * 
-	 * PostgreSQL has no REPLACE operator. We have to use the INSERT ... ON CONFLICT construct, which is available for
-	 * PostgreSQL 9.5+.
-	 * 
-	 * @param batchedRequests
-	 * @param category
+	 * Marks the collected statistics as dirty again once the flush has been given up, so that they are collected by the
+	 * next flush before the journal segments holding them are deleted.
+	 *
+	 * @param collectedStatistics
+	 * @param commitFailed whether the flush may have been committed
 	 */
-	private void addRequestsForNormalCategory(List<String> batchedRequests, NormalAchievements category) {
-		Map<UUID, CachedStatistic> categoryMap = cacheManager.getHashMap(category);
-		for (Entry<UUID, CachedStatistic> entry : categoryMap.entrySet()) {
-			CachedStatistic statistic = entry.getValue();
-			if (!statistic.isDatabaseConsistent()) {
-				// Set flag before writing to database so that concurrent updates are not wrongly marked as consistent.
-				statistic.prepareDatabaseWrite();
-				UUID uuid = entry.getKey();
-				if (databaseManager instanceof PostgreSQLDatabaseManager) {
-					batchedRequests.add("INSERT INTO " + databaseManager.getPrefix() + category.toDBName() + " VALUES ('"
-							+ uuid + "', " + statistic.getValue() + ") ON CONFLICT (playername) DO UPDATE SET ("
-							+ category.toDBName() + ")=(" + statistic.getValue() + ")");
-				} else {
-					batchedRequests.add("REPLACE INTO " + databaseManager.getPrefix() + category.toDBName() + " VALUES ('"
-							+ uuid + "', " + statistic.getValue() + ")");
-				}
+	private void abandonStatisticWrites(Map<PlayerStatistics, List<CachedStatistic>> collectedStatistics,
+			boolean commitFailed) {
+		for (Entry<PlayerStatistics, List<CachedStatistic>> entry : collectedStatistics.entrySet()) {
+			boolean dirty = false;
+			for (CachedStatistic statistic : entry.getValue()) {
+				dirty |= statistic.abandonDatabaseWrite(commitFailed);
+			}
+			if (dirty) {
+				cacheManager.markDirty(entry.getKey());
+			}
+		}
+	}
+
+	/**
+	 * Adds the players corresponding to the keys of the collected values to a set.
+	 *
+	 * @param categoriesToValues
+	 * @param keyUuidMapper
+	 * @param players
+	 */
+	private <C, T> void collectPlayers(Map<C, Map<T, Long>> categoriesToValues, Function<T, UUID> keyUuidMapper,
+			Set<UUID> players) {
+		for (Map<T, Long> values : categoriesToValues.values()) {
+			for (T key : values.keySet()) {
+				players.add(keyUuidMapper.apply(key));
 			}
 		}
 	}
 
+	/**
+	 * Snapshots the write to perform for a statistic of a dirty player, if it is not database consistent, and marks it
+	 * as being written to the database. With delta writes, statistics whose value was set rather than incremented, for
+	 * instance following a reset, are still written as absolute values.
+	 *
+	 * @param statistic
+	 * @param category
+	 * @param key
+	 * @param categoriesToValues absolute values to write, keyed by category and database key
+	 * @param categoriesToDeltas increments to write, keyed by category and database key
+	 * @param collectedStatistics statistics collected for the player
+	 */
+	private <C, T> void collectDirtyValue(CachedStatistic statistic, C category, T key,
+			Map<C, Map<T, Long>> categoriesToValues, Map<C, Map<T, Long>> categoriesToDeltas,
+			List<CachedStatistic> collectedStatistics) {
+		if (statistic.isDatabaseConsistent()) {
+			return;
+		}
+		collectedStatistics.add(statistic);
+		// Set flag before writing to database so that concurrent updates are not wrongly marked as consistent.
+		if (databaseManager.isDeltaStatisticWrites()) {
+			// Maps left empty are removed once all values are collected.
+			statistic.prepareDatabaseDeltaWrite(key, categoriesToValues.computeIfAbsent(category, c -> new HashMap<>()),
+					categoriesToDeltas.computeIfAbsent(category, c -> new HashMap<>()));
+		} else {
+			statistic.prepareDatabaseWrite();
+			categoriesToValues.computeIfAbsent(category, c -> new HashMap<>()).put(key, statistic.getValue());
+		}
+	}
+
 }
@@ -1,24 +1,42 @@
 package com.hm.achievement.db;
 
 import java.util.Collection;
-import java.util.EnumMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Function;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 
 import org.apache.commons.lang3.StringUtils;
 import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.YamlConfiguration;
 
 import com.hm.achievement.AdvancedAchievements;
 import com.hm.achievement.category.MultipleAchievements;
 import com.hm.achievement.category.NormalAchievements;
+import com.hm.achievement.config.AchievementMap;
+import com.hm.achievement.db.data.ConnectionInformation;
+import com.hm.achievement.db.data.PreloadedPlayerData;
+import com.hm.achievement.domain.Achievement;
+import com.hm.achievement.exception.DatabaseReadError;
 import com.hm.achievement.lifecycle.Cleanable;
+import com.hm.achievement.lifecycle.Reloadable;
 
 /**
  * Class used to provide a cache wrapper for various database statistics, in order to reduce load of database and enable
@@ -28,52 +46,84 @@ import com.hm.achievement.lifecycle.Cleanable;
  *
  */
 @Singleton
-public class CacheManager implements Cleanable {
+public class CacheManager implements Cleanable, Reloadable {
 
+	// Time after which a player whose data was preloaded but who did not join, for instance because the login was denied
+	// by another plugin, is considered absent.
+	private static final long PRELOAD_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+	private final YamlConfiguration mainConfig;
+	private final Logger logger;
 	private final AdvancedAchievements advancedAchievements;
+	private final AchievementMap achievementMap;
 	private final AbstractDatabaseManager databaseManager;
-	// Statistics of the different players for normal achievements; keys in the inner maps correspond to UUIDs.
-	private final Map<NormalAchievements, Map<UUID, CachedStatistic>> normalAchievementsToPlayerStatistics;
-	// Statistics of the different players for multiple achievements; keys in the inner maps correspond to concatenated
-	// UUIDs and block/entity/command identifiers.
-	private final Map<MultipleAchievements, Map<SubcategoryUUID, CachedStatistic>> multipleAchievementsToPlayerStatistics;
+	// Cached statistics of the different players, grouped in a single record per player.
+	private final Map<UUID, PlayerStatistics> playerStatistics;
+	// Players with statistics that have become inconsistent with the database since they were last written, so that
+	// flushes do not need to scan the entire cache. A player is only queued when they are not already.
+	private final Queue<PlayerStatistics> dirtyPlayers;
 	// Multimap corresponding to the different achievement names received by players.
 	private final Map<UUID, Set<String>> receivedAchievementsCache;
+	// Reception times of the achievements received by players, keyed by achievement name. Preloaded when players log
+	// in, or loaded asynchronously for the players browsing the category GUIs.
+	private final Map<UUID, Map<String, Long>> receptionTimesCache;
+	// Reception time loads in progress, identified by a token that is dropped if the player's received achievements are
+	// modified in the meantime. Only accessed by the main server thread.
+	private final Map<UUID, Object> receptionTimesLoads;
+	// Position in each list of achievements of the AchievementMap before which all achievements were received, per
+	// player. Lists are compared by identity, a reload therefore implicitly resets the positions.
+	private final Map<UUID, Map<List<Achievement>, Integer>> thresholdCursors;
+	// Connection information retrieved when players log in, consumed once their connection is processed.
+	private final Map<UUID, ConnectionInformation> preloadedConnectionInformation;
+	// Players whose data is being or was preloaded whilst they log in, mapped to the time of the preload, until they
+	// join. Such players are not online yet, but their cached data must not be cleaned.
+	private final Map<UUID, Long> pendingPreloads;
+
+	private boolean configAsyncStatisticLoading;
 
 	@Inject
-	public CacheManager(AdvancedAchievements advancedAchievements, AbstractDatabaseManager databaseManager) {
+	public CacheManager(@Named("main") YamlConfiguration mainConfig, Logger logger,
+			AdvancedAchievements advancedAchievements, AchievementMap achievementMap,
+			AbstractDatabaseManager databaseManager) {
+		this.mainConfig = mainConfig;
+		this.logger = logger;
 		this.advancedAchievements = advancedAchievements;
+		this.achievementMap = achievementMap;
 		this.databaseManager = databaseManager;
-		normalAchievementsToPlayerStatistics = new EnumMap<>(NormalAchievements.class);
-		multipleAchievementsToPlayerStatistics = new EnumMap<>(MultipleAchievements.class);
+		// ConcurrentHashMaps are necessary to guarantee thread safety.
+		playerStatistics = new ConcurrentHashMap<>();
+		dirtyPlayers = new ConcurrentLinkedQueue<>();
 		receivedAchievementsCache = new ConcurrentHashMap<>();
+		receptionTimesCache = new ConcurrentHashMap<>();
+		receptionTimesLoads = new HashMap<>();
+		thresholdCursors = new ConcurrentHashMap<>();
+		preloadedConnectionInformation = new ConcurrentHashMap<>();
+		pendingPreloads = new ConcurrentHashMap<>();
+	}
 
-		// ConcurrentHashMaps are necessary to guarantee thread safety.
-		for (NormalAchievements normalAchievement : NormalAchievements.values()) {
-			normalAchievementsToPlayerStatistics.put(normalAchievement, new ConcurrentHashMap<>());
-		}
-		for (MultipleAchievements multipleAchievement : MultipleAchievements.values()) {
-			multipleAchievementsToPlayerStatistics.put(multipleAchievement, new ConcurrentHashMap<>());
-		}
+	@Override
+	public void extractConfigurationParameters() {
+		configAsyncStatisticLoading = mainConfig.getBoolean("AsyncStatisticLoading");
+		// Achievement lists have been rebuilt, cursors to the former ones would never be used again.
+		thresholdCursors.clear();
 	}
 
 	@Override
 	public void cleanPlayerData() {
-		receivedAchievementsCache.keySet().removeIf(player -> !Bukkit.getOfflinePlayer(player).isOnline());
+		long now = System.currentTimeMillis();
+		pendingPreloads.values().removeIf(preloadTime -> now - preloadTime > PRELOAD_TIMEOUT_MILLIS);
+		receivedAchievementsCache.keySet().removeIf(this::isAbsent);
+		receptionTimesCache.keySet().removeIf(this::isAbsent);
+		receptionTimesLoads.keySet().removeIf(this::isAbsent);
+		thresholdCursors.keySet().removeIf(this::isAbsent);
+		preloadedConnectionInformation.keySet().removeIf(this::isAbsent);
 
 		// Indicate to the relevant cached statistics that the player has disconnected.
-		for (MultipleAchievements category : MultipleAchievements.values()) {
-			for (Entry<SubcategoryUUID, CachedStatistic> cachedEntry : getHashMap(category).entrySet()) {
-				if (!Bukkit.getOfflinePlayer(cachedEntry.getKey().getUUID()).isOnline()) {
-					cachedEntry.getValue().signalPlayerDisconnection();
-				}
-			}
-		}
-		for (NormalAchievements category : NormalAchievements.values()) {
-			for (Entry<UUID, CachedStatistic> cachedEntry : getHashMap(category).entrySet()) {
-				if (!Bukkit.getOfflinePlayer(cachedEntry.getKey()).isOnline()) {
-					cachedEntry.getValue().signalPlayerDisconnection();
-				}
+		for (PlayerStatistics statistics : playerStatistics.values()) {
+			if (isAbsent(statistics.getUUID())) {
+				// Statistics are only dropped once written, lazy increments must therefore be written first.
+				promoteLazyIncrements(statistics);
+				statistics.signalPlayerDisconnection();
 			}
 		}
 	}
@@ -83,28 +133,18 @@ public class CacheManager implements Cleanable {
 	 * connected. Can be called from an asyncrhonous thread.
 	 */
 	public void cleanStaleCaches() {
-		for (MultipleAchievements category : MultipleAchievements.values()) {
-			cleanStaleCache(getHashMap(category), SubcategoryUUID::getUUID);
-		}
-		for (NormalAchievements category : NormalAchievements.values()) {
-			cleanStaleCache(getHashMap(category), uuid -> uuid);
-		}
-	}
-
-	private <T> void cleanStaleCache(Map<T, CachedStatistic> categoryMap, Function<T, UUID> keyUuidMapper) {
-		for (Entry<T, CachedStatistic> entry : categoryMap.entrySet()) {
-			T key = entry.getKey();
-			UUID uuid = keyUuidMapper.apply(key);
-			CachedStatistic statistic = entry.getValue();
-			if (statistic.didPlayerDisconnect() && statistic.isDatabaseConsistent()) {
-				// Player was disconnected at some point in the recent past delegate cleaning to the main server thread.
+		for (PlayerStatistics statistics : playerStatistics.values()) {
+			if ((statistics.didPlayerDisconnect() || statistics.isInvalidated()) && statistics.isDatabaseConsistent()) {
+				// Player was disconnected at some point in the recent past or statistics were modified by another
+				// server: delegate cleaning to the main server thread.
 				Bukkit.getScheduler().callSyncMethod(advancedAchievements, () -> {
-					// Check again whether statistic has been written to the database. This is necessary to cover
-					// cases where the player may have reconnected in the meantime.
-					if (statistic.isDatabaseConsistent()) {
-						categoryMap.remove(key);
-					} else if (Bukkit.getPlayer(uuid) != null) {
-						statistic.resetDisconnection();
+					// Check again whether statistics have been written to the database and whether the player is still
+					// absent. This is necessary to cover cases where the player may have reconnected in the meantime.
+					boolean absent = isAbsent(statistics.getUUID());
+					if (statistics.isDatabaseConsistent() && (absent || statistics.isInvalidated())) {
+						playerStatistics.remove(statistics.getUUID(), statistics);
+					} else if (!absent) {
+						statistics.resetDisconnection();
 					}
 					return null;
 				});
@@ -113,28 +153,148 @@ public class CacheManager implements Cleanable {
 	}
 
 	/**
-	 * Retrieves a HashMap for a NormalAchievement based on the category.
+	 * Indicates that a player has joined the server, so that their cached data, including the data preloaded whilst
+	 * they were logging in, is no longer considered as belonging to a disconnected player. Must be called from the main
+	 * server thread.
+	 *
+	 * @param player
+	 */
+	public void handlePlayerJoin(UUID player) {
+		pendingPreloads.remove(player);
+		PlayerStatistics statistics = playerStatistics.get(player);
+		if (statistics != null) {
+			statistics.resetDisconnection();
+		}
+	}
+
+	/**
+	 * Returns whether a player is neither online nor logging in with preloaded data.
+	 *
+	 * @param player
+	 * @return true if the player's cached data can be cleaned
+	 */
+	private boolean isAbsent(UUID player) {
+		return !pendingPreloads.containsKey(player) && !Bukkit.getOfflinePlayer(player).isOnline();
+	}
+
+	/**
+	 * Drops the cached data of players whose data was written to the database by another server, so that it is
+	 * retrieved again when next needed. Statistics holding values not yet written to the database are kept, and are
+	 * dropped by {@link #cleanStaleCaches()} once written. Must be called from the main server thread.
+	 *
+	 * @param players
+	 */
+	public void invalidatePlayers(Set<UUID> players) {
+		receivedAchievementsCache.keySet().removeAll(players);
+		receptionTimesCache.keySet().removeAll(players);
+		receptionTimesLoads.keySet().removeAll(players);
+		thresholdCursors.keySet().removeAll(players);
+		for (UUID player : players) {
+			PlayerStatistics statistics = playerStatistics.get(player);
+			if (statistics != null) {
+				promoteLazyIncrements(statistics);
+				if (statistics.removeDatabaseConsistentStatistics()) {
+					playerStatistics.remove(player, statistics);
+				} else {
+					statistics.invalidate();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Retrieves the cached statistics of a player.
+	 *
+	 * @param player
+	 * @return the statistics of the player, or null if none are cached
+	 */
+	public PlayerStatistics getPlayerStatistics(UUID player) {
+		return playerStatistics.get(player);
+	}
+
+	/**
+	 * Retrieves the cached statistics of a player, creating an empty record if none are cached.
+	 *
+	 * @param player
+	 * @return the statistics of the player
+	 */
+	public PlayerStatistics getOrCreatePlayerStatistics(UUID player) {
+		PlayerStatistics statistics = playerStatistics.get(player);
+		return statistics == null ? playerStatistics.computeIfAbsent(player, PlayerStatistics::new) : statistics;
+	}
+
+	/**
+	 * Queues a player for the next database flush, following a statistic becoming dirty.
+	 *
+	 * @param statistics
+	 */
+	public void markDirty(PlayerStatistics statistics) {
+		if (statistics.markDirty()) {
+			dirtyPlayers.add(statistics);
+		}
+	}
+
+	/**
+	 * Queues the players with lazily incremented statistics for the next database flush, for instance before the plugin
+	 * is disabled.
+	 */
+	public void promoteLazyIncrements() {
+		playerStatistics.values().forEach(this::promoteLazyIncrements);
+	}
+
+	private void promoteLazyIncrements(PlayerStatistics statistics) {
+		if (statistics.promoteLazyIncrements()) {
+			markDirty(statistics);
+		}
+	}
+
+	/**
+	 * Retrieves the queue of players whose statistics may need to be written to the database.
+	 *
+	 * @return the queue of dirty players
+	 */
+	public Queue<PlayerStatistics> getDirtyPlayers() {
+		return dirtyPlayers;
+	}
+
+	/**
+	 * Returns the identifier of a sub-category, used to look up statistics of multiple categories without allocating.
+	 *
+	 * @param category
+	 * @param subcategory
+	 * @return the interned identifier of the sub-category, or {@link AchievementMap#UNKNOWN_SUBCATEGORY_ID}
+	 */
+	public int getSubcategoryId(MultipleAchievements category, String subcategory) {
+		return achievementMap.getSubcategoryId(category, subcategory);
+	}
+
+	/**
+	 * Returns the identifier of a sub-category, interning it if needed so that its statistic can be cached.
 	 *
 	 * @param category
-	 * @return the map of cached statistics for a Normal category
+	 * @param subcategory
+	 * @return the interned identifier of the sub-category
 	 */
-	public Map<UUID, CachedStatistic> getHashMap(NormalAchievements category) {
-		return normalAchievementsToPlayerStatistics.get(category);
+	public int internSubcategoryId(MultipleAchievements category, String subcategory) {
+		return achievementMap.internSubcategoryId(category, subcategory);
 	}
 
 	/**
-	 * Retrieves a HashMap for a MultipleAchievement based on the category.
+	 * Returns the sub-category corresponding to an identifier, as stored in the database.
 	 *
 	 * @param category
-	 * @return the map of cached statistics for a Multiple category
+	 * @param subcategoryId
+	 * @return the sub-category without whitespace
 	 */
-	public Map<SubcategoryUUID, CachedStatistic> getHashMap(MultipleAchievements category) {
-		return multipleAchievementsToPlayerStatistics.get(category);
+	public String getSubcategoryName(MultipleAchievements category, int subcategoryId) {
+		return achievementMap.getSubcategoryName(category, subcategoryId);
 	}
 
 	/**
 	 * Increases the statistic for a NormalAchievement by the given value and returns the updated statistic value. Calls
-	 * the database if not found in the cache.
+	 * the database if not found in the cache, and waits for the statistic to be loaded if it is being retrieved
+	 * asynchronously. When asynchronous loading is enabled, callers on the main server thread should use
+	 * {@link #incrementStatisticAmount(NormalAchievements, UUID, int, LongConsumer)} instead.
 	 *
 	 * @param category
 	 * @param player
@@ -142,21 +302,27 @@ public class CacheManager implements Cleanable {
 	 * @return the updated statistic value
 	 */
 	public long getAndIncrementStatisticAmount(NormalAchievements category, UUID player, int value) {
-		Map<UUID, CachedStatistic> cache = getHashMap(category);
-		CachedStatistic statistic = cache.get(player);
+		PlayerStatistics statistics = getOrCreatePlayerStatistics(player);
+		CachedStatistic statistic = statistics.get(category);
 		if (statistic == null) {
-			statistic = new CachedStatistic(databaseManager.getNormalAchievementAmount(player, category), true);
-			cache.put(player, statistic);
+			// Query the database outside of the statistics' lock, and keep any statistic added in the meantime.
+			long databaseValue = databaseManager.getNormalAchievementAmount(player, category);
+			statistic = statistics.computeIfAbsent(category, () -> new CachedStatistic(databaseValue, true));
+		}
+		if (statistic.awaitLoad()) {
+			markDirty(statistics);
 		}
-		if (value != 0) {
-			statistic.setValue(statistic.getValue() + value);
+		if (value != 0 && statistic.increment(value)) {
+			markDirty(statistics);
 		}
 		return statistic.getValue();
 	}
 
 	/**
 	 * Increases the statistic for a MultipleAchievement by the given value and returns the updated statistic value.
-	 * Calls the database if not found in the cache.
+	 * Calls the database if not found in the cache, see
+	 * {@link #getAndIncrementStatisticAmount(NormalAchievements, UUID, int)}. Statistics of unknown sub-categories that
+	 * are only read are not cached.
 	 *
 	 * @param category
 	 * @param subcategory
@@ -165,20 +331,302 @@ public class CacheManager implements Cleanable {
 	 * @return the updated statistic value
 	 */
 	public long getAndIncrementStatisticAmount(MultipleAchievements category, String subcategory, UUID player, int value) {
-		SubcategoryUUID key = new SubcategoryUUID(subcategory, player);
-		Map<SubcategoryUUID, CachedStatistic> cache = getHashMap(category);
-		CachedStatistic statistic = cache.get(key);
+		int subcategoryId = getSubcategoryId(category, subcategory);
+		if (subcategoryId == AchievementMap.UNKNOWN_SUBCATEGORY_ID) {
+			if (value == 0) {
+				return databaseManager.getMultipleAchievementAmount(player, category,
+						StringUtils.deleteWhitespace(subcategory));
+			}
+			subcategoryId = internSubcategoryId(category, subcategory);
+		}
+		return getAndIncrementStatisticAmount(category, subcategoryId, player, value);
+	}
+
+	/**
+	 * Increases the statistic for a MultipleAchievement by the given value and returns the updated statistic value.
+	 * Calls the database if not found in the cache, see
+	 * {@link #getAndIncrementStatisticAmount(NormalAchievements, UUID, int)}.
+	 *
+	 * @param category
+	 * @param subcategoryId
+	 * @param player
+	 * @param value
+	 * @return the updated statistic value
+	 */
+	public long getAndIncrementStatisticAmount(MultipleAchievements category, int subcategoryId, UUID player,
+			int value) {
+		PlayerStatistics statistics = getOrCreatePlayerStatistics(player);
+		CachedStatistic statistic = statistics.get(category, subcategoryId);
 		if (statistic == null) {
-			statistic = new CachedStatistic(databaseManager.getMultipleAchievementAmount(player, category,
-					key.getSubcategory()), true);
-			cache.put(key, statistic);
+			long databaseValue = databaseManager.getMultipleAchievementAmount(player, category,
+					getSubcategoryName(category, subcategoryId));
+			statistic = statistics.computeIfAbsent(category, subcategoryId,
+					() -> new CachedStatistic(databaseValue, true));
+		}
+		if (statistic.awaitLoad()) {
+			markDirty(statistics);
 		}
-		if (value != 0) {
-			statistic.setValue(statistic.getValue() + value);
+		if (value != 0 && statistic.increment(value)) {
+			markDirty(statistics);
 		}
 		return statistic.getValue();
 	}
 
+	/**
+	 * Increases the statistic for a NormalAchievement by the given value and passes the updated statistic value to the
+	 * consumer. If asynchronous loading is enabled and the statistic is not cached, it is retrieved from the database
+	 * without blocking the main server thread: the increment is buffered and the consumer is called once the database
+	 * value is known.
+	 *
+	 * @param category
+	 * @param player
+	 * @param value
+	 * @param valueConsumer
+	 */
+	public void incrementStatisticAmount(NormalAchievements category, UUID player, int value,
+			LongConsumer valueConsumer) {
+		if (!configAsyncStatisticLoading) {
+			valueConsumer.accept(getAndIncrementStatisticAmount(category, player, value));
+			return;
+		}
+		PlayerStatistics statistics = getOrCreatePlayerStatistics(player);
+		CachedStatistic statistic = statistics.get(category);
+		if (statistic == null) {
+			// Only create the capturing lambdas when the statistic is missing, so that increments do not allocate.
+			statistic = statistics.computeIfAbsent(category,
+					() -> loadAsynchronously(statistics, s -> statistics.remove(category, s),
+							() -> databaseManager.getNormalAchievementAmount(player, category)));
+		}
+		incrementStatistic(statistic, statistics, value, valueConsumer);
+	}
+
+	/**
+	 * Increases the statistic for a MultipleAchievement by the given value and passes the updated statistic value to
+	 * the consumer. If asynchronous loading is enabled and the statistic is not cached, it is retrieved from the
+	 * database without blocking the main server thread: the increment is buffered and the consumer is called once the
+	 * database value is known.
+	 *
+	 * @param category
+	 * @param subcategory
+	 * @param player
+	 * @param value
+	 * @param valueConsumer
+	 */
+	public void incrementStatisticAmount(MultipleAchievements category, String subcategory, UUID player, int value,
+			LongConsumer valueConsumer) {
+		incrementStatisticAmount(category, internSubcategoryId(category, subcategory), player, value, valueConsumer);
+	}
+
+	/**
+	 * Increases the statistic for a MultipleAchievement by the given value and passes the updated statistic value to
+	 * the consumer, see {@link #incrementStatisticAmount(MultipleAchievements, String, UUID, int, LongConsumer)}.
+	 *
+	 * @param category
+	 * @param subcategoryId
+	 * @param player
+	 * @param value
+	 * @param valueConsumer
+	 */
+	public void incrementStatisticAmount(MultipleAchievements category, int subcategoryId, UUID player, int value,
+			LongConsumer valueConsumer) {
+		if (!configAsyncStatisticLoading) {
+			valueConsumer.accept(getAndIncrementStatisticAmount(category, subcategoryId, player, value));
+			return;
+		}
+		PlayerStatistics statistics = getOrCreatePlayerStatistics(player);
+		CachedStatistic statistic = statistics.get(category, subcategoryId);
+		if (statistic == null) {
+			statistic = statistics.computeIfAbsent(category, subcategoryId,
+					() -> loadAsynchronously(statistics, s -> statistics.remove(category, subcategoryId, s),
+							() -> databaseManager.getMultipleAchievementAmount(player, category,
+									getSubcategoryName(category, subcategoryId))));
+		}
+		incrementStatistic(statistic, statistics, value, valueConsumer);
+	}
+
+	/**
+	 * Increases the statistic for a NormalAchievement by the given value without queuing the player for the next
+	 * database flush, see {@link CachedStatistic#incrementLazily(long)}. Statistics that are not cached or are still
+	 * being loaded are left untouched.
+	 *
+	 * @param category
+	 * @param player
+	 * @param value
+	 */
+	public void incrementStatisticAmountLazily(NormalAchievements category, UUID player, int value) {
+		PlayerStatistics statistics = playerStatistics.get(player);
+		CachedStatistic statistic = statistics == null ? null : statistics.get(category);
+		if (statistic != null && statistic.isLoaded()) {
+			statistic.incrementLazily(value);
+		}
+	}
+
+	/**
+	 * Increases the statistic for a MultipleAchievement by the given value without queuing the player for the next
+	 * database flush, see {@link CachedStatistic#incrementLazily(long)}. Statistics that are not cached or are still
+	 * being loaded are left untouched.
+	 *
+	 * @param category
+	 * @param subcategory
+	 * @param player
+	 * @param value
+	 */
+	public void incrementStatisticAmountLazily(MultipleAchievements category, String subcategory, UUID player,
+			int value) {
+		PlayerStatistics statistics = playerStatistics.get(player);
+		CachedStatistic statistic = statistics == null ? null
+				: statistics.get(category, getSubcategoryId(category, subcategory));
+		if (statistic != null && statistic.isLoaded()) {
+			statistic.incrementLazily(value);
+		}
+	}
+
+	/**
+	 * Returns the statistic for a NormalAchievement if it is available in the cache without waiting for the database.
+	 * If it is not cached, it starts being retrieved asynchronously, so that it is available for subsequent calls.
+	 *
+	 * @param category
+	 * @param player
+	 * @param defaultValue
+	 * @return the cached statistic value, or the default value if it is not yet known
+	 */
+	public long getCachedStatisticAmount(NormalAchievements category, UUID player, long defaultValue) {
+		if (!configAsyncStatisticLoading) {
+			return getAndIncrementStatisticAmount(category, player, 0);
+		}
+		CachedStatistic statistic = getOrCreatePlayerStatistics(player).get(category);
+		if (statistic == null) {
+			incrementStatisticAmount(category, player, 0, value -> {});
+			return defaultValue;
+		}
+		return statistic.isLoaded() ? statistic.getValue() : defaultValue;
+	}
+
+	/**
+	 * Returns the statistic for a MultipleAchievement if it is available in the cache without waiting for the
+	 * database, see {@link #getCachedStatisticAmount(NormalAchievements, UUID, long)}. Statistics of unknown
+	 * sub-categories are not cached, the default value is always returned for them.
+	 *
+	 * @param category
+	 * @param subcategory
+	 * @param player
+	 * @param defaultValue
+	 * @return the cached statistic value, or the default value if it is not yet known
+	 */
+	public long getCachedStatisticAmount(MultipleAchievements category, String subcategory, UUID player,
+			long defaultValue) {
+		if (!configAsyncStatisticLoading) {
+			return getAndIncrementStatisticAmount(category, subcategory, player, 0);
+		}
+		int subcategoryId = getSubcategoryId(category, subcategory);
+		if (subcategoryId == AchievementMap.UNKNOWN_SUBCATEGORY_ID) {
+			return defaultValue;
+		}
+		CachedStatistic statistic = getOrCreatePlayerStatistics(player).get(category, subcategoryId);
+		if (statistic == null) {
+			incrementStatisticAmount(category, subcategoryId, player, 0, value -> {});
+			return defaultValue;
+		}
+		return statistic.isLoaded() ? statistic.getValue() : defaultValue;
+	}
+
+	private void incrementStatistic(CachedStatistic statistic, PlayerStatistics statistics, int value,
+			LongConsumer valueConsumer) {
+		// The load may complete between both checks, in which case the increment is applied as a regular one.
+		if (statistic.isLoaded() || !statistic.bufferIncrement(value, valueConsumer)) {
+			if (value != 0 && statistic.increment(value)) {
+				markDirty(statistics);
+			}
+			valueConsumer.accept(statistic.getValue());
+		}
+	}
+
+	/**
+	 * Creates a statistic whose database value is retrieved on an asynchronous thread. Once available, it is merged with
+	 * the buffered increments on the main server thread and the pending consumers are called.
+	 *
+	 * @param statistics
+	 * @param remover removes the statistic from the player's statistics if the load fails
+	 * @param loader
+	 * @return the statistic in loading state
+	 */
+	private CachedStatistic loadAsynchronously(PlayerStatistics statistics, Consumer<CachedStatistic> remover,
+			Supplier<Long> loader) {
+		CompletableFuture<Long> load = CompletableFuture.supplyAsync(loader,
+				r -> Bukkit.getScheduler().runTaskAsynchronously(advancedAchievements, r));
+		CachedStatistic statistic = new CachedStatistic(load);
+		load.whenComplete((databaseValue, throwable) -> Bukkit.getScheduler().runTask(advancedAchievements, () -> {
+			if (throwable != null) {
+				// Give up on the buffered increments, the statistic will be loaded again on the next increase.
+				logger.log(Level.SEVERE, "Error while asynchronously loading statistic:", throwable);
+				remover.accept(statistic);
+				return;
+			}
+			if (statistic.completeLoad(databaseValue)) {
+				markDirty(statistics);
+			}
+			// Consumers may increase the statistic further, each one is called with the value at the time of the call.
+			for (LongConsumer valueConsumer : statistic.takePendingValueConsumers()) {
+				valueConsumer.accept(statistic.getValue());
+			}
+		}));
+		return statistic;
+	}
+
+	/**
+	 * Retrieves a player's entire profile from the database and populates the caches with it, so that no further
+	 * database queries are needed once the player has joined. Statistics of configured subcategories missing from the
+	 * database are cached with their default value. Entries already present in the caches are left untouched, as they
+	 * may hold values not yet written to the database. Can be called from an asynchronous thread.
+	 *
+	 * @param player
+	 */
+	public void preloadPlayerData(UUID player) {
+		// Registered before querying the database, so that the data is not cleaned whilst the player is logging in.
+		pendingPreloads.put(player, System.currentTimeMillis());
+		PreloadedPlayerData playerData = databaseManager.getPreloadedPlayerData(player);
+		PlayerStatistics statistics = getOrCreatePlayerStatistics(player);
+		// Statistics cached during a previous session may have been flagged when the player disconnected.
+		statistics.resetDisconnection();
+		for (NormalAchievements category : NormalAchievements.values()) {
+			// Connections are not cached as statistics, they are handled via the connection information.
+			if (category != NormalAchievements.CONNECTIONS) {
+				long value = playerData.getNormalStatistics().getOrDefault(category, 0L);
+				statistics.putIfAbsent(category, new CachedStatistic(value, true));
+			}
+		}
+		for (MultipleAchievements category : MultipleAchievements.values()) {
+			Map<Integer, CachedStatistic> categoryStatistics = new HashMap<>();
+			long defaultValue = category == MultipleAchievements.JOBSREBORN ? 1L : 0L;
+			for (String subcategory : achievementMap.getSubcategoriesForCategory(category)) {
+				categoryStatistics.put(getSubcategoryId(category, subcategory),
+						new CachedStatistic(defaultValue, true));
+			}
+			playerData.getMultipleStatistics().getOrDefault(category, Collections.emptyMap())
+					.forEach((subcategory, value) -> {
+						int subcategoryId = getSubcategoryId(category, subcategory);
+						// Sub-categories no longer configured are not interned, they are loaded if they are ever used.
+						if (subcategoryId != AchievementMap.UNKNOWN_SUBCATEGORY_ID) {
+							categoryStatistics.put(subcategoryId, new CachedStatistic(value, true));
+						}
+					});
+			statistics.putAllIfAbsent(category, categoryStatistics);
+		}
+		receivedAchievementsCache.putIfAbsent(player, playerData.getAchievementNames());
+		receptionTimesCache.putIfAbsent(player, new ConcurrentHashMap<>(playerData.getReceptionTimes()));
+		preloadedConnectionInformation.put(player, playerData.getConnectionInformation());
+	}
+
+	/**
+	 * Returns the connection information retrieved when the player logged in, if any, and forgets about it.
+	 *
+	 * @param player
+	 * @return the preloaded connection information or null
+	 */
+	public ConnectionInformation takePreloadedConnectionInformation(UUID player) {
+		return preloadedConnectionInformation.remove(player);
+	}
+
 	/**
 	 * Returns whether player has received a specific achievement.
 	 *
@@ -211,6 +659,62 @@ public class CacheManager implements Cleanable {
 		receivedAchievementsCache.computeIfAbsent(player, databaseManager::getPlayerAchievementNames).add(achievementName);
 	}
 
+	/**
+	 * Updates the cached reception time of an achievement, if the reception times of the player are cached. To be
+	 * called whenever the achievement is registered in the database, including when it is received again.
+	 *
+	 * @param player
+	 * @param achievementName
+	 * @param epochMs
+	 */
+	public void registerReceptionTime(UUID player, String achievementName, long epochMs) {
+		receptionTimesLoads.remove(player);
+		Map<String, Long> receptionTimes = receptionTimesCache.get(player);
+		if (receptionTimes != null) {
+			receptionTimes.put(achievementName, epochMs);
+		}
+	}
+
+	/**
+	 * Passes the reception times of the achievements received by a player to the consumer. They are preloaded when the
+	 * player logs in and kept up to date afterwards; if they are not cached, they are loaded with a single database
+	 * query on an asynchronous thread and the consumer is called once they are available. Must be called from the main
+	 * server thread, the consumer is called on it as well.
+	 *
+	 * @param player
+	 * @param receptionTimesConsumer called with the map from achievement name to reception time in epoch milliseconds
+	 */
+	public void getPlayerReceptionTimes(UUID player, Consumer<Map<String, Long>> receptionTimesConsumer) {
+		Map<String, Long> receptionTimes = receptionTimesCache.get(player);
+		if (receptionTimes != null) {
+			receptionTimesConsumer.accept(receptionTimes);
+			return;
+		}
+		Object load = new Object();
+		receptionTimesLoads.put(player, load);
+		Bukkit.getScheduler().runTaskAsynchronously(advancedAchievements, () -> {
+			Map<String, Long> loadedReceptionTimes;
+			try {
+				loadedReceptionTimes = new ConcurrentHashMap<>(
+						databaseManager.getPlayerAchievementReceptionTimes(player));
+			} catch (DatabaseReadError e) {
+				logger.log(Level.SEVERE, "Error while loading achievement reception times:", e);
+				return;
+			}
+			Bukkit.getScheduler().runTask(advancedAchievements, () -> {
+				// Loaded times may miss achievements received or deleted whilst loading, they are then not cached.
+				if (receptionTimesLoads.remove(player, load)) {
+					Map<String, Long> cachedReceptionTimes = receptionTimesCache.putIfAbsent(player,
+							loadedReceptionTimes);
+					receptionTimesConsumer.accept(cachedReceptionTimes == null ? loadedReceptionTimes
+							: cachedReceptionTimes);
+				} else {
+					receptionTimesConsumer.accept(loadedReceptionTimes);
+				}
+			});
+		});
+	}
+
 	/**
 	 * Removes achievements from the received achievement cache and adds them to the not received cache.
 	 *
@@ -220,42 +724,105 @@ public class CacheManager implements Cleanable {
 	public void removePreviouslyReceivedAchievements(UUID player, Collection<String> achievementNames) {
 		receivedAchievementsCache.computeIfAbsent(player, databaseManager::getPlayerAchievementNames)
 				.removeAll(achievementNames);
+		receptionTimesLoads.remove(player);
+		Map<String, Long> receptionTimes = receptionTimesCache.get(player);
+		if (receptionTimes != null) {
+			receptionTimes.keySet().removeAll(achievementNames);
+		}
+		// Rewind the cursors, so that removed achievements can be received again.
+		thresholdCursors.remove(player);
+	}
+
+	/**
+	 * Returns the position of the next achievement a player may receive in a list of achievements of the same category
+	 * and sub-category, sorted in increasing threshold order. All achievements before that position have been received
+	 * by the player.
+	 *
+	 * @param player
+	 * @param achievements a list retrieved from the AchievementMap
+	 * @return the position of the next achievement that may not have been received, 0 if unknown
+	 */
+	public int getThresholdCursor(UUID player, List<Achievement> achievements) {
+		Map<List<Achievement>, Integer> cursors = thresholdCursors.get(player);
+		if (cursors == null) {
+			return 0;
+		}
+		Integer cursor = cursors.get(achievements);
+		return cursor == null ? 0 : cursor;
 	}
 
 	/**
-	 * Resets a player's statistics to 0.
+	 * Moves the position of the next achievement a player may receive in a list of achievements, once all the
+	 * achievements before the new position have been received.
+	 *
+	 * @param player
+	 * @param achievements a list retrieved from the AchievementMap
+	 * @param cursor
+	 */
+	public void setThresholdCursor(UUID player, List<Achievement> achievements, int cursor) {
+		thresholdCursors.computeIfAbsent(player, p -> Collections.synchronizedMap(new IdentityHashMap<>()))
+				.put(achievements, cursor);
+	}
+
+	/**
+	 * Resets a player's statistics to 0 and rewinds their threshold cursors.
 	 * 
 	 * @param uuid
 	 * @param categoriesWithSubcategories
 	 */
 	public void resetPlayerStatistics(UUID uuid, Collection<String> categoriesWithSubcategories) {
+		thresholdCursors.remove(uuid);
 		categoriesWithSubcategories.forEach(categoryWithSubcategory -> {
 			if (categoryWithSubcategory.contains(".")) {
 				String category = StringUtils.substringBefore(categoryWithSubcategory, ".");
 				String subcategory = StringUtils.substringAfter(categoryWithSubcategory, ".");
-				SubcategoryUUID key = new SubcategoryUUID(subcategory, uuid);
-				Map<SubcategoryUUID, CachedStatistic> cache = getHashMap(MultipleAchievements.getByName(category));
-				CachedStatistic statistic = cache.get(key);
-				if (statistic == null) {
-					cache.put(key, new CachedStatistic(0L, false));
-				} else {
-					statistic.setValue(0L);
+				MultipleAchievements multipleCategory = MultipleAchievements.getByName(category);
+				int subcategoryId = internSubcategoryId(multipleCategory, subcategory);
+				PlayerStatistics statistics = getOrCreatePlayerStatistics(uuid);
+				CachedStatistic statistic = statistics.get(multipleCategory, subcategoryId);
+				// Statistics still being loaded are replaced, their database value must not be merged.
+				if (statistic == null || !statistic.isLoaded()) {
+					CachedStatistic resetStatistic = new CachedStatistic(0L, false);
+					statistics.put(multipleCategory, subcategoryId, resetStatistic);
+					markDirty(statistics);
+					detachLoadingStatistic(statistic, resetStatistic);
+				} else if (statistic.setValue(0L)) {
+					markDirty(statistics);
 				}
 			} else {
 				NormalAchievements category = NormalAchievements.getByName(categoryWithSubcategory);
 				if (category == NormalAchievements.CONNECTIONS) {
 					databaseManager.clearConnection(uuid);
 				} else {
-					Map<UUID, CachedStatistic> cache = getHashMap(category);
-					CachedStatistic statistic = cache.get(uuid);
-					if (statistic == null) {
-						cache.put(uuid, new CachedStatistic(0L, false));
-					} else {
-						statistic.setValue(0L);
+					PlayerStatistics statistics = getOrCreatePlayerStatistics(uuid);
+					CachedStatistic statistic = statistics.get(category);
+					if (statistic == null || !statistic.isLoaded()) {
+						CachedStatistic resetStatistic = new CachedStatistic(0L, false);
+						statistics.put(category, resetStatistic);
+						markDirty(statistics);
+						detachLoadingStatistic(statistic, resetStatistic);
+					} else if (statistic.setValue(0L)) {
+						markDirty(statistics);
 					}
 				}
 			}
 		});
 	}
 
+	/**
+	 * Gives up on the load of a statistic replaced in the cache whilst it was being retrieved from the database, so that
+	 * its database value is neither merged nor reported. The consumers waiting for it are called with the value of the
+	 * replacing statistic instead. Must be called from the main server thread.
+	 *
+	 * @param replacedStatistic the statistic previously cached, or null
+	 * @param replacingStatistic
+	 */
+	private void detachLoadingStatistic(CachedStatistic replacedStatistic, CachedStatistic replacingStatistic) {
+		if (replacedStatistic != null) {
+			for (LongConsumer valueConsumer : replacedStatistic.cancelLoad()) {
+				valueConsumer.accept(replacingStatistic.getValue());
+			}
+		}
+	}
+
 }
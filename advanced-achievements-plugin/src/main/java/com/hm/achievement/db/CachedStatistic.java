@@ -1,5 +1,13 @@
 package com.hm.achievement.db;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.LongConsumer;
+
 /**
  * Class used to provide a cache wrapper for a database statistic.
  * 
@@ -8,47 +16,312 @@ package com.hm.achievement.db;
  */
 public class CachedStatistic {
 
-	// Value of the statistic. Can only be modified by the main server thread.
+	// Flags are updated via field updaters rather than atomic objects, as a statistic is cached for every player and
+	// every category they progressed in.
+	private static final AtomicIntegerFieldUpdater<CachedStatistic> DATABASE_CONSISTENT = AtomicIntegerFieldUpdater
+			.newUpdater(CachedStatistic.class, "databaseConsistent");
+	private static final AtomicIntegerFieldUpdater<CachedStatistic> JOURNAL_CONSISTENT = AtomicIntegerFieldUpdater
+			.newUpdater(CachedStatistic.class, "journalConsistent");
+
+	// Value of the statistic. Modifications are guarded by the statistic's monitor.
 	private volatile long value;
 	// Indicates whether this in-memory value was written to or is about to be written to the database. Can be modified
 	// concurrently by either the main server thread or the AsyncCachedRequestsSender thread.
-	private volatile boolean databaseConsistent;
-	// Indicates whether the player linked to this statistic has recently disconnected. Can only be modified by the main
-	// server thread.
-	private volatile boolean disconnection;
+	private volatile int databaseConsistent;
+	// Indicates whether this in-memory value was written to or is about to be written to the statistic journal. Can be
+	// modified concurrently by either the main server thread or the StatisticJournal thread.
+	private volatile int journalConsistent;
+	// Database value being retrieved asynchronously, null once the statistic has been fully loaded. Whilst loading, the
+	// value field holds the increments received in the meantime. Modifications are guarded by the statistic's monitor,
+	// so that buffering an increment and merging the database value cannot interleave.
+	private volatile CompletableFuture<Long> pendingLoad;
+	// Called with the merged value once the database value has been retrieved, in the order in which they were
+	// buffered. Guarded by the statistic's monitor.
+	private List<LongConsumer> pendingValueConsumers;
+	// Increments not yet written to the database, and whether the value was set rather than incremented since it was
+	// last written, for instance following a reset. Only used with delta writes. Guarded by the statistic's monitor.
+	private long unwrittenDelta;
+	private boolean unwrittenAbsoluteValue;
+	// Indicates whether increments were added without marking the statistic as dirty. Guarded by the statistic's
+	// monitor.
+	private boolean lazyIncrements;
+	// Delta write collected by the database flush in progress, and whether the value itself is being written instead.
+	// Folded back into the unwritten increments if the flush is given up. Guarded by the statistic's monitor.
+	private long inFlightDelta;
+	private boolean inFlightAbsoluteValue;
 
 	public CachedStatistic(long value, boolean databaseConsistent) {
 		this.value = value;
-		this.databaseConsistent = databaseConsistent;
-		disconnection = false;
+		this.databaseConsistent = databaseConsistent ? 1 : 0;
+		journalConsistent = 1;
+		// A statistic created dirty holds a value unrelated to the database one, which must be written as is.
+		unwrittenAbsoluteValue = !databaseConsistent;
+	}
+
+	/**
+	 * Creates a statistic replayed from the statistic journal, which must be written to the database.
+	 *
+	 * @param value
+	 * @param unwrittenDelta increments not yet written to the database when the value was journaled
+	 * @param unwrittenAbsoluteValue whether the value must be written as is rather than as a delta
+	 */
+	public CachedStatistic(long value, long unwrittenDelta, boolean unwrittenAbsoluteValue) {
+		this(value, false);
+		this.unwrittenDelta = unwrittenDelta;
+		this.unwrittenAbsoluteValue = unwrittenAbsoluteValue;
+	}
+
+	public CachedStatistic(CompletableFuture<Long> pendingLoad) {
+		this(0L, true);
+		this.pendingLoad = pendingLoad;
 	}
 
 	public long getValue() {
 		return value;
 	}
 
-	public void setValue(long value) {
-		this.value = value;
-		databaseConsistent = false;
+	/**
+	 * Sets the value of the statistic and marks it as needing to be written to the database and to the journal.
+	 *
+	 * @param value
+	 * @return true if the statistic was database consistent before this call, i.e. it has just become dirty
+	 */
+	public boolean setValue(long value) {
+		synchronized (this) {
+			this.value = value;
+			unwrittenDelta = 0L;
+			unwrittenAbsoluteValue = true;
+		}
+		journalConsistent = 0;
+		return DATABASE_CONSISTENT.getAndSet(this, 0) == 1;
+	}
+
+	/**
+	 * Adds an increment to the value of the statistic and marks it as needing to be written to the database and to the
+	 * journal.
+	 *
+	 * @param increment
+	 * @return true if the statistic was database consistent before this call, i.e. it has just become dirty
+	 */
+	public boolean increment(long increment) {
+		synchronized (this) {
+			value += increment;
+			unwrittenDelta += increment;
+		}
+		journalConsistent = 0;
+		return DATABASE_CONSISTENT.getAndSet(this, 0) == 1;
+	}
+
+	/**
+	 * Adds an increment to the value of the statistic without marking it as needing to be written to the database or to
+	 * the journal. The increment is written with the next flush of the player's statistics, or once the lazy increments
+	 * are promoted when the player disconnects or the plugin is disabled. Until then it is lost if the server crashes.
+	 *
+	 * @param increment
+	 */
+	public synchronized void incrementLazily(long increment) {
+		value += increment;
+		unwrittenDelta += increment;
+		lazyIncrements = true;
+	}
+
+	/**
+	 * Marks the statistic as needing to be written to the database and to the journal if it was lazily incremented
+	 * since it was last written.
+	 *
+	 * @return true if the statistic has just become dirty
+	 */
+	public boolean promoteLazyIncrements() {
+		synchronized (this) {
+			if (!lazyIncrements) {
+				return false;
+			}
+			lazyIncrements = false;
+		}
+		journalConsistent = 0;
+		return DATABASE_CONSISTENT.getAndSet(this, 0) == 1;
 	}
 
 	public boolean isDatabaseConsistent() {
-		return databaseConsistent;
+		return databaseConsistent == 1;
+	}
+
+	public synchronized void prepareDatabaseWrite() {
+		databaseConsistent = 1;
+		unwrittenDelta = 0L;
+		unwrittenAbsoluteValue = false;
+		lazyIncrements = false;
+	}
+
+	/**
+	 * Marks the statistic as being written to the database as a delta, and adds the write to perform to one of the
+	 * maps: the value itself if it was set since the previous write, or the increments received since then otherwise.
+	 * If the key is already present, the write is combined with the previous one. The write is kept until the flush
+	 * either completes or is abandoned.
+	 *
+	 * @param key
+	 * @param absoluteValues values to write as is, written before the deltas
+	 * @param deltaValues increments to add to the database values
+	 */
+	public synchronized <T> void prepareDatabaseDeltaWrite(T key, Map<T, Long> absoluteValues,
+			Map<T, Long> deltaValues) {
+		databaseConsistent = 1;
+		if (unwrittenAbsoluteValue) {
+			absoluteValues.put(key, value);
+			deltaValues.remove(key);
+		} else if (unwrittenDelta != 0L) {
+			deltaValues.merge(key, unwrittenDelta, Long::sum);
+		}
+		inFlightDelta = unwrittenAbsoluteValue ? 0L : unwrittenDelta;
+		inFlightAbsoluteValue = unwrittenAbsoluteValue;
+		unwrittenDelta = 0L;
+		unwrittenAbsoluteValue = false;
+		lazyIncrements = false;
+	}
+
+	/**
+	 * Forgets about the delta write collected by a database flush once it has been committed. The statistic is
+	 * journaled again, as records appended whilst the write was in flight still include it.
+	 */
+	public void completeDatabaseWrite() {
+		synchronized (this) {
+			if (inFlightDelta == 0L && !inFlightAbsoluteValue) {
+				return;
+			}
+			inFlightDelta = 0L;
+			inFlightAbsoluteValue = false;
+		}
+		journalConsistent = 0;
+	}
+
+	/**
+	 * Marks the statistic as needing to be written to the database and to the journal again, once writing the value
+	 * collected by a database flush has been given up. The collected delta is added back to the unwritten increments,
+	 * unless the outcome of the flush is unknown: the delta may then already have been applied, and the value is
+	 * written as is instead.
+	 *
+	 * @param outcomeUnknown whether the flush may have been committed
+	 * @return true if the statistic has just become dirty
+	 */
+	public boolean abandonDatabaseWrite(boolean outcomeUnknown) {
+		synchronized (this) {
+			if (outcomeUnknown || inFlightAbsoluteValue) {
+				unwrittenAbsoluteValue = true;
+			} else {
+				unwrittenDelta += inFlightDelta;
+			}
+			inFlightDelta = 0L;
+			inFlightAbsoluteValue = false;
+		}
+		journalConsistent = 0;
+		return DATABASE_CONSISTENT.getAndSet(this, 0) == 1;
+	}
+
+	/**
+	 * Returns the increments not yet committed to the database, including the ones of the write in flight, if any.
+	 *
+	 * @return the increments to journal
+	 */
+	public synchronized long getUnwrittenDelta() {
+		return unwrittenDelta + inFlightDelta;
+	}
+
+	/**
+	 * Returns whether the value must be written as is, including if it is being written by the flush in flight.
+	 *
+	 * @return true if the value must be journaled as an absolute one
+	 */
+	public synchronized boolean hasUnwrittenAbsoluteValue() {
+		return unwrittenAbsoluteValue || inFlightAbsoluteValue;
+	}
+
+	/**
+	 * Marks the statistic as written to the journal.
+	 *
+	 * @return true if the statistic was modified since it was last journaled
+	 */
+	public boolean prepareJournalWrite() {
+		return JOURNAL_CONSISTENT.getAndSet(this, 1) == 0;
+	}
+
+	public boolean isLoaded() {
+		return pendingLoad == null;
+	}
+
+	/**
+	 * Buffers an increment received whilst the database value is still being loaded. The statistic remains database
+	 * consistent until the load completes, as the buffered value is only a partial one.
+	 *
+	 * @param increment
+	 * @param valueConsumer called with the merged value once the load completes, after the consumers buffered before it
+	 * @return true if the increment was buffered, false if the load has already completed and the increment must be
+	 *         applied as a regular one
+	 */
+	public synchronized boolean bufferIncrement(int increment, LongConsumer valueConsumer) {
+		if (pendingLoad == null) {
+			return false;
+		}
+		value += increment;
+		if (pendingValueConsumers == null) {
+			pendingValueConsumers = new ArrayList<>(1);
+		}
+		pendingValueConsumers.add(valueConsumer);
+		return true;
 	}
 
-	public void prepareDatabaseWrite() {
-		databaseConsistent = true;
+	/**
+	 * Blocks until the pending database load has completed and merges its result. Must not be called from the main
+	 * server thread.
+	 *
+	 * @return true if the statistic has just become dirty
+	 */
+	public boolean awaitLoad() {
+		CompletableFuture<Long> load = pendingLoad;
+		return load != null && completeLoad(load.join());
 	}
 
-	public boolean didPlayerDisconnect() {
-		return disconnection;
+	/**
+	 * Merges the database value with the increments buffered whilst it was being loaded. Calling this method on an
+	 * already loaded statistic has no effect, so that the merge happens exactly once if the load is both awaited and
+	 * completed concurrently.
+	 *
+	 * @param databaseValue
+	 * @return true if the statistic has just become dirty
+	 */
+	public synchronized boolean completeLoad(long databaseValue) {
+		if (pendingLoad == null) {
+			return false;
+		}
+		pendingLoad = null;
+		long bufferedIncrements = value;
+		value = databaseValue;
+		return bufferedIncrements != 0L && increment(bufferedIncrements);
 	}
 
-	public void signalPlayerDisconnection() {
-		disconnection = true;
+	/**
+	 * Gives up on the pending database load, for instance because the statistic has been replaced in the cache. The
+	 * database value is then never merged, even if the load completes afterwards, and the buffered increments are
+	 * discarded.
+	 *
+	 * @return the consumers that were waiting for the merged value, in the order in which they were buffered
+	 */
+	public synchronized List<LongConsumer> cancelLoad() {
+		if (pendingLoad == null) {
+			return Collections.emptyList();
+		}
+		pendingLoad = null;
+		value = 0L;
+		return takePendingValueConsumers();
 	}
 
-	public void resetDisconnection() {
-		disconnection = false;
+	/**
+	 * Returns the consumers waiting for the merged value and forgets about them.
+	 *
+	 * @return the pending consumers, in the order in which they were buffered
+	 */
+	public synchronized List<LongConsumer> takePendingValueConsumers() {
+		List<LongConsumer> valueConsumers = pendingValueConsumers;
+		pendingValueConsumers = null;
+		return valueConsumers == null ? Collections.emptyList() : valueConsumers;
 	}
 }
@@ -0,0 +1,295 @@
+package com.hm.achievement.db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Class used to pool connections to a remote database. Connections handed out by the pool must be closed by the caller,
+ * which returns them to the pool rather than closing the underlying connection. Aborting a connection discards it from
+ * the pool.
+ * <p>
+ * Connections that have not been used recently are validated before being handed out again, and connections idle for
+ * longer than the configured timeout are closed, as long as the pool retains its minimum number of connections.
+ */
+public class ConnectionPool {
+
+	private static final long ACQUIRE_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(10);
+	private static final long VALIDATION_BYPASS_MILLIS = TimeUnit.SECONDS.toMillis(5);
+	private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+	private final String name;
+	private final ConnectionFactory connectionFactory;
+	private final Logger logger;
+	private final int minSize;
+	private final int maxSize;
+	private final long idleTimeoutMillis;
+	// Most recently released connections are at the head of the deque, least recently used ones at its tail. Guarded by
+	// the pool's monitor, as are the other mutable fields.
+	private final Deque<PooledConnection> idleConnections = new ArrayDeque<>();
+	private int openConnections;
+	private boolean shutdown;
+
+	/**
+	 * Opens new physical connections to the database.
+	 */
+	@FunctionalInterface
+	interface ConnectionFactory {
+
+		Connection createConnection() throws SQLException;
+
+	}
+
+	public ConnectionPool(String name, ConnectionFactory connectionFactory, Logger logger, int minSize, int maxSize,
+			long idleTimeoutMillis) {
+		this.name = name;
+		this.connectionFactory = connectionFactory;
+		this.logger = logger;
+		this.minSize = Math.max(0, minSize);
+		this.maxSize = Math.max(1, Math.max(minSize, maxSize));
+		this.idleTimeoutMillis = idleTimeoutMillis;
+	}
+
+	/**
+	 * Opens the minimum number of connections of the pool.
+	 *
+	 * @throws SQLException
+	 */
+	public void fill() throws SQLException {
+		List<Connection> connections = new ArrayList<>();
+		try {
+			for (int i = 0; i < minSize; ++i) {
+				connections.add(getConnection());
+			}
+		} finally {
+			for (Connection connection : connections) {
+				connection.close();
+			}
+		}
+	}
+
+	/**
+	 * Borrows a connection from the pool, opening a new one if none are idle and the maximum size has not been reached.
+	 * Otherwise waits for a connection to be returned to the pool.
+	 *
+	 * @return a connection to be closed once no longer needed
+	 * @throws SQLException
+	 */
+	public Connection getConnection() throws SQLException {
+		long deadline = System.currentTimeMillis() + ACQUIRE_TIMEOUT_MILLIS;
+		while (true) {
+			PooledConnection idleConnection = null;
+			synchronized (this) {
+				while (!shutdown && idleConnections.isEmpty() && openConnections >= maxSize) {
+					long remainingMillis = deadline - System.currentTimeMillis();
+					if (remainingMillis <= 0) {
+						throw new SQLException("Timed out while waiting for a connection from the " + name + " pool.");
+					}
+					try {
+						wait(remainingMillis);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new SQLException("Interrupted while waiting for a connection from the " + name + " pool.",
+								e);
+					}
+				}
+				if (shutdown) {
+					throw new SQLException("The " + name + " connection pool has been shut down.");
+				}
+				if (idleConnections.isEmpty()) {
+					++openConnections;
+				} else {
+					idleConnection = idleConnections.pollFirst();
+				}
+			}
+
+			if (idleConnection == null) {
+				try {
+					return new PooledConnection(connectionFactory.createConnection()).lease();
+				} catch (SQLException | RuntimeException e) {
+					discard(null);
+					throw e;
+				}
+			} else if (idleConnection.isUsable()) {
+				return idleConnection.lease();
+			}
+			discard(idleConnection.connection);
+		}
+	}
+
+	/**
+	 * Closes the idle connections of the pool; connections currently in use are closed once they are returned.
+	 */
+	public void shutdown() {
+		List<PooledConnection> connections;
+		synchronized (this) {
+			shutdown = true;
+			connections = new ArrayList<>(idleConnections);
+			openConnections -= idleConnections.size();
+			idleConnections.clear();
+			notifyAll();
+		}
+		connections.forEach(c -> closeQuietly(c.connection));
+	}
+
+	/**
+	 * Puts a connection back into the idle deque, and closes connections that have been idle for too long.
+	 *
+	 * @param pooledConnection
+	 */
+	private void release(PooledConnection pooledConnection) {
+		if (!pooledConnection.resetState()) {
+			discard(pooledConnection.connection);
+			return;
+		}
+		List<PooledConnection> expiredConnections = new ArrayList<>();
+		synchronized (this) {
+			if (shutdown) {
+				--openConnections;
+				expiredConnections.add(pooledConnection);
+			} else {
+				pooledConnection.lastReleaseMillis = System.currentTimeMillis();
+				idleConnections.addFirst(pooledConnection);
+				long expiryMillis = pooledConnection.lastReleaseMillis - idleTimeoutMillis;
+				while (openConnections > minSize && idleConnections.peekLast().lastReleaseMillis < expiryMillis) {
+					expiredConnections.add(idleConnections.pollLast());
+					--openConnections;
+				}
+			}
+			notifyAll();
+		}
+		expiredConnections.forEach(c -> closeQuietly(c.connection));
+	}
+
+	/**
+	 * Removes a connection from the pool's accounting and closes it.
+	 *
+	 * @param connection the physical connection, or null if it could not be opened
+	 */
+	private void discard(Connection connection) {
+		synchronized (this) {
+			--openConnections;
+			notifyAll();
+		}
+		if (connection != null) {
+			closeQuietly(connection);
+		}
+	}
+
+	private void closeQuietly(Connection connection) {
+		try {
+			connection.close();
+		} catch (SQLException e) {
+			logger.log(Level.WARNING, "Error while closing a connection of the " + name + " pool:", e);
+		}
+	}
+
+	/**
+	 * Physical connection managed by the pool.
+	 */
+	private final class PooledConnection {
+
+		private final Connection connection;
+		private long lastReleaseMillis;
+
+		private PooledConnection(Connection connection) {
+			this.connection = connection;
+			lastReleaseMillis = System.currentTimeMillis();
+		}
+
+		private boolean isUsable() {
+			if (System.currentTimeMillis() - lastReleaseMillis < VALIDATION_BYPASS_MILLIS) {
+				return true;
+			}
+			try {
+				return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+			} catch (SQLException e) {
+				return false;
+			}
+		}
+
+		/**
+		 * Reverts changes made by the previous borrower so that they do not leak to the next one.
+		 *
+		 * @return true if the connection can be reused
+		 */
+		private boolean resetState() {
+			try {
+				if (connection.isClosed()) {
+					return false;
+				}
+				if (!connection.getAutoCommit()) {
+					connection.rollback();
+					connection.setAutoCommit(true);
+				}
+				return true;
+			} catch (SQLException e) {
+				return false;
+			}
+		}
+
+		private Connection lease() {
+			return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+					new Class<?>[] { Connection.class }, new Lease(this));
+		}
+	}
+
+	/**
+	 * Connection proxy handed out to a single borrower. Once closed or aborted, the proxy can no longer be used, even
+	 * if the underlying connection has since been handed out to another borrower.
+	 */
+	private final class Lease implements InvocationHandler {
+
+		private final PooledConnection pooledConnection;
+		private volatile boolean returned;
+
+		private Lease(PooledConnection pooledConnection) {
+			this.pooledConnection = pooledConnection;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+				case "close":
+					if (!returned) {
+						returned = true;
+						release(pooledConnection);
+					}
+					return null;
+				case "abort":
+					if (!returned) {
+						returned = true;
+						discard(pooledConnection.connection);
+					}
+					return null;
+				case "isClosed":
+					return returned || pooledConnection.connection.isClosed();
+				case "equals":
+					return proxy == args[0];
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "toString":
+					return name + " pooled connection: " + pooledConnection.connection;
+				default:
+					if (returned) {
+						throw new SQLException("Connection has already been returned to the " + name + " pool.");
+					}
+					try {
+						return method.invoke(pooledConnection.connection, args);
+					} catch (InvocationTargetException e) {
+						throw e.getCause();
+					}
+			}
+		}
+	}
+}
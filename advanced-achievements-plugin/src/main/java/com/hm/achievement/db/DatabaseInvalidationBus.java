@@ -0,0 +1,152 @@
+package com.hm.achievement.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.hm.achievement.exception.DatabaseReadError;
+
+/**
+ * Invalidation bus backed by a change-log table of the shared database. Each notification is stored as one row per
+ * player, and every server polls the rows appended since the highest identifier it has seen. Identifiers are allocated
+ * when rows are inserted rather than when they are committed, so a row can become visible after rows with higher
+ * identifiers: rows dated within a trailing window are therefore read again by every poll, and the ones already seen
+ * are skipped. Rows are deleted once they are older than the retention period, by whichever server polls first.
+ */
+public class DatabaseInvalidationBus implements InvalidationBus {
+
+	private static final long RETENTION_MILLIS = TimeUnit.MINUTES.toMillis(10);
+	// Covers the time between the insertion and the commit of a row, as well as clock differences between servers.
+	private static final long REREAD_WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+	private final Logger logger;
+	private final AbstractDatabaseManager databaseManager;
+	// Identifies the rows published by this server, which are skipped when polling.
+	private final String serverId = UUID.randomUUID().toString();
+	private volatile Consumer<Set<UUID>> subscriber;
+	// Highest row identifier when the bus started and highest one seen since, and time of the last deletion of old
+	// rows. Guarded by the bus's monitor.
+	private long startCursor;
+	private long cursor;
+	private long lastPurge;
+	// Dates of the rows seen within the trailing window, keyed by identifier. Guarded by the bus's monitor.
+	private final Map<Long, Long> seenRows = new HashMap<>();
+
+	public DatabaseInvalidationBus(Logger logger, AbstractDatabaseManager databaseManager) {
+		this.logger = logger;
+		this.databaseManager = databaseManager;
+	}
+
+	@Override
+	public synchronized void start(Consumer<Set<UUID>> subscriber) {
+		// Notifications published before this server started are irrelevant, as its caches were empty.
+		cursor = ((SQLReadOperation<Long>) () -> {
+			String sql = "SELECT MAX(id) FROM " + databaseManager.getPrefix() + "invalidations";
+			try (Connection connection = databaseManager.getConnection();
+					PreparedStatement ps = connection.prepareStatement(sql);
+					ResultSet rs = ps.executeQuery()) {
+				return rs.next() ? rs.getLong(1) : 0L;
+			}
+		}).executeOperation("retrieving the latest cache invalidation");
+		startCursor = cursor;
+		seenRows.clear();
+		lastPurge = System.currentTimeMillis();
+		this.subscriber = subscriber;
+	}
+
+	@Override
+	public void publish(Set<UUID> players) {
+		if (players.isEmpty()) {
+			return;
+		}
+		((SQLWriteOperation) () -> {
+			String sql = "INSERT INTO " + databaseManager.getPrefix()
+					+ "invalidations (server, playername, date) VALUES (?,?,?)";
+			try (Connection connection = databaseManager.getWriteConnection();
+					PreparedStatement ps = connection.prepareStatement(sql)) {
+				long now = System.currentTimeMillis();
+				for (UUID player : players) {
+					ps.setString(1, serverId);
+					ps.setString(2, player.toString());
+					ps.setLong(3, now);
+					ps.addBatch();
+				}
+				ps.executeBatch();
+			}
+		}).attemptWrites(logger, "publishing cache invalidations");
+	}
+
+	@Override
+	public synchronized void poll() {
+		Consumer<Set<UUID>> currentSubscriber = subscriber;
+		if (currentSubscriber == null) {
+			return;
+		}
+		Set<UUID> players = new HashSet<>();
+		Map<Long, Long> polledRows = new HashMap<>();
+		long windowStart = System.currentTimeMillis() - REREAD_WINDOW_MILLIS;
+		try {
+			cursor = ((SQLReadOperation<Long>) () -> {
+				// Start afresh if the read is attempted again.
+				players.clear();
+				polledRows.clear();
+				String sql = "SELECT id, server, playername, date FROM " + databaseManager.getPrefix()
+						+ "invalidations WHERE id > ? AND (id > ? OR date >= ?) ORDER BY id";
+				long highestId = cursor;
+				try (Connection connection = databaseManager.getConnection();
+						PreparedStatement ps = connection.prepareStatement(sql)) {
+					ps.setLong(1, startCursor);
+					ps.setLong(2, cursor);
+					ps.setLong(3, windowStart);
+					try (ResultSet rs = ps.executeQuery()) {
+						while (rs.next()) {
+							long id = rs.getLong(1);
+							highestId = Math.max(highestId, id);
+							polledRows.put(id, rs.getLong(4));
+							if (!seenRows.containsKey(id) && !serverId.equals(rs.getString(2))) {
+								players.add(UUID.fromString(rs.getString(3)));
+							}
+						}
+					}
+				}
+				return highestId;
+			}).executeOperation("retrieving cache invalidations");
+		} catch (DatabaseReadError e) {
+			logger.log(Level.SEVERE, "Error while polling cache invalidations:", e);
+			return;
+		}
+		seenRows.putAll(polledRows);
+		// Rows older than the window are no longer read again.
+		seenRows.values().removeIf(date -> date < windowStart);
+		if (!players.isEmpty()) {
+			currentSubscriber.accept(players);
+		}
+
+		long now = System.currentTimeMillis();
+		if (now - lastPurge > RETENTION_MILLIS) {
+			lastPurge = now;
+			((SQLWriteOperation) () -> {
+				String sql = "DELETE FROM " + databaseManager.getPrefix() + "invalidations WHERE date < ?";
+				try (Connection connection = databaseManager.getWriteConnection();
+						PreparedStatement ps = connection.prepareStatement(sql)) {
+					ps.setLong(1, now - RETENTION_MILLIS);
+					ps.execute();
+				}
+			}).attemptWrites(logger, "deleting old cache invalidations");
+		}
+	}
+
+	@Override
+	public void stop() {
+		subscriber = null;
+	}
+}
@@ -5,8 +5,13 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -33,6 +38,9 @@ public class DatabaseUpdater {
 
 	private final Logger logger;
 	private final MaterialHelper materialHelper;
+	// Ordered schema migrations, the migration at index i brings the schema to version i + 1.
+	private final List<Migration> migrations = Arrays.asList(this::removeAchievementDescriptions,
+			this::computeDailyAchievementCounts, this::createIndexes);
 
 	@Inject
 	DatabaseUpdater(Logger logger, MaterialHelper materialHelper) {
@@ -40,6 +48,60 @@ public class DatabaseUpdater {
 		this.materialHelper = materialHelper;
 	}
 
+	/**
+	 * Creates missing tables and applies the schema migrations that have not yet been performed on the database. The
+	 * schema version and the size of the sub-category columns are stored in the schema_version table, so that metadata
+	 * probes are only done on the startups following a plugin update or a configuration change, rather than on every
+	 * startup.
+	 * 
+	 * @param databaseManager
+	 * @param size
+	 * @throws PluginLoadError
+	 */
+	void updateSchema(AbstractDatabaseManager databaseManager, int size) throws PluginLoadError {
+		String prefix = databaseManager.getPrefix();
+		int schemaVersion = 0;
+		int subcategorySize = 0;
+		try (Connection connection = databaseManager.getWriteConnection();
+				Statement st = connection.createStatement()) {
+			st.execute("CREATE TABLE IF NOT EXISTS " + prefix + "schema_version (version INT,subcategory_size INT)");
+			try (ResultSet rs = st.executeQuery("SELECT version, subcategory_size FROM " + prefix + "schema_version")) {
+				if (rs.next()) {
+					schemaVersion = rs.getInt(1);
+					subcategorySize = rs.getInt(2);
+				}
+			}
+		} catch (SQLException e) {
+			throw new PluginLoadError("Error while retrieving database schema version.", e);
+		}
+
+		// Tables with prefixed names are only renamed before the schema version is first recorded.
+		if (schemaVersion == 0) {
+			renameExistingTables(databaseManager);
+		}
+		initialiseTables(databaseManager, size);
+
+		while (schemaVersion < migrations.size()) {
+			try {
+				migrations.get(schemaVersion).apply(databaseManager);
+			} catch (SQLException e) {
+				logger.log(Level.SEVERE, "Database error while migrating schema to version " + (schemaVersion + 1) + ":", e);
+				break;
+			}
+			setSchemaVersion(databaseManager, ++schemaVersion, subcategorySize);
+		}
+		if (subcategorySize < size) {
+			try {
+				for (MultipleAchievements category : MultipleAchievements.values()) {
+					updateOldDBColumnSize(databaseManager, category, size);
+				}
+				setSchemaVersion(databaseManager, schemaVersion, size);
+			} catch (SQLException e) {
+				logger.log(Level.SEVERE, "Database error while extending sub-category columns:", e);
+			}
+		}
+	}
+
 	/**
 	 * Update the database table to use 1.13 materials rather than the old 1.12 ones.
 	 * 
@@ -61,15 +123,16 @@ public class DatabaseUpdater {
 	 * @param databaseManager
 	 * @throws PluginLoadError
 	 */
-	void renameExistingTables(AbstractDatabaseManager databaseManager) throws PluginLoadError {
+	private void renameExistingTables(AbstractDatabaseManager databaseManager) throws PluginLoadError {
 		// If a prefix is set in the config, check whether the tables with the default names exist. If so do renaming.
 		if (StringUtils.isNotBlank(databaseManager.getPrefix())) {
-			try (ResultSet rs = databaseManager.getConnection().getMetaData().getTables(null, null, "achievements", null)) {
+			try (Connection connection = databaseManager.getWriteConnection();
+					ResultSet rs = connection.getMetaData().getTables(null, null, "achievements", null)) {
 				// If the achievements table still has its default name (ie. no prefix), but a prefix is set in the
 				// configuration, do a renaming of all tables.
 				if (rs.next()) {
 					logger.info("Adding " + databaseManager.getPrefix() + " prefix to database table names, please wait...");
-					try (Statement st = databaseManager.getConnection().createStatement()) {
+					try (Statement st = connection.createStatement()) {
 						st.addBatch("ALTER TABLE achievements RENAME TO " + databaseManager.getPrefix() + "achievements");
 						for (NormalAchievements category : NormalAchievements.values()) {
 							st.addBatch("ALTER TABLE " + category.toDBName() + " RENAME TO " + databaseManager.getPrefix()
@@ -96,10 +159,15 @@ public class DatabaseUpdater {
 	 * @param size
 	 * @throws PluginLoadError
 	 */
-	void initialiseTables(AbstractDatabaseManager databaseManager, int size) throws PluginLoadError {
-		try (Statement st = databaseManager.getConnection().createStatement()) {
+	private void initialiseTables(AbstractDatabaseManager databaseManager, int size) throws PluginLoadError {
+		try (Connection connection = databaseManager.getWriteConnection();
+				Statement st = connection.createStatement()) {
 			st.addBatch("CREATE TABLE IF NOT EXISTS " + databaseManager.getPrefix()
 					+ "achievements (playername char(36),achievement varchar(64),date TIMESTAMP,PRIMARY KEY (playername, achievement))");
+			st.addBatch("CREATE TABLE IF NOT EXISTS " + databaseManager.getPrefix()
+					+ "daily_achievements (playername char(36),date varchar(10),achievements INT,PRIMARY KEY (playername, date))");
+			st.addBatch("CREATE TABLE IF NOT EXISTS " + databaseManager.getPrefix() + "invalidations ("
+					+ getAutoIncrementedIdColumn(databaseManager) + ",server char(36),playername char(36),date BIGINT)");
 
 			for (MultipleAchievements category : MultipleAchievements.values()) {
 				st.addBatch("CREATE TABLE IF NOT EXISTS " + databaseManager.getPrefix() + category.toDBName()
@@ -123,6 +191,114 @@ public class DatabaseUpdater {
 		}
 	}
 
+	/**
+	 * Returns the definition of an auto-incremented primary key column named id, which has no standard syntax.
+	 * 
+	 * @param databaseManager
+	 * @return the column definition
+	 */
+	private String getAutoIncrementedIdColumn(AbstractDatabaseManager databaseManager) {
+		if (databaseManager instanceof PostgreSQLDatabaseManager) {
+			return "id BIGSERIAL PRIMARY KEY";
+		} else if (databaseManager instanceof SQLiteDatabaseManager) {
+			return "id INTEGER PRIMARY KEY AUTOINCREMENT";
+		}
+		return "id BIGINT AUTO_INCREMENT PRIMARY KEY";
+	}
+
+	/**
+	 * Populates the daily achievement counts table from the reception dates of existing achievements. This is only done
+	 * if the table is empty, ie. when it was just created; counts are then kept up to date as achievements are written.
+	 * 
+	 * @param databaseManager
+	 * @throws SQLException
+	 */
+	private void computeDailyAchievementCounts(AbstractDatabaseManager databaseManager) throws SQLException {
+		String prefix = databaseManager.getPrefix();
+		try (Connection connection = databaseManager.getWriteConnection()) {
+			try (Statement st = connection.createStatement()) {
+				st.setMaxRows(1);
+				try (ResultSet rs = st.executeQuery("SELECT playername FROM " + prefix + "daily_achievements")) {
+					if (rs.next()) {
+						return;
+					}
+				}
+			}
+			SQLOperation operation = st -> {
+				try (PreparedStatement prep = connection
+						.prepareStatement("INSERT INTO " + prefix + "daily_achievements VALUES (?,?,?)")) {
+					st.setFetchSize(1000);
+					try (ResultSet rs = st.executeQuery(
+							"SELECT playername, date FROM " + prefix + "achievements ORDER BY playername")) {
+						String player = null;
+						Map<String, Integer> dailyCounts = new HashMap<>();
+						while (rs.next()) {
+							if (player == null) {
+								logger.info("Computing daily achievement counts, please wait...");
+							} else if (!rs.getString(1).equals(player)) {
+								addDailyCounts(prep, player, dailyCounts);
+								dailyCounts.clear();
+							}
+							player = rs.getString(1);
+							Timestamp date = rs.getTimestamp(2);
+							if (date != null) {
+								dailyCounts.merge(AbstractDatabaseManager.toDay(date), 1, Integer::sum);
+							}
+						}
+						addDailyCounts(prep, player, dailyCounts);
+					}
+					prep.executeBatch();
+				}
+			};
+			doInTransaction(connection, operation);
+		}
+	}
+
+	/**
+	 * Creates the secondary indexes used to list the recipients of an achievement and to compute rankings over a
+	 * period.
+	 * 
+	 * @param databaseManager
+	 * @throws SQLException
+	 */
+	private void createIndexes(AbstractDatabaseManager databaseManager) throws SQLException {
+		logger.info("Creating database indexes, please wait...");
+		String prefix = databaseManager.getPrefix();
+		try (Connection connection = databaseManager.getWriteConnection();
+				Statement st = connection.createStatement()) {
+			createIndex(databaseManager, connection, st, prefix + "achievements", "achievement, date");
+			createIndex(databaseManager, connection, st, prefix + "daily_achievements", "date, playername, achievements");
+		}
+	}
+
+	/**
+	 * Creates an index named after its table if it does not already exist.
+	 * 
+	 * @param databaseManager
+	 * @param connection
+	 * @param st
+	 * @param tableName
+	 * @param columns
+	 * @throws SQLException
+	 */
+	private void createIndex(AbstractDatabaseManager databaseManager, Connection connection, Statement st,
+			String tableName, String columns) throws SQLException {
+		String indexName = tableName + "_" + StringUtils.substringBefore(columns, ",") + "_index";
+		// MySQL does not support IF NOT EXISTS for indexes.
+		if (databaseManager instanceof MySQLDatabaseManager) {
+			try (ResultSet rs = connection.getMetaData().getIndexInfo(null, null, tableName, false, true)) {
+				while (rs.next()) {
+					if (indexName.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+						return;
+					}
+				}
+			}
+			st.execute("CREATE INDEX " + indexName + " ON " + tableName + " (" + columns + ")");
+		} else {
+			st.execute("CREATE INDEX IF NOT EXISTS " + indexName + " ON " + tableName + " (" + columns + ")");
+		}
+	}
+
 	/**
 	 * Increases the size of the sub-category column of MultipleAchievements database tables to accommodate new
 	 * parameters such as specificplayer-56c79b19-4500-466c-94ea-514a755fdd09 or grouped sub-categories.
@@ -130,11 +306,14 @@ public class DatabaseUpdater {
 	 * @param databaseManager
 	 * @param category
 	 * @param size
+	 * @throws SQLException
 	 */
-	void updateOldDBColumnSize(AbstractDatabaseManager databaseManager, MultipleAchievements category, int size) {
+	private void updateOldDBColumnSize(AbstractDatabaseManager databaseManager, MultipleAchievements category, int size)
+			throws SQLException {
 		// SQLite ignores size for varchar datatype. H2 support was added after this was an issue.
 		if (!(databaseManager instanceof AbstractFileDatabaseManager)) {
-			try (Statement st = databaseManager.getConnection().createStatement();
+			try (Connection connection = databaseManager.getWriteConnection();
+					Statement st = connection.createStatement();
 					ResultSet rs = st.executeQuery("SELECT " + category.toSubcategoryDBName() + " FROM "
 							+ databaseManager.getPrefix() + category.toDBName() + " LIMIT 1")) {
 				if (rs.getMetaData().getPrecision(1) < size) {
@@ -145,8 +324,6 @@ public class DatabaseUpdater {
 							: "MODIFY " + category.toSubcategoryDBName() + " varchar(" + size + ")";
 					st.execute("ALTER TABLE " + databaseManager.getPrefix() + category.toDBName() + " " + alterOperation);
 				}
-			} catch (SQLException e) {
-				logger.log(Level.SEVERE, "Database error while updating old " + category.toDBName() + " table:", e);
 			}
 		}
 	}
@@ -155,11 +332,12 @@ public class DatabaseUpdater {
 	 * Removes achievement descriptions from database storage.
 	 * 
 	 * @param databaseManager
+	 * @throws SQLException
 	 */
-	void removeAchievementDescriptions(AbstractDatabaseManager databaseManager) {
-		Connection connection = databaseManager.getConnection();
-		try (ResultSet rs = connection.getMetaData().getColumns(null, null, databaseManager.getPrefix()
-				+ "achievements", "description")) {
+	private void removeAchievementDescriptions(AbstractDatabaseManager databaseManager) throws SQLException {
+		try (Connection connection = databaseManager.getWriteConnection();
+				ResultSet rs = connection.getMetaData().getColumns(null, null, databaseManager.getPrefix()
+						+ "achievements", "description")) {
 			if (rs.next()) {
 				logger.info("Removing descriptions from database storage, please wait...");
 				// SQLite does not support dropping columns: create new table and copy contents over.
@@ -181,15 +359,13 @@ public class DatabaseUpdater {
 							st.execute("ALTER TABLE tempTable RENAME TO achievements");
 						}
 					};
-					doInTransaction(databaseManager, operation);
+					doInTransaction(connection, operation);
 				} else {
 					try (Statement st = connection.createStatement()) {
 						st.execute("ALTER TABLE " + databaseManager.getPrefix() + "achievements DROP COLUMN description");
 					}
 				}
 			}
-		} catch (SQLException e) {
-			logger.log(Level.SEVERE, "Database error while removing descriptions:", e);
 		}
 	}
 
@@ -208,7 +384,7 @@ public class DatabaseUpdater {
 			// Create new temporary table.
 			st.execute("CREATE TABLE tempTable (playername char(36)," + category.toSubcategoryDBName() + " varchar(" + size
 					+ ")," + tableName + " INT UNSIGNED,PRIMARY KEY(playername, " + category.toSubcategoryDBName() + "))");
-			try (PreparedStatement prep = databaseManager.getConnection()
+			try (PreparedStatement prep = st.getConnection()
 					.prepareStatement("INSERT INTO tempTable VALUES (?,?,?);");
 					ResultSet rs = st.executeQuery("SELECT * FROM " + tableName + "")) {
 				List<String> uuids = new ArrayList<>();
@@ -235,8 +411,8 @@ public class DatabaseUpdater {
 				st.execute("ALTER TABLE tempTable RENAME TO " + tableName);
 			}
 		};
-		try {
-			doInTransaction(databaseManager, operation);
+		try (Connection connection = databaseManager.getWriteConnection()) {
+			doInTransaction(connection, operation);
 		} catch (SQLException e) {
 			logger.log(Level.SEVERE, "Database error while updating old material names to new Minecraft 1.13 ones:", e);
 		}
@@ -264,8 +440,29 @@ public class DatabaseUpdater {
 		return StringUtils.join(newMaterials, "|");
 	}
 
-	private void doInTransaction(AbstractDatabaseManager databaseManager, SQLOperation operation) throws SQLException {
-		Connection connection = databaseManager.getConnection();
+	private void addDailyCounts(PreparedStatement prep, String player, Map<String, Integer> dailyCounts)
+			throws SQLException {
+		for (Entry<String, Integer> dailyCount : dailyCounts.entrySet()) {
+			prep.setString(1, player);
+			prep.setString(2, dailyCount.getKey());
+			prep.setInt(3, dailyCount.getValue());
+			prep.addBatch();
+		}
+	}
+
+	private void setSchemaVersion(AbstractDatabaseManager databaseManager, int schemaVersion, int subcategorySize) {
+		String prefix = databaseManager.getPrefix();
+		try (Connection connection = databaseManager.getWriteConnection()) {
+			doInTransaction(connection, st -> {
+				st.execute("DELETE FROM " + prefix + "schema_version");
+				st.execute("INSERT INTO " + prefix + "schema_version VALUES (" + schemaVersion + "," + subcategorySize + ")");
+			});
+		} catch (SQLException e) {
+			logger.log(Level.SEVERE, "Database error while recording schema version:", e);
+		}
+	}
+
+	private void doInTransaction(Connection connection, SQLOperation operation) throws SQLException {
 		try (Statement st = connection.createStatement()) {
 			// Prevent from doing any commits before entire transaction is ready.
 			connection.setAutoCommit(false);
@@ -285,4 +482,11 @@ public class DatabaseUpdater {
 		void perform(Statement statement) throws SQLException;
 
 	}
+
+	@FunctionalInterface
+	private interface Migration {
+
+		void apply(AbstractDatabaseManager databaseManager) throws SQLException;
+
+	}
 }
@@ -6,6 +6,7 @@ import java.util.logging.Logger;
 
 import javax.inject.Named;
 
+import org.apache.commons.lang3.StringUtils;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import com.hm.achievement.AdvancedAchievements;
@@ -30,4 +31,10 @@ public class H2DatabaseManager extends AbstractFileDatabaseManager {
 				org.h2.engine.Engine.class
 		};
 	}
+
+	@Override
+	String getUpsertStatement(String table, String valueColumn, String... keyColumns) {
+		return "MERGE INTO " + prefix + table + " KEY (" + StringUtils.join(keyColumns, ",") + ") VALUES ("
+				+ StringUtils.repeat("?", ",", keyColumns.length + 1) + ")";
+	}
 }
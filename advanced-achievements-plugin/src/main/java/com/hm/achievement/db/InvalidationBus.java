@@ -0,0 +1,39 @@
+package com.hm.achievement.db;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Channel used by the servers sharing a database to notify each other of the players whose data they wrote, so that
+ * only the corresponding cache entries are dropped rather than regularly clearing the caches of all disconnected
+ * players. Notifications are not delivered back to the server that published them.
+ */
+public interface InvalidationBus {
+
+	/**
+	 * Starts receiving the notifications published by the other servers.
+	 *
+	 * @param subscriber called with the players whose data was written, possibly from an asynchronous thread
+	 */
+	void start(Consumer<Set<UUID>> subscriber);
+
+	/**
+	 * Notifies the other servers that the data of some players was written to the database. Can be called from an
+	 * asynchronous thread.
+	 *
+	 * @param players
+	 */
+	void publish(Set<UUID> players);
+
+	/**
+	 * Performs the periodic work of the bus, for instance retrieving the notifications published since the previous
+	 * call. Called from an asynchronous thread.
+	 */
+	void poll();
+
+	/**
+	 * Stops receiving notifications.
+	 */
+	void stop();
+}
@@ -0,0 +1,227 @@
+package com.hm.achievement.db;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+
+/**
+ * Class used to maintain the all-time ranking of players in memory, so that the achievements table does not need to be
+ * scanned and grouped whenever rankings are displayed. The achievement counts of all players are retrieved once when
+ * the plugin is enabled, and are then updated whenever a player receives or loses an achievement.
+ *
+ * Counts are indexed by a Fenwick tree, whose entry at a given index corresponds to the number of players having
+ * received that many achievements, which gives logarithmic rank lookups. Players are also grouped by count in a sorted
+ * map, so that the k best players can be listed in O(log n + k) time.
+ *
+ * The ranking is not maintained with BungeeMode, as other servers also modify the database. Callers must fall back to
+ * database queries if {@link #isLoaded()} returns false.
+ */
+@Singleton
+public class Leaderboard {
+
+	private static final int INITIAL_CAPACITY = 128;
+
+	private final YamlConfiguration mainConfig;
+	private final Logger logger;
+	private final AbstractDatabaseManager databaseManager;
+	// Structures below are guarded by the leaderboard's monitor.
+	private final Map<UUID, Integer> playerCounts = new HashMap<>();
+	private final NavigableMap<Integer, Set<UUID>> countsToPlayers = new TreeMap<>(Collections.reverseOrder());
+	private int[] fenwickTree = new int[INITIAL_CAPACITY + 1];
+	private volatile boolean loaded = false;
+
+	@Inject
+	public Leaderboard(@Named("main") YamlConfiguration mainConfig, Logger logger,
+			AbstractDatabaseManager databaseManager) {
+		this.mainConfig = mainConfig;
+		this.logger = logger;
+		this.databaseManager = databaseManager;
+	}
+
+	/**
+	 * Builds the ranking from the achievement counts stored in the database. Does nothing with BungeeMode.
+	 */
+	public void load() {
+		if (mainConfig.getBoolean("BungeeMode")) {
+			return;
+		}
+		long startTime = System.currentTimeMillis();
+		Map<UUID, Integer> achievementCounts = databaseManager.getPlayersAchievementsAmount();
+		synchronized (this) {
+			playerCounts.clear();
+			countsToPlayers.clear();
+			fenwickTree = new int[INITIAL_CAPACITY + 1];
+			achievementCounts.forEach(this::setCount);
+			loaded = true;
+		}
+		logger.info("Loaded the achievement counts of " + achievementCounts.size() + " players in "
+				+ (System.currentTimeMillis() - startTime) + "ms.");
+	}
+
+	/**
+	 * Whether the ranking is maintained in memory and can be used instead of querying the database.
+	 *
+	 * @return true if the ranking was loaded
+	 */
+	public boolean isLoaded() {
+		return loaded;
+	}
+
+	/**
+	 * Adds an achievement to the count of a player, who must not have received it beforehand.
+	 *
+	 * @param player
+	 */
+	public synchronized void increment(UUID player) {
+		if (loaded) {
+			setCount(player, playerCounts.getOrDefault(player, 0) + 1);
+		}
+	}
+
+	/**
+	 * Removes an achievement from the count of a player, who must have received it beforehand.
+	 *
+	 * @param player
+	 */
+	public synchronized void decrement(UUID player) {
+		if (loaded) {
+			setCount(player, playerCounts.getOrDefault(player, 1) - 1);
+		}
+	}
+
+	/**
+	 * Removes a player from the ranking, following the deletion of all of their achievements.
+	 *
+	 * @param player
+	 */
+	public synchronized void remove(UUID player) {
+		if (loaded) {
+			setCount(player, 0);
+		}
+	}
+
+	/**
+	 * Returns the rank of a player, players with the same number of achievements sharing the same rank.
+	 *
+	 * @param player
+	 * @return the rank, starting at 1, or 0 if the player has not received any achievements
+	 */
+	public synchronized int getRank(UUID player) {
+		Integer count = playerCounts.get(player);
+		if (count == null) {
+			return 0;
+		}
+		// Rank is one more than the number of players with strictly more achievements.
+		return playerCounts.size() - prefixSum(count) + 1;
+	}
+
+	/**
+	 * Returns the number of players that have received at least one achievement.
+	 *
+	 * @return the number of ranked players
+	 */
+	public synchronized int getRankedPlayerCount() {
+		return playerCounts.size();
+	}
+
+	/**
+	 * Constructs a mapping of the players with the most achievements.
+	 *
+	 * @param limit maximum number of players to include
+	 * @return LinkedHashMap with keys corresponding to player UUIDs and values corresponding to their achievement count
+	 */
+	public synchronized Map<String, Integer> getTopList(int limit) {
+		Map<String, Integer> topList = new LinkedHashMap<>();
+		for (Entry<Integer, Set<UUID>> countToPlayers : countsToPlayers.entrySet()) {
+			for (UUID player : countToPlayers.getValue()) {
+				if (topList.size() >= limit) {
+					return topList;
+				}
+				topList.put(player.toString(), countToPlayers.getKey());
+			}
+		}
+		return topList;
+	}
+
+	/**
+	 * Returns the achievement counts of all ranked players.
+	 *
+	 * @return map with keys corresponding to player UUIDs and values corresponding to their achievement count
+	 */
+	public synchronized Map<UUID, Integer> getAchievementCounts() {
+		return new HashMap<>(playerCounts);
+	}
+
+	private void setCount(UUID player, int count) {
+		Integer previousCount = count > 0 ? playerCounts.put(player, count) : playerCounts.remove(player);
+		if (previousCount != null) {
+			Set<UUID> previousPlayers = countsToPlayers.get(previousCount);
+			previousPlayers.remove(player);
+			if (previousPlayers.isEmpty()) {
+				countsToPlayers.remove(previousCount);
+			}
+			updateFenwickTree(previousCount, -1);
+		}
+		if (count > 0) {
+			updateFenwickTree(count, 1);
+			countsToPlayers.computeIfAbsent(count, c -> new LinkedHashSet<>()).add(player);
+		}
+	}
+
+	private void updateFenwickTree(int count, int delta) {
+		if (count >= fenwickTree.length) {
+			growFenwickTree(count);
+		}
+		for (int i = count; i < fenwickTree.length; i += i & -i) {
+			fenwickTree[i] += delta;
+		}
+	}
+
+	/**
+	 * Returns the number of players with at most the given number of achievements.
+	 *
+	 * @param count
+	 * @return the number of players
+	 */
+	private int prefixSum(int count) {
+		int sum = 0;
+		for (int i = Math.min(count, fenwickTree.length - 1); i > 0; i -= i & -i) {
+			sum += fenwickTree[i];
+		}
+		return sum;
+	}
+
+	/**
+	 * Rebuilds the tree with enough capacity to index the given count.
+	 *
+	 * @param count
+	 */
+	private void growFenwickTree(int count) {
+		int capacity = fenwickTree.length - 1;
+		while (capacity < count) {
+			capacity *= 2;
+		}
+		fenwickTree = new int[capacity + 1];
+		for (Entry<Integer, Set<UUID>> countToPlayers : countsToPlayers.entrySet()) {
+			int playersWithCount = countToPlayers.getValue().size();
+			// The player being updated has not yet been added to the count bucket.
+			for (int i = countToPlayers.getKey(); i < fenwickTree.length; i += i & -i) {
+				fenwickTree[i] += playersWithCount;
+			}
+		}
+	}
+}
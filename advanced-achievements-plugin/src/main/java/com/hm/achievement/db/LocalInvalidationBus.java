@@ -0,0 +1,62 @@
+package com.hm.achievement.db;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+
+/**
+ * In-process invalidation bus, delivering notifications synchronously to the started buses of the same network. A bus
+ * created on its own has no peers and does nothing, it is used when the database is not shared by several servers.
+ */
+public class LocalInvalidationBus implements InvalidationBus {
+
+	private final Set<LocalInvalidationBus> network;
+	private volatile Consumer<Set<UUID>> subscriber;
+
+	public LocalInvalidationBus() {
+		network = new CopyOnWriteArraySet<>();
+	}
+
+	/**
+	 * Creates a bus joining the network of an existing one.
+	 *
+	 * @param peer
+	 */
+	public LocalInvalidationBus(LocalInvalidationBus peer) {
+		network = peer.network;
+	}
+
+	@Override
+	public void start(Consumer<Set<UUID>> subscriber) {
+		this.subscriber = subscriber;
+		network.add(this);
+	}
+
+	@Override
+	public void publish(Set<UUID> players) {
+		if (players.isEmpty()) {
+			return;
+		}
+		Set<UUID> notification = Collections.unmodifiableSet(new HashSet<>(players));
+		for (LocalInvalidationBus peer : network) {
+			Consumer<Set<UUID>> peerSubscriber = peer.subscriber;
+			if (peer != this && peerSubscriber != null) {
+				peerSubscriber.accept(notification);
+			}
+		}
+	}
+
+	@Override
+	public void poll() {
+		// Notifications are delivered as soon as they are published.
+	}
+
+	@Override
+	public void stop() {
+		network.remove(this);
+		subscriber = null;
+	}
+}
@@ -0,0 +1,115 @@
+package com.hm.achievement.db;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Class used to buffer the achievement registrations and deletions of a player until they are written to the database.
+ * Only the latest operation on a given achievement is retained, and deleting all achievements discards the operations
+ * buffered beforehand.
+ *
+ * Instances are not thread-safe: they are only accessed whilst being atomically computed in a concurrent map, or once
+ * removed from it.
+ */
+class PendingAchievementWrites {
+
+	private boolean deleteAll;
+	// Reception time of the registered achievements, or null for the deleted ones.
+	private final Map<String, Long> achievementChanges = new LinkedHashMap<>();
+
+	void register(String achName, long epochMs) {
+		achievementChanges.put(achName, epochMs);
+	}
+
+	void delete(String achName) {
+		achievementChanges.put(achName, null);
+	}
+
+	void deleteAll() {
+		deleteAll = true;
+		achievementChanges.clear();
+	}
+
+	/**
+	 * Creates an independent copy of the buffered changes.
+	 *
+	 * @return the copy
+	 */
+	PendingAchievementWrites copy() {
+		PendingAchievementWrites copy = new PendingAchievementWrites();
+		copy.deleteAll = deleteAll;
+		copy.achievementChanges.putAll(achievementChanges);
+		return copy;
+	}
+
+	/**
+	 * Appends the changes buffered after these ones, for instance when a batch that could not be written is put back in
+	 * front of the operations buffered in the meantime.
+	 *
+	 * @param laterWrites
+	 */
+	void append(PendingAchievementWrites laterWrites) {
+		if (laterWrites.deleteAll) {
+			deleteAll();
+		}
+		laterWrites.achievementChanges.forEach((achName, epochMs) -> {
+			achievementChanges.remove(achName);
+			achievementChanges.put(achName, epochMs);
+		});
+	}
+
+	/**
+	 * Applies the buffered changes to the names of the achievements stored in the database for the player.
+	 *
+	 * @param achievementNames
+	 */
+	void applyTo(Set<String> achievementNames) {
+		if (deleteAll) {
+			achievementNames.clear();
+		}
+		achievementChanges.forEach((achName, epochMs) -> {
+			if (epochMs == null) {
+				achievementNames.remove(achName);
+			} else {
+				achievementNames.add(achName);
+			}
+		});
+	}
+
+	/**
+	 * Applies the buffered changes to the reception times of the achievements stored in the database for the player.
+	 *
+	 * @param receptionTimes
+	 */
+	void applyTo(Map<String, Long> receptionTimes) {
+		if (deleteAll) {
+			receptionTimes.clear();
+		}
+		achievementChanges.forEach((achName, epochMs) -> {
+			if (epochMs == null) {
+				receptionTimes.remove(achName);
+			} else {
+				receptionTimes.put(achName, epochMs);
+			}
+		});
+	}
+
+	/**
+	 * Whether all existing achievements of the player must be deleted before applying the other changes.
+	 *
+	 * @return true if all achievements were deleted
+	 */
+	boolean isDeleteAll() {
+		return deleteAll;
+	}
+
+	/**
+	 * Returns the changes to apply, keyed by achievement name; values are reception times, or null for deletions.
+	 *
+	 * @return the achievement changes
+	 */
+	Map<String, Long> getAchievementChanges() {
+		return achievementChanges;
+	}
+}
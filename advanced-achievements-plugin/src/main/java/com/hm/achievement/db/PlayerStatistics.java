@@ -0,0 +1,362 @@
+package com.hm.achievement.db;
+
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import com.hm.achievement.category.MultipleAchievements;
+import com.hm.achievement.category.NormalAchievements;
+
+/**
+ * Class used to group the cached statistics of a player, so that each player costs a single entry in the caches.
+ * Statistics of normal categories are stored in an array indexed by category ordinal. Statistics of multiple categories
+ * are stored in an open addressing table keyed by category and sub-category identifier, as interned by the
+ * AchievementMap; the table is replaced rather than modified when statistics are added or removed, so that lookups and
+ * iterations from any thread do not need locking.
+ */
+public class PlayerStatistics {
+
+	private static final NormalAchievements[] NORMAL_CATEGORIES = NormalAchievements.values();
+	private static final MultipleAchievements[] MULTIPLE_CATEGORIES = MultipleAchievements.values();
+	private static final MultipleStatisticsTable EMPTY_TABLE = new MultipleStatisticsTable(0);
+
+	private final UUID uuid;
+	private final AtomicReferenceArray<CachedStatistic> normalStatistics;
+	// Replaced whilst holding the monitor of the player statistics.
+	private volatile MultipleStatisticsTable multipleStatistics = EMPTY_TABLE;
+	// Indicates whether the player is queued for the next database flush.
+	private final AtomicBoolean dirty = new AtomicBoolean();
+	// Indicates whether the player has recently disconnected, or whether another server sharing the database modified
+	// their statistics. Can only be modified by the main server thread.
+	private volatile boolean disconnection;
+	private volatile boolean invalidated;
+
+	public PlayerStatistics(UUID uuid) {
+		this.uuid = uuid;
+		normalStatistics = new AtomicReferenceArray<>(NORMAL_CATEGORIES.length);
+	}
+
+	public UUID getUUID() {
+		return uuid;
+	}
+
+	public CachedStatistic get(NormalAchievements category) {
+		return normalStatistics.get(category.ordinal());
+	}
+
+	public void put(NormalAchievements category, CachedStatistic statistic) {
+		normalStatistics.set(category.ordinal(), statistic);
+	}
+
+	public boolean putIfAbsent(NormalAchievements category, CachedStatistic statistic) {
+		return normalStatistics.compareAndSet(category.ordinal(), null, statistic);
+	}
+
+	public boolean remove(NormalAchievements category, CachedStatistic statistic) {
+		return normalStatistics.compareAndSet(category.ordinal(), statistic, null);
+	}
+
+	/**
+	 * Returns the statistic of a normal category, creating it if it is not cached.
+	 *
+	 * @param category
+	 * @param statisticSupplier
+	 * @return the cached or created statistic
+	 */
+	public CachedStatistic computeIfAbsent(NormalAchievements category, Supplier<CachedStatistic> statisticSupplier) {
+		CachedStatistic statistic = get(category);
+		if (statistic == null) {
+			synchronized (this) {
+				statistic = get(category);
+				if (statistic == null) {
+					statistic = statisticSupplier.get();
+					// Statistics preloaded from another thread are added without locking, do not overwrite them.
+					if (!putIfAbsent(category, statistic)) {
+						statistic = get(category);
+					}
+				}
+			}
+		}
+		return statistic;
+	}
+
+	public CachedStatistic get(MultipleAchievements category, int subcategoryId) {
+		return multipleStatistics.get(category, subcategoryId);
+	}
+
+	public synchronized void put(MultipleAchievements category, int subcategoryId, CachedStatistic statistic) {
+		multipleStatistics = multipleStatistics.with(category, subcategoryId, statistic);
+	}
+
+	/**
+	 * Adds the statistics of a multiple category that are not already cached, with a single replacement of the table.
+	 *
+	 * @param category
+	 * @param statistics statistics keyed by sub-category identifier
+	 */
+	public synchronized void putAllIfAbsent(MultipleAchievements category, Map<Integer, CachedStatistic> statistics) {
+		MultipleStatisticsTable table = multipleStatistics;
+		int missingStatistics = 0;
+		for (int subcategoryId : statistics.keySet()) {
+			if (table.get(category, subcategoryId) == null) {
+				++missingStatistics;
+			}
+		}
+		if (missingStatistics > 0) {
+			MultipleStatisticsTable newTable = table.copy(table.size + missingStatistics);
+			for (Entry<Integer, CachedStatistic> statistic : statistics.entrySet()) {
+				if (table.get(category, statistic.getKey()) == null) {
+					newTable.insert(category, statistic.getKey(), statistic.getValue());
+				}
+			}
+			multipleStatistics = newTable;
+		}
+	}
+
+	public synchronized boolean remove(MultipleAchievements category, int subcategoryId, CachedStatistic statistic) {
+		if (multipleStatistics.get(category, subcategoryId) != statistic) {
+			return false;
+		}
+		multipleStatistics = multipleStatistics.without(s -> s == statistic);
+		return true;
+	}
+
+	/**
+	 * Returns the statistic of a multiple category, creating it if it is not cached.
+	 *
+	 * @param category
+	 * @param subcategoryId
+	 * @param statisticSupplier
+	 * @return the cached or created statistic
+	 */
+	public CachedStatistic computeIfAbsent(MultipleAchievements category, int subcategoryId,
+			Supplier<CachedStatistic> statisticSupplier) {
+		CachedStatistic statistic = get(category, subcategoryId);
+		if (statistic == null) {
+			synchronized (this) {
+				statistic = get(category, subcategoryId);
+				if (statistic == null) {
+					statistic = statisticSupplier.get();
+					put(category, subcategoryId, statistic);
+				}
+			}
+		}
+		return statistic;
+	}
+
+	public void forEachNormalStatistic(BiConsumer<NormalAchievements, CachedStatistic> action) {
+		for (int i = 0; i < NORMAL_CATEGORIES.length; ++i) {
+			CachedStatistic statistic = normalStatistics.get(i);
+			if (statistic != null) {
+				action.accept(NORMAL_CATEGORIES[i], statistic);
+			}
+		}
+	}
+
+	public void forEachMultipleStatistic(MultipleStatisticConsumer action) {
+		MultipleStatisticsTable table = multipleStatistics;
+		for (int i = 0; i < table.statistics.length; ++i) {
+			if (table.statistics[i] != null) {
+				action.accept(MULTIPLE_CATEGORIES[table.categories[i]], table.subcategoryIds[i], table.statistics[i]);
+			}
+		}
+	}
+
+	/**
+	 * Removes the statistics that have been written to the database.
+	 *
+	 * @return true if no statistics remain cached
+	 */
+	public synchronized boolean removeDatabaseConsistentStatistics() {
+		Predicate<CachedStatistic> isWritten = s -> s.isDatabaseConsistent() && s.isLoaded();
+		boolean empty = true;
+		for (int i = 0; i < NORMAL_CATEGORIES.length; ++i) {
+			CachedStatistic statistic = normalStatistics.get(i);
+			if (statistic != null && isWritten.test(statistic)) {
+				normalStatistics.compareAndSet(i, statistic, null);
+			}
+			empty &= normalStatistics.get(i) == null;
+		}
+		multipleStatistics = multipleStatistics.without(isWritten);
+		return empty && multipleStatistics.size == 0;
+	}
+
+	/**
+	 * Returns whether all the cached statistics have been written to the database.
+	 *
+	 * @return true if no statistics need to be written or are being loaded
+	 */
+	public boolean isDatabaseConsistent() {
+		for (int i = 0; i < NORMAL_CATEGORIES.length; ++i) {
+			CachedStatistic statistic = normalStatistics.get(i);
+			if (statistic != null && !(statistic.isDatabaseConsistent() && statistic.isLoaded())) {
+				return false;
+			}
+		}
+		for (CachedStatistic statistic : multipleStatistics.statistics) {
+			if (statistic != null && !(statistic.isDatabaseConsistent() && statistic.isLoaded())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Marks the statistics that were lazily incremented as needing to be written to the database.
+	 *
+	 * @return true if at least one statistic has just become dirty
+	 */
+	public boolean promoteLazyIncrements() {
+		boolean promoted = false;
+		for (int i = 0; i < NORMAL_CATEGORIES.length; ++i) {
+			CachedStatistic statistic = normalStatistics.get(i);
+			if (statistic != null) {
+				promoted |= statistic.promoteLazyIncrements();
+			}
+		}
+		for (CachedStatistic statistic : multipleStatistics.statistics) {
+			if (statistic != null) {
+				promoted |= statistic.promoteLazyIncrements();
+			}
+		}
+		return promoted;
+	}
+
+	/**
+	 * Marks the player as needing to be considered by the next database flush.
+	 *
+	 * @return true if the player was not already marked, i.e. it must be queued
+	 */
+	public boolean markDirty() {
+		return !dirty.getAndSet(true);
+	}
+
+	/**
+	 * Clears the dirty mark, before the statistics are collected by a database flush.
+	 */
+	public void clearDirty() {
+		dirty.set(false);
+	}
+
+	public boolean didPlayerDisconnect() {
+		return disconnection;
+	}
+
+	public void signalPlayerDisconnection() {
+		disconnection = true;
+	}
+
+	public void resetDisconnection() {
+		disconnection = false;
+	}
+
+	public boolean isInvalidated() {
+		return invalidated;
+	}
+
+	public void invalidate() {
+		invalidated = true;
+	}
+
+	@FunctionalInterface
+	public interface MultipleStatisticConsumer {
+
+		void accept(MultipleAchievements category, int subcategoryId, CachedStatistic statistic);
+	}
+
+	/**
+	 * Open addressing table with linear probing. Instances are only modified before being published.
+	 */
+	private static final class MultipleStatisticsTable {
+
+		private final byte[] categories;
+		private final int[] subcategoryIds;
+		private final CachedStatistic[] statistics;
+		private int size;
+
+		private MultipleStatisticsTable(int expectedSize) {
+			// Keep the load factor at or below one half.
+			int capacity = Integer.highestOneBit(Math.max(expectedSize, 1) * 2 - 1) << 1;
+			categories = new byte[capacity];
+			subcategoryIds = new int[capacity];
+			statistics = new CachedStatistic[capacity];
+		}
+
+		private CachedStatistic get(MultipleAchievements category, int subcategoryId) {
+			int mask = statistics.length - 1;
+			for (int i = hash(category, subcategoryId) & mask;; i = (i + 1) & mask) {
+				CachedStatistic statistic = statistics[i];
+				if (statistic == null) {
+					return null;
+				} else if (subcategoryIds[i] == subcategoryId && categories[i] == category.ordinal()) {
+					return statistic;
+				}
+			}
+		}
+
+		private MultipleStatisticsTable with(MultipleAchievements category, int subcategoryId,
+				CachedStatistic statistic) {
+			MultipleStatisticsTable table = copy(size + 1);
+			table.insert(category, subcategoryId, statistic);
+			return table;
+		}
+
+		private MultipleStatisticsTable without(Predicate<CachedStatistic> removed) {
+			int remaining = 0;
+			for (CachedStatistic statistic : statistics) {
+				if (statistic != null && !removed.test(statistic)) {
+					++remaining;
+				}
+			}
+			if (remaining == size) {
+				return this;
+			}
+			MultipleStatisticsTable table = new MultipleStatisticsTable(remaining);
+			for (int i = 0; i < statistics.length; ++i) {
+				if (statistics[i] != null && !removed.test(statistics[i])) {
+					table.insert(MULTIPLE_CATEGORIES[categories[i]], subcategoryIds[i], statistics[i]);
+				}
+			}
+			return table;
+		}
+
+		private MultipleStatisticsTable copy(int expectedSize) {
+			MultipleStatisticsTable table = new MultipleStatisticsTable(expectedSize);
+			for (int i = 0; i < statistics.length; ++i) {
+				if (statistics[i] != null) {
+					table.insert(MULTIPLE_CATEGORIES[categories[i]], subcategoryIds[i], statistics[i]);
+				}
+			}
+			return table;
+		}
+
+		/**
+		 * Inserts or replaces a statistic. The table must have spare capacity.
+		 */
+		private void insert(MultipleAchievements category, int subcategoryId, CachedStatistic statistic) {
+			int mask = statistics.length - 1;
+			int i = hash(category, subcategoryId) & mask;
+			while (statistics[i] != null
+					&& !(subcategoryIds[i] == subcategoryId && categories[i] == category.ordinal())) {
+				i = (i + 1) & mask;
+			}
+			if (statistics[i] == null) {
+				++size;
+			}
+			categories[i] = (byte) category.ordinal();
+			subcategoryIds[i] = subcategoryId;
+			statistics[i] = statistic;
+		}
+
+		private static int hash(MultipleAchievements category, int subcategoryId) {
+			// Identifiers are small consecutive integers, scramble them so that neighbouring keys do not form clusters.
+			int hash = (31 * subcategoryId + category.ordinal()) * 0x9E3779B9;
+			return hash ^ (hash >>> 16);
+		}
+	}
+}
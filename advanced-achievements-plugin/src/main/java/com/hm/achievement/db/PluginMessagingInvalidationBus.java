@@ -0,0 +1,156 @@
+package com.hm.achievement.db;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.messaging.PluginMessageListener;
+
+import com.hm.achievement.AdvancedAchievements;
+
+/**
+ * Invalidation bus relying on BungeeCord plugin messages, forwarded by the proxy to all the other servers. Plugin
+ * messages can only be sent and received through a connected player: notifications published whilst no players are
+ * connected are kept until one joins, but servers without connected players miss notifications. The database bus should
+ * therefore be preferred if players frequently come back to empty servers within the cleaning period.
+ */
+public class PluginMessagingInvalidationBus implements InvalidationBus, PluginMessageListener {
+
+	private static final String BUNGEE_CHANNEL = "BungeeCord";
+	private static final String SUBCHANNEL = "AdvancedAchievementsInvalidation";
+	// Keeps messages well below the plugin message size limit of 32 KiB.
+	private static final int MAX_PLAYERS_PER_MESSAGE = 1000;
+
+	private final Logger logger;
+	private final AdvancedAchievements advancedAchievements;
+	// Players whose notifications could not be sent yet. Guarded by the set's monitor.
+	private final Set<UUID> pendingPlayers = new HashSet<>();
+	private volatile Consumer<Set<UUID>> subscriber;
+
+	public PluginMessagingInvalidationBus(Logger logger, AdvancedAchievements advancedAchievements) {
+		this.logger = logger;
+		this.advancedAchievements = advancedAchievements;
+	}
+
+	@Override
+	public void start(Consumer<Set<UUID>> subscriber) {
+		this.subscriber = subscriber;
+		advancedAchievements.getServer().getMessenger().registerOutgoingPluginChannel(advancedAchievements,
+				BUNGEE_CHANNEL);
+		advancedAchievements.getServer().getMessenger().registerIncomingPluginChannel(advancedAchievements,
+				BUNGEE_CHANNEL, this);
+	}
+
+	@Override
+	public void publish(Set<UUID> players) {
+		if (players.isEmpty()) {
+			return;
+		}
+		synchronized (pendingPlayers) {
+			pendingPlayers.addAll(players);
+		}
+		if (Bukkit.isPrimaryThread()) {
+			sendPendingPlayers();
+		} else {
+			Bukkit.getScheduler().runTask(advancedAchievements, this::sendPendingPlayers);
+		}
+	}
+
+	@Override
+	public void poll() {
+		synchronized (pendingPlayers) {
+			if (pendingPlayers.isEmpty()) {
+				return;
+			}
+		}
+		Bukkit.getScheduler().runTask(advancedAchievements, this::sendPendingPlayers);
+	}
+
+	@Override
+	public void stop() {
+		subscriber = null;
+		advancedAchievements.getServer().getMessenger().unregisterIncomingPluginChannel(advancedAchievements,
+				BUNGEE_CHANNEL, this);
+		advancedAchievements.getServer().getMessenger().unregisterOutgoingPluginChannel(advancedAchievements,
+				BUNGEE_CHANNEL);
+	}
+
+	@Override
+	public void onPluginMessageReceived(String channel, Player player, byte[] message) {
+		Consumer<Set<UUID>> currentSubscriber = subscriber;
+		if (!BUNGEE_CHANNEL.equals(channel) || currentSubscriber == null) {
+			return;
+		}
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(message))) {
+			if (!SUBCHANNEL.equals(in.readUTF())) {
+				return;
+			}
+			in.readShort();
+			Set<UUID> players = new HashSet<>();
+			for (int remaining = in.readInt(); remaining > 0; --remaining) {
+				players.add(new UUID(in.readLong(), in.readLong()));
+			}
+			currentSubscriber.accept(players);
+		} catch (IOException e) {
+			logger.log(Level.SEVERE, "Error while reading cache invalidation message:", e);
+		}
+	}
+
+	/**
+	 * Forwards the pending notifications to all the other servers through any connected player. Must be called from the
+	 * main server thread.
+	 */
+	private void sendPendingPlayers() {
+		Player player = Bukkit.getOnlinePlayers().stream().findFirst().orElse(null);
+		if (player == null) {
+			return;
+		}
+		Set<UUID> players;
+		synchronized (pendingPlayers) {
+			players = new HashSet<>(pendingPlayers);
+			pendingPlayers.clear();
+		}
+		if (players.isEmpty()) {
+			return;
+		}
+		List<UUID> remainingPlayers = new ArrayList<>(players);
+		for (int i = 0; i < remainingPlayers.size(); i += MAX_PLAYERS_PER_MESSAGE) {
+			sendMessage(player, remainingPlayers.subList(i,
+					Math.min(i + MAX_PLAYERS_PER_MESSAGE, remainingPlayers.size())));
+		}
+	}
+
+	private void sendMessage(Player player, List<UUID> players) {
+		try {
+			ByteArrayOutputStream data = new ByteArrayOutputStream();
+			DataOutputStream dataOut = new DataOutputStream(data);
+			dataOut.writeInt(players.size());
+			for (UUID uuid : players) {
+				dataOut.writeLong(uuid.getMostSignificantBits());
+				dataOut.writeLong(uuid.getLeastSignificantBits());
+			}
+			ByteArrayOutputStream message = new ByteArrayOutputStream();
+			DataOutputStream messageOut = new DataOutputStream(message);
+			messageOut.writeUTF("Forward");
+			messageOut.writeUTF("ALL");
+			messageOut.writeUTF(SUBCHANNEL);
+			messageOut.writeShort(data.size());
+			messageOut.write(data.toByteArray());
+			player.sendPluginMessage(advancedAchievements, BUNGEE_CHANNEL, message.toByteArray());
+		} catch (IOException e) {
+			logger.log(Level.SEVERE, "Error while writing cache invalidation message:", e);
+		}
+	}
+}
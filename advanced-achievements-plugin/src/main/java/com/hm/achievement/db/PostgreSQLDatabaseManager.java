@@ -1,14 +1,15 @@
 package com.hm.achievement.db;
 
 import java.io.UnsupportedEncodingException;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.sql.Timestamp;
 import java.util.UUID;
 import java.util.concurrent.ExecutorService;
 import java.util.logging.Logger;
 
 import javax.inject.Named;
 
+import org.apache.commons.lang3.StringUtils;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import com.hm.achievement.category.NormalAchievements;
@@ -40,20 +41,17 @@ public class PostgreSQLDatabaseManager extends AbstractRemoteDatabaseManager {
 	}
 
 	@Override
-	public void registerAchievement(UUID uuid, String achName, long time) {
-		((SQLWriteOperation) () -> {
-			// PostgreSQL has no REPLACE operator. We have to use the INSERT ... ON CONFLICT construct, which is
-			// available for PostgreSQL 9.5+.
-			String sql = "INSERT INTO " + prefix + "achievements VALUES (?,?,?) ON CONFLICT (playername,achievement) "
-					+ "DO UPDATE SET (date)=(?)";
-			try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
-				ps.setString(1, uuid.toString());
-				ps.setString(2, achName);
-				ps.setTimestamp(3, new Timestamp(time));
-				ps.setTimestamp(4, new Timestamp(time));
-				ps.execute();
-			}
-		}).executeOperation(writeExecutor, logger, "registering an achievement");
+	String getUpsertStatement(String table, String valueColumn, String... keyColumns) {
+		return "INSERT INTO " + prefix + table + " VALUES (" + StringUtils.repeat("?", ",", keyColumns.length + 1)
+				+ ") ON CONFLICT (" + StringUtils.join(keyColumns, ",") + ") DO UPDATE SET " + valueColumn + "=EXCLUDED."
+				+ valueColumn;
+	}
+
+	@Override
+	String getIncrementStatement(String table, String valueColumn, String... keyColumns) {
+		return "INSERT INTO " + prefix + table + " VALUES (" + StringUtils.repeat("?", ",", keyColumns.length + 1)
+				+ ") ON CONFLICT (" + StringUtils.join(keyColumns, ",") + ") DO UPDATE SET " + valueColumn + "="
+				+ prefix + table + "." + valueColumn + "+?";
 	}
 
 	@Override
@@ -63,7 +61,8 @@ public class PostgreSQLDatabaseManager extends AbstractRemoteDatabaseManager {
 			// available for PostgreSQL 9.5+.
 			String sql = "INSERT INTO " + prefix + NormalAchievements.CONNECTIONS.toDBName() + " VALUES (?,?,?) ON"
 					+ " CONFLICT (playername) DO UPDATE SET (" + NormalAchievements.CONNECTIONS.toDBName() + ",date)=(?,?)";
-			try (PreparedStatement writePrep = getConnection().prepareStatement(sql)) {
+			try (Connection connection = getWriteConnection();
+					PreparedStatement writePrep = connection.prepareStatement(sql)) {
 				String date = ConnectionInformation.today();
 				writePrep.setString(1, uuid.toString());
 				writePrep.setLong(2, connections);
@@ -72,6 +71,7 @@ public class PostgreSQLDatabaseManager extends AbstractRemoteDatabaseManager {
 				writePrep.setString(5, date);
 				writePrep.execute();
 			}
-		}).executeOperation(writeExecutor, logger, "updating connection date and count");
+		}).executeOperation(writeExecutor, connectionWriteKey(uuid), logger,
+				"updating connection date and count");
 	}
 }
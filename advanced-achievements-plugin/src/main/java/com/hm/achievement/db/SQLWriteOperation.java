@@ -2,9 +2,12 @@ package com.hm.achievement.db;
 
 import java.sql.SQLException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.hm.achievement.exception.UncertainCommitException;
+
 /**
  * Class used to perform write operations to the database and automatically retry if a SQLException is thrown.
  *
@@ -30,21 +33,51 @@ public interface SQLWriteOperation {
 	 * @param operationMessage
 	 */
 	default void executeOperation(Executor executor, Logger logger, String operationMessage) {
-		executor.execute(() -> attemptWrites(logger, operationMessage));
+		try {
+			executor.execute(() -> attemptWrites(logger, operationMessage));
+		} catch (RejectedExecutionException e) {
+			logRejection(logger, operationMessage, e);
+		}
 	}
 
 	/**
-	 * Calls {@code performWrite} repeatedly until the write succeeds or {@code MAX_ATTEMPTS} is reached.
+	 * Performs the write operation with an Executor. If the executor is a WriteExecutor, the operation can be superseded
+	 * by a later one submitted with the same coalescing key before it is sent to the database.
 	 *
+	 * @param executor
+	 * @param coalescingKey
 	 * @param logger
 	 * @param operationMessage
 	 */
-	default void attemptWrites(Logger logger, String operationMessage) {
+	default void executeOperation(Executor executor, String coalescingKey, Logger logger, String operationMessage) {
+		if (executor instanceof WriteExecutor) {
+			try {
+				((WriteExecutor) executor).execute(coalescingKey, () -> attemptWrites(logger, operationMessage));
+			} catch (RejectedExecutionException e) {
+				logRejection(logger, operationMessage, e);
+			}
+		} else {
+			executeOperation(executor, logger, operationMessage);
+		}
+	}
+
+	/**
+	 * Calls {@code performWrite} repeatedly until the write succeeds or {@code MAX_ATTEMPTS} is reached. Writes whose
+	 * commit has an unknown outcome are not attempted again, as they may already have been applied.
+	 *
+	 * @param logger
+	 * @param operationMessage
+	 * @return true if the write succeeded, false if it was given up
+	 */
+	default boolean attemptWrites(Logger logger, String operationMessage) {
 		for (int attempt = 1; attempt <= MAX_ATTEMPTS; ++attempt) {
 			try {
 				performWrite();
 				// Operation succeeded: return immediately.
-				return;
+				return true;
+			} catch (UncertainCommitException e) {
+				logger.log(Level.SEVERE, "Database write error while " + operationMessage + ":", e);
+				return false;
 			} catch (SQLException e) {
 				if (attempt == MAX_ATTEMPTS) {
 					// Final attempt: log error.
@@ -55,6 +88,18 @@ public interface SQLWriteOperation {
 				}
 			}
 		}
+		return false;
+	}
+
+	/**
+	 * Reports a write operation that was dropped by the executor.
+	 *
+	 * @param logger
+	 * @param operationMessage
+	 * @param e
+	 */
+	default void logRejection(Logger logger, String operationMessage, RejectedExecutionException e) {
+		logger.log(Level.SEVERE, "Database write dropped while " + operationMessage + ": " + e.getMessage());
 	}
 
 	/**
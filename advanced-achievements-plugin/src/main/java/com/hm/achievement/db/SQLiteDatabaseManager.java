@@ -6,6 +6,7 @@ import java.util.logging.Logger;
 
 import javax.inject.Named;
 
+import org.apache.commons.lang3.StringUtils;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import com.hm.achievement.AdvancedAchievements;
@@ -23,4 +24,19 @@ public class SQLiteDatabaseManager extends AbstractFileDatabaseManager {
 		super(mainConfig, logger, databaseUpdater, advancedAchievements, "org.sqlite.JDBC", "jdbc:sqlite:"
 				+ new File(advancedAchievements.getDataFolder(), "achievements.db"), "achievements.db", writeExecutor);
 	}
+
+	@Override
+	String getUpsertStatement(String table, String valueColumn, String... keyColumns) {
+		// UPSERT clause available since SQLite 3.24.0.
+		return "INSERT INTO " + prefix + table + " VALUES (" + StringUtils.repeat("?", ",", keyColumns.length + 1)
+				+ ") ON CONFLICT (" + StringUtils.join(keyColumns, ",") + ") DO UPDATE SET " + valueColumn + "=excluded."
+				+ valueColumn;
+	}
+
+	@Override
+	String getIncrementStatement(String table, String valueColumn, String... keyColumns) {
+		return "INSERT INTO " + prefix + table + " VALUES (" + StringUtils.repeat("?", ",", keyColumns.length + 1)
+				+ ") ON CONFLICT (" + StringUtils.join(keyColumns, ",") + ") DO UPDATE SET " + valueColumn + "="
+				+ valueColumn + "+?";
+	}
 }
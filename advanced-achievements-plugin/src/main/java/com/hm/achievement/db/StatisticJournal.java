@@ -0,0 +1,352 @@
+package com.hm.achievement.db;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import com.hm.achievement.AdvancedAchievements;
+import com.hm.achievement.category.MultipleAchievements;
+import com.hm.achievement.category.NormalAchievements;
+
+/**
+ * Class used to journal the values of modified statistics to the plugin's data folder between two database flushes, so
+ * that they are not lost if the server crashes or is killed before they reach the database.
+ *
+ * The journal is a sequence of memory-mapped segment files to which the latest values of the statistics modified since
+ * the previous pass are appended, every few ticks. A segment is rotated out when a database flush starts, and deleted
+ * once the flush is committed: all the statistics it contains were dirty when the flush collected its values, and have
+ * therefore been written to the database. If the flush is given up, the collected statistics are marked as dirty again
+ * and are collected by the next flush before its segments are deleted.
+ *
+ * Alongside each value, the increments not yet written to the database are journaled, as well as whether the value
+ * must be written as is. With delta writes, replayed statistics are written as deltas, so that progress written by
+ * other servers sharing the database in the meantime is not overwritten. Records appended whilst a flush is in flight
+ * include the deltas it collected, which are only known to be written once it is committed; the same increments can
+ * therefore only be counted twice if the server stops between the commit of a flush and the next journal pass, which
+ * supersedes these records, or the deletion of the flush's segments.
+ *
+ * Each record is made of its payload length, a CRC32 of its payload, and the payload itself. A zero length marks the
+ * end of a segment; records truncated or corrupted by a crash are ignored when the journal is replayed.
+ */
+@Singleton
+public class StatisticJournal {
+
+	private static final int SEGMENT_SIZE = 1 << 20;
+	private static final String SEGMENT_PREFIX = "statistics-";
+	private static final String SEGMENT_SUFFIX = ".journal";
+	private static final byte NORMAL_RECORD = 0;
+	private static final byte MULTIPLE_RECORD = 1;
+
+	private final YamlConfiguration mainConfig;
+	private final Logger logger;
+	private final CacheManager cacheManager;
+	private final File journalFolder;
+	// Segments rotated out but not yet covered by a committed database flush, keyed by sequence number.
+	private final NavigableMap<Long, MappedByteBuffer> rotatedSegments = new TreeMap<>();
+	private final CRC32 crc = new CRC32();
+	// Fields below are guarded by the journal's monitor; the current segment is null if the journal is disabled.
+	private MappedByteBuffer currentSegment;
+	private long currentSequence;
+
+	@Inject
+	public StatisticJournal(@Named("main") YamlConfiguration mainConfig, Logger logger,
+			AdvancedAchievements advancedAchievements, CacheManager cacheManager) {
+		this.mainConfig = mainConfig;
+		this.logger = logger;
+		this.cacheManager = cacheManager;
+		this.journalFolder = new File(advancedAchievements.getDataFolder(), "journal");
+	}
+
+	/**
+	 * Replays the segments left over by a previous run into the statistics cache, where they are marked as dirty so
+	 * that they are written to the database by the next flush, and opens a new segment. Does nothing if the journal is
+	 * disabled in the configuration.
+	 */
+	public synchronized void open() {
+		if (!mainConfig.getBoolean("StatisticJournal") || currentSegment != null) {
+			return;
+		}
+		try {
+			Files.createDirectories(journalFolder.toPath());
+			NavigableMap<Long, File> segmentFiles = new TreeMap<>();
+			File[] files = journalFolder.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX)
+					&& name.endsWith(SEGMENT_SUFFIX));
+			for (File file : files == null ? new File[0] : files) {
+				String sequence = file.getName().substring(SEGMENT_PREFIX.length(),
+						file.getName().length() - SEGMENT_SUFFIX.length());
+				segmentFiles.put(Long.parseLong(sequence), file);
+			}
+			int replayedRecords = 0;
+			for (Entry<Long, File> segmentFile : segmentFiles.entrySet()) {
+				MappedByteBuffer segment = mapSegment(segmentFile.getValue());
+				int records = replay(segment);
+				if (records == 0) {
+					deleteSegment(segmentFile.getKey(), segment);
+				} else {
+					// Keep the segment until the replayed values are written to the database.
+					rotatedSegments.put(segmentFile.getKey(), segment);
+					replayedRecords += records;
+				}
+			}
+			if (replayedRecords > 0) {
+				logger.info("Replayed " + replayedRecords + " statistic values from the journal of a previous run.");
+			}
+			currentSequence = segmentFiles.isEmpty() ? 0L : segmentFiles.lastKey() + 1;
+			currentSegment = mapSegment(getSegmentFile(currentSequence));
+		} catch (IOException | NumberFormatException e) {
+			logger.log(Level.SEVERE, "Error while opening the statistic journal, statistics will not be journaled:", e);
+		}
+	}
+
+	/**
+	 * Appends the values of the statistics modified since the previous call to the journal, and forces them to the
+	 * storage device. Can be called from an asynchronous thread.
+	 */
+	public synchronized void commit() {
+		if (currentSegment == null) {
+			return;
+		}
+		boolean appended = false;
+		try {
+			for (PlayerStatistics statistics : cacheManager.getDirtyPlayers()) {
+				appended |= append(statistics);
+			}
+			if (appended) {
+				currentSegment.force();
+			}
+		} catch (IOException e) {
+			logger.log(Level.SEVERE, "Error while writing to the statistic journal:", e);
+		}
+	}
+
+	/**
+	 * Rotates out the current segment, if it is not empty, and returns the sequence number that must be passed to
+	 * {@link #truncate(long)} once the values collected by the database flush that is starting have been committed.
+	 * The flush collects its values whilst no records are being appended.
+	 *
+	 * @param collector collects the values of the flush
+	 * @return the sequence number of the first segment not covered by the flush
+	 */
+	public synchronized long rotate(Runnable collector) {
+		if (currentSegment != null && currentSegment.position() > 0) {
+			try {
+				MappedByteBuffer nextSegment = mapSegment(getSegmentFile(currentSequence + 1));
+				rotatedSegments.put(currentSequence++, currentSegment);
+				currentSegment = nextSegment;
+			} catch (IOException e) {
+				logger.log(Level.SEVERE, "Error while rotating the statistic journal:", e);
+			}
+		}
+		collector.run();
+		return currentSequence;
+	}
+
+	/**
+	 * Deletes the segments whose values have been written to the database.
+	 *
+	 * @param sequence the value returned by {@link #rotate(Runnable)} when the committed flush started
+	 */
+	public synchronized void truncate(long sequence) {
+		Map<Long, MappedByteBuffer> coveredSegments = rotatedSegments.headMap(sequence, false);
+		for (Entry<Long, MappedByteBuffer> segment : new ArrayList<>(coveredSegments.entrySet())) {
+			deleteSegment(segment.getKey(), segment.getValue());
+		}
+		coveredSegments.clear();
+	}
+
+	/**
+	 * Stops journaling. Segments are left on disk if statistics could not be written to the database.
+	 */
+	public synchronized void close() {
+		if (currentSegment != null && currentSegment.position() == 0) {
+			deleteSegment(currentSequence, currentSegment);
+		}
+		currentSegment = null;
+	}
+
+	private boolean append(PlayerStatistics statistics) throws IOException {
+		UUID uuid = statistics.getUUID();
+		boolean[] appended = { false };
+		for (NormalAchievements category : NormalAchievements.values()) {
+			CachedStatistic statistic = statistics.get(category);
+			if (statistic != null && isModified(statistic)) {
+				appendRecord(category.toDBName(), NORMAL_RECORD, uuid, null, statistic);
+				appended[0] = true;
+			}
+		}
+		try {
+			statistics.forEachMultipleStatistic((category, subcategoryId, statistic) -> {
+				if (isModified(statistic)) {
+					try {
+						appendRecord(category.toDBName(), MULTIPLE_RECORD, uuid,
+								cacheManager.getSubcategoryName(category, subcategoryId), statistic);
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+					appended[0] = true;
+				}
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		return appended[0];
+	}
+
+	/**
+	 * Marks a statistic as journaled. Values of statistics still being loaded are partial ones, they are journaled once
+	 * merged.
+	 *
+	 * @param statistic
+	 * @return true if the statistic was modified since it was last journaled and must be appended
+	 */
+	private boolean isModified(CachedStatistic statistic) {
+		return statistic.isLoaded() && statistic.prepareJournalWrite();
+	}
+
+	private void appendRecord(String category, byte recordType, UUID uuid, String subcategory,
+			CachedStatistic statistic) throws IOException {
+		long value;
+		long unwrittenDelta;
+		boolean unwrittenAbsoluteValue;
+		synchronized (statistic) {
+			value = statistic.getValue();
+			unwrittenDelta = statistic.getUnwrittenDelta();
+			unwrittenAbsoluteValue = statistic.hasUnwrittenAbsoluteValue();
+		}
+		byte[] categoryBytes = category.getBytes(StandardCharsets.UTF_8);
+		byte[] subcategoryBytes = subcategory == null ? new byte[0] : subcategory.getBytes(StandardCharsets.UTF_8);
+		ByteBuffer payload = ByteBuffer
+				.allocate(1 + 2 + categoryBytes.length + 16 + 8 + 8 + 1 + 2 + subcategoryBytes.length);
+		payload.put(recordType);
+		payload.putShort((short) categoryBytes.length).put(categoryBytes);
+		payload.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+		payload.putLong(value);
+		payload.putLong(unwrittenDelta);
+		payload.put(unwrittenAbsoluteValue ? (byte) 1 : (byte) 0);
+		payload.putShort((short) subcategoryBytes.length).put(subcategoryBytes);
+		payload.flip();
+
+		// Leave room for the end marker of the segment.
+		if (currentSegment.remaining() < 8 + payload.remaining() + 4) {
+			currentSegment.force();
+			MappedByteBuffer nextSegment = mapSegment(getSegmentFile(currentSequence + 1));
+			rotatedSegments.put(currentSequence++, currentSegment);
+			currentSegment = nextSegment;
+		}
+		crc.reset();
+		crc.update(payload.array(), 0, payload.limit());
+		currentSegment.putInt(payload.limit());
+		currentSegment.putInt((int) crc.getValue());
+		currentSegment.put(payload);
+	}
+
+	/**
+	 * Loads the valid records of a segment into the statistics cache.
+	 *
+	 * @param segment
+	 * @return the number of replayed records
+	 */
+	private int replay(MappedByteBuffer segment) {
+		int records = 0;
+		while (segment.remaining() >= 8) {
+			int length = segment.getInt();
+			int checksum = segment.getInt();
+			if (length <= 0 || length > segment.remaining()) {
+				break;
+			}
+			byte[] payload = new byte[length];
+			segment.get(payload);
+			crc.reset();
+			crc.update(payload, 0, length);
+			if ((int) crc.getValue() != checksum) {
+				logger.warning("Ignoring corrupted records in the statistic journal.");
+				break;
+			}
+			ByteBuffer record = ByteBuffer.wrap(payload);
+			byte recordType = record.get();
+			String category = readString(record);
+			UUID uuid = new UUID(record.getLong(), record.getLong());
+			long value = record.getLong();
+			long unwrittenDelta = record.getLong();
+			boolean unwrittenAbsoluteValue = record.get() == 1;
+			String subcategory = readString(record);
+			PlayerStatistics statistics = cacheManager.getOrCreatePlayerStatistics(uuid);
+			if (recordType == NORMAL_RECORD) {
+				for (NormalAchievements normalCategory : NormalAchievements.values()) {
+					if (normalCategory.toDBName().equals(category)) {
+						statistics.put(normalCategory,
+								new CachedStatistic(value, unwrittenDelta, unwrittenAbsoluteValue));
+						cacheManager.markDirty(statistics);
+					}
+				}
+			} else {
+				for (MultipleAchievements multipleCategory : MultipleAchievements.values()) {
+					if (multipleCategory.toDBName().equals(category)) {
+						statistics.put(multipleCategory, cacheManager.internSubcategoryId(multipleCategory, subcategory),
+								new CachedStatistic(value, unwrittenDelta, unwrittenAbsoluteValue));
+						cacheManager.markDirty(statistics);
+					}
+				}
+			}
+			++records;
+		}
+		return records;
+	}
+
+	private String readString(ByteBuffer record) {
+		byte[] bytes = new byte[record.getShort()];
+		record.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private File getSegmentFile(long sequence) {
+		return new File(journalFolder, SEGMENT_PREFIX + sequence + SEGMENT_SUFFIX);
+	}
+
+	private MappedByteBuffer mapSegment(File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE)) {
+			// The mapping remains valid once the channel is closed.
+			return channel.map(MapMode.READ_WRITE, 0, SEGMENT_SIZE);
+		}
+	}
+
+	/**
+	 * Deletes a segment. Mapped files cannot be deleted on some operating systems, the segment is then emptied so that
+	 * it is not replayed, and will be deleted on the next startup.
+	 *
+	 * @param sequence
+	 * @param segment
+	 */
+	private void deleteSegment(long sequence, MappedByteBuffer segment) {
+		segment.putInt(0, 0);
+		segment.force();
+		try {
+			Files.deleteIfExists(getSegmentFile(sequence).toPath());
+		} catch (IOException e) {
+			logger.fine("Statistic journal segment " + sequence + " could not be deleted yet.");
+		}
+	}
+}
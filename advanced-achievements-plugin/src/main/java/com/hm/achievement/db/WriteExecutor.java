@@ -0,0 +1,259 @@
+package com.hm.achievement.db;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Executor used to perform the database write operations asynchronously, with a fixed number of workers and a bounded
+ * queue. Tasks submitted whilst the queue is full are spilled to a bounded overflow list and moved back to the queue
+ * as soon as workers free up some space. Once writes have been spilled, later ones are spilled behind them so that
+ * the submission order is preserved. Spilled tasks are only held in memory, and tasks submitted whilst the overflow
+ * list is full are rejected.
+ * <p>
+ * With the COALESCE overflow policy, a write submitted with a coalescing key supersedes any pending write with the
+ * same key, which is then skipped. The new write is queued after the writes submitted in the meantime, so that the
+ * ordering between operations with different keys is preserved.
+ * <p>
+ * Queue depth, active workers, spilled, coalesced and rejected tasks are exposed so that write backpressure can be
+ * monitored; a warning is also logged when the queue overflows or writes are rejected, at most once per
+ * {@code OVERFLOW_WARNING_INTERVAL_MILLIS}.
+ */
+public class WriteExecutor extends ThreadPoolExecutor {
+
+	private static final long OVERFLOW_WARNING_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+	private final Logger logger;
+	private final OverflowPolicy overflowPolicy;
+	private final int overflowCapacity;
+	// Tasks that did not fit in the bounded queue, in submission order. Guarded by its own monitor, which is also held
+	// whilst submitting tasks so that none can overtake the spilled ones.
+	private final Deque<Runnable> overflow = new ArrayDeque<>();
+	private final Map<String, CoalescingTask> pendingCoalescingTasks = new ConcurrentHashMap<>();
+	private final AtomicLong spilledTasks = new AtomicLong();
+	private final AtomicLong coalescedTasks = new AtomicLong();
+	private final AtomicLong rejectedTasks = new AtomicLong();
+	private final AtomicLong lastOverflowWarningMillis = new AtomicLong();
+	private final AtomicLong lastRejectionWarningMillis = new AtomicLong();
+
+	/**
+	 * Policy applied when writes are submitted faster than they can be sent to the database.
+	 */
+	public enum OverflowPolicy {
+		SPILL,
+		COALESCE
+	}
+
+	public WriteExecutor(Logger logger, int workers, int queueCapacity, int overflowCapacity,
+			OverflowPolicy overflowPolicy) {
+		super(Math.max(1, workers), Math.max(1, workers), 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), new WriterThreadFactory());
+		this.logger = logger;
+		this.overflowPolicy = overflowPolicy;
+		this.overflowCapacity = Math.max(0, overflowCapacity);
+		setRejectedExecutionHandler((task, executor) -> spill(task));
+		prestartAllCoreThreads();
+	}
+
+	/**
+	 * Executes a write operation which can be superseded by a later one submitted with the same coalescing key, if the
+	 * COALESCE policy is used.
+	 *
+	 * @param coalescingKey
+	 * @param task
+	 */
+	public void execute(String coalescingKey, Runnable task) {
+		if (overflowPolicy != OverflowPolicy.COALESCE || coalescingKey == null) {
+			execute(task);
+			return;
+		}
+		CoalescingTask coalescingTask = new CoalescingTask(coalescingKey, task);
+		CoalescingTask supersededTask = pendingCoalescingTasks.put(coalescingKey, coalescingTask);
+		if (supersededTask != null && supersededTask.cancel()) {
+			coalescedTasks.incrementAndGet();
+		}
+		try {
+			execute(coalescingTask);
+		} catch (RejectedExecutionException e) {
+			pendingCoalescingTasks.remove(coalescingKey, coalescingTask);
+			throw e;
+		}
+	}
+
+	@Override
+	public void execute(Runnable task) {
+		synchronized (overflow) {
+			if (overflow.isEmpty()) {
+				super.execute(task);
+			} else {
+				spill(task);
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of writes waiting to be executed, including the ones spilled to the overflow list.
+	 *
+	 * @return the queue depth
+	 */
+	public int getQueueDepth() {
+		synchronized (overflow) {
+			return getQueue().size() + overflow.size();
+		}
+	}
+
+	/**
+	 * Returns the number of writes that did not fit in the bounded queue since the executor was started.
+	 *
+	 * @return the number of spilled writes
+	 */
+	public long getSpilledTaskCount() {
+		return spilledTasks.get();
+	}
+
+	/**
+	 * Returns the number of writes that were skipped because a later write with the same key superseded them.
+	 *
+	 * @return the number of coalesced writes
+	 */
+	public long getCoalescedTaskCount() {
+		return coalescedTasks.get();
+	}
+
+	/**
+	 * Returns the number of writes that were dropped because both the queue and the overflow list were full.
+	 *
+	 * @return the number of rejected writes
+	 */
+	public long getRejectedTaskCount() {
+		return rejectedTasks.get();
+	}
+
+	@Override
+	protected void afterExecute(Runnable task, Throwable throwable) {
+		super.afterExecute(task, throwable);
+		drainOverflow();
+	}
+
+	@Override
+	public void shutdown() {
+		super.shutdown();
+		if (spilledTasks.get() > 0 || coalescedTasks.get() > 0 || rejectedTasks.get() > 0) {
+			logger.info("Database write executor statistics: " + getMetricsSummary() + ".");
+		}
+	}
+
+	/**
+	 * Moves a task rejected by the bounded queue to the overflow list. Tasks submitted after shutdown or whilst the
+	 * overflow list is full are still rejected. Must be called whilst holding the overflow monitor.
+	 *
+	 * @param task
+	 */
+	private void spill(Runnable task) {
+		if (isShutdown()) {
+			throw new RejectedExecutionException("Database write executor has been shut down.");
+		}
+		// Workers may have freed up space in the queue since the task was submitted.
+		drainOverflow();
+		if (overflow.size() >= overflowCapacity) {
+			reject();
+		}
+		overflow.offerLast(task);
+		spilledTasks.incrementAndGet();
+		drainOverflow();
+
+		if (shouldWarn(lastOverflowWarningMillis)) {
+			logger.warning("Database writes are submitted faster than they can be sent, pending writes are spilled to "
+					+ "memory: " + getMetricsSummary() + ".");
+		}
+	}
+
+	/**
+	 * Counts and reports a task that does not fit in the overflow list, then rejects it.
+	 */
+	private void reject() {
+		rejectedTasks.incrementAndGet();
+		if (shouldWarn(lastRejectionWarningMillis)) {
+			logger.log(Level.SEVERE, "Database writes are submitted faster than they can be sent and the overflow list "
+					+ "is full, writes are being dropped: " + getMetricsSummary() + ".");
+		}
+		throw new RejectedExecutionException("Database write overflow list is full.");
+	}
+
+	private boolean shouldWarn(AtomicLong lastWarningMillis) {
+		long nowMillis = System.currentTimeMillis();
+		long previousWarningMillis = lastWarningMillis.get();
+		return nowMillis - previousWarningMillis > OVERFLOW_WARNING_INTERVAL_MILLIS
+				&& lastWarningMillis.compareAndSet(previousWarningMillis, nowMillis);
+	}
+
+	/**
+	 * Moves spilled tasks back to the bounded queue, in submission order, for as long as it has remaining capacity.
+	 */
+	private void drainOverflow() {
+		synchronized (overflow) {
+			Runnable task;
+			while ((task = overflow.peekFirst()) != null && getQueue().offer(task)) {
+				overflow.pollFirst();
+			}
+		}
+	}
+
+	private String getMetricsSummary() {
+		return "queue depth " + getQueueDepth() + ", active workers " + getActiveCount() + "/" + getMaximumPoolSize()
+				+ ", spilled " + spilledTasks.get() + ", coalesced " + coalescedTasks.get() + ", rejected "
+				+ rejectedTasks.get();
+	}
+
+	/**
+	 * Write operation that can be cancelled if superseded by a more recent one with the same key.
+	 */
+	private final class CoalescingTask implements Runnable {
+
+		private final String key;
+		private final AtomicReference<Runnable> task;
+
+		private CoalescingTask(String key, Runnable task) {
+			this.key = key;
+			this.task = new AtomicReference<>(task);
+		}
+
+		private boolean cancel() {
+			return task.getAndSet(null) != null;
+		}
+
+		@Override
+		public void run() {
+			// Remove mapping before running, a write submitted with the same key from now on must not be skipped.
+			pendingCoalescingTasks.remove(key, this);
+			Runnable currentTask = task.getAndSet(null);
+			if (currentTask != null) {
+				currentTask.run();
+			}
+		}
+	}
+
+	/**
+	 * Names the worker threads so that they can be identified in thread dumps.
+	 */
+	private static final class WriterThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger threadCount = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			return new Thread(runnable, "AdvancedAchievements-DB-Writer-" + threadCount.incrementAndGet());
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package com.hm.achievement.db.data;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import com.hm.achievement.category.MultipleAchievements;
+import com.hm.achievement.category.NormalAchievements;
+
+/**
+ * Represents the database state of a player retrieved in a single pass when the player logs in: statistics for all
+ * categories, received achievements with their reception times and connection information.
+ */
+public class PreloadedPlayerData {
+
+	private final UUID uuid;
+	private final Map<NormalAchievements, Long> normalStatistics;
+	private final Map<MultipleAchievements, Map<String, Long>> multipleStatistics;
+	private final Map<String, Long> receptionTimes;
+	private final ConnectionInformation connectionInformation;
+
+	public PreloadedPlayerData(UUID uuid, Map<NormalAchievements, Long> normalStatistics,
+			Map<MultipleAchievements, Map<String, Long>> multipleStatistics, Map<String, Long> receptionTimes,
+			ConnectionInformation connectionInformation) {
+		this.uuid = uuid;
+		this.normalStatistics = normalStatistics;
+		this.multipleStatistics = multipleStatistics;
+		this.receptionTimes = receptionTimes;
+		this.connectionInformation = connectionInformation;
+	}
+
+	public UUID getUUID() {
+		return uuid;
+	}
+
+	/**
+	 * Statistics for Normal categories. Categories without a database row are absent from the map.
+	 *
+	 * @return the map of Normal statistics
+	 */
+	public Map<NormalAchievements, Long> getNormalStatistics() {
+		return normalStatistics;
+	}
+
+	/**
+	 * Statistics for Multiple categories, keyed by category and subcategory as stored in the database.
+	 *
+	 * @return the map of Multiple statistics
+	 */
+	public Map<MultipleAchievements, Map<String, Long>> getMultipleStatistics() {
+		return multipleStatistics;
+	}
+
+	public Set<String> getAchievementNames() {
+		return new HashSet<>(receptionTimes.keySet());
+	}
+
+	/**
+	 * Reception times of the received achievements, keyed by achievement name.
+	 *
+	 * @return map from achievement name to reception time in epoch milliseconds
+	 */
+	public Map<String, Long> getReceptionTimes() {
+		return receptionTimes;
+	}
+
+	public ConnectionInformation getConnectionInformation() {
+		return connectionInformation;
+	}
+
+}
@@ -0,0 +1,18 @@
+package com.hm.achievement.exception;
+
+import java.sql.SQLException;
+
+/**
+ * Checked exception thrown if committing a transaction fails without the outcome of the commit being known, for
+ * instance if the connection is lost whilst committing. Such writes must not be attempted again as is, as they may
+ * already have been applied.
+ */
+public class UncertainCommitException extends SQLException {
+
+	private static final long serialVersionUID = 4129570357394870163L;
+
+	public UncertainCommitException(SQLException e) {
+		super("Outcome of the commit is unknown.", e.getSQLState(), e.getErrorCode(), e);
+	}
+
+}
@@ -4,10 +4,14 @@ import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.function.Function;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -26,6 +30,7 @@ import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
+import com.hm.achievement.AdvancedAchievements;
 import com.hm.achievement.category.Category;
 import com.hm.achievement.category.MultipleAchievements;
 import com.hm.achievement.category.NormalAchievements;
@@ -39,7 +44,9 @@ import com.hm.achievement.utils.NumberHelper;
 import com.hm.achievement.utils.StringHelper;
 
 /**
- * Represents the main GUI, corresponding to more specific details about the different achievements.
+ * Represents the main GUI, corresponding to more specific details about the different achievements. Pages are
+ * assembled on asynchronous threads from a snapshot of the player's statistics and received achievements; if a player
+ * requests several pages in quick succession, only the latest one is displayed.
  *
  * @author Pyves
  */
@@ -52,10 +59,9 @@ public class CategoryGUI implements Reloadable {
 	private static final long NO_STAT = -1L;
 	private static final String NO_SUBCATEGORY = "";
 	private static final int PROGRESS_BAR_SIZE = 90;
-	private static final DecimalFormat TIME_FORMAT = new DecimalFormat("0");
-	static {
-		TIME_FORMAT.setMaximumFractionDigits(1);
-	}
+	// DecimalFormat is not thread-safe and pages are assembled concurrently on asynchronous threads.
+	private static final ThreadLocal<DecimalFormat> TIME_FORMAT = ThreadLocal
+			.withInitial(() -> new DecimalFormat("0.#"));
 
 	private final YamlConfiguration mainConfig;
 	private final YamlConfiguration langConfig;
@@ -63,76 +69,46 @@ public class CategoryGUI implements Reloadable {
 	private final AbstractDatabaseManager databaseManager;
 	private final GUIItems guiItems;
 	private final AchievementMap achievementMap;
+	private final AdvancedAchievements advancedAchievements;
+	// Identifier of the latest page requested by each player and not yet displayed.
+	private final Map<UUID, Long> latestPageRequests = new ConcurrentHashMap<>();
+	private long pageRequestCounter;
 
-	private boolean configObfuscateNotReceived;
-	private boolean configObfuscateProgressiveAchievements;
-	private boolean configHideProgressiveAchievements;
-	private boolean configHideRewardDisplayInList;
-	private boolean configEnrichedProgressBars;
+	// Parameters used whilst assembling pages, replaced as a whole on reload and captured by each page snapshot.
+	private ListSettings listSettings;
 	private boolean configNumberedItemsInList;
-	private ChatColor configColor;
-	private ChatColor configListColorNotReceived;
-	private String configFormatNotReceived;
 	private boolean configBackButtonIsCategoryItem;
 	private String langListBackMessage;
 	private String langListBackLore;
 	private String langListGUITitle;
-	private String langListAchievementReceived;
-	private String langListAchievementNotReceived;
-	private String langListDescription;
-	private String langListReception;
-	private String langListGoal;
-	private String langListProgress;
-	private String langListReward;
-	private String langListRewards;
 
 	@Inject
 	public CategoryGUI(@Named("main") YamlConfiguration mainConfig, @Named("lang") YamlConfiguration langConfig,
 			CacheManager cacheManager, AbstractDatabaseManager databaseManager, GUIItems guiItems,
-			AchievementMap achievementMap) {
+			AchievementMap achievementMap, AdvancedAchievements advancedAchievements) {
 		this.mainConfig = mainConfig;
 		this.langConfig = langConfig;
 		this.cacheManager = cacheManager;
 		this.databaseManager = databaseManager;
 		this.guiItems = guiItems;
 		this.achievementMap = achievementMap;
+		this.advancedAchievements = advancedAchievements;
 	}
 
 	@Override
 	public void extractConfigurationParameters() {
-		configObfuscateNotReceived = mainConfig.getBoolean("ObfuscateNotReceived");
-		configObfuscateProgressiveAchievements = mainConfig.getBoolean("ObfuscateProgressiveAchievements");
-		configHideProgressiveAchievements = mainConfig.getBoolean("HideProgressiveAchievements");
-		configHideRewardDisplayInList = mainConfig.getBoolean("HideRewardDisplayInList");
-		configEnrichedProgressBars = mainConfig.getBoolean("EnrichedListProgressBars");
+		listSettings = new ListSettings(mainConfig, langConfig);
 		configNumberedItemsInList = mainConfig.getBoolean("NumberedItemsInList");
-		configColor = ChatColor.getByChar(mainConfig.getString("Color"));
-		configListColorNotReceived = ChatColor.getByChar(mainConfig.getString("ListColorNotReceived"));
-		configFormatNotReceived = mainConfig.getBoolean("ListItaliciseNotReceived") ? "&o" : "";
 		configBackButtonIsCategoryItem = mainConfig.getBoolean("BackButtonIsCategoryItem");
 
 		langListBackMessage = translateColorCodes(langConfig.getString("list-back-message"));
 		langListBackLore = translateColorCodes(langConfig.getString("list-back-lore"));
 		langListGUITitle = translateColorCodes(langConfig.getString("list-gui-title"));
-		langListAchievementReceived = StringEscapeUtils.unescapeJava(langConfig.getString("list-achievement-received"));
-		langListAchievementNotReceived = StringEscapeUtils
-				.unescapeJava(langConfig.getString("list-achievement-not-received")) + configListColorNotReceived;
-		String description = langConfig.getString("list-description");
-		langListDescription = description.isEmpty() ? "" : translateColorCodes("&7&l" + description);
-		String reception = langConfig.getString("list-reception");
-		langListReception = reception.isEmpty() ? "" : translateColorCodes("&7&l" + reception);
-		String goal = langConfig.getString("list-goal");
-		langListGoal = goal.isEmpty() ? "" : translateColorCodes("&7&l" + goal);
-		String progress = langConfig.getString("list-progress");
-		langListProgress = progress.isEmpty() ? "" : translateColorCodes("&7&l" + progress);
-		String reward = langConfig.getString("list-reward");
-		langListReward = reward.isEmpty() ? "" : translateColorCodes("&7&l" + reward);
-		String rewards = langConfig.getString("list-rewards");
-		langListRewards = rewards.isEmpty() ? "" : translateColorCodes("&7&l" + rewards);
 	}
 
 	/**
-	 * Displays a category GUI, containing all the achievements from a given category.
+	 * Displays a category GUI, containing all the achievements from a given category. If some of the player's
+	 * statistics are being retrieved from the database, the GUI is displayed once they are available.
 	 *
 	 * @param item
 	 * @param player
@@ -142,25 +118,29 @@ public class CategoryGUI implements Reloadable {
 		for (Entry<OrderedCategory, ItemStack> achievementItem : guiItems.getOrderedAchievementItems().entrySet()) {
 			if (achievementItem.getValue().isSimilar(item)) {
 				Category category = achievementItem.getKey().getCategory();
-				Map<String, Long> subcategoriesToStatistics;
 				List<Achievement> achievements = achievementMap.getForCategory(category);
 				if (category instanceof MultipleAchievements) {
-					subcategoriesToStatistics = getMultipleStatisticsMapping((MultipleAchievements) category, player);
+					collectMultipleStatistics((MultipleAchievements) category, player,
+							subcategoriesToStatistics -> requestPage(player, subcategoriesToStatistics, requestedPage,
+									item, achievements));
 				} else if (category instanceof NormalAchievements) {
-					long statistic = getNormalStatistic((NormalAchievements) category, player);
-					subcategoriesToStatistics = Collections.singletonMap(NO_SUBCATEGORY, statistic);
+					cacheManager.incrementStatisticAmount((NormalAchievements) category, player.getUniqueId(), 0,
+							statistic -> requestPage(player, Collections.singletonMap(NO_SUBCATEGORY, statistic),
+									requestedPage, item, achievements));
 				} else {
-					subcategoriesToStatistics = achievements.stream()
+					Map<String, Long> subcategoriesToStatistics = achievements.stream()
 							.collect(Collectors.toMap(Achievement::getSubcategory, a -> NO_STAT));
+					requestPage(player, subcategoriesToStatistics, requestedPage, item, achievements);
 				}
-				displayPage(player, subcategoriesToStatistics, requestedPage, item, achievements);
 				return;
 			}
 		}
 	}
 
 	/**
-	 * Displays a category GUI page, containing up to MAX_PER_PAGE achievements from a given category.
+	 * Snapshots the data needed to display a category GUI page and assembles the page on an asynchronous thread. Only
+	 * the creation and opening of the inventory are done back on the main server thread, provided that the player has
+	 * not requested another page in the meantime. Reception times not cached yet are first loaded asynchronously.
 	 *
 	 * @param player
 	 * @param subcategoriesToStatistics
@@ -168,24 +148,89 @@ public class CategoryGUI implements Reloadable {
 	 * @param clickedItem
 	 * @param achievements
 	 */
-	private void displayPage(Player player, Map<String, Long> subcategoriesToStatistics, int requestedIndex,
+	private void requestPage(Player player, Map<String, Long> subcategoriesToStatistics, int requestedIndex,
 			ItemStack clickedItem, List<Achievement> achievements) {
+		UUID uuid = player.getUniqueId();
+		Long requestId = ++pageRequestCounter;
+		latestPageRequests.put(uuid, requestId);
+		// Reception times are preloaded when the player logs in, the page then does not require any database access.
+		cacheManager.getPlayerReceptionTimes(uuid, receptionTimes -> {
+			// Drop the request if the player has requested another page whilst reception times were being loaded.
+			if (requestId.equals(latestPageRequests.get(uuid))) {
+				PageSnapshot snapshot = snapshotPage(player, subcategoriesToStatistics, requestedIndex, achievements,
+						receptionTimes);
+				Bukkit.getScheduler().runTaskAsynchronously(advancedAchievements, () -> {
+					// Drop the request if the player has requested another page whilst it was waiting for a worker.
+					if (requestId.equals(latestPageRequests.get(uuid))) {
+						List<PageItem> pageItems = assemblePage(snapshot);
+						Bukkit.getScheduler().runTask(advancedAchievements, () -> {
+							if (latestPageRequests.remove(uuid, requestId) && player.isOnline()) {
+								openPage(player, snapshot, pageItems, clickedItem);
+							}
+						});
+					}
+				});
+			}
+		});
+	}
+
+	/**
+	 * Snapshots the data needed to assemble a category GUI page, including the formatted reception dates of the
+	 * achievements it displays.
+	 *
+	 * @param player
+	 * @param subcategoriesToStatistics
+	 * @param requestedIndex
+	 * @param achievements
+	 * @param receptionTimes
+	 * @return the snapshot of the page
+	 */
+	private PageSnapshot snapshotPage(Player player, Map<String, Long> subcategoriesToStatistics, int requestedIndex,
+			List<Achievement> achievements, Map<String, Long> receptionTimes) {
 		int pageIndex = getPageIndex(requestedIndex, achievements.size());
 		int pageStart = MAX_ACHIEVEMENTS_PER_PAGE * pageIndex;
 		int pageEnd = Math.min(MAX_ACHIEVEMENTS_PER_PAGE * (pageIndex + 1), achievements.size());
+		Map<String, String> receptionDates = new HashMap<>();
+		for (int index = Math.max(0, pageStart - 1); index < pageEnd; ++index) {
+			String name = achievements.get(index).getName();
+			Long receptionTime = receptionTimes.get(name);
+			if (receptionTime != null) {
+				receptionDates.put(name, databaseManager.formatReceptionDate(receptionTime));
+			}
+		}
+		return new PageSnapshot(listSettings, pageIndex, achievements, subcategoriesToStatistics, receptionDates,
+				StringHelper.getPlayerPlaceholderValues(player));
+	}
 
-		// The inventory must be big enough to contain all page achievements and an entire row for the navigation items.
-		int guiSize = Math.min(NumberHelper.nextMultipleOf9(achievements.size()), MAX_ACHIEVEMENTS_PER_PAGE) + ROW_SIZE;
-		AchievementInventoryHolder inventoryHolder = new AchievementInventoryHolder(pageIndex, clickedItem);
-		Inventory inventory = Bukkit.createInventory(inventoryHolder, guiSize, langListGUITitle);
-		inventoryHolder.setInventory(inventory);
+	/**
+	 * Drops the category GUI pages requested by a player but not yet displayed.
+	 *
+	 * @param player
+	 */
+	public void cancelPageRequests(Player player) {
+		latestPageRequests.remove(player.getUniqueId());
+	}
+
+	/**
+	 * Computes the items of a category GUI page, containing up to MAX_PER_PAGE achievements from a given category. Can
+	 * be called from an asynchronous thread.
+	 *
+	 * @param snapshot
+	 * @return the items to display in the page
+	 */
+	private List<PageItem> assemblePage(PageSnapshot snapshot) {
+		List<Achievement> achievements = snapshot.achievements;
+		ListSettings settings = snapshot.settings;
+		int pageStart = MAX_ACHIEVEMENTS_PER_PAGE * snapshot.pageIndex;
+		int pageEnd = Math.min(MAX_ACHIEVEMENTS_PER_PAGE * (snapshot.pageIndex + 1), achievements.size());
+		List<PageItem> pageItems = new ArrayList<>(pageEnd - pageStart);
 
 		String previousItemDate = null;
 		String previousSubcategory = NO_SUBCATEGORY;
 		int seriesStart = 0;
 		if (pageStart > 0) {
 			Achievement previousAchievement = achievements.get(pageStart - 1);
-			previousItemDate = databaseManager.getPlayerAchievementDate(player.getUniqueId(), previousAchievement.getName());
+			previousItemDate = snapshot.receptionDates.get(previousAchievement.getName());
 			previousSubcategory = previousAchievement.getSubcategory();
 			String currentSubcategory = achievements.get(pageStart).getSubcategory();
 			if (!currentSubcategory.isEmpty()) {
@@ -199,8 +244,8 @@ public class CategoryGUI implements Reloadable {
 		for (int index = pageStart; index < pageEnd; ++index) {
 			// Path can either be a threshold (eg '10', or a subcategory and threshold (eg 'skeleton.10').
 			Achievement achievement = achievements.get(index);
-			long statistic = subcategoriesToStatistics.get(achievement.getSubcategory());
-			String receptionDate = databaseManager.getPlayerAchievementDate(player.getUniqueId(), achievement.getName());
+			long statistic = snapshot.subcategoriesToStatistics.get(achievement.getSubcategory());
+			String receptionDate = snapshot.receptionDates.get(achievement.getName());
 
 			boolean differentSubcategory = !previousSubcategory.equals(achievement.getSubcategory());
 			if (differentSubcategory) {
@@ -214,17 +259,41 @@ public class CategoryGUI implements Reloadable {
 				ineligibleSeriesItem = false;
 			}
 
-			if (configHideProgressiveAchievements && ineligibleSeriesItem) {
-				inventory.setItem(index - pageStart, guiItems.getAchievementLock());
+			if (settings.configHideProgressiveAchievements && ineligibleSeriesItem) {
+				pageItems.add(new PageItem(index - pageStart, ItemKind.LOCK, null, null, null, 1));
 			} else {
-				List<String> lore = buildLore(achievement, receptionDate, statistic, ineligibleSeriesItem, player);
-				insertAchievement(inventory, index - pageStart, statistic, achievement.getDisplayName(), receptionDate,
-						ineligibleSeriesItem, index - seriesStart, lore, achievement.getType());
+				List<String> lore = buildLore(settings, achievement, receptionDate, statistic, ineligibleSeriesItem,
+						snapshot.playerPlaceholderValues);
+				pageItems.add(createPageItem(settings, index - pageStart, statistic, achievement.getDisplayName(),
+						receptionDate, ineligibleSeriesItem, index - seriesStart, lore, achievement.getType()));
 			}
 
 			previousItemDate = receptionDate;
 			previousSubcategory = achievement.getSubcategory();
 		}
+		return pageItems;
+	}
+
+	/**
+	 * Creates the inventory of a category GUI page from its assembled items and displays it to the player.
+	 *
+	 * @param player
+	 * @param snapshot
+	 * @param pageItems
+	 * @param clickedItem
+	 */
+	private void openPage(Player player, PageSnapshot snapshot, List<PageItem> pageItems, ItemStack clickedItem) {
+		int pageIndex = snapshot.pageIndex;
+		int achievementCount = snapshot.achievements.size();
+		// The inventory must be big enough to contain all page achievements and an entire row for the navigation items.
+		int guiSize = Math.min(NumberHelper.nextMultipleOf9(achievementCount), MAX_ACHIEVEMENTS_PER_PAGE) + ROW_SIZE;
+		AchievementInventoryHolder inventoryHolder = new AchievementInventoryHolder(pageIndex, clickedItem);
+		Inventory inventory = Bukkit.createInventory(inventoryHolder, guiSize, langListGUITitle);
+		inventoryHolder.setInventory(inventory);
+
+		for (PageItem pageItem : pageItems) {
+			inventory.setItem(pageItem.position, createItem(pageItem));
+		}
 
 		// Add navigation items.
 		if (configBackButtonIsCategoryItem) {
@@ -244,7 +313,7 @@ public class CategoryGUI implements Reloadable {
 		if (pageIndex > 0) {
 			inventory.setItem(guiSize - ROW_SIZE, guiItems.getPreviousButton());
 		}
-		if (achievements.size() > MAX_ACHIEVEMENTS_PER_PAGE * (pageIndex + 1)) {
+		if (achievementCount > MAX_ACHIEVEMENTS_PER_PAGE * (pageIndex + 1)) {
 			inventory.setItem(guiSize - 1, guiItems.getNextButton());
 		}
 
@@ -253,9 +322,9 @@ public class CategoryGUI implements Reloadable {
 	}
 
 	/**
-	 * Creates a GUI item for a given achievement.
+	 * Computes the GUI item model for a given achievement.
 	 *
-	 * @param gui
+	 * @param settings
 	 * @param position
 	 * @param statistic
 	 * @param name
@@ -264,54 +333,84 @@ public class CategoryGUI implements Reloadable {
 	 * @param seriesIndex
 	 * @param lore
 	 * @param type
+	 * @return the item model
 	 */
-	private void insertAchievement(Inventory gui, int position, long statistic, String name, String date,
+	private PageItem createPageItem(ListSettings settings, int position, long statistic, String name, String date,
 			boolean ineligibleSeriesItem, int seriesIndex, List<String> lore, String type) {
 		// Display an item depending on whether the achievement was received or not, or whether progress was started.
-		// Clone in order to work with an independent set of metadata.
-		ItemStack achItem;
+		ItemKind kind;
 		if (date != null) {
-			achItem = guiItems.getAchievementReceived(type).clone();
+			kind = ItemKind.RECEIVED;
 		} else if (statistic > 0) {
-			achItem = guiItems.getAchievementStarted(type).clone();
+			kind = ItemKind.STARTED;
 		} else {
-			achItem = guiItems.getAchievementNotStarted(type).clone();
+			kind = ItemKind.NOT_STARTED;
 		}
 
-		String displayName = date == null ? langListAchievementNotReceived + notReceivedStyle(name, ineligibleSeriesItem)
-				: langListAchievementReceived + name;
-		ItemMeta itemMeta = achItem.getItemMeta();
-		itemMeta.setDisplayName(translateColorCodes(displayName));
-		itemMeta.setLore(lore);
-		achItem.setItemMeta(itemMeta);
-		if (configNumberedItemsInList) {
-			achItem.setAmount(seriesIndex + 1);
-		}
-		gui.setItem(position, achItem);
+		String displayName = date == null
+				? settings.langListAchievementNotReceived + notReceivedStyle(settings, name, ineligibleSeriesItem)
+				: settings.langListAchievementReceived + name;
+		int amount = settings.configNumberedItemsInList ? seriesIndex + 1 : 1;
+		return new PageItem(position, kind, type, translateColorCodes(displayName), lore, amount);
 	}
 
 	/**
-	 * Gets the player's statistics for each subcategory in the Multiple category.
+	 * Creates a GUI item from its model. Must be called from the main server thread.
 	 *
-	 * @param category
-	 * @param player
-	 * @return the mapping from subcategory to player's statistics
+	 * @param pageItem
+	 * @return the item to insert in the inventory
 	 */
-	public Map<String, Long> getMultipleStatisticsMapping(MultipleAchievements category, Player player) {
-		return achievementMap.getSubcategoriesForCategory(category).stream()
-				.collect(Collectors.toMap(Function.identity(), subcategory -> cacheManager
-						.getAndIncrementStatisticAmount(category, subcategory, player.getUniqueId(), 0)));
+	private ItemStack createItem(PageItem pageItem) {
+		// Clone in order to work with an independent set of metadata.
+		ItemStack achItem;
+		switch (pageItem.kind) {
+			case LOCK:
+				return guiItems.getAchievementLock();
+			case RECEIVED:
+				achItem = guiItems.getAchievementReceived(pageItem.type).clone();
+				break;
+			case STARTED:
+				achItem = guiItems.getAchievementStarted(pageItem.type).clone();
+				break;
+			default:
+				achItem = guiItems.getAchievementNotStarted(pageItem.type).clone();
+				break;
+		}
+		ItemMeta itemMeta = achItem.getItemMeta();
+		itemMeta.setDisplayName(pageItem.displayName);
+		itemMeta.setLore(pageItem.lore);
+		achItem.setItemMeta(itemMeta);
+		if (configNumberedItemsInList) {
+			achItem.setAmount(pageItem.amount);
+		}
+		return achItem;
 	}
 
 	/**
-	 * Gets the player's statistic for a Normal category.
+	 * Gets the player's statistics for each subcategory in the Multiple category, without waiting for the database on
+	 * the main server thread, and passes the mapping to the consumer once all of them are known.
 	 *
 	 * @param category
 	 * @param player
-	 * @return the player's statistic for the category
+	 * @param statisticsConsumer called with the mapping from subcategory to player's statistics
 	 */
-	public long getNormalStatistic(NormalAchievements category, Player player) {
-		return cacheManager.getAndIncrementStatisticAmount(category, player.getUniqueId(), 0);
+	private void collectMultipleStatistics(MultipleAchievements category, Player player,
+			Consumer<Map<String, Long>> statisticsConsumer) {
+		Set<String> subcategories = achievementMap.getSubcategoriesForCategory(category);
+		Map<String, Long> subcategoriesToStatistics = new HashMap<>();
+		if (subcategories.isEmpty()) {
+			statisticsConsumer.accept(subcategoriesToStatistics);
+			return;
+		}
+		for (String subcategory : subcategories) {
+			cacheManager.incrementStatisticAmount(category, subcategory, player.getUniqueId(), 0, statistic -> {
+				// Values are all delivered on the main server thread, the last one to arrive requests the page.
+				subcategoriesToStatistics.put(subcategory, statistic);
+				if (subcategoriesToStatistics.size() == subcategories.size()) {
+					statisticsConsumer.accept(subcategoriesToStatistics);
+				}
+			});
+		}
 	}
 
 	/**
@@ -350,59 +449,64 @@ public class CategoryGUI implements Reloadable {
 	 * Creates the lore for the current achievement, containing information about the progress, date of reception,
 	 * description, rewards.
 	 *
+	 * @param settings
 	 * @param achievement
 	 * @param date
 	 * @param statistic
 	 * @param ineligibleSeriesItem
-	 * @param player
+	 * @param playerPlaceholderValues
 	 * @return the list representing the lore of a category item
 	 */
-	private List<String> buildLore(Achievement achievement, String date, long statistic, boolean ineligibleSeriesItem,
-			Player player) {
+	private List<String> buildLore(ListSettings settings, Achievement achievement, String date, long statistic,
+			boolean ineligibleSeriesItem, String[] playerPlaceholderValues) {
 		List<String> descriptions = getDescriptionsToDisplay(achievement, date != null);
 		List<String> lore = new ArrayList<>();
 		lore.add("");
 
 		if (date != null) {
-			if (!langListDescription.isEmpty()) {
-				lore.add(langListDescription);
+			if (!settings.langListDescription.isEmpty()) {
+				lore.add(settings.langListDescription);
 			}
 			descriptions.forEach(d -> lore.add(translateColorCodes("&r&f" + d)));
 			lore.add("");
-			if (!langListReception.isEmpty()) {
-				lore.add(langListReception);
+			if (!settings.langListReception.isEmpty()) {
+				lore.add(settings.langListReception);
 			}
 			lore.add(translateColorCodes("&r&f" + date));
 		} else {
-			if (!langListGoal.isEmpty()) {
-				lore.add(langListGoal);
+			if (!settings.langListGoal.isEmpty()) {
+				lore.add(settings.langListGoal);
 			}
-			descriptions.forEach(d -> lore.add(translateColorCodes(notReceivedStyle(d, ineligibleSeriesItem))));
+			descriptions
+					.forEach(d -> lore.add(translateColorCodes(notReceivedStyle(settings, d, ineligibleSeriesItem))));
 			// Display progress if not Commands category.
-			if (!configObfuscateNotReceived && statistic != NO_STAT) {
+			if (!settings.configObfuscateNotReceived && statistic != NO_STAT) {
 				lore.add("");
 				boolean timeStat = NormalAchievements.PLAYEDTIME == achievement.getCategory();
-				if (!langListProgress.isEmpty()) {
-					lore.add(langListProgress);
+				if (!settings.langListProgress.isEmpty()) {
+					lore.add(settings.langListProgress);
 				}
-				lore.add(translateColorCodes(constructProgressBar(achievement.getThreshold(), statistic, timeStat)));
+				lore.add(translateColorCodes(
+						constructProgressBar(settings, achievement.getThreshold(), statistic, timeStat)));
 			}
 		}
 
 		List<Reward> rewards = achievement.getRewards();
 		// Add the rewards information.
-		if (!rewards.isEmpty() && !configHideRewardDisplayInList) {
+		if (!rewards.isEmpty() && !settings.configHideRewardDisplayInList) {
 			lore.add("");
-			if (rewards.size() == 1 && !langListReward.isEmpty()) {
-				lore.add(langListReward);
-			} else if (rewards.size() > 1 && !langListRewards.isEmpty()) {
-				lore.add(langListRewards);
+			if (rewards.size() == 1 && !settings.langListReward.isEmpty()) {
+				lore.add(settings.langListReward);
+			} else if (rewards.size() > 1 && !settings.langListRewards.isEmpty()) {
+				lore.add(settings.langListRewards);
 			}
-			String dot = StringEscapeUtils.unescapeJava(
-					date == null ? configListColorNotReceived + "\u25CF " + configFormatNotReceived : "&r&f\u25CF ");
+			String dot = StringEscapeUtils.unescapeJava(date == null
+					? settings.configListColorNotReceived + "\u25CF " + settings.configFormatNotReceived
+					: "&r&f\u25CF ");
 			for (Reward reward : rewards) {
 				for (String listText : reward.getListTexts()) {
-					lore.add(StringHelper.replacePlayerPlaceholders(translateColorCodes(dot + listText), player));
+					lore.add(StringHelper.replacePlayerPlaceholders(translateColorCodes(dot + listText),
+							playerPlaceholderValues));
 				}
 			}
 		}
@@ -412,38 +516,41 @@ public class CategoryGUI implements Reloadable {
 	/**
 	 * Constructs the progress bar to be displayed in an achievement's item lore.
 	 *
+	 * @param settings
 	 * @param threshold
 	 * @param statistic
 	 * @param time
 	 * @return progress bar
 	 */
-	private String constructProgressBar(long threshold, long statistic, boolean time) {
+	private String constructProgressBar(ListSettings settings, long threshold, long statistic, boolean time) {
 		double statisticDouble;
 		String statisticString;
 		if (time) {
 			// Convert millis to hours. Math.floor(X * 10) / 10 ensures that the value isn't rounded up when formatting.
 			// This would lead to displaying values such as 2/2 even if the player hasn't yet reached the threshold.
 			statisticDouble = Math.floor(statistic / 3600000.0 * 10) / 10;
-			statisticString = TIME_FORMAT.format(statisticDouble);
+			statisticString = TIME_FORMAT.get().format(statisticDouble);
 		} else {
 			statisticDouble = statistic; // Cast to double.
 			statisticString = Long.toString(statistic);
 		}
-		String middleText = " " + configListColorNotReceived + configFormatNotReceived + statisticString + "/" + threshold
-				+ " ";
+		String middleText = " " + settings.configListColorNotReceived + settings.configFormatNotReceived
+				+ statisticString + "/" + threshold + " ";
 
-		StringBuilder barDisplay = new StringBuilder().append(configListColorNotReceived).append("[").append(configColor);
+		StringBuilder barDisplay = new StringBuilder().append(settings.configListColorNotReceived).append("[")
+				.append(settings.configColor);
 		// Approximation: colours chars account for no size, spaces ~2 vertical bars, other chars ~3 vertical bars.
-		int middleTextSize = configEnrichedProgressBars ? (middleText.length() - 6) * 3 + 4 : 0;
+		int middleTextSize = settings.configEnrichedProgressBars ? (middleText.length() - 6) * 3 + 4 : 0;
 		boolean hasDisplayedMiddleText = false;
 		boolean hasDisplayedNotReceivedColor = false;
 		int i = 0;
 		while (++i < PROGRESS_BAR_SIZE) {
-			if (configEnrichedProgressBars && !hasDisplayedMiddleText && i >= (PROGRESS_BAR_SIZE - middleTextSize) / 2) {
+			if (settings.configEnrichedProgressBars && !hasDisplayedMiddleText
+					&& i >= (PROGRESS_BAR_SIZE - middleTextSize) / 2) {
 				// Middle reached: append enriched statistic information.
 				barDisplay.append(middleText);
 				if (!hasDisplayedNotReceivedColor) {
-					barDisplay.append(configColor);
+					barDisplay.append(settings.configColor);
 				}
 				// Do not display middleText again.
 				hasDisplayedMiddleText = true;
@@ -458,12 +565,12 @@ public class CategoryGUI implements Reloadable {
 				// Not received color: amount not yet reached by user.
 				if (!hasDisplayedNotReceivedColor) {
 					hasDisplayedNotReceivedColor = true;
-					barDisplay.append(configListColorNotReceived);
+					barDisplay.append(settings.configListColorNotReceived);
 				}
 				barDisplay.append("|");
 			}
 		}
-		return barDisplay.append(configListColorNotReceived).append("]").toString();
+		return barDisplay.append(settings.configListColorNotReceived).append("]").toString();
 	}
 
 	/**
@@ -483,16 +590,129 @@ public class CategoryGUI implements Reloadable {
 		return randomisedText.substring(0, randomisedText.length() - 1);
 	}
 
-	private String notReceivedStyle(String input, boolean ineligibleSeriesItem) {
-		if (configObfuscateNotReceived || (configObfuscateProgressiveAchievements && ineligibleSeriesItem)) {
-			return configListColorNotReceived + "&k" + randomiseParts(StringHelper.removeFormattingCodes(input));
+	private String notReceivedStyle(ListSettings settings, String input, boolean ineligibleSeriesItem) {
+		if (settings.configObfuscateNotReceived
+				|| (settings.configObfuscateProgressiveAchievements && ineligibleSeriesItem)) {
+			return settings.configListColorNotReceived + "&k"
+					+ randomiseParts(StringHelper.removeFormattingCodes(input));
 		} else {
-			return configListColorNotReceived + configFormatNotReceived + StringHelper.removeFormattingCodes(input);
+			return settings.configListColorNotReceived + settings.configFormatNotReceived
+					+ StringHelper.removeFormattingCodes(input);
 		}
 	}
 
-	private String translateColorCodes(String translate) {
+	private static String translateColorCodes(String translate) {
 		return ChatColor.translateAlternateColorCodes('&', translate);
 	}
 
+	/**
+	 * Kind of item displayed for an achievement, determining which template of the GUIItems is used.
+	 */
+	private enum ItemKind {
+		LOCK,
+		RECEIVED,
+		STARTED,
+		NOT_STARTED
+	}
+
+	/**
+	 * Immutable snapshot of the data needed to assemble a category GUI page, taken on the main server thread.
+	 */
+	private static final class PageSnapshot {
+
+		private final ListSettings settings;
+		private final int pageIndex;
+		private final List<Achievement> achievements;
+		private final Map<String, Long> subcategoriesToStatistics;
+		// Formatted reception dates of the received achievements of the page and of the one preceding it.
+		private final Map<String, String> receptionDates;
+		private final String[] playerPlaceholderValues;
+
+		private PageSnapshot(ListSettings settings, int pageIndex, List<Achievement> achievements,
+				Map<String, Long> subcategoriesToStatistics, Map<String, String> receptionDates,
+				String[] playerPlaceholderValues) {
+			this.settings = settings;
+			this.pageIndex = pageIndex;
+			this.achievements = Collections.unmodifiableList(achievements);
+			this.subcategoriesToStatistics = Collections.unmodifiableMap(subcategoriesToStatistics);
+			this.receptionDates = Collections.unmodifiableMap(receptionDates);
+			this.playerPlaceholderValues = playerPlaceholderValues;
+		}
+	}
+
+	/**
+	 * Immutable configuration used to assemble category GUI pages, so that pages being assembled on asynchronous threads
+	 * are not affected by a concurrent reload.
+	 */
+	private static final class ListSettings {
+
+		private final boolean configObfuscateNotReceived;
+		private final boolean configObfuscateProgressiveAchievements;
+		private final boolean configHideProgressiveAchievements;
+		private final boolean configHideRewardDisplayInList;
+		private final boolean configEnrichedProgressBars;
+		private final boolean configNumberedItemsInList;
+		private final ChatColor configColor;
+		private final ChatColor configListColorNotReceived;
+		private final String configFormatNotReceived;
+		private final String langListAchievementReceived;
+		private final String langListAchievementNotReceived;
+		private final String langListDescription;
+		private final String langListReception;
+		private final String langListGoal;
+		private final String langListProgress;
+		private final String langListReward;
+		private final String langListRewards;
+
+		private ListSettings(YamlConfiguration mainConfig, YamlConfiguration langConfig) {
+			configObfuscateNotReceived = mainConfig.getBoolean("ObfuscateNotReceived");
+			configObfuscateProgressiveAchievements = mainConfig.getBoolean("ObfuscateProgressiveAchievements");
+			configHideProgressiveAchievements = mainConfig.getBoolean("HideProgressiveAchievements");
+			configHideRewardDisplayInList = mainConfig.getBoolean("HideRewardDisplayInList");
+			configEnrichedProgressBars = mainConfig.getBoolean("EnrichedListProgressBars");
+			configNumberedItemsInList = mainConfig.getBoolean("NumberedItemsInList");
+			configColor = ChatColor.getByChar(mainConfig.getString("Color"));
+			configListColorNotReceived = ChatColor.getByChar(mainConfig.getString("ListColorNotReceived"));
+			configFormatNotReceived = mainConfig.getBoolean("ListItaliciseNotReceived") ? "&o" : "";
+
+			langListAchievementReceived = StringEscapeUtils
+					.unescapeJava(langConfig.getString("list-achievement-received"));
+			langListAchievementNotReceived = StringEscapeUtils
+					.unescapeJava(langConfig.getString("list-achievement-not-received")) + configListColorNotReceived;
+			langListDescription = getHeading(langConfig, "list-description");
+			langListReception = getHeading(langConfig, "list-reception");
+			langListGoal = getHeading(langConfig, "list-goal");
+			langListProgress = getHeading(langConfig, "list-progress");
+			langListReward = getHeading(langConfig, "list-reward");
+			langListRewards = getHeading(langConfig, "list-rewards");
+		}
+
+		private static String getHeading(YamlConfiguration langConfig, String key) {
+			String heading = langConfig.getString(key);
+			return heading.isEmpty() ? "" : translateColorCodes("&7&l" + heading);
+		}
+	}
+
+	/**
+	 * Model of an item of a category GUI page, converted to an ItemStack on the main server thread.
+	 */
+	private static final class PageItem {
+
+		private final int position;
+		private final ItemKind kind;
+		private final String type;
+		private final String displayName;
+		private final List<String> lore;
+		private final int amount;
+
+		private PageItem(int position, ItemKind kind, String type, String displayName, List<String> lore, int amount) {
+			this.position = position;
+			this.kind = kind;
+			this.type = type;
+			this.displayName = displayName;
+			this.lore = lore;
+			this.amount = amount;
+		}
+	}
+
 }
@@ -28,10 +28,16 @@ import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.config.ConfigurationParser;
 import com.hm.achievement.db.AbstractDatabaseManager;
 import com.hm.achievement.db.AsyncCachedRequestsSender;
+import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.db.InvalidationBus;
+import com.hm.achievement.db.Leaderboard;
+import com.hm.achievement.db.StatisticJournal;
 import com.hm.achievement.exception.PluginLoadError;
+import com.hm.achievement.listener.EssentialsAFKListener;
 import com.hm.achievement.listener.FireworkListener;
 import com.hm.achievement.listener.JoinListener;
 import com.hm.achievement.listener.ListGUIListener;
+import com.hm.achievement.listener.PlayTimeListener;
 import com.hm.achievement.listener.PlayerAdvancedAchievementListener;
 import com.hm.achievement.listener.TeleportListener;
 import com.hm.achievement.listener.UpdateChecker;
@@ -39,6 +45,8 @@ import com.hm.achievement.listener.statistics.AbstractListener;
 import com.hm.achievement.placeholder.AchievementPlaceholderHook;
 import com.hm.achievement.runnable.AchieveDistanceRunnable;
 import com.hm.achievement.runnable.AchievePlayTimeRunnable;
+import com.hm.achievement.utils.PermissionCache;
+import com.hm.achievement.utils.StatisticIncrementCoalescer;
 
 import dagger.Lazy;
 
@@ -63,6 +71,10 @@ public class PluginLoader {
 	private final ListGUIListener listGUIListener;
 	private final PlayerAdvancedAchievementListener playerAdvancedAchievementListener;
 	private final TeleportListener teleportListener;
+	private final PlayTimeListener playTimeListener;
+	// Use lazy injection as Essentials may not be installed.
+	private final Lazy<EssentialsAFKListener> essentialsAFKListener;
+	private final PermissionCache permissionCache;
 
 	// Integration with PlaceholderAPI. Use lazy injection as it may or may not be used depending on runtime conditions.
 	private final Lazy<AchievementPlaceholderHook> achievementPlaceholderHook;
@@ -70,6 +82,10 @@ public class PluginLoader {
 	// Database related.
 	private final AbstractDatabaseManager databaseManager;
 	private final AsyncCachedRequestsSender asyncCachedRequestsSender;
+	private final Leaderboard leaderboard;
+	private final StatisticJournal statisticJournal;
+	private final InvalidationBus invalidationBus;
+	private final CacheManager cacheManager;
 
 	// Various other fields and parameters.
 	private final PluginCommandExecutor pluginCommandExecutor;
@@ -81,13 +97,18 @@ public class PluginLoader {
 	// Plugin runnable classes.
 	private final AchieveDistanceRunnable distanceRunnable;
 	private final AchievePlayTimeRunnable playTimeRunnable;
+	private final StatisticIncrementCoalescer statisticIncrementCoalescer;
 	private final Cleaner cleaner;
 
 	// Bukkit scheduler tasks.
 	private BukkitTask asyncCachedRequestsSenderTask;
+	private BukkitTask statisticJournalTask;
+	private BukkitTask invalidationBusTask;
 	private BukkitTask playedTimeTask;
 	private BukkitTask distanceTask;
 	private BukkitTask cleanerTask;
+	private BukkitTask permissionCacheTask;
+	private BukkitTask statisticIncrementCoalescerTask;
 
 	@Inject
 	public PluginLoader(AdvancedAchievements advancedAchievements, Logger logger, Set<Reloadable> reloadables,
@@ -95,11 +116,14 @@ public class PluginLoader {
 			PlayerAdvancedAchievementListener playerAdvancedAchievementListener, Cleaner cleaner,
 			TeleportListener teleportListener, Lazy<AchievementPlaceholderHook> achievementPlaceholderHook,
 			AbstractDatabaseManager databaseManager, AsyncCachedRequestsSender asyncCachedRequestsSender,
-			PluginCommandExecutor pluginCommandExecutor, CommandTabCompleter commandTabCompleter,
-			Set<Category> disabledCategories, @Named("main") YamlConfiguration mainConfig,
-			ConfigurationParser configurationParser, AchieveDistanceRunnable distanceRunnable,
-			AchievePlayTimeRunnable playTimeRunnable, UpdateChecker updateChecker, ReloadCommand reloadCommand,
-			AchievementMap achievementMap) {
+			Leaderboard leaderboard, StatisticJournal statisticJournal, InvalidationBus invalidationBus,
+			CacheManager cacheManager, PluginCommandExecutor pluginCommandExecutor,
+			CommandTabCompleter commandTabCompleter, Set<Category> disabledCategories,
+			@Named("main") YamlConfiguration mainConfig, ConfigurationParser configurationParser,
+			AchieveDistanceRunnable distanceRunnable, AchievePlayTimeRunnable playTimeRunnable,
+			UpdateChecker updateChecker, ReloadCommand reloadCommand, AchievementMap achievementMap,
+			PermissionCache permissionCache, StatisticIncrementCoalescer statisticIncrementCoalescer,
+			PlayTimeListener playTimeListener, Lazy<EssentialsAFKListener> essentialsAFKListener) {
 		this.advancedAchievements = advancedAchievements;
 		this.logger = logger;
 		this.reloadables = reloadables;
@@ -112,6 +136,10 @@ public class PluginLoader {
 		this.achievementPlaceholderHook = achievementPlaceholderHook;
 		this.databaseManager = databaseManager;
 		this.asyncCachedRequestsSender = asyncCachedRequestsSender;
+		this.leaderboard = leaderboard;
+		this.statisticJournal = statisticJournal;
+		this.invalidationBus = invalidationBus;
+		this.cacheManager = cacheManager;
 		this.pluginCommandExecutor = pluginCommandExecutor;
 		this.commandTabCompleter = commandTabCompleter;
 		this.disabledCategories = disabledCategories;
@@ -122,6 +150,10 @@ public class PluginLoader {
 		this.updateChecker = updateChecker;
 		this.reloadCommand = reloadCommand;
 		this.achievementMap = achievementMap;
+		this.permissionCache = permissionCache;
+		this.statisticIncrementCoalescer = statisticIncrementCoalescer;
+		this.playTimeListener = playTimeListener;
+		this.essentialsAFKListener = essentialsAFKListener;
 	}
 
 	/**
@@ -134,6 +166,11 @@ public class PluginLoader {
 		registerListeners();
 		if (!databaseManager.isInitialised()) {
 			databaseManager.initialise();
+			leaderboard.load();
+			statisticJournal.open();
+			// Notifications may be received on any thread, caches are modified on the main server thread.
+			invalidationBus.start(players -> Bukkit.getScheduler().runTask(advancedAchievements,
+					() -> cacheManager.invalidatePlayers(players)));
 		}
 		initialiseCommands();
 		launchScheduledTasks();
@@ -151,9 +188,21 @@ public class PluginLoader {
 		if (asyncCachedRequestsSenderTask != null) {
 			asyncCachedRequestsSenderTask.cancel();
 		}
+		if (statisticJournalTask != null) {
+			statisticJournalTask.cancel();
+		}
+		if (invalidationBusTask != null) {
+			invalidationBusTask.cancel();
+		}
 		if (cleanerTask != null) {
 			cleanerTask.cancel();
 		}
+		if (permissionCacheTask != null) {
+			permissionCacheTask.cancel();
+		}
+		if (statisticIncrementCoalescerTask != null) {
+			statisticIncrementCoalescerTask.cancel();
+		}
 		if (playedTimeTask != null) {
 			playedTimeTask.cancel();
 		}
@@ -161,10 +210,25 @@ public class PluginLoader {
 			distanceTask.cancel();
 		}
 
+		// Apply the increments coalesced during the last tick, so that they are part of the final database writes.
+		statisticIncrementCoalescer.run();
+		// Add the played time elapsed since the players' last updates.
+		if (!disabledCategories.contains(NormalAchievements.PLAYEDTIME)) {
+			playTimeRunnable.addAllElapsedTimes();
+		}
+		// Lazily counted statistics of saturated categories are only written when their players are flushed.
+		cacheManager.promoteLazyIncrements();
+
 		// Send remaining statistics to the database and close DatabaseManager.
 		asyncCachedRequestsSender.sendBatchedRequests();
+		invalidationBus.stop();
+		statisticJournal.close();
 		databaseManager.shutdown();
 
+		logger.info("Permission cache statistics: " + permissionCache.getMetricsSummary() + ".");
+		if (statisticIncrementCoalescer.getTotalEvents() > 0) {
+			logger.info("Statistic increment coalescing: " + statisticIncrementCoalescer.getMetricsSummary() + ".");
+		}
 		logger.info("Remaining requests sent to the database, plugin successfully disabled.");
 	}
 
@@ -189,6 +253,13 @@ public class PluginLoader {
 		pluginManager.registerEvents(listGUIListener, advancedAchievements);
 		pluginManager.registerEvents(playerAdvancedAchievementListener, advancedAchievements);
 		pluginManager.registerEvents(teleportListener, advancedAchievements);
+		pluginManager.registerEvents(permissionCache, advancedAchievements);
+		if (!disabledCategories.contains(NormalAchievements.PLAYEDTIME)) {
+			pluginManager.registerEvents(playTimeListener, advancedAchievements);
+			if (pluginManager.isPluginEnabled("Essentials")) {
+				pluginManager.registerEvents(essentialsAFKListener.get(), advancedAchievements);
+			}
+		}
 	}
 
 	/**
@@ -208,26 +279,66 @@ public class PluginLoader {
 	private void launchScheduledTasks() {
 		logger.info("Launching scheduled tasks...");
 
-		// Schedule a repeating task to group database queries when statistics are modified.
+		// Without an invalidation bus, servers sharing the database rely on frequent writes and cache cleanings to limit
+		// the staleness of their caches.
+		boolean frequentBungeeTasks = mainConfig.getBoolean("BungeeMode") && !isInvalidationBusEnabled();
+
+		// Schedule a repeating task to group database queries when statistics or achievements are modified.
 		if (asyncCachedRequestsSenderTask == null) {
-			long taskPeriod = mainConfig.getBoolean("BungeeMode") ? 40L : 1200L;
+			long taskPeriod = frequentBungeeTasks ? 40L : 1200L;
 			asyncCachedRequestsSenderTask = Bukkit.getScheduler().runTaskTimerAsynchronously(advancedAchievements,
 					asyncCachedRequestsSender, taskPeriod, taskPeriod);
 		}
 
+		// Schedule a repeating task to journal modified statistics until they are sent to the database.
+		if (statisticJournalTask == null && mainConfig.getBoolean("StatisticJournal")) {
+			long taskPeriod = Math.max(1, mainConfig.getInt("StatisticJournalInterval"));
+			statisticJournalTask = Bukkit.getScheduler().runTaskTimerAsynchronously(advancedAchievements,
+					statisticJournal::commit, taskPeriod, taskPeriod);
+		}
+
+		// Schedule a repeating task to receive the cache invalidations of the other servers sharing the database.
+		if (invalidationBusTask == null && mainConfig.getBoolean("BungeeMode") && isInvalidationBusEnabled()) {
+			long taskPeriod = Math.max(1, mainConfig.getInt("InvalidationBusPollInterval"));
+			invalidationBusTask = Bukkit.getScheduler().runTaskTimerAsynchronously(advancedAchievements,
+					invalidationBus::poll, taskPeriod, taskPeriod);
+		}
+
 		if (cleanerTask == null) {
-			long taskPeriod = mainConfig.getBoolean("BungeeMode") ? 50L : 20000L;
+			long taskPeriod = frequentBungeeTasks ? 50L : 20000L;
 			cleanerTask = Bukkit.getScheduler().runTaskTimer(advancedAchievements, cleaner, taskPeriod, taskPeriod);
 		}
 
-		// Schedule a repeating task to monitor played time for each player (not directly related to an event).
+		// Schedule a repeating task to drop cached permission decisions, as Bukkit does not signal permission changes.
+		if (permissionCacheTask != null) {
+			permissionCacheTask.cancel();
+		}
+		long permissionCacheDuration = permissionCache.getDuration();
+		if (permissionCacheDuration > 0) {
+			permissionCacheTask = Bukkit.getScheduler().runTaskTimer(advancedAchievements, permissionCache::clear,
+					permissionCacheDuration, permissionCacheDuration);
+		}
+
+		// Schedule a repeating task to apply the statistic increments coalesced during each tick.
+		if (statisticIncrementCoalescerTask != null) {
+			statisticIncrementCoalescerTask.cancel();
+			// Coalescing may have been disabled by a reload, do not leave pending increments behind.
+			statisticIncrementCoalescer.run();
+		}
+		if (statisticIncrementCoalescer.isEnabled()) {
+			statisticIncrementCoalescerTask = Bukkit.getScheduler().runTaskTimer(advancedAchievements,
+					statisticIncrementCoalescer, 1L, 1L);
+		}
+
+		// Schedule a repeating task to add the played time of each player and check their thresholds. Time segments are
+		// opened and closed by events, the task runs every tick and processes players in turn across the interval.
 		if (playedTimeTask != null) {
 			playedTimeTask.cancel();
 		}
 		if (!disabledCategories.contains(NormalAchievements.PLAYEDTIME)) {
 			int configPlaytimeTaskInterval = mainConfig.getInt("PlaytimeTaskInterval");
 			playedTimeTask = Bukkit.getScheduler().runTaskTimer(advancedAchievements, playTimeRunnable,
-					configPlaytimeTaskInterval * 10L, configPlaytimeTaskInterval * 20L);
+					configPlaytimeTaskInterval * 10L, 1L);
 		}
 
 		// Schedule a repeating task to monitor distances travelled by each player (not directly related to an event).
@@ -243,11 +354,23 @@ public class PluginLoader {
 				|| !disabledCategories.contains(NormalAchievements.DISTANCELLAMA)
 				|| !disabledCategories.contains(NormalAchievements.DISTANCESNEAKING)) {
 			int configDistanceTaskInterval = mainConfig.getInt("DistanceTaskInterval");
+			// Run every tick, players are processed in turn across the interval.
 			distanceTask = Bukkit.getScheduler().runTaskTimer(advancedAchievements, distanceRunnable,
-					configDistanceTaskInterval * 40L, configDistanceTaskInterval * 20L);
+					configDistanceTaskInterval * 40L, 1L);
 		}
 	}
 
+	/**
+	 * Whether an invalidation bus is configured to notify the other servers sharing the database. Only used with
+	 * BungeeMode.
+	 *
+	 * @return true if the configured bus is a known one
+	 */
+	private boolean isInvalidationBusEnabled() {
+		String busType = mainConfig.getString("InvalidationBus", "none");
+		return "database".equalsIgnoreCase(busType) || "messaging".equalsIgnoreCase(busType);
+	}
+
 	/**
 	 * Launches an update check task. If updateChecker already registered (i.e. reload), does not check for update
 	 * again. If CheckForUpdate switched to false unregisters listener.
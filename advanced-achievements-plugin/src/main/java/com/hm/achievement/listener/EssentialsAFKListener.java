@@ -0,0 +1,44 @@
+package com.hm.achievement.listener;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+
+import com.hm.achievement.AdvancedAchievements;
+import com.hm.achievement.runnable.AchievePlayTimeRunnable;
+
+import net.ess3.api.events.AfkStatusChangeEvent;
+
+/**
+ * Listener class to cache the AFK statuses of players as reported by Essentials, so that they do not need to be
+ * retrieved when played times are updated. Only registered if Essentials is enabled.
+ */
+@Singleton
+public class EssentialsAFKListener implements Listener {
+
+	private final AdvancedAchievements advancedAchievements;
+	private final AchievePlayTimeRunnable playTimeRunnable;
+
+	@Inject
+	public EssentialsAFKListener(AdvancedAchievements advancedAchievements, AchievePlayTimeRunnable playTimeRunnable) {
+		this.advancedAchievements = advancedAchievements;
+		this.playTimeRunnable = playTimeRunnable;
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onAFKStatusChange(AfkStatusChangeEvent event) {
+		Player player = event.getAffected().getBase();
+		boolean afk = event.getValue();
+		if (Bukkit.isPrimaryThread()) {
+			playTimeRunnable.updateAFKStatus(player, afk);
+		} else {
+			// Essentials can change AFK statuses from asynchronous events, such as chat ones.
+			Bukkit.getScheduler().runTask(advancedAchievements, () -> playTimeRunnable.updateAFKStatus(player, afk));
+		}
+	}
+}
@@ -1,5 +1,8 @@
 package com.hm.achievement.listener;
 
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -11,12 +14,15 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent.Result;
 import org.bukkit.event.player.PlayerJoinEvent;
 
 import com.hm.achievement.AdvancedAchievements;
 import com.hm.achievement.advancement.AchievementAdvancement;
 import com.hm.achievement.advancement.AdvancementManager;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.exception.DatabaseReadError;
 
 /**
  * Listener class to deal with advancements for Minecraft 1.12+. This class uses delays processing of tasks to avoid
@@ -29,18 +35,41 @@ import com.hm.achievement.db.CacheManager;
 public class JoinListener implements Listener {
 
 	private final int serverVersion;
+	private final Logger logger;
 	private final AdvancedAchievements advancedAchievements;
 	private final CacheManager cacheManager;
 
 	@Inject
-	public JoinListener(int serverVersion, AdvancedAchievements advancedAchievements, CacheManager cacheManager) {
+	public JoinListener(int serverVersion, Logger logger, AdvancedAchievements advancedAchievements,
+			CacheManager cacheManager) {
 		this.serverVersion = serverVersion;
+		this.logger = logger;
 		this.advancedAchievements = advancedAchievements;
 		this.cacheManager = cacheManager;
 	}
 
+	/**
+	 * Loads the player's statistics and received achievements whilst the login is being processed on an asynchronous
+	 * thread, so that the database does not need to be queried once the player is in game.
+	 * 
+	 * @param event
+	 */
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onAsyncPlayerPreLogin(AsyncPlayerPreLoginEvent event) {
+		if (event.getLoginResult() != Result.ALLOWED) {
+			return;
+		}
+		try {
+			cacheManager.preloadPlayerData(event.getUniqueId());
+		} catch (DatabaseReadError e) {
+			// Statistics will be retrieved on demand instead.
+			logger.log(Level.SEVERE, "Error while preloading player data:", e);
+		}
+	}
+
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
 	public void onPlayerJoin(PlayerJoinEvent event) {
+		cacheManager.handlePlayerJoin(event.getPlayer().getUniqueId());
 		scheduleReceivedCacheLoad(event.getPlayer());
 		if (serverVersion >= 12) {
 			scheduleAwardAdvancements(event.getPlayer());
@@ -80,6 +80,8 @@ public class ListGUIListener implements Listener {
 		// Check whether a navigation button was clicked in a category GUI.
 		if (event.getRawSlot() == inventory.getSize() - (ROW_SIZE + 1) / 2) {
 			String command = mainConfig.getString("OverrideBackButtonBehaviour");
+			// A page may still be pending if the player spammed the navigation buttons before going back.
+			categoryGUI.cancelPageRequests(player);
 			if (StringUtils.isBlank(command)) {
 				mainGUI.displayMainGUI(player);
 			} else {
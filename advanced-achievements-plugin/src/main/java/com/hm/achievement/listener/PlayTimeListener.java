@@ -0,0 +1,61 @@
+package com.hm.achievement.listener;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerGameModeChangeEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import com.hm.achievement.AdvancedAchievements;
+import com.hm.achievement.runnable.AchievePlayTimeRunnable;
+
+/**
+ * Listener class to open and close the time segments of the players' session clocks, in order to keep the played time
+ * statistics correct.
+ */
+@Singleton
+public class PlayTimeListener implements Listener {
+
+	private final AdvancedAchievements advancedAchievements;
+	private final AchievePlayTimeRunnable playTimeRunnable;
+
+	@Inject
+	public PlayTimeListener(AdvancedAchievements advancedAchievements, AchievePlayTimeRunnable playTimeRunnable) {
+		this.advancedAchievements = advancedAchievements;
+		this.playTimeRunnable = playTimeRunnable;
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onPlayerJoin(PlayerJoinEvent event) {
+		playTimeRunnable.startSession(event.getPlayer());
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onPlayerQuit(PlayerQuitEvent event) {
+		playTimeRunnable.endSession(event.getPlayer());
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onWorldChanged(PlayerChangedWorldEvent event) {
+		playTimeRunnable.startSession(event.getPlayer());
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onGameModeChange(PlayerGameModeChangeEvent event) {
+		Player player = event.getPlayer();
+		playTimeRunnable.closeSegment(player);
+		// Event fired before the game mode is changed, only open the new segment once it has been.
+		Bukkit.getScheduler().runTask(advancedAchievements, () -> {
+			if (player.isOnline()) {
+				playTimeRunnable.startSession(player);
+			}
+		});
+	}
+}
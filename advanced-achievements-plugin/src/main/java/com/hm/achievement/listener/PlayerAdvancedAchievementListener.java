@@ -39,6 +39,7 @@ import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.config.RewardParser;
 import com.hm.achievement.db.AbstractDatabaseManager;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.db.Leaderboard;
 import com.hm.achievement.domain.Achievement;
 import com.hm.achievement.domain.Reward;
 import com.hm.achievement.lifecycle.Reloadable;
@@ -88,6 +89,7 @@ public class PlayerAdvancedAchievementListener implements Listener, Reloadable {
 	private final RewardParser rewardParser;
 	private final AchievementMap achievementMap;
 	private final AbstractDatabaseManager databaseManager;
+	private final Leaderboard leaderboard;
 	private final ToggleCommand toggleCommand;
 	private final FireworkListener fireworkListener;
 	private final SoundPlayer soundPlayer;
@@ -111,8 +113,8 @@ public class PlayerAdvancedAchievementListener implements Listener, Reloadable {
 	public PlayerAdvancedAchievementListener(@Named("main") YamlConfiguration mainConfig,
 			@Named("lang") YamlConfiguration langConfig, int serverVersion, Logger logger, StringBuilder pluginHeader,
 			CacheManager cacheManager, AdvancedAchievements advancedAchievements, RewardParser rewardParser,
-			AchievementMap achievementMap, AbstractDatabaseManager databaseManager, ToggleCommand toggleCommand,
-			FireworkListener fireworkListener, SoundPlayer soundPlayer) {
+			AchievementMap achievementMap, AbstractDatabaseManager databaseManager, Leaderboard leaderboard,
+			ToggleCommand toggleCommand, FireworkListener fireworkListener, SoundPlayer soundPlayer) {
 		this.mainConfig = mainConfig;
 		this.langConfig = langConfig;
 		this.serverVersion = serverVersion;
@@ -123,6 +125,7 @@ public class PlayerAdvancedAchievementListener implements Listener, Reloadable {
 		this.rewardParser = rewardParser;
 		this.achievementMap = achievementMap;
 		this.databaseManager = databaseManager;
+		this.leaderboard = leaderboard;
 		this.toggleCommand = toggleCommand;
 		this.fireworkListener = fireworkListener;
 		this.soundPlayer = soundPlayer;
@@ -171,6 +174,7 @@ public class PlayerAdvancedAchievementListener implements Listener, Reloadable {
 		// Achievement could have already been received if MultiCommand is set to true in the configuration.
 		if (!cacheManager.hasPlayerAchievement(player.getUniqueId(), achievement.getName())) {
 			cacheManager.registerNewlyReceivedAchievement(player.getUniqueId(), achievement.getName());
+			leaderboard.increment(player.getUniqueId());
 
 			if (serverVersion >= 12) {
 				Advancement advancement = Bukkit.getAdvancement(new NamespacedKey(advancedAchievements,
@@ -181,7 +185,9 @@ public class PlayerAdvancedAchievementListener implements Listener, Reloadable {
 				}
 			}
 		}
-		databaseManager.registerAchievement(player.getUniqueId(), achievement.getName(), System.currentTimeMillis());
+		long receptionTime = System.currentTimeMillis();
+		cacheManager.registerReceptionTime(player.getUniqueId(), achievement.getName(), receptionTime);
+		databaseManager.registerAchievement(player.getUniqueId(), achievement.getName(), receptionTime);
 
 		achievement.getRewards().forEach(r -> r.getRewarder().accept(player));
 		displayAchievement(player, achievement);
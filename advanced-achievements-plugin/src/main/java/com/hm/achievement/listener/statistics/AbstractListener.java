@@ -1,8 +1,14 @@
 package com.hm.achievement.listener.statistics;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
@@ -13,7 +19,10 @@ import com.hm.achievement.category.MultipleAchievements;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.domain.Achievement;
+import com.hm.achievement.utils.PermissionCache;
 import com.hm.achievement.utils.StatisticIncreaseHandler;
+import com.hm.achievement.utils.StatisticIncrementCoalescer;
 
 /**
  * Abstract class in charge of factoring out common functionality for the listener classes.
@@ -24,17 +33,109 @@ public abstract class AbstractListener extends StatisticIncreaseHandler implemen
 
 	final Category category;
 	List<String> subcategories;
+	// Maps each identifier to the sub-categories it matches, e.g. 'zombie' to 'zombie' and 'zombie|pig_zombie'.
+	private Map<String, Set<String>> subcategoriesByIdentifier;
+	// Identifiers used with a data value in at least one sub-category, e.g. 'wool' for 'wool:14'.
+	private Set<String> identifiersWithDataValues;
+	// Achievements of each sub-category, so that saturation checks do not need to build AchievementMap keys.
+	private Map<String, List<Achievement>> subcategoryAchievements;
+	// Only provided to the listeners of high frequency events.
+	private final StatisticIncrementCoalescer incrementCoalescer;
 
 	AbstractListener(Category category, YamlConfiguration mainConfig, int serverVersion, AchievementMap achievementMap,
-			CacheManager cacheManager) {
-		super(mainConfig, serverVersion, achievementMap, cacheManager);
+			CacheManager cacheManager, PermissionCache permissionCache) {
+		this(category, mainConfig, serverVersion, achievementMap, cacheManager, permissionCache, null);
+	}
+
+	AbstractListener(Category category, YamlConfiguration mainConfig, int serverVersion, AchievementMap achievementMap,
+			CacheManager cacheManager, PermissionCache permissionCache,
+			StatisticIncrementCoalescer incrementCoalescer) {
+		super(mainConfig, serverVersion, achievementMap, cacheManager, permissionCache);
 		this.category = category;
+		this.incrementCoalescer = incrementCoalescer;
 	}
 
 	@Override
 	public void extractConfigurationParameters() {
 		super.extractConfigurationParameters();
 		subcategories = new ArrayList<>(achievementMap.getSubcategoriesForCategory(category));
+		Map<String, Set<String>> index = new HashMap<>();
+		identifiersWithDataValues = new HashSet<>();
+		subcategoryAchievements = new HashMap<>();
+		for (String subcategory : subcategories) {
+			if (category instanceof MultipleAchievements) {
+				subcategoryAchievements.put(subcategory,
+						achievementMap.getForCategoryAndSubcategory(category, subcategory));
+			}
+			for (String identifier : subcategory.split("\\|", -1)) {
+				index.computeIfAbsent(identifier, i -> new HashSet<>()).add(subcategory);
+				int dataValueIndex = identifier.indexOf(':');
+				if (dataValueIndex >= 0) {
+					identifiersWithDataValues.add(identifier.substring(0, dataValueIndex));
+				}
+			}
+		}
+		index.replaceAll((identifier, matchingSubcategories) -> Collections.unmodifiableSet(matchingSubcategories));
+		subcategoriesByIdentifier = index;
+	}
+
+	/**
+	 * Precomputes the data needed to process events about each constant of an enum such as Material or EntityType.
+	 * Constants that match no sub-category are left out, so that listeners can ignore their events with a single
+	 * lookup.
+	 * 
+	 * @param type
+	 * @return an EnumMap containing the constants matching at least one sub-category
+	 */
+	<T extends Enum<T>> Map<T, TypeSubcategories> buildTypeLookup(Class<T> type) {
+		Map<T, TypeSubcategories> lookup = new EnumMap<>(type);
+		for (T constant : type.getEnumConstants()) {
+			TypeSubcategories typeSubcategories = buildTypeSubcategories(constant.name().toLowerCase());
+			if (typeSubcategories != null) {
+				lookup.put(constant, typeSubcategories);
+			}
+		}
+		return lookup;
+	}
+
+	/**
+	 * Precomputes the data needed to process events about an identifier.
+	 * 
+	 * @param id the lowercase identifier
+	 * @return the precomputed data, or null if the identifier matches no sub-category
+	 */
+	TypeSubcategories buildTypeSubcategories(String id) {
+		Set<String> matchingSubcategories = getMatchingSubcategories(id);
+		boolean dataValues = identifiersWithDataValues.contains(id);
+		if (matchingSubcategories.isEmpty() && !dataValues) {
+			return null;
+		}
+		String permissionNode = category.toChildPermName(id);
+		return new TypeSubcategories(id, permissionNode, permissionCache.getNodeId(permissionNode),
+				matchingSubcategories, dataValues);
+	}
+
+	/**
+	 * Determines whether a player has the permission specific to a type, using the cached decision if available.
+	 * 
+	 * @param player
+	 * @param typeSubcategories
+	 * @return true if the player has the permission, false otherwise
+	 */
+	boolean hasPermission(Player player, TypeSubcategories typeSubcategories) {
+		return permissionCache.hasPermission(player, typeSubcategories.getPermissionNodeId());
+	}
+
+	/**
+	 * Determines whether a player has the child permission of the category, using the cached decision if available.
+	 * Children must belong to a bounded set, such as the configured sub-categories, as their nodes are never released.
+	 * 
+	 * @param player
+	 * @param child
+	 * @return true if the player has the permission, false otherwise
+	 */
+	boolean hasChildPermission(Player player, String child) {
+		return permissionCache.hasPermission(player, permissionCache.getNodeId(category.toChildPermName(child)));
 	}
 
 	public Category getCategory() {
@@ -43,37 +144,126 @@ public abstract class AbstractListener extends StatisticIncreaseHandler implemen
 
 	/**
 	 * Updates the statistic in the database for a NormalAchievement and awards an achievement if an available one is
-	 * found.
+	 * found. The increment is deferred to the end of the tick if the listener coalesces increments, and is not counted
+	 * as usual if the player has received all achievements of the category.
 	 * 
 	 * @param player
 	 * @param incrementValue
 	 */
 	void updateStatisticAndAwardAchievementsIfAvailable(Player player, int incrementValue) {
-		if (shouldIncreaseBeTakenIntoAccount(player, category)) {
-			long amount = cacheManager.getAndIncrementStatisticAmount((NormalAchievements) category, player.getUniqueId(),
-					incrementValue);
-			checkThresholdsAndAchievements(player, category, amount);
+		if (!shouldIncreaseBeTakenIntoAccount(player, category)) {
+			return;
+		}
+		UUID uuid = player.getUniqueId();
+		if (isSaturated(uuid, achievementMap.getForCategory(category))) {
+			if (getSaturationMode() == SaturationMode.LAZY) {
+				cacheManager.incrementStatisticAmountLazily((NormalAchievements) category, uuid, incrementValue);
+			}
+			return;
+		}
+		if (isCoalescingIncrements()) {
+			incrementCoalescer.add(player, (NormalAchievements) category, incrementValue);
+		} else {
+			cacheManager.incrementStatisticAmount((NormalAchievements) category, uuid, incrementValue,
+					amount -> checkThresholdsAndAchievements(player, category, amount));
 		}
 	}
 
 	/**
 	 * Updates the statistic in the database for a MultipleAchievement and awards an achievement if an available one is
-	 * found.
+	 * found. The increments are deferred to the end of the tick if the listener coalesces increments, and are not
+	 * counted as usual in the sub-categories in which the player has received all achievements.
 	 * 
 	 * @param player
 	 * @param subcategories
 	 * @param incrementValue
 	 */
 	void updateStatisticAndAwardAchievementsIfAvailable(Player player, Set<String> subcategories, int incrementValue) {
-		if (shouldIncreaseBeTakenIntoAccount(player, category)) {
-			subcategories.forEach(subcategory -> {
-				long amount = cacheManager.getAndIncrementStatisticAmount((MultipleAchievements) category, subcategory,
-						player.getUniqueId(), incrementValue);
-				checkThresholdsAndAchievements(player, category, subcategory, amount);
-			});
+		if (subcategories.isEmpty() || !shouldIncreaseBeTakenIntoAccount(player, category)) {
+			return;
+		}
+		Set<String> unsaturatedSubcategories = getUnsaturatedSubcategories(player.getUniqueId(), subcategories,
+				incrementValue);
+		if (unsaturatedSubcategories.isEmpty()) {
+			return;
+		}
+		if (isCoalescingIncrements()) {
+			incrementCoalescer.add(player, (MultipleAchievements) category, unsaturatedSubcategories, incrementValue);
+		} else {
+			unsaturatedSubcategories.forEach(subcategory -> cacheManager.incrementStatisticAmount(
+					(MultipleAchievements) category, subcategory, player.getUniqueId(), incrementValue,
+					amount -> checkThresholdsAndAchievements(player, category, subcategory, amount)));
 		}
 	}
 
+	/**
+	 * Returns the sub-categories in which the player has not received all achievements. The increments of the other
+	 * ones are counted lazily if configured to do so.
+	 * 
+	 * @param uuid
+	 * @param subcategories
+	 * @param incrementValue
+	 * @return the provided Set if no sub-categories are saturated, an empty Set if all of them are, a new Set otherwise
+	 */
+	private Set<String> getUnsaturatedSubcategories(UUID uuid, Set<String> subcategories, int incrementValue) {
+		if (getSaturationMode() == SaturationMode.COUNT) {
+			return subcategories;
+		}
+		int saturatedSubcategories = 0;
+		for (String subcategory : subcategories) {
+			if (isSaturated(uuid, subcategory)) {
+				if (getSaturationMode() == SaturationMode.LAZY) {
+					cacheManager.incrementStatisticAmountLazily((MultipleAchievements) category, subcategory, uuid,
+							incrementValue);
+				}
+				++saturatedSubcategories;
+			}
+		}
+		if (saturatedSubcategories == 0) {
+			return subcategories;
+		} else if (saturatedSubcategories == subcategories.size()) {
+			return Collections.emptySet();
+		}
+		Set<String> unsaturatedSubcategories = new HashSet<>();
+		for (String subcategory : subcategories) {
+			if (!isSaturated(uuid, subcategory)) {
+				unsaturatedSubcategories.add(subcategory);
+			}
+		}
+		return unsaturatedSubcategories;
+	}
+
+	private boolean isSaturated(UUID uuid, String subcategory) {
+		List<Achievement> achievements = subcategoryAchievements.get(subcategory);
+		return achievements != null && isSaturated(uuid, achievements);
+	}
+
+	private boolean isCoalescingIncrements() {
+		return incrementCoalescer != null && incrementCoalescer.isEnabled();
+	}
+
+	/**
+	 * Returns all sub-categories that match the identifier. This methods accounts for groups of sub-categories, e.g.
+	 * 'zombie|pig_zombie|zombie_horse|zombie_villager'.
+	 * 
+	 * @param id the identifier to match
+	 * @return an unmodifiable Set shared between calls
+	 */
+	Set<String> getMatchingSubcategories(String id) {
+		if (id.indexOf('|') >= 0) {
+			// Identifier spanning several elements of a group, e.g. a custom name; not covered by the index.
+			Set<String> matchingSubcategories = new HashSet<>();
+			String pipedId = '|' + id + '|';
+			for (String subcategory : subcategories) {
+				if (('|' + subcategory + '|').contains(pipedId)) {
+					matchingSubcategories.add(subcategory);
+				}
+			}
+			return matchingSubcategories;
+		}
+		return subcategoriesByIdentifier.getOrDefault(id, Collections.emptySet());
+	}
+
 	/**
 	 * Adds all sub-categories that match the identifier to the provided Set. This methods accounts for groups of
 	 * sub-categories, e.g. 'zombie|pig_zombie|zombie_horse|zombie_villager'.
@@ -82,11 +272,80 @@ public abstract class AbstractListener extends StatisticIncreaseHandler implemen
 	 * @param id the identifier to match
 	 */
 	void addMatchingSubcategories(Set<String> matchingSubcategories, String id) {
-		String pipedId = '|' + id + '|';
-		for (String subcategory : subcategories) {
-			if (('|' + subcategory + '|').contains(pipedId)) {
-				matchingSubcategories.add(subcategory);
-			}
+		matchingSubcategories.addAll(getMatchingSubcategories(id));
+	}
+
+	/**
+	 * Returns all sub-categories that match a type with the given data value. Listeners only need to retrieve the data
+	 * value, which can be costly, if {@link TypeSubcategories#hasDataValues()} is true; otherwise
+	 * {@link TypeSubcategories#getSubcategories()} can be used directly.
+	 * 
+	 * @param typeSubcategories
+	 * @param dataValue
+	 * @return the matching sub-categories
+	 */
+	Set<String> getMatchingSubcategories(TypeSubcategories typeSubcategories, int dataValue) {
+		Set<String> matchingSubcategories = new HashSet<>(typeSubcategories.getSubcategories());
+		addMatchingSubcategories(matchingSubcategories, typeSubcategories.getName() + ':' + dataValue);
+		return matchingSubcategories;
+	}
+
+	/**
+	 * Returns the union of two sets of sub-categories, without copying them if one of them is empty.
+	 * 
+	 * @param first
+	 * @param second
+	 * @return the union of both sets, which may be one of them
+	 */
+	static Set<String> union(Set<String> first, Set<String> second) {
+		if (first.isEmpty()) {
+			return second;
+		} else if (second.isEmpty()) {
+			return first;
+		}
+		Set<String> union = new HashSet<>(first);
+		union.addAll(second);
+		return union;
+	}
+
+	/**
+	 * Data precomputed for a type of block, item or entity when the configuration is loaded.
+	 */
+	static final class TypeSubcategories {
+
+		private final String name;
+		private final String permissionNode;
+		private final int permissionNodeId;
+		private final Set<String> subcategories;
+		private final boolean dataValues;
+
+		private TypeSubcategories(String name, String permissionNode, int permissionNodeId, Set<String> subcategories,
+				boolean dataValues) {
+			this.name = name;
+			this.permissionNode = permissionNode;
+			this.permissionNodeId = permissionNodeId;
+			this.subcategories = subcategories;
+			this.dataValues = dataValues;
+		}
+
+		String getName() {
+			return name;
+		}
+
+		String getPermissionNode() {
+			return permissionNode;
+		}
+
+		int getPermissionNodeId() {
+			return permissionNodeId;
+		}
+
+		Set<String> getSubcategories() {
+			return subcategories;
+		}
+
+		boolean hasDataValues() {
+			return dataValues;
 		}
 	}
 
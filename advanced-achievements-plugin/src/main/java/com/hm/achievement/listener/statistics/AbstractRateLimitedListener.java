@@ -19,6 +19,7 @@ import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.domain.Achievement;
 import com.hm.achievement.lifecycle.Cleanable;
 import com.hm.achievement.utils.FancyMessageSender;
+import com.hm.achievement.utils.PermissionCache;
 
 /**
  * Abstract class in charge of factoring out common functionality for the listener classes with cooldown maps.
@@ -39,9 +40,9 @@ public class AbstractRateLimitedListener extends AbstractListener implements Cle
 	private String langStatisticCooldown;
 
 	AbstractRateLimitedListener(Category category, YamlConfiguration mainConfig, int serverVersion,
-			AchievementMap achievementMap, CacheManager cacheManager, AdvancedAchievements advancedAchievements,
-			YamlConfiguration langConfig, Logger logger) {
-		super(category, mainConfig, serverVersion, achievementMap, cacheManager);
+			AchievementMap achievementMap, CacheManager cacheManager, PermissionCache permissionCache,
+			AdvancedAchievements advancedAchievements, YamlConfiguration langConfig, Logger logger) {
+		super(category, mainConfig, serverVersion, achievementMap, cacheManager, permissionCache);
 		this.advancedAchievements = advancedAchievements;
 		this.langConfig = langConfig;
 		this.logger = logger;
@@ -93,7 +94,7 @@ public class AbstractRateLimitedListener extends AbstractListener implements Cle
 	 */
 	private boolean isInCooldownPeriod(Player player, int slotNumber) {
 		UUID uuid = player.getUniqueId();
-		long currentPlayerStatistic = cacheManager.getAndIncrementStatisticAmount((NormalAchievements) category, uuid, 0);
+		long currentPlayerStatistic = cacheManager.getCachedStatisticAmount((NormalAchievements) category, uuid, 0L);
 		// Ignore cooldown if player has received all achievements in the category.
 		if (currentPlayerStatistic >= hardestCategoryThreshold) {
 			return false;
@@ -13,6 +13,8 @@ import org.bukkit.event.entity.EntityShootBowEvent;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.utils.PermissionCache;
+import com.hm.achievement.utils.StatisticIncrementCoalescer;
 
 /**
  * Listener class to deal with Arrows achievements.
@@ -25,8 +27,10 @@ public class ArrowsListener extends AbstractListener {
 
 	@Inject
 	public ArrowsListener(@Named("main") YamlConfiguration mainConfig, int serverVersion, AchievementMap achievementMap,
-			CacheManager cacheManager) {
-		super(NormalAchievements.ARROWS, mainConfig, serverVersion, achievementMap, cacheManager);
+			CacheManager cacheManager, PermissionCache permissionCache,
+			StatisticIncrementCoalescer incrementCoalescer) {
+		super(NormalAchievements.ARROWS, mainConfig, serverVersion, achievementMap, cacheManager, permissionCache,
+				incrementCoalescer);
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
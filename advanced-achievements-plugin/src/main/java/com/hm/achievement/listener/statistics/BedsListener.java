@@ -15,6 +15,7 @@ import com.hm.achievement.AdvancedAchievements;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.utils.PermissionCache;
 
 /**
  * Listener class to deal with Beds achievements.
@@ -27,10 +28,10 @@ public class BedsListener extends AbstractRateLimitedListener {
 
 	@Inject
 	public BedsListener(@Named("main") YamlConfiguration mainConfig, int serverVersion, AchievementMap achievementMap,
-			CacheManager cacheManager, AdvancedAchievements advancedAchievements,
+			CacheManager cacheManager, PermissionCache permissionCache, AdvancedAchievements advancedAchievements,
 			@Named("lang") YamlConfiguration langConfig, Logger logger) {
-		super(NormalAchievements.BEDS, mainConfig, serverVersion, achievementMap, cacheManager, advancedAchievements,
-				langConfig, logger);
+		super(NormalAchievements.BEDS, mainConfig, serverVersion, achievementMap, cacheManager, permissionCache,
+				advancedAchievements, langConfig, logger);
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
@@ -2,13 +2,14 @@ package com.hm.achievement.listener.statistics;
 
 import static org.bukkit.enchantments.Enchantment.SILK_TOUCH;
 
-import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
+import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
@@ -20,6 +21,8 @@ import org.bukkit.inventory.ItemStack;
 import com.hm.achievement.category.MultipleAchievements;
 import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.utils.PermissionCache;
+import com.hm.achievement.utils.StatisticIncrementCoalescer;
 
 /**
  * Listener class to deal with Breaks achievements.
@@ -32,11 +35,14 @@ public class BreaksListener extends AbstractListener {
 
 	private boolean disableSilkTouchBreaks;
 	private boolean disableSilkTouchOreBreaks;
+	private Map<Material, TypeSubcategories> materialSubcategories;
 
 	@Inject
 	public BreaksListener(@Named("main") YamlConfiguration mainConfig, int serverVersion, AchievementMap achievementMap,
-			CacheManager cacheManager) {
-		super(MultipleAchievements.BREAKS, mainConfig, serverVersion, achievementMap, cacheManager);
+			CacheManager cacheManager, PermissionCache permissionCache,
+			StatisticIncrementCoalescer incrementCoalescer) {
+		super(MultipleAchievements.BREAKS, mainConfig, serverVersion, achievementMap, cacheManager, permissionCache,
+				incrementCoalescer);
 	}
 
 	@Override
@@ -45,13 +51,19 @@ public class BreaksListener extends AbstractListener {
 
 		disableSilkTouchBreaks = mainConfig.getBoolean("DisableSilkTouchBreaks");
 		disableSilkTouchOreBreaks = mainConfig.getBoolean("DisableSilkTouchOreBreaks");
+		materialSubcategories = buildTypeLookup(Material.class);
 	}
 
 	@SuppressWarnings("deprecation")
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
 	public void onBlockBreak(BlockBreakEvent event) {
-		Player player = event.getPlayer();
 		Block block = event.getBlock();
+		TypeSubcategories blockSubcategories = materialSubcategories.get(block.getType());
+		if (blockSubcategories == null) {
+			return;
+		}
+
+		Player player = event.getPlayer();
 		if (disableSilkTouchBreaks || disableSilkTouchOreBreaks) {
 			ItemStack breakingTool = serverVersion >= 9 ? player.getInventory().getItemInMainHand() : player.getItemInHand();
 			if (breakingTool.containsEnchantment(SILK_TOUCH) && (disableSilkTouchBreaks || isOre(block.getType().name()))) {
@@ -59,14 +71,14 @@ public class BreaksListener extends AbstractListener {
 			}
 		}
 
-		String blockName = block.getType().name().toLowerCase();
-		if (!player.hasPermission(category.toChildPermName(blockName))) {
+		if (!hasPermission(player, blockSubcategories)) {
 			return;
 		}
 
-		Set<String> subcategories = new HashSet<>();
-		addMatchingSubcategories(subcategories, blockName + ':' + block.getState().getData().toItemStack().getDurability());
-		addMatchingSubcategories(subcategories, blockName);
+		// Snapshotting the block state is costly, only do so if the data value can match a sub-category.
+		Set<String> subcategories = blockSubcategories.hasDataValues()
+				? getMatchingSubcategories(blockSubcategories, block.getState().getData().toItemStack().getDurability())
+				: blockSubcategories.getSubcategories();
 		updateStatisticAndAwardAchievementsIfAvailable(player, subcategories, 1);
 	}
 
@@ -1,8 +1,5 @@
 package com.hm.achievement.listener.statistics;
 
-import java.util.HashSet;
-import java.util.Set;
-
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -16,6 +13,7 @@ import org.bukkit.event.entity.EntityBreedEvent;
 import com.hm.achievement.category.MultipleAchievements;
 import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.utils.PermissionCache;
 
 /**
  * Listener class to deal with Breeding achievements.
@@ -24,9 +22,9 @@ import com.hm.achievement.db.CacheManager;
 public class BreedingListener extends AbstractListener {
 
 	@Inject
-	public BreedingListener(@Named("main") YamlConfiguration mainConfig, int serverVersion, AchievementMap achievementMap,
-			CacheManager cacheManager) {
-		super(MultipleAchievements.BREEDING, mainConfig, serverVersion, achievementMap, cacheManager);
+	public BreedingListener(@Named("main") YamlConfiguration mainConfig, int serverVersion,
+			AchievementMap achievementMap, CacheManager cacheManager, PermissionCache permissionCache) {
+		super(MultipleAchievements.BREEDING, mainConfig, serverVersion, achievementMap, cacheManager, permissionCache);
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
@@ -36,12 +34,11 @@ public class BreedingListener extends AbstractListener {
 		}
 
 		String mobName = event.getMother().getType().name().toLowerCase();
-		if (!event.getBreeder().hasPermission(category.toChildPermName(mobName))) {
+		if (!hasChildPermission((Player) event.getBreeder(), mobName)) {
 			return;
 		}
 
-		Set<String> subcategories = new HashSet<>();
-		addMatchingSubcategories(subcategories, mobName);
-		updateStatisticAndAwardAchievementsIfAvailable((Player) event.getBreeder(), subcategories, 1);
+		updateStatisticAndAwardAchievementsIfAvailable((Player) event.getBreeder(),
+				getMatchingSubcategories(mobName), 1);
 	}
 }
@@ -23,6 +23,7 @@ import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.utils.InventoryHelper;
 import com.hm.achievement.utils.MaterialHelper;
+import com.hm.achievement.utils.PermissionCache;
 
 /**
  * Listener class to deal with Brewing achievements.
@@ -37,12 +38,12 @@ public class BrewingListener extends AbstractRateLimitedListener {
 	private final InventoryHelper inventoryHelper;
 
 	@Inject
-	public BrewingListener(@Named("main") YamlConfiguration mainConfig, int serverVersion, AchievementMap achievementMap,
-			CacheManager cacheManager, AdvancedAchievements advancedAchievements,
-			@Named("lang") YamlConfiguration langConfig, Logger logger, MaterialHelper materialHelper,
-			InventoryHelper inventoryHelper) {
-		super(NormalAchievements.BREWING, mainConfig, serverVersion, achievementMap, cacheManager, advancedAchievements,
-				langConfig, logger);
+	public BrewingListener(@Named("main") YamlConfiguration mainConfig, int serverVersion,
+			AchievementMap achievementMap, CacheManager cacheManager, PermissionCache permissionCache,
+			AdvancedAchievements advancedAchievements, @Named("lang") YamlConfiguration langConfig, Logger logger,
+			MaterialHelper materialHelper, InventoryHelper inventoryHelper) {
+		super(NormalAchievements.BREWING, mainConfig, serverVersion, achievementMap, cacheManager, permissionCache,
+				advancedAchievements, langConfig, logger);
 		this.materialHelper = materialHelper;
 		this.inventoryHelper = inventoryHelper;
 	}
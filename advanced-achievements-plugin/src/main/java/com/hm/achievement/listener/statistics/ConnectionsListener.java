@@ -24,6 +24,7 @@ import com.hm.achievement.db.AbstractDatabaseManager;
 import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.db.data.ConnectionInformation;
 import com.hm.achievement.lifecycle.Cleanable;
+import com.hm.achievement.utils.PermissionCache;
 
 /**
  * Listener class to deal with Connections achievements. This class uses delays processing of tasks to avoid spamming a
@@ -40,9 +41,10 @@ public class ConnectionsListener extends AbstractListener implements Cleanable {
 	private final AbstractDatabaseManager databaseManager;
 
 	@Inject
-	public ConnectionsListener(@Named("main") YamlConfiguration mainConfig, int serverVersion, AchievementMap achievementMap,
-			CacheManager cacheManager, AdvancedAchievements advancedAchievements, AbstractDatabaseManager databaseManager) {
-		super(NormalAchievements.CONNECTIONS, mainConfig, serverVersion, achievementMap, cacheManager);
+	public ConnectionsListener(@Named("main") YamlConfiguration mainConfig, int serverVersion,
+			AchievementMap achievementMap, CacheManager cacheManager, PermissionCache permissionCache,
+			AdvancedAchievements advancedAchievements, AbstractDatabaseManager databaseManager) {
+		super(NormalAchievements.CONNECTIONS, mainConfig, serverVersion, achievementMap, cacheManager, permissionCache);
 		this.advancedAchievements = advancedAchievements;
 		this.databaseManager = databaseManager;
 	}
@@ -78,7 +80,11 @@ public class ConnectionsListener extends AbstractListener implements Cleanable {
 			String today = ConnectionInformation.today();
 			if (!today.equals(cachedDate) && shouldIncreaseBeTakenIntoAccount(player, category) && player.isOnline()) {
 				playerConnectionDates.put(player.getUniqueId(), today);
-				ConnectionInformation connectionInformation = databaseManager.getConnectionInformation(player.getUniqueId());
+				ConnectionInformation connectionInformation = cacheManager
+						.takePreloadedConnectionInformation(player.getUniqueId());
+				if (connectionInformation == null) {
+					connectionInformation = databaseManager.getConnectionInformation(player.getUniqueId());
+				}
 				if (!today.equals(connectionInformation.getDate())) {
 					databaseManager.updateConnectionInformation(player.getUniqueId(), connectionInformation.getCount() + 1);
 					checkThresholdsAndAchievements(player, category, connectionInformation.getCount() + 1);
@@ -13,6 +13,7 @@ import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.utils.MaterialHelper;
+import com.hm.achievement.utils.PermissionCache;
 
 /**
  * Listener class to deal with ConsumedPotions achievements.
@@ -27,8 +28,10 @@ public class ConsumedPotionsListener extends AbstractListener {
 
 	@Inject
 	public ConsumedPotionsListener(@Named("main") YamlConfiguration mainConfig, int serverVersion,
-			AchievementMap achievementMap, CacheManager cacheManager, MaterialHelper materialHelper) {
-		super(NormalAchievements.CONSUMEDPOTIONS, mainConfig, serverVersion, achievementMap, cacheManager);
+			AchievementMap achievementMap, CacheManager cacheManager, PermissionCache permissionCache,
+			MaterialHelper materialHelper) {
+		super(NormalAchievements.CONSUMEDPOTIONS, mainConfig, serverVersion, achievementMap, cacheManager,
+				permissionCache);
 		this.materialHelper = materialHelper;
 	}
 
@@ -1,8 +1,8 @@
 package com.hm.achievement.listener.statistics;
 
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.inject.Inject;
@@ -26,6 +26,7 @@ import com.hm.achievement.category.MultipleAchievements;
 import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.utils.InventoryHelper;
+import com.hm.achievement.utils.PermissionCache;
 
 /**
  * Listener class to deal with Crafts achievements.
@@ -38,13 +39,22 @@ public class CraftsListener extends AbstractListener {
 
 	private final InventoryHelper inventoryHelper;
 
+	private Map<Material, TypeSubcategories> materialSubcategories;
+
 	@Inject
 	public CraftsListener(@Named("main") YamlConfiguration mainConfig, int serverVersion, AchievementMap achievementMap,
-			CacheManager cacheManager, InventoryHelper inventoryHelper) {
-		super(MultipleAchievements.CRAFTS, mainConfig, serverVersion, achievementMap, cacheManager);
+			CacheManager cacheManager, PermissionCache permissionCache, InventoryHelper inventoryHelper) {
+		super(MultipleAchievements.CRAFTS, mainConfig, serverVersion, achievementMap, cacheManager, permissionCache);
 		this.inventoryHelper = inventoryHelper;
 	}
 
+	@Override
+	public void extractConfigurationParameters() {
+		super.extractConfigurationParameters();
+
+		materialSubcategories = buildTypeLookup(Material.class);
+	}
+
 	@SuppressWarnings("deprecation")
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
 	public void onCraftItem(CraftItemEvent event) {
@@ -56,14 +66,14 @@ public class CraftsListener extends AbstractListener {
 
 		Player player = (Player) event.getWhoClicked();
 		ItemStack item = event.getCurrentItem();
-		String craftName = item.getType().name().toLowerCase();
-		if (!player.hasPermission(category.toChildPermName(craftName))) {
+		TypeSubcategories craftSubcategories = materialSubcategories.get(item.getType());
+		if (craftSubcategories == null || !hasPermission(player, craftSubcategories)) {
 			return;
 		}
 
-		Set<String> subcategories = new HashSet<>();
-		addMatchingSubcategories(subcategories, craftName + ':' + item.getDurability());
-		addMatchingSubcategories(subcategories, craftName);
+		Set<String> subcategories = craftSubcategories.hasDataValues()
+				? getMatchingSubcategories(craftSubcategories, item.getDurability())
+				: craftSubcategories.getSubcategories();
 
 		int eventAmount = item.getAmount();
 		if (event.isShiftClick()) {
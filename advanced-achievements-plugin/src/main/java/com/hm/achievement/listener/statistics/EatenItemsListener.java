@@ -13,6 +13,7 @@ import org.bukkit.event.player.PlayerItemConsumeEvent;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.utils.PermissionCache;
 
 /**
  * Listener class to deal with EatenItems achievements.
@@ -24,9 +25,9 @@ import com.hm.achievement.db.CacheManager;
 public class EatenItemsListener extends AbstractListener {
 
 	@Inject
-	public EatenItemsListener(@Named("main") YamlConfiguration mainConfig, int serverVersion, AchievementMap achievementMap,
-			CacheManager cacheManager) {
-		super(NormalAchievements.EATENITEMS, mainConfig, serverVersion, achievementMap, cacheManager);
+	public EatenItemsListener(@Named("main") YamlConfiguration mainConfig, int serverVersion,
+			AchievementMap achievementMap, CacheManager cacheManager, PermissionCache permissionCache) {
+		super(NormalAchievements.EATENITEMS, mainConfig, serverVersion, achievementMap, cacheManager, permissionCache);
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
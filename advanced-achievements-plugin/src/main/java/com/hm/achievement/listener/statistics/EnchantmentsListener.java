@@ -12,6 +12,7 @@ import org.bukkit.event.enchantment.EnchantItemEvent;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.utils.PermissionCache;
 
 /**
  * Listener class to deal with Enchantments achievements.
@@ -24,8 +25,9 @@ public class EnchantmentsListener extends AbstractListener {
 
 	@Inject
 	public EnchantmentsListener(@Named("main") YamlConfiguration mainConfig, int serverVersion,
-			AchievementMap achievementMap, CacheManager cacheManager) {
-		super(NormalAchievements.ENCHANTMENTS, mainConfig, serverVersion, achievementMap, cacheManager);
+			AchievementMap achievementMap, CacheManager cacheManager, PermissionCache permissionCache) {
+		super(NormalAchievements.ENCHANTMENTS, mainConfig, serverVersion, achievementMap, cacheManager,
+				permissionCache);
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
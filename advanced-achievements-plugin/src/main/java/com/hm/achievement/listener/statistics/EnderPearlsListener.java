@@ -12,6 +12,7 @@ import org.bukkit.event.player.PlayerTeleportEvent;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.utils.PermissionCache;
 
 /**
  * Listener class to deal with EnderPearls achievements.
@@ -23,9 +24,9 @@ import com.hm.achievement.db.CacheManager;
 public class EnderPearlsListener extends AbstractListener {
 
 	@Inject
-	public EnderPearlsListener(@Named("main") YamlConfiguration mainConfig, int serverVersion, AchievementMap achievementMap,
-			CacheManager cacheManager) {
-		super(NormalAchievements.ENDERPEARLS, mainConfig, serverVersion, achievementMap, cacheManager);
+	public EnderPearlsListener(@Named("main") YamlConfiguration mainConfig, int serverVersion,
+			AchievementMap achievementMap, CacheManager cacheManager, PermissionCache permissionCache) {
+		super(NormalAchievements.ENDERPEARLS, mainConfig, serverVersion, achievementMap, cacheManager, permissionCache);
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
@@ -18,6 +18,7 @@ import org.bukkit.inventory.ItemStack;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.utils.PermissionCache;
 
 /**
  * Listener class to deal with Fertilising achievements for Minecraft 1.7.9-1.12.2.
@@ -30,8 +31,8 @@ public class FertilisingLegacyListener extends AbstractListener {
 
 	@Inject
 	public FertilisingLegacyListener(@Named("main") YamlConfiguration mainConfig, int serverVersion,
-			AchievementMap achievementMap, CacheManager cacheManager) {
-		super(NormalAchievements.FERTILISING, mainConfig, serverVersion, achievementMap, cacheManager);
+			AchievementMap achievementMap, CacheManager cacheManager, PermissionCache permissionCache) {
+		super(NormalAchievements.FERTILISING, mainConfig, serverVersion, achievementMap, cacheManager, permissionCache);
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR) // Do NOT set ignoreCancelled to true, deprecated for this event.
@@ -12,6 +12,7 @@ import org.bukkit.event.block.BlockFertilizeEvent;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.utils.PermissionCache;
 
 /**
  * Listener class to deal with Fertilising achievements for Minecraft 1.13+.
@@ -23,9 +24,9 @@ import com.hm.achievement.db.CacheManager;
 public class FertilisingListener extends AbstractListener {
 
 	@Inject
-	public FertilisingListener(@Named("main") YamlConfiguration mainConfig, int serverVersion, AchievementMap achievementMap,
-			CacheManager cacheManager) {
-		super(NormalAchievements.FERTILISING, mainConfig, serverVersion, achievementMap, cacheManager);
+	public FertilisingListener(@Named("main") YamlConfiguration mainConfig, int serverVersion,
+			AchievementMap achievementMap, CacheManager cacheManager, PermissionCache permissionCache) {
+		super(NormalAchievements.FERTILISING, mainConfig, serverVersion, achievementMap, cacheManager, permissionCache);
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
@@ -18,6 +18,7 @@ import org.bukkit.event.player.PlayerInteractEvent;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.utils.PermissionCache;
 
 /**
  * Listener class to deal with Fireworks achievements.
@@ -29,9 +30,9 @@ import com.hm.achievement.db.CacheManager;
 public class FireworksListener extends AbstractListener {
 
 	@Inject
-	public FireworksListener(@Named("main") YamlConfiguration mainConfig, int serverVersion, AchievementMap achievementMap,
-			CacheManager cacheManager) {
-		super(NormalAchievements.FIREWORKS, mainConfig, serverVersion, achievementMap, cacheManager);
+	public FireworksListener(@Named("main") YamlConfiguration mainConfig, int serverVersion,
+			AchievementMap achievementMap, CacheManager cacheManager, PermissionCache permissionCache) {
+		super(NormalAchievements.FIREWORKS, mainConfig, serverVersion, achievementMap, cacheManager, permissionCache);
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR) // Do NOT set ignoreCancelled to true, see SPIGOT-4793.
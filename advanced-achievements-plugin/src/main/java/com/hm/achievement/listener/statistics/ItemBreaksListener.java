@@ -12,6 +12,7 @@ import org.bukkit.event.player.PlayerItemBreakEvent;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.utils.PermissionCache;
 
 /**
  * Listener class to deal with ItemBreaks achievements.
@@ -23,9 +24,9 @@ import com.hm.achievement.db.CacheManager;
 public class ItemBreaksListener extends AbstractListener {
 
 	@Inject
-	public ItemBreaksListener(@Named("main") YamlConfiguration mainConfig, int serverVersion, AchievementMap achievementMap,
-			CacheManager cacheManager) {
-		super(NormalAchievements.ITEMBREAKS, mainConfig, serverVersion, achievementMap, cacheManager);
+	public ItemBreaksListener(@Named("main") YamlConfiguration mainConfig, int serverVersion,
+			AchievementMap achievementMap, CacheManager cacheManager, PermissionCache permissionCache) {
+		super(NormalAchievements.ITEMBREAKS, mainConfig, serverVersion, achievementMap, cacheManager, permissionCache);
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
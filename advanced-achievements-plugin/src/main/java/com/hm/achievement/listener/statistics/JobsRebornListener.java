@@ -1,8 +1,6 @@
 package com.hm.achievement.listener.statistics;
 
 import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -17,6 +15,7 @@ import com.gamingmesh.jobs.api.JobsLevelUpEvent;
 import com.hm.achievement.category.MultipleAchievements;
 import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.utils.PermissionCache;
 
 /**
  * Listener class to deal with Jobs Reborn achievements.
@@ -25,9 +24,10 @@ import com.hm.achievement.db.CacheManager;
 public class JobsRebornListener extends AbstractListener {
 
 	@Inject
-	public JobsRebornListener(@Named("main") YamlConfiguration mainConfig, int serverVersion, AchievementMap achievementMap,
-			CacheManager cacheManager) {
-		super(MultipleAchievements.JOBSREBORN, mainConfig, serverVersion, achievementMap, cacheManager);
+	public JobsRebornListener(@Named("main") YamlConfiguration mainConfig, int serverVersion,
+			AchievementMap achievementMap, CacheManager cacheManager, PermissionCache permissionCache) {
+		super(MultipleAchievements.JOBSREBORN, mainConfig, serverVersion, achievementMap, cacheManager,
+				permissionCache);
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
@@ -39,19 +39,17 @@ public class JobsRebornListener extends AbstractListener {
 		}
 
 		String jobName = event.getJobName().toLowerCase();
-		if (!player.hasPermission(category.toChildPermName(jobName))) {
+		if (!hasChildPermission(player, jobName)) {
 			return;
 		}
 
-		Set<String> subcategories = new HashSet<>();
-		addMatchingSubcategories(subcategories, jobName);
-		subcategories.forEach(key -> {
-			int previousJobLevel = (int) cacheManager.getAndIncrementStatisticAmount(MultipleAchievements.JOBSREBORN, key,
-					player.getUniqueId(), 0);
-			int levelDiff = event.getLevel() - previousJobLevel;
-			if (levelDiff > 0) {
-				updateStatisticAndAwardAchievementsIfAvailable(player, Collections.singleton(key), levelDiff);
-			}
-		});
+		int jobLevel = event.getLevel();
+		getMatchingSubcategories(jobName).forEach(key -> cacheManager.incrementStatisticAmount(
+				MultipleAchievements.JOBSREBORN, key, player.getUniqueId(), 0, previousJobLevel -> {
+					if (jobLevel > previousJobLevel) {
+						updateStatisticAndAwardAchievementsIfAvailable(player, Collections.singleton(key),
+								(int) (jobLevel - previousJobLevel));
+					}
+				}));
 	}
 }
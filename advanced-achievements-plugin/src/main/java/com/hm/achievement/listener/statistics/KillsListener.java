@@ -1,6 +1,7 @@
 package com.hm.achievement.listener.statistics;
 
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
 
 import javax.inject.Inject;
@@ -11,6 +12,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Creeper;
 import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -19,6 +21,7 @@ import org.bukkit.event.entity.EntityDeathEvent;
 import com.hm.achievement.category.MultipleAchievements;
 import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.utils.PermissionCache;
 
 /**
  * Listener class to deal with Kills achievements.
@@ -29,10 +32,21 @@ import com.hm.achievement.db.CacheManager;
 @Singleton
 public class KillsListener extends AbstractListener {
 
+	private Map<EntityType, TypeSubcategories> entitySubcategories;
+	private TypeSubcategories poweredCreeperSubcategories;
+
 	@Inject
 	public KillsListener(@Named("main") YamlConfiguration mainConfig, int serverVersion, AchievementMap achievementMap,
-			CacheManager cacheManager) {
-		super(MultipleAchievements.KILLS, mainConfig, serverVersion, achievementMap, cacheManager);
+			CacheManager cacheManager, PermissionCache permissionCache) {
+		super(MultipleAchievements.KILLS, mainConfig, serverVersion, achievementMap, cacheManager, permissionCache);
+	}
+
+	@Override
+	public void extractConfigurationParameters() {
+		super.extractConfigurationParameters();
+
+		entitySubcategories = buildTypeLookup(EntityType.class);
+		poweredCreeperSubcategories = buildTypeSubcategories("poweredcreeper");
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
@@ -43,24 +57,30 @@ public class KillsListener extends AbstractListener {
 		}
 
 		Entity entity = event.getEntity();
-		String mobType = (entity instanceof Creeper && ((Creeper) entity).isPowered()) ? "poweredcreeper"
-				: entity.getType().name().toLowerCase();
+		TypeSubcategories mobSubcategories = (entity instanceof Creeper && ((Creeper) entity).isPowered())
+				? poweredCreeperSubcategories
+				: entitySubcategories.get(entity.getType());
 
-		Set<String> subcategories = new HashSet<>();
+		Set<String> subcategories = Collections.emptySet();
 
-		if (player.hasPermission(category.toChildPermName(mobType))) {
-			addMatchingSubcategories(subcategories, mobType);
+		if (mobSubcategories != null && hasPermission(player, mobSubcategories)) {
+			subcategories = mobSubcategories.getSubcategories();
 		}
 
-		if (serverVersion >= 8 && entity.getCustomName() != null
-				&& player.hasPermission(category.toChildPermName(StringUtils.deleteWhitespace(entity.getCustomName())))) {
-			addMatchingSubcategories(subcategories, entity.getCustomName());
+		if (serverVersion >= 8 && entity.getCustomName() != null) {
+			Set<String> customNameSubcategories = getMatchingSubcategories(entity.getCustomName());
+			if (!customNameSubcategories.isEmpty()
+					&& hasChildPermission(player, StringUtils.deleteWhitespace(entity.getCustomName()))) {
+				subcategories = union(subcategories, customNameSubcategories);
+			}
 		}
 
 		if (entity instanceof Player) {
 			String specificPlayer = "specificplayer-" + entity.getUniqueId();
-			if (player.hasPermission(category.toChildPermName(specificPlayer))) {
-				addMatchingSubcategories(subcategories, specificPlayer);
+			Set<String> specificPlayerSubcategories = getMatchingSubcategories(specificPlayer);
+			if (!specificPlayerSubcategories.isEmpty()
+					&& hasChildPermission(player, specificPlayer)) {
+				subcategories = union(subcategories, specificPlayerSubcategories);
 			}
 		}
 
@@ -16,6 +16,7 @@ import com.hm.achievement.AdvancedAchievements;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.utils.PermissionCache;
 
 /**
  * Listener class to deal with LavaBuckets achievements.
@@ -26,11 +27,11 @@ import com.hm.achievement.db.CacheManager;
 public class LavaBucketsListener extends AbstractRateLimitedListener {
 
 	@Inject
-	public LavaBucketsListener(@Named("main") YamlConfiguration mainConfig, int serverVersion, AchievementMap achievementMap,
-			CacheManager cacheManager, AdvancedAchievements advancedAchievements,
-			@Named("lang") YamlConfiguration langConfig, Logger logger) {
-		super(NormalAchievements.LAVABUCKETS, mainConfig, serverVersion, achievementMap, cacheManager, advancedAchievements,
-				langConfig, logger);
+	public LavaBucketsListener(@Named("main") YamlConfiguration mainConfig, int serverVersion,
+			AchievementMap achievementMap, CacheManager cacheManager, PermissionCache permissionCache,
+			AdvancedAchievements advancedAchievements, @Named("lang") YamlConfiguration langConfig, Logger logger) {
+		super(NormalAchievements.LAVABUCKETS, mainConfig, serverVersion, achievementMap, cacheManager, permissionCache,
+				advancedAchievements, langConfig, logger);
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
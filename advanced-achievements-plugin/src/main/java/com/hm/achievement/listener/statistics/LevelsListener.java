@@ -13,6 +13,7 @@ import org.bukkit.event.player.PlayerLevelChangeEvent;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.utils.PermissionCache;
 
 /**
  * Listener class to deal with MaxLevel achievements.
@@ -25,20 +26,19 @@ public class LevelsListener extends AbstractListener {
 
 	@Inject
 	public LevelsListener(@Named("main") YamlConfiguration mainConfig, int serverVersion, AchievementMap achievementMap,
-			CacheManager cacheManager) {
-		super(NormalAchievements.LEVELS, mainConfig, serverVersion, achievementMap, cacheManager);
+			CacheManager cacheManager, PermissionCache permissionCache) {
+		super(NormalAchievements.LEVELS, mainConfig, serverVersion, achievementMap, cacheManager, permissionCache);
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
 	public void onPlayerExpChange(PlayerLevelChangeEvent event) {
 		Player player = event.getPlayer();
+		int newLevel = event.getNewLevel();
 
-		int previousMaxLevel = (int) cacheManager.getAndIncrementStatisticAmount(NormalAchievements.LEVELS,
-				player.getUniqueId(), 0);
-		if (event.getNewLevel() <= previousMaxLevel) {
-			return;
-		}
-
-		updateStatisticAndAwardAchievementsIfAvailable(player, event.getNewLevel() - previousMaxLevel);
+		cacheManager.incrementStatisticAmount(NormalAchievements.LEVELS, player.getUniqueId(), 0, previousMaxLevel -> {
+			if (newLevel > previousMaxLevel) {
+				updateStatisticAndAwardAchievementsIfAvailable(player, (int) (newLevel - previousMaxLevel));
+			}
+		});
 	}
 }
@@ -18,6 +18,7 @@ import com.hm.achievement.AdvancedAchievements;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.utils.PermissionCache;
 
 /**
  * Listener class to deal with MusicDiscs achievements.
@@ -29,11 +30,11 @@ import com.hm.achievement.db.CacheManager;
 public class MusicDiscsListener extends AbstractRateLimitedListener {
 
 	@Inject
-	public MusicDiscsListener(@Named("main") YamlConfiguration mainConfig, int serverVersion, AchievementMap achievementMap,
-			CacheManager cacheManager, AdvancedAchievements advancedAchievements,
-			@Named("lang") YamlConfiguration langConfig, Logger logger) {
-		super(NormalAchievements.MUSICDISCS, mainConfig, serverVersion, achievementMap, cacheManager, advancedAchievements,
-				langConfig, logger);
+	public MusicDiscsListener(@Named("main") YamlConfiguration mainConfig, int serverVersion,
+			AchievementMap achievementMap, CacheManager cacheManager, PermissionCache permissionCache,
+			AdvancedAchievements advancedAchievements, @Named("lang") YamlConfiguration langConfig, Logger logger) {
+		super(NormalAchievements.MUSICDISCS, mainConfig, serverVersion, achievementMap, cacheManager, permissionCache,
+				advancedAchievements, langConfig, logger);
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR) // Do NOT set ignoreCancelled to true, deprecated for this event.
@@ -12,6 +12,7 @@ import org.bukkit.event.EventPriority;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.utils.PermissionCache;
 import com.hm.mcshared.event.PlayerChangeAnimalOwnershipEvent;
 
 /**
@@ -25,8 +26,9 @@ public class PetMasterGiveListener extends AbstractListener {
 
 	@Inject
 	public PetMasterGiveListener(@Named("main") YamlConfiguration mainConfig, int serverVersion,
-			AchievementMap achievementMap, CacheManager cacheManager) {
-		super(NormalAchievements.PETMASTERGIVE, mainConfig, serverVersion, achievementMap, cacheManager);
+			AchievementMap achievementMap, CacheManager cacheManager, PermissionCache permissionCache) {
+		super(NormalAchievements.PETMASTERGIVE, mainConfig, serverVersion, achievementMap, cacheManager,
+				permissionCache);
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
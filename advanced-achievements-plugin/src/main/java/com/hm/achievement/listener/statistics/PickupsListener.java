@@ -12,6 +12,8 @@ import org.bukkit.event.player.PlayerPickupItemEvent;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.utils.PermissionCache;
+import com.hm.achievement.utils.StatisticIncrementCoalescer;
 
 /**
  * Listener class to deal with ItemPickups achievements. Keep PlayerPickupItemEvent for now, as it was only introduced
@@ -25,9 +27,11 @@ import com.hm.achievement.db.CacheManager;
 public class PickupsListener extends AbstractListener {
 
 	@Inject
-	public PickupsListener(@Named("main") YamlConfiguration mainConfig, int serverVersion, AchievementMap achievementMap,
-			CacheManager cacheManager) {
-		super(NormalAchievements.PICKUPS, mainConfig, serverVersion, achievementMap, cacheManager);
+	public PickupsListener(@Named("main") YamlConfiguration mainConfig, int serverVersion,
+			AchievementMap achievementMap, CacheManager cacheManager, PermissionCache permissionCache,
+			StatisticIncrementCoalescer incrementCoalescer) {
+		super(NormalAchievements.PICKUPS, mainConfig, serverVersion, achievementMap, cacheManager, permissionCache,
+				incrementCoalescer);
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
@@ -1,6 +1,7 @@
 package com.hm.achievement.listener.statistics;
 
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
 
 import javax.inject.Inject;
@@ -8,6 +9,7 @@ import javax.inject.Named;
 import javax.inject.Singleton;
 
 import org.apache.commons.lang3.StringUtils;
+import org.bukkit.Material;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -19,6 +21,8 @@ import org.bukkit.inventory.meta.ItemMeta;
 import com.hm.achievement.category.MultipleAchievements;
 import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.utils.PermissionCache;
+import com.hm.achievement.utils.StatisticIncrementCoalescer;
 
 /**
  * Listener class to deal with Places achievements.
@@ -29,10 +33,21 @@ import com.hm.achievement.db.CacheManager;
 @Singleton
 public class PlacesListener extends AbstractListener {
 
+	private Map<Material, TypeSubcategories> materialSubcategories;
+
 	@Inject
 	public PlacesListener(@Named("main") YamlConfiguration mainConfig, int serverVersion, AchievementMap achievementMap,
-			CacheManager cacheManager) {
-		super(MultipleAchievements.PLACES, mainConfig, serverVersion, achievementMap, cacheManager);
+			CacheManager cacheManager, PermissionCache permissionCache,
+			StatisticIncrementCoalescer incrementCoalescer) {
+		super(MultipleAchievements.PLACES, mainConfig, serverVersion, achievementMap, cacheManager, permissionCache,
+				incrementCoalescer);
+	}
+
+	@Override
+	public void extractConfigurationParameters() {
+		super.extractConfigurationParameters();
+
+		materialSubcategories = buildTypeLookup(Material.class);
 	}
 
 	@SuppressWarnings("deprecation")
@@ -41,19 +56,25 @@ public class PlacesListener extends AbstractListener {
 		Player player = event.getPlayer();
 		ItemStack placedItem = event.getItemInHand();
 
-		Set<String> subcategories = new HashSet<>();
+		Set<String> subcategories = Collections.emptySet();
 
-		String blockName = placedItem.getType().name().toLowerCase();
-		if (player.hasPermission(category.toChildPermName(blockName))) {
-			addMatchingSubcategories(subcategories, blockName + ':' + placedItem.getDurability());
-			addMatchingSubcategories(subcategories, blockName);
+		TypeSubcategories blockSubcategories = materialSubcategories.get(placedItem.getType());
+		if (blockSubcategories != null && hasPermission(player, blockSubcategories)) {
+			subcategories = blockSubcategories.hasDataValues()
+					? getMatchingSubcategories(blockSubcategories, placedItem.getDurability())
+					: blockSubcategories.getSubcategories();
 		}
 
-		ItemMeta itemMeta = placedItem.getItemMeta();
-		if (itemMeta != null && itemMeta.hasDisplayName()) {
-			String displayName = itemMeta.getDisplayName();
-			if (player.hasPermission(category.toChildPermName(StringUtils.deleteWhitespace(displayName)))) {
-				addMatchingSubcategories(subcategories, displayName);
+		// getItemMeta returns a copy, only retrieve it if the item has one.
+		if (placedItem.hasItemMeta()) {
+			ItemMeta itemMeta = placedItem.getItemMeta();
+			if (itemMeta != null && itemMeta.hasDisplayName()) {
+				String displayName = itemMeta.getDisplayName();
+				Set<String> displayNameSubcategories = getMatchingSubcategories(displayName);
+				if (!displayNameSubcategories.isEmpty()
+						&& hasChildPermission(player, StringUtils.deleteWhitespace(displayName))) {
+					subcategories = union(subcategories, displayNameSubcategories);
+				}
 			}
 		}
 
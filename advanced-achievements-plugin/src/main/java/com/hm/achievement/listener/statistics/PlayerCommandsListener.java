@@ -22,14 +22,41 @@ import org.bukkit.event.player.PlayerCommandPreprocessEvent;
 import com.hm.achievement.category.MultipleAchievements;
 import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.utils.PermissionCache;
 
 @Singleton
 public class PlayerCommandsListener extends AbstractListener {
 
+	// Prefixes of all sub-categories, with the sub-category they belong to and the identifier of their permission node.
+	private String[] prefixes;
+	private String[] prefixSubcategories;
+	private int[] prefixNodeIds;
+
 	@Inject
 	public PlayerCommandsListener(@Named("main") YamlConfiguration mainConfig, int serverVersion,
-			AchievementMap achievementMap, CacheManager cacheManager) {
-		super(MultipleAchievements.PLAYERCOMMANDS, mainConfig, serverVersion, achievementMap, cacheManager);
+			AchievementMap achievementMap, CacheManager cacheManager, PermissionCache permissionCache) {
+		super(MultipleAchievements.PLAYERCOMMANDS, mainConfig, serverVersion, achievementMap, cacheManager,
+				permissionCache);
+	}
+
+	@Override
+	public void extractConfigurationParameters() {
+		super.extractConfigurationParameters();
+		List<String> allPrefixes = new ArrayList<>();
+		List<String> allPrefixSubcategories = new ArrayList<>();
+		for (String groupedPrefixes : subcategories) {
+			for (String prefix : StringUtils.split(groupedPrefixes, '|')) {
+				allPrefixes.add(prefix);
+				allPrefixSubcategories.add(groupedPrefixes);
+			}
+		}
+		prefixes = allPrefixes.toArray(new String[0]);
+		prefixSubcategories = allPrefixSubcategories.toArray(new String[0]);
+		prefixNodeIds = new int[prefixes.length];
+		for (int i = 0; i < prefixes.length; ++i) {
+			prefixNodeIds[i] = permissionCache
+					.getNodeId(category.toChildPermName(StringUtils.deleteWhitespace(prefixes[i])));
+		}
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
@@ -37,13 +64,11 @@ public class PlayerCommandsListener extends AbstractListener {
 		Player player = event.getPlayer();
 		List<String> equivalentCommands = getEquivalentCommands(event.getMessage());
 		Set<String> matchingSubcategories = new HashSet<>();
-		for (String groupedPrefixes : subcategories) {
-			for (String prefix : StringUtils.split(groupedPrefixes, '|')) {
-				if (player.hasPermission(category.toChildPermName(StringUtils.deleteWhitespace(prefix)))) {
-					for (String equivalentCommand : equivalentCommands) {
-						if (equivalentCommand.startsWith(prefix)) {
-							matchingSubcategories.add(groupedPrefixes);
-						}
+		for (int i = 0; i < prefixes.length; ++i) {
+			if (permissionCache.hasPermission(player, prefixNodeIds[i])) {
+				for (String equivalentCommand : equivalentCommands) {
+					if (equivalentCommand.startsWith(prefixes[i])) {
+						matchingSubcategories.add(prefixSubcategories[i]);
 					}
 				}
 			}
@@ -19,6 +19,7 @@ import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.utils.InventoryHelper;
+import com.hm.achievement.utils.PermissionCache;
 
 /**
  * Listener class to deal with Smelting achievements.
@@ -32,9 +33,10 @@ public class SmeltingListener extends AbstractListener {
 	private final InventoryHelper inventoryHelper;
 
 	@Inject
-	public SmeltingListener(@Named("main") YamlConfiguration mainConfig, int serverVersion, AchievementMap achievementMap,
-			CacheManager cacheManager, InventoryHelper inventoryHelper) {
-		super(NormalAchievements.SMELTING, mainConfig, serverVersion, achievementMap, cacheManager);
+	public SmeltingListener(@Named("main") YamlConfiguration mainConfig, int serverVersion,
+			AchievementMap achievementMap, CacheManager cacheManager, PermissionCache permissionCache,
+			InventoryHelper inventoryHelper) {
+		super(NormalAchievements.SMELTING, mainConfig, serverVersion, achievementMap, cacheManager, permissionCache);
 		this.inventoryHelper = inventoryHelper;
 	}
 
@@ -15,6 +15,7 @@ import org.bukkit.projectiles.ProjectileSource;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.utils.PermissionCache;
 
 /**
  * Listener class to deal with Snowballsachievements.
@@ -26,9 +27,9 @@ import com.hm.achievement.db.CacheManager;
 public class SnowballsListener extends AbstractListener {
 
 	@Inject
-	public SnowballsListener(@Named("main") YamlConfiguration mainConfig, int serverVersion, AchievementMap achievementMap,
-			CacheManager cacheManager) {
-		super(NormalAchievements.SNOWBALLS, mainConfig, serverVersion, achievementMap, cacheManager);
+	public SnowballsListener(@Named("main") YamlConfiguration mainConfig, int serverVersion,
+			AchievementMap achievementMap, CacheManager cacheManager, PermissionCache permissionCache) {
+		super(NormalAchievements.SNOWBALLS, mainConfig, serverVersion, achievementMap, cacheManager, permissionCache);
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
@@ -1,13 +1,14 @@
 package com.hm.achievement.listener.statistics;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Map;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
+import org.bukkit.Material;
 import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -16,14 +17,27 @@ import org.bukkit.event.entity.ProjectileHitEvent;
 import com.hm.achievement.category.MultipleAchievements;
 import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.utils.PermissionCache;
 
 @Singleton
 public class TargetsShotListener extends AbstractListener {
 
+	private Map<EntityType, TypeSubcategories> entitySubcategories;
+	private Map<Material, TypeSubcategories> materialSubcategories;
+
 	@Inject
-	public TargetsShotListener(@Named("main") YamlConfiguration mainConfig, int serverVersion, AchievementMap achievementMap,
-			CacheManager cacheManager) {
-		super(MultipleAchievements.TARGETSSHOT, mainConfig, serverVersion, achievementMap, cacheManager);
+	public TargetsShotListener(@Named("main") YamlConfiguration mainConfig, int serverVersion,
+			AchievementMap achievementMap, CacheManager cacheManager, PermissionCache permissionCache) {
+		super(MultipleAchievements.TARGETSSHOT, mainConfig, serverVersion, achievementMap, cacheManager,
+				permissionCache);
+	}
+
+	@Override
+	public void extractConfigurationParameters() {
+		super.extractConfigurationParameters();
+
+		entitySubcategories = buildTypeLookup(EntityType.class);
+		materialSubcategories = buildTypeLookup(Material.class);
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
@@ -32,23 +46,20 @@ public class TargetsShotListener extends AbstractListener {
 			return;
 		}
 
-		String targetName;
+		TypeSubcategories targetSubcategories;
 		if (event.getHitEntity() != null) {
-			targetName = event.getHitEntity().getType().name().toLowerCase();
+			targetSubcategories = entitySubcategories.get(event.getHitEntity().getType());
 		} else if (event.getHitBlock() != null) {
-			targetName = event.getHitBlock().getType().name().toLowerCase();
+			targetSubcategories = materialSubcategories.get(event.getHitBlock().getType());
 		} else {
 			return;
 		}
 
 		Player player = (Player) event.getEntity().getShooter();
-		if (!player.hasPermission(category.toChildPermName(targetName))) {
+		if (targetSubcategories == null || !hasPermission(player, targetSubcategories)) {
 			return;
 		}
 
-		Set<String> subcategories = new HashSet<>();
-
-		addMatchingSubcategories(subcategories, targetName);
-		updateStatisticAndAwardAchievementsIfAvailable(player, subcategories, 1);
+		updateStatisticAndAwardAchievementsIfAvailable(player, targetSubcategories.getSubcategories(), 1);
 	}
 }
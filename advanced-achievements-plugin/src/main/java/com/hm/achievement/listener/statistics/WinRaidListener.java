@@ -12,6 +12,7 @@ import org.bukkit.event.raid.RaidFinishEvent;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.utils.PermissionCache;
 
 /**
  * Processes raid win event.
@@ -22,9 +23,9 @@ import com.hm.achievement.db.CacheManager;
 public class WinRaidListener extends AbstractListener {
 
 	@Inject
-	public WinRaidListener(@Named("main") YamlConfiguration mainConfig, int serverVersion, AchievementMap achievementMap,
-			CacheManager cacheManager) {
-		super(NormalAchievements.RAIDSWON, mainConfig, serverVersion, achievementMap, cacheManager);
+	public WinRaidListener(@Named("main") YamlConfiguration mainConfig, int serverVersion,
+			AchievementMap achievementMap, CacheManager cacheManager, PermissionCache permissionCache) {
+		super(NormalAchievements.RAIDSWON, mainConfig, serverVersion, achievementMap, cacheManager, permissionCache);
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
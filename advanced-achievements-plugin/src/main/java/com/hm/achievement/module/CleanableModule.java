@@ -11,6 +11,8 @@ import com.hm.achievement.listener.statistics.MilksListener;
 import com.hm.achievement.listener.statistics.MusicDiscsListener;
 import com.hm.achievement.listener.statistics.WaterBucketsListener;
 import com.hm.achievement.runnable.AchieveDistanceRunnable;
+import com.hm.achievement.runnable.AchievePlayTimeRunnable;
+import com.hm.achievement.utils.PermissionCache;
 
 import dagger.Binds;
 import dagger.Module;
@@ -23,6 +25,10 @@ public interface CleanableModule {
 	@IntoSet
 	Cleanable bindAchieveDistanceRunnable(AchieveDistanceRunnable achieveDistanceRunnable);
 
+	@Binds
+	@IntoSet
+	Cleanable bindAchievePlayTimeRunnable(AchievePlayTimeRunnable achievePlayTimeRunnable);
+
 	@Binds
 	@IntoSet
 	Cleanable bindBedsListener(BedsListener bedsListener);
@@ -55,6 +61,10 @@ public interface CleanableModule {
 	@IntoSet
 	Cleanable bindMusicDiscsListener(MusicDiscsListener musicDiscsListener);
 
+	@Binds
+	@IntoSet
+	Cleanable bindPermissionCache(PermissionCache permissionCache);
+
 	@Binds
 	@IntoSet
 	Cleanable bindWaterBucketsListener(WaterBucketsListener waterBucketsListener);
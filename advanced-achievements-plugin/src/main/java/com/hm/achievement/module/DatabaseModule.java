@@ -1,21 +1,27 @@
 package com.hm.achievement.module;
 
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.logging.Logger;
 
 import javax.inject.Named;
 import javax.inject.Singleton;
 
+import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import com.hm.achievement.AdvancedAchievements;
 import com.hm.achievement.db.AbstractDatabaseManager;
+import com.hm.achievement.db.DatabaseInvalidationBus;
 import com.hm.achievement.db.DatabaseUpdater;
 import com.hm.achievement.db.H2DatabaseManager;
+import com.hm.achievement.db.InvalidationBus;
+import com.hm.achievement.db.LocalInvalidationBus;
 import com.hm.achievement.db.MySQLDatabaseManager;
+import com.hm.achievement.db.PluginMessagingInvalidationBus;
 import com.hm.achievement.db.PostgreSQLDatabaseManager;
 import com.hm.achievement.db.SQLiteDatabaseManager;
+import com.hm.achievement.db.WriteExecutor;
+import com.hm.achievement.db.WriteExecutor.OverflowPolicy;
 
 import dagger.Module;
 import dagger.Provides;
@@ -25,10 +31,16 @@ public class DatabaseModule {
 
 	@Provides
 	@Singleton
-	ExecutorService provideWriteExecutor() {
+	ExecutorService provideWriteExecutor(Logger logger, AdvancedAchievements advancedAchievements) {
 		// Used to do perform the database write operations asynchronously. We expect to execute many short writes to
-		// the database. The pool can grow dynamically under high load and allows to reuse threads.
-		return Executors.newCachedThreadPool();
+		// the database. The number of workers is bounded so that a slow database does not lead to thread build-ups.
+		FileConfiguration config = advancedAchievements.getConfig();
+		String policyName = config.getString("WriteExecutorOverflowPolicy", "coalesce");
+		OverflowPolicy overflowPolicy = "spill".equalsIgnoreCase(policyName) ? OverflowPolicy.SPILL
+				: OverflowPolicy.COALESCE;
+		return new WriteExecutor(logger, config.getInt("WriteExecutorWorkers", 2),
+				config.getInt("WriteExecutorQueueCapacity", 1000), config.getInt("WriteExecutorOverflowCapacity", 10000),
+				overflowPolicy);
 	}
 
 	@Provides
@@ -48,4 +60,19 @@ public class DatabaseModule {
 		}
 	}
 
+	@Provides
+	@Singleton
+	InvalidationBus provideInvalidationBus(Logger logger, AdvancedAchievements advancedAchievements,
+			AbstractDatabaseManager databaseManager) {
+		FileConfiguration config = advancedAchievements.getConfig();
+		String busType = config.getString("InvalidationBus", "none");
+		if (config.getBoolean("BungeeMode") && "database".equalsIgnoreCase(busType)) {
+			return new DatabaseInvalidationBus(logger, databaseManager);
+		} else if (config.getBoolean("BungeeMode") && "messaging".equalsIgnoreCase(busType)) {
+			return new PluginMessagingInvalidationBus(logger, advancedAchievements);
+		}
+		// The database is not shared or the user has specified "none" or an invalid type: no other server to notify.
+		return new LocalInvalidationBus();
+	}
+
 }
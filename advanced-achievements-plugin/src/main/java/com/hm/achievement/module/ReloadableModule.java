@@ -6,6 +6,7 @@ import com.hm.achievement.advancement.AdvancementManager;
 import com.hm.achievement.command.executable.AbstractCommand;
 import com.hm.achievement.command.executor.PluginCommandExecutor;
 import com.hm.achievement.db.AbstractDatabaseManager;
+import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.gui.CategoryGUI;
 import com.hm.achievement.gui.GUIItems;
 import com.hm.achievement.gui.MainGUI;
@@ -56,7 +57,9 @@ import com.hm.achievement.listener.statistics.WaterBucketsListener;
 import com.hm.achievement.listener.statistics.WinRaidListener;
 import com.hm.achievement.runnable.AchieveDistanceRunnable;
 import com.hm.achievement.runnable.AchievePlayTimeRunnable;
+import com.hm.achievement.utils.PermissionCache;
 import com.hm.achievement.utils.StatisticIncreaseHandler;
+import com.hm.achievement.utils.StatisticIncrementCoalescer;
 
 import dagger.Binds;
 import dagger.Module;
@@ -118,6 +121,10 @@ public abstract class ReloadableModule {
 	@IntoSet
 	abstract Reloadable bindBrewingListener(BrewingListener brewingListener);
 
+	@Binds
+	@IntoSet
+	abstract Reloadable bindCacheManager(CacheManager cacheManager);
+
 	@Binds
 	@IntoSet
 	abstract Reloadable bindCategoryGUI(CategoryGUI categoryGUI);
@@ -202,6 +209,10 @@ public abstract class ReloadableModule {
 	@IntoSet
 	abstract Reloadable bindMusicDiscsListener(MusicDiscsListener musicDiscsListener);
 
+	@Binds
+	@IntoSet
+	abstract Reloadable bindPermissionCache(PermissionCache permissionCache);
+
 	@Binds
 	@IntoSet
 	abstract Reloadable bindPetMasterGiveListener(PetMasterReceiveListener petMasterReceiveListener);
@@ -247,6 +258,10 @@ public abstract class ReloadableModule {
 	@IntoSet
 	abstract Reloadable bindStatisticIncreaseHandler(StatisticIncreaseHandler statisticIncreaseHandler);
 
+	@Binds
+	@IntoSet
+	abstract Reloadable bindStatisticIncrementCoalescer(StatisticIncrementCoalescer statisticIncrementCoalescer);
+
 	@Binds
 	@IntoSet
 	abstract Reloadable bindTamesListener(TamesListener tamesListener);
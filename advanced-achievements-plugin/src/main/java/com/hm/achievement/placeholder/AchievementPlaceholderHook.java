@@ -57,7 +57,8 @@ public class AchievementPlaceholderHook extends PlaceholderExpansion {
 
 			for (NormalAchievements category : NormalAchievements.values()) {
 				if (category.toString().equalsIgnoreCase(identifier)) {
-					long statistic = cacheManager.getAndIncrementStatisticAmount(category, uuid, 0);
+					// Placeholders are refreshed frequently, they must not wait for the database on the main thread.
+					long statistic = cacheManager.getCachedStatisticAmount(category, uuid, 0L);
 					// If played time, convert from millis to hours and display one decimal.
 					return category == NormalAchievements.PLAYEDTIME ? String.format("%.1f", statistic / 3600000.0)
 							: Long.toString(statistic);
@@ -68,7 +69,7 @@ public class AchievementPlaceholderHook extends PlaceholderExpansion {
 				for (String subcategory : achievementMap.getSubcategoriesForCategory(category)) {
 					String categoryPath = category + "_" + subcategory;
 					if (categoryPath.equalsIgnoreCase(identifier)) {
-						return Long.toString(cacheManager.getAndIncrementStatisticAmount(category, subcategory, uuid, 0));
+						return Long.toString(cacheManager.getCachedStatisticAmount(category, subcategory, uuid, 0L));
 					}
 				}
 			}
@@ -1,7 +1,13 @@
 package com.hm.achievement.runnable;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.UUID;
 
@@ -14,33 +20,65 @@ import org.bukkit.Location;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
-import org.bukkit.util.NumberConversions;
 
 import com.hm.achievement.category.Category;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.CacheManager;
 import com.hm.achievement.lifecycle.Cleanable;
+import com.hm.achievement.utils.PermissionCache;
 import com.hm.achievement.utils.StatisticIncreaseHandler;
 
 /**
- * Class used to monitor distances travelled by players for the different available categories.
- * 
+ * Class used to monitor distances travelled by players for the different available categories. The task is run every
+ * tick and players are spread across the DistanceTaskInterval window in buckets based on their UUID hash, so that each
+ * player is still checked once per interval without all of them being processed during the same tick.
+ *
  * @author Pyves
  *
  */
 @Singleton
 public class AchieveDistanceRunnable extends StatisticIncreaseHandler implements Cleanable, Runnable {
 
-	private final Map<UUID, Location> playerLocations = new HashMap<>();
+	private static final NormalAchievements[] DISTANCE_CATEGORIES = { NormalAchievements.DISTANCEFOOT,
+			NormalAchievements.DISTANCEPIG, NormalAchievements.DISTANCEHORSE, NormalAchievements.DISTANCEMINECART,
+			NormalAchievements.DISTANCEBOAT, NormalAchievements.DISTANCEGLIDING, NormalAchievements.DISTANCELLAMA,
+			NormalAchievements.DISTANCESNEAKING };
+	// Position of each distance category in DISTANCE_CATEGORIES, indexed by category ordinal.
+	private static final int[] DISTANCE_INDICES = new int[NormalAchievements.values().length];
+
+	static {
+		for (int i = 0; i < DISTANCE_CATEGORIES.length; ++i) {
+			DISTANCE_INDICES[DISTANCE_CATEGORIES[i].ordinal()] = i;
+		}
+	}
+
 	private final Set<Category> disabledCategories;
+	// Slot of each player in the arrays below, slots of disconnected players are reused.
+	private final Map<UUID, Integer> playerSlots = new HashMap<>();
+	private final Deque<Integer> freeSlots = new ArrayDeque<>();
+	// Previous location of each player, kept as primitive coordinates rather than as Location objects.
+	private UUID[] worlds = new UUID[64];
+	private double[] xs = new double[64];
+	private double[] ys = new double[64];
+	private double[] zs = new double[64];
+	// Fractional distance travelled in each category that was not yet counted, as statistics are whole numbers.
+	private double[] remainders = new double[64 * DISTANCE_CATEGORIES.length];
+	private int slotCount;
+	// Reused to retrieve the locations of players without allocating.
+	private final Location location = new Location(null, 0, 0, 0);
+
+	private Map<EntityType, NormalAchievements> vehicleCategories;
+	private int bucketCount = 1;
+	private int currentBucket;
 
 	private boolean configIgnoreVerticalDistance;
 
 	@Inject
 	public AchieveDistanceRunnable(@Named("main") YamlConfiguration mainConfig, int serverVersion,
-			AchievementMap achievementMap, CacheManager cacheManager, Set<Category> disabledCategories) {
-		super(mainConfig, serverVersion, achievementMap, cacheManager);
+			AchievementMap achievementMap, CacheManager cacheManager, PermissionCache permissionCache,
+			Set<Category> disabledCategories) {
+		super(mainConfig, serverVersion, achievementMap, cacheManager, permissionCache);
 		this.disabledCategories = disabledCategories;
 	}
 
@@ -49,96 +87,158 @@ public class AchieveDistanceRunnable extends StatisticIncreaseHandler implements
 		super.extractConfigurationParameters();
 
 		configIgnoreVerticalDistance = mainConfig.getBoolean("IgnoreVerticalDistance");
+		bucketCount = Math.max(1, mainConfig.getInt("DistanceTaskInterval") * 20);
+		currentBucket %= bucketCount;
+
+		vehicleCategories = new EnumMap<>(EntityType.class);
+		vehicleCategories.put(EntityType.HORSE, NormalAchievements.DISTANCEHORSE);
+		vehicleCategories.put(EntityType.PIG, NormalAchievements.DISTANCEPIG);
+		vehicleCategories.put(EntityType.MINECART, NormalAchievements.DISTANCEMINECART);
+		vehicleCategories.put(EntityType.BOAT, NormalAchievements.DISTANCEBOAT);
+		// Llamas introduced in Minecraft 1.11.
+		if (serverVersion >= 11) {
+			vehicleCategories.put(EntityType.LLAMA, NormalAchievements.DISTANCELLAMA);
+		}
 	}
 
 	@Override
 	public void cleanPlayerData() {
-		playerLocations.keySet().removeIf(player -> !Bukkit.getOfflinePlayer(player).isOnline());
+		Iterator<Entry<UUID, Integer>> iterator = playerSlots.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Entry<UUID, Integer> playerSlot = iterator.next();
+			if (!Bukkit.getOfflinePlayer(playerSlot.getKey()).isOnline()) {
+				worlds[playerSlot.getValue()] = null;
+				freeSlots.push(playerSlot.getValue());
+				iterator.remove();
+			}
+		}
 	}
 
+	/**
+	 * Processes the players of the current bucket. Called every tick.
+	 */
 	@Override
 	public void run() {
-		Bukkit.getOnlinePlayers().forEach(this::validateMovementAndUpdateDistance);
+		int bucket = currentBucket;
+		currentBucket = (currentBucket + 1) % bucketCount;
+		for (Player player : Bukkit.getOnlinePlayers()) {
+			if ((player.getUniqueId().hashCode() & Integer.MAX_VALUE) % bucketCount == bucket) {
+				validateMovementAndUpdateDistance(player);
+			}
+		}
 	}
 
 	public void updateLocation(UUID uuid, Location location) {
-		playerLocations.put(uuid, location);
+		Integer slot = playerSlots.get(uuid);
+		storeLocation(slot == null ? allocateSlot(uuid) : slot, location);
 	}
 
 	/**
 	 * Update distances and store them into server's memory until player disconnects.
-	 * 
+	 *
 	 * @param player
 	 */
 	private void validateMovementAndUpdateDistance(Player player) {
-		Location currentLocation = player.getLocation();
-		Location previousLocation = playerLocations.put(player.getUniqueId(), currentLocation);
+		player.getLocation(location);
+		Integer playerSlot = playerSlots.get(player.getUniqueId());
+		// If player location not found, there is no previous location to compare to.
+		if (playerSlot == null) {
+			storeLocation(allocateSlot(player.getUniqueId()), location);
+			return;
+		}
 
-		// If player location not found or if player has changed world, ignore previous location.
-		// Evaluating distance would give an exception.
-		if (previousLocation == null || !previousLocation.getWorld().getUID().equals(player.getWorld().getUID())) {
+		int slot = playerSlot;
+		UUID previousWorld = worlds[slot];
+		double xDifference = location.getX() - xs[slot];
+		double yDifference = configIgnoreVerticalDistance ? 0.0 : location.getY() - ys[slot];
+		double zDifference = location.getZ() - zs[slot];
+		storeLocation(slot, location);
+		// If player has changed world, ignore previous location. Evaluating distance would give incorrect results.
+		if (!location.getWorld().getUID().equals(previousWorld)) {
 			return;
 		}
 
-		int difference = getDistanceDifference(previousLocation, currentLocation);
-		if (difference == 0L) { // Player has not moved.
+		double difference = Math.sqrt(xDifference * xDifference + yDifference * yDifference
+				+ zDifference * zDifference);
+		if (difference == 0.0) { // Player has not moved.
 			return;
 		}
 
-		if (player.isInsideVehicle()) {
-			EntityType vehicleType = player.getVehicle().getType();
-			if (vehicleType == EntityType.HORSE) {
-				updateDistance(difference, player, NormalAchievements.DISTANCEHORSE);
-			} else if (vehicleType == EntityType.PIG) {
-				updateDistance(difference, player, NormalAchievements.DISTANCEPIG);
-			} else if (vehicleType == EntityType.MINECART) {
-				updateDistance(difference, player, NormalAchievements.DISTANCEMINECART);
-			} else if (vehicleType == EntityType.BOAT) {
-				updateDistance(difference, player, NormalAchievements.DISTANCEBOAT);
-			} else if (serverVersion >= 11 && vehicleType == EntityType.LLAMA) {
-				updateDistance(difference, player, NormalAchievements.DISTANCELLAMA);
-			}
-		} else if (serverVersion >= 9 && player.isGliding()) {
-			updateDistance(difference, player, NormalAchievements.DISTANCEGLIDING);
-		} else if (player.isSneaking()) {
-			updateDistance(difference, player, NormalAchievements.DISTANCESNEAKING);
-		} else if (!player.isFlying()) {
-			updateDistance(difference, player, NormalAchievements.DISTANCEFOOT);
+		NormalAchievements category = getMovementCategory(player);
+		if (category != null) {
+			updateDistance(difference, slot, player, category);
 		}
 	}
 
 	/**
-	 * Calculates the difference between the player's last location and his current one. May ignore the vertical axis or
-	 * not depending on configuration..
-	 * 
-	 * @param previousLocation
-	 * @param currentLocation
-	 * 
-	 * @return difference
+	 * Determines the distance category corresponding to the way the player is currently moving.
+	 *
+	 * @param player
+	 * @return the category, or null if the movement is not tracked
 	 */
-	private int getDistanceDifference(Location previousLocation, Location currentLocation) {
-		if (configIgnoreVerticalDistance) {
-			double xSquared = NumberConversions.square(previousLocation.getX() - currentLocation.getX());
-			double zSquared = NumberConversions.square(previousLocation.getZ() - currentLocation.getZ());
-			return (int) Math.sqrt(xSquared + zSquared);
-		} else {
-			return (int) previousLocation.distance(currentLocation);
+	private NormalAchievements getMovementCategory(Player player) {
+		if (player.isInsideVehicle()) {
+			return vehicleCategories.get(player.getVehicle().getType());
+		} else if (serverVersion >= 9 && player.isGliding()) {
+			return NormalAchievements.DISTANCEGLIDING;
+		} else if (player.isSneaking()) {
+			return NormalAchievements.DISTANCESNEAKING;
+		} else if (!player.isFlying()) {
+			return NormalAchievements.DISTANCEFOOT;
 		}
+		return null;
 	}
 
 	/**
-	 * Updates distance if all conditions are met and awards achievements if necessary.
-	 * 
+	 * Updates distance if all conditions are met and awards achievements if necessary. The fractional part of the
+	 * distance is carried over to the next update in the same category.
+	 *
 	 * @param difference
+	 * @param slot
 	 * @param player
 	 * @param category
 	 */
-	private void updateDistance(int difference, Player player, NormalAchievements category) {
-		if (!shouldIncreaseBeTakenIntoAccount(player, category) || disabledCategories.contains(category)) {
+	private void updateDistance(double difference, int slot, Player player, NormalAchievements category) {
+		if (disabledCategories.contains(category) || !shouldIncreaseBeTakenIntoAccount(player, category)) {
 			return;
 		}
 
-		long distance = cacheManager.getAndIncrementStatisticAmount(category, player.getUniqueId(), difference);
-		checkThresholdsAndAchievements(player, category, distance);
+		int remainderIndex = slot * DISTANCE_CATEGORIES.length + DISTANCE_INDICES[category.ordinal()];
+		double totalDifference = remainders[remainderIndex] + difference;
+		int wholeDifference = (int) totalDifference;
+		remainders[remainderIndex] = totalDifference - wholeDifference;
+		if (wholeDifference == 0) {
+			return;
+		}
+
+		cacheManager.incrementStatisticAmount(category, player.getUniqueId(), wholeDifference,
+				distance -> checkThresholdsAndAchievements(player, category, distance));
+	}
+
+	private void storeLocation(int slot, Location location) {
+		worlds[slot] = location.getWorld().getUID();
+		xs[slot] = location.getX();
+		ys[slot] = location.getY();
+		zs[slot] = location.getZ();
+	}
+
+	private int allocateSlot(UUID player) {
+		Integer freeSlot = freeSlots.poll();
+		int slot;
+		if (freeSlot == null) {
+			slot = slotCount++;
+			if (slot == xs.length) {
+				worlds = Arrays.copyOf(worlds, slot * 2);
+				xs = Arrays.copyOf(xs, slot * 2);
+				ys = Arrays.copyOf(ys, slot * 2);
+				zs = Arrays.copyOf(zs, slot * 2);
+				remainders = Arrays.copyOf(remainders, slot * 2 * DISTANCE_CATEGORIES.length);
+			}
+		} else {
+			slot = freeSlot;
+			Arrays.fill(remainders, slot * DISTANCE_CATEGORIES.length, (slot + 1) * DISTANCE_CATEGORIES.length, 0.0);
+		}
+		playerSlots.put(player, slot);
+		return slot;
 	}
 }
@@ -1,5 +1,8 @@
 package com.hm.achievement.runnable;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 import javax.inject.Inject;
@@ -14,34 +17,40 @@ import com.earth2me.essentials.Essentials;
 import com.hm.achievement.category.NormalAchievements;
 import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.lifecycle.Cleanable;
+import com.hm.achievement.utils.PermissionCache;
 import com.hm.achievement.utils.StatisticIncreaseHandler;
 
 /**
- * Class used to monitor players' played times.
- * 
+ * Class used to monitor players' played times. Each online player has a session clock: events such as joins, game
+ * mode or world changes and AFK status changes close the current time segment and open a new one, counted or not
+ * depending on whether the player's played time should be taken into account. The task is run every tick and players
+ * are spread across the PlaytimeTaskInterval window in buckets based on their UUID hash; for each player, the time
+ * elapsed in the current segment is added to the statistic and the thresholds are checked once per interval.
+ *
  * @author Pyves
  *
  */
 @Singleton
-public class AchievePlayTimeRunnable extends StatisticIncreaseHandler implements Runnable {
+public class AchievePlayTimeRunnable extends StatisticIncreaseHandler implements Cleanable, Runnable {
 
 	private static final long MILLIS_PER_HOUR = TimeUnit.HOURS.toMillis(1);
 
+	private final Map<UUID, PlayTimeSession> sessions = new HashMap<>();
 	private Essentials essentials;
-	private long previousTimeMillis;
+	private int bucketCount = 1;
+	private int currentBucket;
 
 	private boolean configIgnoreAFKPlayedTime;
 
 	@Inject
 	public AchievePlayTimeRunnable(@Named("main") YamlConfiguration mainConfig, int serverVersion,
-			AchievementMap achievementMap, CacheManager cacheManager) {
-		super(mainConfig, serverVersion, achievementMap, cacheManager);
+			AchievementMap achievementMap, CacheManager cacheManager, PermissionCache permissionCache) {
+		super(mainConfig, serverVersion, achievementMap, cacheManager, permissionCache);
 
 		if (Bukkit.getPluginManager().isPluginEnabled("Essentials")) {
 			essentials = (Essentials) Bukkit.getPluginManager().getPlugin("Essentials");
 		}
-
-		previousTimeMillis = System.currentTimeMillis();
 	}
 
 	@Override
@@ -49,35 +58,162 @@ public class AchievePlayTimeRunnable extends StatisticIncreaseHandler implements
 		super.extractConfigurationParameters();
 
 		configIgnoreAFKPlayedTime = essentials != null && mainConfig.getBoolean("IgnoreAFKPlayedTime");
+		bucketCount = Math.max(1, mainConfig.getInt("PlaytimeTaskInterval") * 20);
+		currentBucket %= bucketCount;
+
+		// The conditions under which played time is counted may have changed, start new segments for everyone.
+		for (Player player : Bukkit.getOnlinePlayers()) {
+			startSession(player);
+		}
+	}
+
+	@Override
+	public void cleanPlayerData() {
+		// Sessions are normally ended when players disconnect, unless the played time category is disabled.
+		sessions.keySet().removeIf(player -> !Bukkit.getOfflinePlayer(player).isOnline());
 	}
 
+	/**
+	 * Adds the time elapsed in the current segments of the players of the current bucket. Called every tick.
+	 */
 	@Override
 	public void run() {
+		int bucket = currentBucket;
+		currentBucket = (currentBucket + 1) % bucketCount;
+		long currentTimeMillis = System.currentTimeMillis();
+		for (Player player : Bukkit.getOnlinePlayers()) {
+			UUID uuid = player.getUniqueId();
+			if ((uuid.hashCode() & Integer.MAX_VALUE) % bucketCount == bucket) {
+				PlayTimeSession session = sessions.get(uuid);
+				if (session != null) {
+					updateTime(player, session, currentTimeMillis);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Adds the time elapsed in the current segments of all players without checking thresholds, as the plugin is being
+	 * disabled.
+	 */
+	public void addAllElapsedTimes() {
 		long currentTimeMillis = System.currentTimeMillis();
-		int millisSincePreviousRun = (int) (currentTimeMillis - previousTimeMillis);
-		Bukkit.getOnlinePlayers().forEach(p -> updateTime(p, millisSincePreviousRun));
-		previousTimeMillis = currentTimeMillis;
+		for (Player player : Bukkit.getOnlinePlayers()) {
+			PlayTimeSession session = sessions.get(player.getUniqueId());
+			int elapsedMillis = session == null ? 0 : takeElapsedMillis(session, currentTimeMillis);
+			if (elapsedMillis > 0) {
+				// Asynchronous loads would not complete once the plugin is disabled, wait for the database instead.
+				cacheManager.getAndIncrementStatisticAmount(NormalAchievements.PLAYEDTIME, player.getUniqueId(),
+						elapsedMillis);
+			}
+		}
+	}
+
+	/**
+	 * Starts the session clock of a player, or closes the current segment of an existing session and opens a new one.
+	 *
+	 * @param player
+	 */
+	public void startSession(Player player) {
+		PlayTimeSession session = sessions.get(player.getUniqueId());
+		if (session == null) {
+			session = new PlayTimeSession();
+			sessions.put(player.getUniqueId(), session);
+		} else {
+			updateTime(player, session, System.currentTimeMillis());
+		}
+		session.afk = configIgnoreAFKPlayedTime && essentials.getUser(player).isAfk();
+		openSegment(player, session);
+	}
+
+	/**
+	 * Closes the current segment of a player, to be called before a change of the conditions under which played time
+	 * is counted. A new segment is opened by a subsequent call to {@link #startSession(Player)}.
+	 *
+	 * @param player
+	 */
+	public void closeSegment(Player player) {
+		PlayTimeSession session = sessions.get(player.getUniqueId());
+		if (session != null) {
+			updateTime(player, session, System.currentTimeMillis());
+			session.counted = false;
+		}
+	}
+
+	/**
+	 * Stops the session clock of a player, adding the time elapsed in the current segment.
+	 *
+	 * @param player
+	 */
+	public void endSession(Player player) {
+		PlayTimeSession session = sessions.remove(player.getUniqueId());
+		if (session != null) {
+			updateTime(player, session, System.currentTimeMillis());
+		}
 	}
 
 	/**
-	 * Updates play time if all conditions are met and awards achievements if necessary.
-	 * 
+	 * Caches the new AFK status of a player and opens a new segment accordingly.
+	 *
 	 * @param player
-	 * @param millisSincePreviousRun
+	 * @param afk
 	 */
-	private void updateTime(Player player, int millisSincePreviousRun) {
-		if (!shouldIncreaseBeTakenIntoAccount(player, NormalAchievements.PLAYEDTIME)) {
-			return;
+	public void updateAFKStatus(Player player, boolean afk) {
+		PlayTimeSession session = sessions.get(player.getUniqueId());
+		if (session != null && session.afk != afk) {
+			updateTime(player, session, System.currentTimeMillis());
+			session.afk = afk;
+			openSegment(player, session);
 		}
+	}
 
+	private void openSegment(Player player, PlayTimeSession session) {
+		session.segmentStartMillis = System.currentTimeMillis();
 		// If player is AFK, don't update played time.
-		if (configIgnoreAFKPlayedTime && essentials.getUser(player).isAfk()) {
-			return;
+		session.counted = !(configIgnoreAFKPlayedTime && session.afk)
+				&& shouldIncreaseBeTakenIntoAccount(player, NormalAchievements.PLAYEDTIME);
+	}
+
+	/**
+	 * Updates play time with the time elapsed in the current segment if it is counted and awards achievements if
+	 * necessary.
+	 *
+	 * @param player
+	 * @param session
+	 * @param currentTimeMillis
+	 */
+	private void updateTime(Player player, PlayTimeSession session, long currentTimeMillis) {
+		int elapsedMillis = takeElapsedMillis(session, currentTimeMillis);
+		if (elapsedMillis > 0) {
+			// Thresholds in the configuration are in hours.
+			cacheManager.incrementStatisticAmount(NormalAchievements.PLAYEDTIME, player.getUniqueId(), elapsedMillis,
+					totalMillis -> checkThresholdsAndAchievements(player, NormalAchievements.PLAYEDTIME,
+							totalMillis / MILLIS_PER_HOUR));
 		}
+	}
+
+	/**
+	 * Moves the start of the current segment to the current time and returns the time elapsed in it.
+	 *
+	 * @param session
+	 * @param currentTimeMillis
+	 * @return the elapsed time to add to the played time, or 0 if the segment is not counted
+	 */
+	private int takeElapsedMillis(PlayTimeSession session, long currentTimeMillis) {
+		int elapsedMillis = (int) (currentTimeMillis - session.segmentStartMillis);
+		session.segmentStartMillis = currentTimeMillis;
+		return session.counted ? elapsedMillis : 0;
+	}
+
+	/**
+	 * Session clock of an online player.
+	 */
+	private static final class PlayTimeSession {
 
-		long totalMillis = cacheManager.getAndIncrementStatisticAmount(NormalAchievements.PLAYEDTIME, player.getUniqueId(),
-				millisSincePreviousRun);
-		// Thresholds in the configuration are in hours.
-		checkThresholdsAndAchievements(player, NormalAchievements.PLAYEDTIME, totalMillis / MILLIS_PER_HOUR);
+		private long segmentStartMillis;
+		// Whether the time elapsed in the current segment is added to the played time.
+		private boolean counted;
+		// Cached AFK status, updated via events rather than retrieved from Essentials on every run.
+		private boolean afk;
 	}
 }
@@ -0,0 +1,231 @@
+package com.hm.achievement.utils;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import com.hm.achievement.lifecycle.Cleanable;
+import com.hm.achievement.lifecycle.Reloadable;
+
+/**
+ * Class used to cache the permission decisions of players for the checks made whenever their statistics increase.
+ * Permission nodes are interned to dense identifiers, so that callers can precompute them and a cached decision is
+ * retrieved with an array lookup. Bukkit does not signal permission changes: decisions are dropped when players join,
+ * change world or disconnect, and every PermissionCacheDuration ticks. Caching is disabled unless that duration is
+ * configured.
+ */
+@Singleton
+public class PermissionCache implements Listener, Cleanable, Reloadable {
+
+	// Pseudo node caching whether a player is an NPC, as indicated by the metadata set by plugins such as Citizens.
+	private static final int NPC_NODE_ID = 0;
+	private static final byte UNKNOWN = 0;
+	private static final byte GRANTED = 1;
+	private static final byte DENIED = 2;
+
+	private final YamlConfiguration mainConfig;
+	// Identifiers are never reassigned, so that callers can keep them across plugin reloads.
+	private final Map<String, Integer> nodeIds = new ConcurrentHashMap<>();
+	private final Map<String, Integer> achievementNodeIds = new ConcurrentHashMap<>();
+	private final Map<UUID, PlayerDecisions> playerDecisions = new ConcurrentHashMap<>();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private volatile String[] nodes = new String[64];
+	private volatile int nodeCount = NPC_NODE_ID + 1;
+
+	private boolean configEnabled;
+
+	@Inject
+	public PermissionCache(@Named("main") YamlConfiguration mainConfig) {
+		this.mainConfig = mainConfig;
+	}
+
+	@Override
+	public void extractConfigurationParameters() {
+		configEnabled = getDuration() > 0;
+		// Permissions may have been modified alongside the configuration.
+		playerDecisions.clear();
+	}
+
+	@Override
+	public void cleanPlayerData() {
+		playerDecisions.keySet().removeIf(player -> !Bukkit.getOfflinePlayer(player).isOnline());
+	}
+
+	@EventHandler(priority = EventPriority.LOWEST)
+	public void onPlayerJoin(PlayerJoinEvent event) {
+		playerDecisions.remove(event.getPlayer().getUniqueId());
+	}
+
+	@EventHandler(priority = EventPriority.LOWEST)
+	public void onWorldChanged(PlayerChangedWorldEvent event) {
+		// Permission plugins can grant different permissions in each world.
+		playerDecisions.remove(event.getPlayer().getUniqueId());
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onPlayerQuit(PlayerQuitEvent event) {
+		playerDecisions.remove(event.getPlayer().getUniqueId());
+	}
+
+	/**
+	 * Returns the number of ticks after which all cached decisions are dropped.
+	 *
+	 * @return the configured duration, or 0 if permission decisions must not be cached
+	 */
+	public long getDuration() {
+		return Math.max(0, mainConfig.getInt("PermissionCacheDuration", 0));
+	}
+
+	/**
+	 * Drops all cached decisions, so that permission changes are eventually taken into account.
+	 */
+	public void clear() {
+		playerDecisions.clear();
+	}
+
+	/**
+	 * Returns the identifier of a permission node, assigning one if the node was not previously seen.
+	 *
+	 * @param permission
+	 * @return the identifier to pass to {@link #hasPermission(Player, int)}
+	 */
+	public int getNodeId(String permission) {
+		Integer nodeId = nodeIds.get(permission);
+		return nodeId == null ? intern(permission) : nodeId;
+	}
+
+	/**
+	 * Returns the identifier of the permission node allowing to receive an achievement, i.e. 'achievement.' followed by
+	 * the achievement name.
+	 *
+	 * @param achievementName
+	 * @return the identifier to pass to {@link #hasPermission(Player, int)}
+	 */
+	public int getAchievementNodeId(String achievementName) {
+		Integer nodeId = achievementNodeIds.get(achievementName);
+		if (nodeId == null) {
+			nodeId = getNodeId("achievement." + achievementName);
+			achievementNodeIds.put(achievementName, nodeId);
+		}
+		return nodeId;
+	}
+
+	/**
+	 * Determines whether a player has a permission, using the cached decision if available.
+	 *
+	 * @param player
+	 * @param nodeId the identifier of the permission node
+	 * @return true if the player has the permission, false otherwise
+	 */
+	public boolean hasPermission(Player player, int nodeId) {
+		if (!configEnabled) {
+			return player.hasPermission(nodes[nodeId]);
+		}
+		return getDecision(player, nodeId);
+	}
+
+	/**
+	 * Determines whether a player is an NPC, using the cached decision if available.
+	 *
+	 * @param player
+	 * @return true if the player has NPC metadata, false otherwise
+	 */
+	public boolean isNPC(Player player) {
+		if (!configEnabled) {
+			return player.hasMetadata("NPC");
+		}
+		return getDecision(player, NPC_NODE_ID);
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	public String getMetricsSummary() {
+		long hitCount = hits.sum();
+		long lookupCount = hitCount + misses.sum();
+		double hitRate = lookupCount == 0 ? 0.0 : 100.0 * hitCount / lookupCount;
+		return String.format("%d lookups, %.1f%% hit rate, %d permission nodes", lookupCount, hitRate, nodeCount - 1);
+	}
+
+	private boolean getDecision(Player player, int nodeId) {
+		UUID uuid = player.getUniqueId();
+		PlayerDecisions decisions = playerDecisions.get(uuid);
+		if (decisions == null) {
+			decisions = playerDecisions.computeIfAbsent(uuid, u -> new PlayerDecisions(nodeCount));
+		}
+		byte decision = decisions.get(nodeId);
+		if (decision != UNKNOWN) {
+			hits.increment();
+			return decision == GRANTED;
+		}
+		misses.increment();
+		boolean granted = nodeId == NPC_NODE_ID ? player.hasMetadata("NPC") : player.hasPermission(nodes[nodeId]);
+		decisions.set(nodeId, granted ? GRANTED : DENIED);
+		return granted;
+	}
+
+	private synchronized int intern(String permission) {
+		Integer nodeId = nodeIds.get(permission);
+		if (nodeId != null) {
+			return nodeId;
+		}
+		String[] currentNodes = nodes;
+		if (nodeCount == currentNodes.length) {
+			currentNodes = Arrays.copyOf(currentNodes, currentNodes.length * 2);
+		}
+		currentNodes[nodeCount] = permission;
+		// Publish the node before its identifier, so that any thread retrieving the identifier can resolve it.
+		nodes = currentNodes;
+		nodeIds.put(permission, nodeCount);
+		return nodeCount++;
+	}
+
+	/**
+	 * Decisions of a player, indexed by node identifier. Reads do not lock; writes are serialised so that a decision is
+	 * not lost when another one grows the array.
+	 */
+	private static final class PlayerDecisions {
+
+		private volatile byte[] decisions;
+
+		private PlayerDecisions(int expectedNodes) {
+			decisions = new byte[expectedNodes];
+		}
+
+		private byte get(int nodeId) {
+			byte[] currentDecisions = decisions;
+			return nodeId < currentDecisions.length ? currentDecisions[nodeId] : UNKNOWN;
+		}
+
+		private synchronized void set(int nodeId, byte decision) {
+			byte[] currentDecisions = decisions;
+			if (nodeId >= currentDecisions.length) {
+				currentDecisions = Arrays.copyOf(currentDecisions, Math.max(nodeId + 1, currentDecisions.length * 2));
+			}
+			currentDecisions[nodeId] = decision;
+			decisions = currentDecisions;
+		}
+	}
+}
@@ -3,6 +3,7 @@ package com.hm.achievement.utils;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.UUID;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -28,23 +29,39 @@ import com.hm.achievement.lifecycle.Reloadable;
 @Singleton
 public class StatisticIncreaseHandler implements Reloadable {
 
+	/**
+	 * Handling of the statistics of a category or sub-category in which a player has received all achievements.
+	 */
+	public enum SaturationMode {
+		// Statistics keep being counted and written to the database as usual.
+		COUNT,
+		// Statistics are no longer counted, their last known value remains displayed.
+		FREEZE,
+		// Statistics keep being counted in memory, and are only written alongside other writes of the player or once
+		// they disconnect.
+		LAZY
+	}
+
 	protected final YamlConfiguration mainConfig;
 	protected final int serverVersion;
 	protected final AchievementMap achievementMap;
 	protected final CacheManager cacheManager;
+	protected final PermissionCache permissionCache;
 
 	private boolean configRestrictCreative;
 	private boolean configRestrictSpectator;
 	private boolean configRestrictAdventure;
 	private Set<String> configExcludedWorlds;
+	private SaturationMode configSaturatedStatistics;
 
 	@Inject
 	public StatisticIncreaseHandler(@Named("main") YamlConfiguration mainConfig, int serverVersion,
-			AchievementMap achievementMap, CacheManager cacheManager) {
+			AchievementMap achievementMap, CacheManager cacheManager, PermissionCache permissionCache) {
 		this.mainConfig = mainConfig;
 		this.serverVersion = serverVersion;
 		this.achievementMap = achievementMap;
 		this.cacheManager = cacheManager;
+		this.permissionCache = permissionCache;
 	}
 
 	@Override
@@ -57,6 +74,14 @@ public class StatisticIncreaseHandler implements Reloadable {
 			configRestrictSpectator = false;
 		}
 		configExcludedWorlds = new HashSet<>(mainConfig.getStringList("ExcludedWorlds"));
+		String saturatedStatistics = mainConfig.getString("SaturatedStatistics", "count");
+		if ("freeze".equalsIgnoreCase(saturatedStatistics)) {
+			configSaturatedStatistics = SaturationMode.FREEZE;
+		} else if ("lazy".equalsIgnoreCase(saturatedStatistics)) {
+			configSaturatedStatistics = SaturationMode.LAZY;
+		} else {
+			configSaturatedStatistics = SaturationMode.COUNT;
+		}
 	}
 
 	/**
@@ -87,18 +112,60 @@ public class StatisticIncreaseHandler implements Reloadable {
 	}
 
 	private void checkThresholdsAndAchievements(Player player, List<Achievement> achievements, long currentValue) {
-		for (Achievement achievement : achievements) {
+		// Player may have disconnected whilst the statistic was being loaded asynchronously.
+		if (!player.isOnline()) {
+			return;
+		}
+		UUID uuid = player.getUniqueId();
+		// All achievements before the cursor have been received, only the next threshold needs to be compared.
+		int cursor = cacheManager.getThresholdCursor(uuid, achievements);
+		if (cursor == achievements.size() || currentValue < achievements.get(cursor).getThreshold()) {
+			return;
+		}
+		int nextCursor = -1;
+		int i = cursor;
+		for (; i < achievements.size(); ++i) {
+			Achievement achievement = achievements.get(i);
 			// Check whether player has met the threshold.
 			if (currentValue < achievement.getThreshold()) {
 				// Entries in List sorted in increasing order, all subsequent thresholds will fail the condition.
-				return;
+				break;
 			}
 			// Check whether player has received the achievement and has permission to do so.
-			if (!cacheManager.hasPlayerAchievement(player.getUniqueId(), achievement.getName())
-					&& player.hasPermission("achievement." + achievement.getName())) {
+			if (!cacheManager.hasPlayerAchievement(uuid, achievement.getName())
+					&& permissionCache.hasPermission(player,
+							permissionCache.getAchievementNodeId(achievement.getName()))) {
 				Bukkit.getPluginManager().callEvent(new PlayerAdvancedAchievementEvent(player, achievement));
 			}
+			// The cursor cannot go past achievements still not received, for instance without permission.
+			if (nextCursor < 0 && !cacheManager.hasPlayerAchievement(uuid, achievement.getName())) {
+				nextCursor = i;
+			}
+		}
+		if (nextCursor < 0) {
+			nextCursor = i;
 		}
+		if (nextCursor != cursor) {
+			cacheManager.setThresholdCursor(uuid, achievements, nextCursor);
+		}
+	}
+
+	/**
+	 * Determines whether a player has received all achievements of a category or sub-category, in which case the
+	 * corresponding statistic is handled according to the SaturatedStatistics parameter. Saturation is detected via the
+	 * threshold cursors, and is therefore only known once a statistic increase was evaluated during the session.
+	 * 
+	 * @param player
+	 * @param achievements a list retrieved from the AchievementMap
+	 * @return true if the statistic must not be counted as usual, false otherwise
+	 */
+	protected boolean isSaturated(UUID player, List<Achievement> achievements) {
+		return configSaturatedStatistics != SaturationMode.COUNT && !achievements.isEmpty()
+				&& cacheManager.getThresholdCursor(player, achievements) == achievements.size();
+	}
+
+	protected SaturationMode getSaturationMode() {
+		return configSaturatedStatistics;
 	}
 
 	/**
@@ -110,8 +177,8 @@ public class StatisticIncreaseHandler implements Reloadable {
 	 */
 	protected boolean shouldIncreaseBeTakenIntoAccount(Player player, Category category) {
 		GameMode gameMode = player.getGameMode();
-		return !player.hasMetadata("NPC")
-				&& player.hasPermission(category.toPermName())
+		return !permissionCache.isNPC(player)
+				&& permissionCache.hasPermission(player, permissionCache.getNodeId(category.toPermName()))
 				&& (!configRestrictCreative || gameMode != GameMode.CREATIVE)
 				&& (!configRestrictSpectator || gameMode != GameMode.SPECTATOR)
 				&& (!configRestrictAdventure || gameMode != GameMode.ADVENTURE)
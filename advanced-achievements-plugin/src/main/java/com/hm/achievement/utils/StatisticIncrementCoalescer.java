@@ -0,0 +1,183 @@
+package com.hm.achievement.utils;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+
+import com.hm.achievement.category.MultipleAchievements;
+import com.hm.achievement.category.NormalAchievements;
+import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.lifecycle.Reloadable;
+
+/**
+ * Class used to coalesce the statistic increments of high frequency events, such as block breaks or item pickups.
+ * Increments received during a tick are accumulated per player, category and sub-category; the task then applies each
+ * accumulated delta once, followed by a single threshold evaluation per statistic. As thresholds are evaluated in
+ * increasing order against the final value, the same achievements are awarded as without coalescing, at most a tick
+ * later. Only accessed from the main server thread.
+ */
+@Singleton
+public class StatisticIncrementCoalescer implements Reloadable, Runnable {
+
+	private static final NormalAchievements[] NORMAL_CATEGORIES = NormalAchievements.values();
+
+	private final YamlConfiguration mainConfig;
+	private final CacheManager cacheManager;
+	private final StatisticIncreaseHandler statisticIncreaseHandler;
+	// Kept in insertion order, so that achievements are awarded in the order in which players triggered them.
+	private final Map<Player, PlayerDeltas> pendingDeltas = new LinkedHashMap<>();
+
+	private int tickEvents;
+	private long totalEvents;
+	private long totalIncrements;
+	private long coalescedTicks;
+	private double lastTickRatio;
+	private double peakTickRatio;
+
+	private boolean configEnabled;
+
+	@Inject
+	public StatisticIncrementCoalescer(@Named("main") YamlConfiguration mainConfig, CacheManager cacheManager,
+			StatisticIncreaseHandler statisticIncreaseHandler) {
+		this.mainConfig = mainConfig;
+		this.cacheManager = cacheManager;
+		this.statisticIncreaseHandler = statisticIncreaseHandler;
+	}
+
+	@Override
+	public void extractConfigurationParameters() {
+		configEnabled = mainConfig.getBoolean("CoalesceStatisticIncrements");
+	}
+
+	public boolean isEnabled() {
+		return configEnabled;
+	}
+
+	/**
+	 * Adds an increment of a normal category to the deltas of the current tick.
+	 *
+	 * @param player
+	 * @param category
+	 * @param value
+	 */
+	public void add(Player player, NormalAchievements category, int value) {
+		getPlayerDeltas(player).normalDeltas[category.ordinal()] += value;
+		++tickEvents;
+	}
+
+	/**
+	 * Adds an increment of several sub-categories of a multiple category to the deltas of the current tick.
+	 *
+	 * @param player
+	 * @param category
+	 * @param subcategories
+	 * @param value
+	 */
+	public void add(Player player, MultipleAchievements category, Set<String> subcategories, int value) {
+		Map<String, int[]> subcategoryDeltas = getPlayerDeltas(player).multipleDeltas.computeIfAbsent(category,
+				c -> new HashMap<>());
+		for (String subcategory : subcategories) {
+			subcategoryDeltas.computeIfAbsent(subcategory, s -> new int[1])[0] += value;
+		}
+		++tickEvents;
+	}
+
+	/**
+	 * Applies the deltas accumulated since the previous run. Called every tick, and when the plugin is disabled.
+	 */
+	@Override
+	public void run() {
+		if (pendingDeltas.isEmpty()) {
+			return;
+		}
+		int tickIncrements = 0;
+		for (Entry<Player, PlayerDeltas> playerDeltas : pendingDeltas.entrySet()) {
+			Player player = playerDeltas.getKey();
+			UUID uuid = player.getUniqueId();
+			int[] normalDeltas = playerDeltas.getValue().normalDeltas;
+			for (int i = 0; i < normalDeltas.length; ++i) {
+				if (normalDeltas[i] != 0) {
+					NormalAchievements category = NORMAL_CATEGORIES[i];
+					cacheManager.incrementStatisticAmount(category, uuid, normalDeltas[i],
+							amount -> statisticIncreaseHandler.checkThresholdsAndAchievements(player, category,
+									amount));
+					++tickIncrements;
+				}
+			}
+			for (Entry<MultipleAchievements, Map<String, int[]>> categoryDeltas : playerDeltas.getValue().multipleDeltas
+					.entrySet()) {
+				MultipleAchievements category = categoryDeltas.getKey();
+				for (Entry<String, int[]> subcategoryDelta : categoryDeltas.getValue().entrySet()) {
+					String subcategory = subcategoryDelta.getKey();
+					cacheManager.incrementStatisticAmount(category, subcategory, uuid, subcategoryDelta.getValue()[0],
+							amount -> statisticIncreaseHandler.checkThresholdsAndAchievements(player, category,
+									subcategory, amount));
+					++tickIncrements;
+				}
+			}
+		}
+		pendingDeltas.clear();
+
+		lastTickRatio = tickIncrements == 0 ? 0.0 : (double) tickEvents / tickIncrements;
+		peakTickRatio = Math.max(peakTickRatio, lastTickRatio);
+		totalEvents += tickEvents;
+		totalIncrements += tickIncrements;
+		++coalescedTicks;
+		tickEvents = 0;
+	}
+
+	/**
+	 * Returns the number of events divided by the number of statistic increments applied during the last tick with
+	 * pending deltas.
+	 *
+	 * @return the coalescing ratio of the last tick, 1 if no events were merged
+	 */
+	public double getLastTickRatio() {
+		return lastTickRatio;
+	}
+
+	public long getTotalEvents() {
+		return totalEvents;
+	}
+
+	public long getTotalIncrements() {
+		return totalIncrements;
+	}
+
+	public String getMetricsSummary() {
+		double averageRatio = totalIncrements == 0 ? 0.0 : (double) totalEvents / totalIncrements;
+		return String.format("%d events applied as %d increments over %d ticks, coalescing ratio %.2f on average, "
+				+ "%.2f on the last tick, %.2f at peak", totalEvents, totalIncrements, coalescedTicks, averageRatio,
+				lastTickRatio, peakTickRatio);
+	}
+
+	private PlayerDeltas getPlayerDeltas(Player player) {
+		PlayerDeltas playerDeltas = pendingDeltas.get(player);
+		if (playerDeltas == null) {
+			playerDeltas = new PlayerDeltas();
+			pendingDeltas.put(player, playerDeltas);
+		}
+		return playerDeltas;
+	}
+
+	/**
+	 * Deltas accumulated for a player during the current tick.
+	 */
+	private static final class PlayerDeltas {
+
+		private final int[] normalDeltas = new int[NORMAL_CATEGORIES.length];
+		private final Map<MultipleAchievements, Map<String, int[]>> multipleDeltas = new EnumMap<>(
+				MultipleAchievements.class);
+	}
+}
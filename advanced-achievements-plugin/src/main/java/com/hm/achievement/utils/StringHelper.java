@@ -15,6 +15,7 @@ import org.bukkit.entity.Player;
 public class StringHelper {
 
 	private static final Pattern FORMATTING_CODE_PATTERN = Pattern.compile("(&|§)([a-f]|r|[k-o]|[0-9]){1}");
+	private static final String[] PLAYER_PLACEHOLDERS = { "PLAYER_WORLD", "PLAYER_X", "PLAYER_Y", "PLAYER_Z", "PLAYER" };
 
 	public static String removeFormattingCodes(String text) {
 		return FORMATTING_CODE_PATTERN.matcher(text).replaceAll("");
@@ -34,11 +35,23 @@ public class StringHelper {
 	}
 
 	public static String replacePlayerPlaceholders(String str, Player player) {
-		return StringUtils.replaceEach(str,
-				new String[] { "PLAYER_WORLD", "PLAYER_X", "PLAYER_Y", "PLAYER_Z", "PLAYER" },
-				new String[] { player.getWorld().getName(), Integer.toString(player.getLocation().getBlockX()),
-						Integer.toString(player.getLocation().getBlockY()),
-						Integer.toString(player.getLocation().getBlockZ()), player.getName() });
+		return replacePlayerPlaceholders(str, getPlayerPlaceholderValues(player));
+	}
+
+	/**
+	 * Retrieves the values of the player placeholders, so that they can be replaced outside of the main server thread.
+	 *
+	 * @param player
+	 * @return the values of the PLAYER_WORLD, PLAYER_X, PLAYER_Y, PLAYER_Z and PLAYER placeholders
+	 */
+	public static String[] getPlayerPlaceholderValues(Player player) {
+		return new String[] { player.getWorld().getName(), Integer.toString(player.getLocation().getBlockX()),
+				Integer.toString(player.getLocation().getBlockY()), Integer.toString(player.getLocation().getBlockZ()),
+				player.getName() };
+	}
+
+	public static String replacePlayerPlaceholders(String str, String[] playerPlaceholderValues) {
+		return StringUtils.replaceEach(str, PLAYER_PLACEHOLDERS, playerPlaceholderValues);
 	}
 
 	private StringHelper() {
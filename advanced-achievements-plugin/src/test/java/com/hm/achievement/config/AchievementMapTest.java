@@ -181,4 +181,47 @@ class AchievementMapTest {
 		assertTrue(underTest.getCategorySubcategories().isEmpty());
 	}
 
+	@Test
+	void shouldInternSubcategoriesToConsecutiveIdentifiersPerCategory() {
+		Achievement achievement1 = new AchievementBuilder().name("ach1").displayName("Display 1")
+				.category(MultipleAchievements.PLACES).subcategory("stone").build();
+		Achievement achievement2 = new AchievementBuilder().name("ach2").displayName("Display 2")
+				.category(MultipleAchievements.KILLS).subcategory("skeleton").build();
+
+		underTest.put(achievement1);
+		underTest.put(achievement2);
+
+		assertEquals(0, underTest.getSubcategoryId(MultipleAchievements.PLACES, "stone"));
+		assertEquals(0, underTest.getSubcategoryId(MultipleAchievements.KILLS, "skeleton"));
+		assertEquals(1, underTest.internSubcategoryId(MultipleAchievements.PLACES, "brick"));
+		assertEquals(1, underTest.getSubcategoryId(MultipleAchievements.PLACES, " b rick"));
+		assertEquals("brick", underTest.getSubcategoryName(MultipleAchievements.PLACES, 1));
+	}
+
+	@Test
+	void shouldNotInternSubcategoriesThatAreOnlyLookedUp() {
+		Achievement achievement = new AchievementBuilder().name("ach1").displayName("Display 1")
+				.category(MultipleAchievements.PLACES).subcategory("stone").build();
+		underTest.put(achievement);
+
+		assertEquals(AchievementMap.UNKNOWN_SUBCATEGORY_ID,
+				underTest.getSubcategoryId(MultipleAchievements.PLACES, "brick"));
+		assertEquals(AchievementMap.UNKNOWN_SUBCATEGORY_ID,
+				underTest.getSubcategoryId(MultipleAchievements.PLACES, "brick"));
+		assertEquals(1, underTest.internSubcategoryId(MultipleAchievements.PLACES, " b rick"));
+		assertEquals(1, underTest.getSubcategoryId(MultipleAchievements.PLACES, "brick"));
+	}
+
+	@Test
+	void shouldKeepSubcategoryIdentifiersAcrossReloads() {
+		for (int i = 0; i < 100; ++i) {
+			underTest.internSubcategoryId(MultipleAchievements.BREAKS, "block" + i);
+		}
+
+		underTest.clearAll();
+
+		assertEquals(42, underTest.getSubcategoryId(MultipleAchievements.BREAKS, "block42"));
+		assertEquals("block99", underTest.getSubcategoryName(MultipleAchievements.BREAKS, 99));
+	}
+
 }
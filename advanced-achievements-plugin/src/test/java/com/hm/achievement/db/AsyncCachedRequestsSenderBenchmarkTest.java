@@ -0,0 +1,145 @@
+package com.hm.achievement.db;
+
+import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.InputStreamReader;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.apache.commons.lang3.StringUtils;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.hm.achievement.AdvancedAchievements;
+import com.hm.achievement.category.MultipleAchievements;
+import com.hm.achievement.category.NormalAchievements;
+import com.hm.achievement.config.AchievementMap;
+
+/**
+ * Compares the prepared upsert batches of AsyncCachedRequestsSender with the former approach, which concatenated one
+ * REPLACE statement per statistic and sent them via Statement.addBatch. Disabled by default, run with:
+ * {@code mvn test -Dbenchmark=true -Dtest=AsyncCachedRequestsSenderBenchmarkTest}
+ */
+@ExtendWith(MockitoExtension.class)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AsyncCachedRequestsSenderBenchmarkTest {
+
+	private static final Logger LOGGER = Logger.getLogger("DBBenchmarkLogger");
+	private static final int[] DIRTY_ROWS = { 1_000, 10_000, 100_000 };
+
+	private static H2DatabaseManager db;
+	private static CacheManager cacheManager;
+	private static AsyncCachedRequestsSender underTest;
+
+	@BeforeAll
+	static void setUpClass(@TempDir Path tempDir) throws Exception {
+		AdvancedAchievements plugin = mock(AdvancedAchievements.class);
+		when(plugin.getDataFolder()).thenReturn(tempDir.relativize(Paths.get("").toAbsolutePath()).toFile());
+		YamlConfiguration config = YamlConfiguration.loadConfiguration(
+				new InputStreamReader(AsyncCachedRequestsSenderBenchmarkTest.class.getResourceAsStream("/config-h2.yml")));
+		db = new H2DatabaseManager(config, LOGGER, new DatabaseUpdater(LOGGER, null), plugin, newDirectExecutorService());
+		db.initialise();
+		db.extractConfigurationParameters();
+		cacheManager = new CacheManager(config, LOGGER, plugin, new AchievementMap(), db);
+		underTest = new AsyncCachedRequestsSender(LOGGER, cacheManager, db,
+				new StatisticJournal(config, LOGGER, plugin, cacheManager), new LocalInvalidationBus());
+	}
+
+	@AfterAll
+	static void tearDownClass() {
+		db.shutdown();
+	}
+
+	@Test
+	void compareFlushDurations() {
+		// Warm up both code paths and the database before measuring.
+		flushWithStringBatch(1_000);
+		flushWithPreparedUpserts(1_000);
+
+		for (int rows : DIRTY_ROWS) {
+			long stringBatchMillis = flushWithStringBatch(rows);
+			long preparedUpsertsMillis = flushWithPreparedUpserts(rows);
+			LOGGER.info(String.format("%,d dirty rows: string batch %d ms, prepared upserts %d ms", rows,
+					stringBatchMillis, preparedUpsertsMillis));
+		}
+	}
+
+	private long flushWithPreparedUpserts(int rows) {
+		UUID lastUUID = null;
+		for (int i = 0; i < rows; ++i) {
+			lastUUID = UUID.randomUUID();
+			PlayerStatistics statistics = cacheManager.getOrCreatePlayerStatistics(lastUUID);
+			if (i % 2 == 0) {
+				statistics.put(getNormalCategory(i), new CachedStatistic(i, false));
+			} else {
+				MultipleAchievements category = getMultipleCategory(i);
+				int subcategoryId = cacheManager.internSubcategoryId(category, "item'" + i % 50);
+				statistics.put(category, subcategoryId, new CachedStatistic(i, false));
+			}
+			cacheManager.markDirty(statistics);
+		}
+
+		long start = System.nanoTime();
+		underTest.sendBatchedRequests();
+		long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertEquals(rows - 1, db.getMultipleAchievementAmount(lastUUID, getMultipleCategory(rows - 1),
+				"item'" + (rows - 1) % 50));
+		return duration;
+	}
+
+	private long flushWithStringBatch(int rows) {
+		List<String> batchedRequests = new ArrayList<>();
+		for (int i = 0; i < rows; ++i) {
+			UUID uuid = UUID.randomUUID();
+			if (i % 2 == 0) {
+				String dbName = getNormalCategory(i).toDBName();
+				batchedRequests.add("REPLACE INTO " + db.getPrefix() + dbName + " VALUES ('" + uuid + "', " + i + ")");
+			} else {
+				String dbName = getMultipleCategory(i).toDBName();
+				String subcategory = StringUtils.replace("item'" + i % 50, "'", "''");
+				batchedRequests.add("REPLACE INTO " + db.getPrefix() + dbName + " VALUES ('" + uuid + "', '" + subcategory
+						+ "', " + i + ")");
+			}
+		}
+
+		long start = System.nanoTime();
+		((SQLWriteOperation) () -> {
+			try (Connection connection = db.getWriteConnection(); Statement st = connection.createStatement()) {
+				for (String request : batchedRequests) {
+					st.addBatch(request);
+				}
+				st.executeBatch();
+			}
+		}).attemptWrites(LOGGER, "batching statistic updates");
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+	}
+
+	private NormalAchievements getNormalCategory(int i) {
+		// Connections are not stored in the statistic caches.
+		NormalAchievements[] categories = NormalAchievements.values();
+		NormalAchievements category = categories[i % categories.length];
+		return category == NormalAchievements.CONNECTIONS ? NormalAchievements.BEDS : category;
+	}
+
+	private MultipleAchievements getMultipleCategory(int i) {
+		MultipleAchievements[] categories = MultipleAchievements.values();
+		return categories[i % categories.length];
+	}
+}
@@ -0,0 +1,153 @@
+package com.hm.achievement.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.hm.achievement.AdvancedAchievements;
+import com.hm.achievement.category.MultipleAchievements;
+import com.hm.achievement.category.NormalAchievements;
+import com.hm.achievement.config.AchievementMap;
+import com.hm.achievement.db.data.ConnectionInformation;
+import com.hm.achievement.db.data.PreloadedPlayerData;
+import com.hm.achievement.domain.Achievement;
+import com.hm.achievement.domain.Achievement.AchievementBuilder;
+
+@ExtendWith(MockitoExtension.class)
+class CacheManagerTest {
+
+	private static final Logger LOGGER = Logger.getLogger("CacheManagerTestLogger");
+	private static final UUID PLAYER = UUID.randomUUID();
+
+	@Mock
+	private YamlConfiguration mainConfig;
+	@Mock
+	private AdvancedAchievements advancedAchievements;
+	@Mock
+	private AbstractDatabaseManager databaseManager;
+
+	private final AchievementMap achievementMap = new AchievementMap();
+	private CacheManager underTest;
+	private List<Achievement> deathAchievements;
+
+	@BeforeEach
+	void setUp() {
+		for (int i = 1; i <= 3; ++i) {
+			achievementMap.put(new AchievementBuilder().name("deaths_" + i).displayName("Deaths " + i)
+					.category(NormalAchievements.DEATHS).threshold(i * 10L).build());
+		}
+		deathAchievements = achievementMap.getForCategory(NormalAchievements.DEATHS);
+		underTest = new CacheManager(mainConfig, LOGGER, advancedAchievements, achievementMap, databaseManager);
+	}
+
+	@Test
+	void itShouldStartThresholdCursorsAtTheFirstAchievement() {
+		assertEquals(0, underTest.getThresholdCursor(PLAYER, deathAchievements));
+
+		underTest.setThresholdCursor(PLAYER, deathAchievements, 2);
+
+		assertEquals(2, underTest.getThresholdCursor(PLAYER, deathAchievements));
+		assertEquals(0, underTest.getThresholdCursor(UUID.randomUUID(), deathAchievements));
+	}
+
+	@Test
+	void itShouldRewindThresholdCursorsWhenAchievementsAreDeleted() {
+		underTest.setThresholdCursor(PLAYER, deathAchievements, 2);
+
+		underTest.removePreviouslyReceivedAchievements(PLAYER, Collections.singletonList("deaths_1"));
+
+		assertEquals(0, underTest.getThresholdCursor(PLAYER, deathAchievements));
+	}
+
+	@Test
+	void itShouldRewindThresholdCursorsWhenStatisticsAreReset() {
+		underTest.setThresholdCursor(PLAYER, deathAchievements, 2);
+
+		underTest.resetPlayerStatistics(PLAYER, Collections.emptyList());
+
+		assertEquals(0, underTest.getThresholdCursor(PLAYER, deathAchievements));
+	}
+
+	@Test
+	void itShouldRewindThresholdCursorsOnReload() {
+		underTest.setThresholdCursor(PLAYER, deathAchievements, 2);
+
+		underTest.extractConfigurationParameters();
+
+		assertEquals(0, underTest.getThresholdCursor(PLAYER, deathAchievements));
+	}
+
+	@Test
+	void itShouldPreloadReceptionTimesAndKeepThemUpToDate() {
+		Map<String, Long> storedReceptionTimes = new HashMap<>();
+		storedReceptionTimes.put("deaths_1", 1L);
+		storedReceptionTimes.put("deaths_2", 2L);
+		when(databaseManager.getPreloadedPlayerData(PLAYER)).thenReturn(new PreloadedPlayerData(PLAYER,
+				Collections.emptyMap(), Collections.emptyMap(), storedReceptionTimes, new ConnectionInformation()));
+
+		underTest.preloadPlayerData(PLAYER);
+		underTest.registerReceptionTime(PLAYER, "deaths_3", 3L);
+		underTest.removePreviouslyReceivedAchievements(PLAYER, Collections.singletonList("deaths_1"));
+
+		Map<String, Long> expected = new HashMap<>();
+		expected.put("deaths_2", 2L);
+		expected.put("deaths_3", 3L);
+		List<Map<String, Long>> receptionTimes = new ArrayList<>();
+		underTest.getPlayerReceptionTimes(PLAYER, receptionTimes::add);
+		assertEquals(Collections.singletonList(expected), receptionTimes);
+		verify(databaseManager, never()).getPlayerAchievementReceptionTimes(PLAYER);
+	}
+
+	@Test
+	void itShouldNotLoadReceptionTimesWhenAchievementsAreReceived() {
+		underTest.registerReceptionTime(PLAYER, "deaths_1", 1L);
+
+		verify(databaseManager, never()).getPlayerAchievementReceptionTimes(PLAYER);
+	}
+
+	@Test
+	void itShouldKeepTheDataPreloadedForPlayersLoggingIn() {
+		when(databaseManager.getPreloadedPlayerData(PLAYER)).thenReturn(new PreloadedPlayerData(PLAYER,
+				Collections.singletonMap(NormalAchievements.DEATHS, 5L), Collections.emptyMap(),
+				Collections.singletonMap("deaths_1", 1L), new ConnectionInformation()));
+		// Statistics cached during a previous session, flagged when the player disconnected.
+		PlayerStatistics statistics = underTest.getOrCreatePlayerStatistics(PLAYER);
+		statistics.signalPlayerDisconnection();
+
+		underTest.preloadPlayerData(PLAYER);
+		underTest.cleanPlayerData();
+
+		assertFalse(statistics.didPlayerDisconnect());
+		assertTrue(underTest.hasPlayerAchievement(PLAYER, "deaths_1"));
+		assertEquals(5L, underTest.getPlayerStatistics(PLAYER).get(NormalAchievements.DEATHS).getValue());
+	}
+
+	@Test
+	void itShouldNotInternUnknownSubcategoriesThatAreOnlyRead() {
+		when(databaseManager.getMultipleAchievementAmount(PLAYER, MultipleAchievements.BREAKS, "stone")).thenReturn(3L);
+
+		assertEquals(3L, underTest.getAndIncrementStatisticAmount(MultipleAchievements.BREAKS, " st one", PLAYER, 0));
+		assertEquals(AchievementMap.UNKNOWN_SUBCATEGORY_ID,
+				achievementMap.getSubcategoryId(MultipleAchievements.BREAKS, "stone"));
+		assertEquals(5L, underTest.getAndIncrementStatisticAmount(MultipleAchievements.BREAKS, "stone", PLAYER, 2));
+		assertEquals(5L, underTest.getAndIncrementStatisticAmount(MultipleAchievements.BREAKS, " st one", PLAYER, 0));
+	}
+}
@@ -0,0 +1,223 @@
+package com.hm.achievement.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongConsumer;
+
+import org.junit.jupiter.api.Test;
+
+class CachedStatisticTest {
+
+	private static final String KEY = "key";
+
+	private final Map<String, Long> absoluteValues = new HashMap<>();
+	private final Map<String, Long> deltaValues = new HashMap<>();
+
+	@Test
+	void itShouldWriteIncrementsReceivedSinceThePreviousWrite() {
+		CachedStatistic underTest = new CachedStatistic(10L, true);
+
+		assertTrue(underTest.increment(2L));
+		assertFalse(underTest.increment(3L));
+		underTest.prepareDatabaseDeltaWrite(KEY, absoluteValues, deltaValues);
+		underTest.increment(4L);
+		underTest.prepareDatabaseDeltaWrite(KEY, absoluteValues, deltaValues);
+
+		assertEquals(19L, underTest.getValue());
+		assertTrue(underTest.isDatabaseConsistent());
+		assertEquals(Collections.emptyMap(), absoluteValues);
+		assertEquals(Collections.singletonMap(KEY, 9L), deltaValues);
+	}
+
+	@Test
+	void itShouldWriteValuesThatWereSetAsIs() {
+		CachedStatistic underTest = new CachedStatistic(10L, true);
+
+		underTest.increment(2L);
+		underTest.prepareDatabaseDeltaWrite(KEY, absoluteValues, deltaValues);
+		underTest.setValue(0L);
+		underTest.prepareDatabaseDeltaWrite(KEY, absoluteValues, deltaValues);
+		underTest.increment(5L);
+		underTest.prepareDatabaseDeltaWrite(KEY, absoluteValues, deltaValues);
+
+		assertEquals(Collections.singletonMap(KEY, 0L), absoluteValues);
+		assertEquals(Collections.singletonMap(KEY, 5L), deltaValues);
+	}
+
+	@Test
+	void itShouldWriteIncrementsBufferedWhilstLoadingAsDeltas() {
+		CachedStatistic underTest = new CachedStatistic(new CompletableFuture<>());
+
+		underTest.bufferIncrement(3, value -> {});
+		assertTrue(underTest.completeLoad(10L));
+		underTest.prepareDatabaseDeltaWrite(KEY, absoluteValues, deltaValues);
+
+		assertEquals(13L, underTest.getValue());
+		assertEquals(Collections.singletonMap(KEY, 3L), deltaValues);
+	}
+
+	@Test
+	void itShouldMergeBufferedIncrementsOnlyOnce() {
+		CompletableFuture<Long> load = new CompletableFuture<>();
+		CachedStatistic underTest = new CachedStatistic(load);
+
+		assertTrue(underTest.bufferIncrement(3, value -> {}));
+		assertTrue(underTest.bufferIncrement(4, value -> {}));
+		assertTrue(underTest.completeLoad(10L));
+		load.complete(10L);
+
+		assertFalse(underTest.completeLoad(10L));
+		assertFalse(underTest.awaitLoad());
+		assertTrue(underTest.isLoaded());
+		assertEquals(17L, underTest.getValue());
+	}
+
+	@Test
+	void itShouldNotBufferIncrementsOnceLoaded() {
+		CachedStatistic underTest = new CachedStatistic(new CompletableFuture<>());
+		underTest.completeLoad(10L);
+
+		assertFalse(underTest.bufferIncrement(3, value -> {}));
+		assertEquals(10L, underTest.getValue());
+		assertEquals(Collections.emptyList(), underTest.takePendingValueConsumers());
+	}
+
+	@Test
+	void itShouldReturnAllBufferedConsumersInOrder() {
+		CachedStatistic underTest = new CachedStatistic(new CompletableFuture<>());
+		List<Integer> calls = new ArrayList<>();
+
+		underTest.bufferIncrement(1, value -> calls.add(1));
+		underTest.bufferIncrement(0, value -> calls.add(2));
+		underTest.completeLoad(5L);
+		for (LongConsumer valueConsumer : underTest.takePendingValueConsumers()) {
+			valueConsumer.accept(underTest.getValue());
+		}
+
+		assertEquals(Arrays.asList(1, 2), calls);
+		assertEquals(Collections.emptyList(), underTest.takePendingValueConsumers());
+	}
+
+	@Test
+	void itShouldNotMergeTheDatabaseValueOfCancelledLoads() {
+		CachedStatistic underTest = new CachedStatistic(new CompletableFuture<>());
+		List<Integer> calls = new ArrayList<>();
+		underTest.bufferIncrement(2, value -> calls.add(1));
+
+		List<LongConsumer> valueConsumers = underTest.cancelLoad();
+
+		assertFalse(underTest.completeLoad(5L));
+		assertEquals(0L, underTest.getValue());
+		assertTrue(underTest.isDatabaseConsistent());
+		assertEquals(Collections.emptyList(), underTest.takePendingValueConsumers());
+		valueConsumers.forEach(valueConsumer -> valueConsumer.accept(0L));
+		assertEquals(Collections.singletonList(1), calls);
+	}
+
+	@Test
+	void itShouldMergeOnceWhenTheLoadIsAwaitedAndCompletedConcurrently() throws InterruptedException {
+		for (int i = 0; i < 1000; ++i) {
+			CachedStatistic underTest = new CachedStatistic(CompletableFuture.completedFuture(10L));
+			underTest.bufferIncrement(3, value -> {});
+
+			Thread awaitingThread = new Thread(underTest::awaitLoad);
+			awaitingThread.start();
+			underTest.completeLoad(10L);
+			awaitingThread.join();
+
+			assertEquals(13L, underTest.getValue());
+			underTest.prepareDatabaseDeltaWrite(KEY, absoluteValues, deltaValues);
+			assertEquals(Collections.singletonMap(KEY, 3L), deltaValues);
+			deltaValues.clear();
+		}
+	}
+
+	@Test
+	void itShouldWriteDeltasOfAbandonedFlushesAgain() {
+		CachedStatistic underTest = new CachedStatistic(10L, true);
+		underTest.increment(2L);
+		underTest.prepareDatabaseDeltaWrite(KEY, absoluteValues, deltaValues);
+		underTest.increment(3L);
+
+		assertEquals(5L, underTest.getUnwrittenDelta());
+		assertFalse(underTest.abandonDatabaseWrite(false));
+		deltaValues.clear();
+		underTest.prepareDatabaseDeltaWrite(KEY, absoluteValues, deltaValues);
+
+		assertEquals(Collections.emptyMap(), absoluteValues);
+		assertEquals(Collections.singletonMap(KEY, 5L), deltaValues);
+	}
+
+	@Test
+	void itShouldWriteValuesAsIsIfTheOutcomeOfTheFlushIsUnknown() {
+		CachedStatistic underTest = new CachedStatistic(10L, true);
+		underTest.increment(2L);
+		underTest.prepareDatabaseDeltaWrite(KEY, absoluteValues, deltaValues);
+
+		assertTrue(underTest.abandonDatabaseWrite(true));
+		deltaValues.clear();
+		underTest.prepareDatabaseDeltaWrite(KEY, absoluteValues, deltaValues);
+
+		assertEquals(Collections.singletonMap(KEY, 12L), absoluteValues);
+		assertEquals(Collections.emptyMap(), deltaValues);
+	}
+
+	@Test
+	void itShouldForgetDeltasOfCompletedFlushes() {
+		CachedStatistic underTest = new CachedStatistic(10L, true);
+		underTest.increment(2L);
+		underTest.prepareDatabaseDeltaWrite(KEY, absoluteValues, deltaValues);
+		underTest.prepareJournalWrite();
+
+		underTest.completeDatabaseWrite();
+
+		assertEquals(0L, underTest.getUnwrittenDelta());
+		assertTrue(underTest.prepareJournalWrite());
+	}
+
+	@Test
+	void itShouldWriteDirtyStatisticsCreatedWithAValueAsIs() {
+		CachedStatistic underTest = new CachedStatistic(7L, false);
+
+		underTest.prepareDatabaseDeltaWrite(KEY, absoluteValues, deltaValues);
+
+		assertEquals(Collections.singletonMap(KEY, 7L), absoluteValues);
+		assertEquals(Collections.emptyMap(), deltaValues);
+	}
+
+	@Test
+	void itShouldOnlyWriteLazyIncrementsOncePromoted() {
+		CachedStatistic underTest = new CachedStatistic(10L, true);
+
+		underTest.incrementLazily(2L);
+		underTest.incrementLazily(3L);
+
+		assertEquals(15L, underTest.getValue());
+		assertTrue(underTest.isDatabaseConsistent());
+		assertTrue(underTest.promoteLazyIncrements());
+		assertFalse(underTest.promoteLazyIncrements());
+		underTest.prepareDatabaseDeltaWrite(KEY, absoluteValues, deltaValues);
+		assertEquals(Collections.singletonMap(KEY, 5L), deltaValues);
+	}
+
+	@Test
+	void itShouldWriteLazyIncrementsAlongsideRegularOnes() {
+		CachedStatistic underTest = new CachedStatistic(10L, true);
+
+		underTest.incrementLazily(2L);
+		assertTrue(underTest.increment(1L));
+		underTest.prepareDatabaseDeltaWrite(KEY, absoluteValues, deltaValues);
+
+		assertEquals(Collections.singletonMap(KEY, 3L), deltaValues);
+		assertFalse(underTest.promoteLazyIncrements());
+	}
+}
@@ -0,0 +1,100 @@
+package com.hm.achievement.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConnectionPoolTest {
+
+	private final AtomicInteger openedConnections = new AtomicInteger();
+
+	private ConnectionPool underTest;
+
+	@BeforeEach
+	void setUp() {
+		underTest = new ConnectionPool("test", () -> {
+			openedConnections.incrementAndGet();
+			return DriverManager.getConnection("jdbc:h2:mem:pool");
+		}, Logger.getLogger("PoolTestLogger"), 1, 2, 60_000L);
+	}
+
+	@AfterEach
+	void tearDown() {
+		underTest.shutdown();
+	}
+
+	@Test
+	void itShouldReuseReturnedConnections() throws SQLException {
+		underTest.fill();
+		underTest.getConnection().close();
+		underTest.getConnection().close();
+
+		assertEquals(1, openedConnections.get());
+	}
+
+	@Test
+	void itShouldRejectUsageOfReturnedConnections() throws SQLException {
+		Connection connection = underTest.getConnection();
+		connection.close();
+
+		assertTrue(connection.isClosed());
+		assertThrows(SQLException.class, connection::createStatement);
+	}
+
+	@Test
+	void itShouldResetAutoCommitWhenConnectionIsReturned() throws SQLException {
+		Connection connection = underTest.getConnection();
+		connection.setAutoCommit(false);
+		connection.close();
+
+		try (Connection reusedConnection = underTest.getConnection()) {
+			assertTrue(reusedConnection.getAutoCommit());
+		}
+		assertEquals(1, openedConnections.get());
+	}
+
+	@Test
+	void itShouldOpenNewConnectionWhenPreviousOneWasAborted() throws SQLException {
+		underTest.getConnection().abort(Runnable::run);
+		underTest.getConnection().close();
+
+		assertEquals(2, openedConnections.get());
+	}
+
+	@Test
+	void itShouldWaitForConnectionToBeReturnedWhenMaxSizeIsReached() throws Exception {
+		Connection connection1 = underTest.getConnection();
+		underTest.getConnection();
+		Thread releasingThread = new Thread(() -> {
+			try {
+				Thread.sleep(100);
+				connection1.close();
+			} catch (InterruptedException | SQLException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		releasingThread.start();
+
+		try (Connection connection3 = underTest.getConnection()) {
+			assertEquals(2, openedConnections.get());
+		}
+		releasingThread.join();
+	}
+
+	@Test
+	void itShouldRejectRequestsOnceShutDown() {
+		underTest.shutdown();
+
+		assertThrows(SQLException.class, underTest::getConnection);
+	}
+}
@@ -4,19 +4,31 @@ import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorS
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.io.InputStreamReader;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.logging.Logger;
 
 import org.bukkit.configuration.file.YamlConfiguration;
@@ -31,8 +43,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import com.hm.achievement.AdvancedAchievements;
 import com.hm.achievement.category.MultipleAchievements;
 import com.hm.achievement.category.NormalAchievements;
+import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.db.data.AwardedDBAchievement;
 import com.hm.achievement.db.data.ConnectionInformation;
+import com.hm.achievement.db.data.PreloadedPlayerData;
 
 /**
  * Class for testing H2 Database.
@@ -46,18 +60,25 @@ class H2DatabaseManagerTest {
 	private static final Logger LOGGER = Logger.getLogger("DBTestLogger");
 
 	private static H2DatabaseManager db;
+	private static AsyncCachedRequestsSender requestsSender;
+	private static YamlConfiguration config;
+	private static AdvancedAchievements plugin;
 
 	private final UUID testUUID = UUID.randomUUID();
 
 	@BeforeAll
 	static void setUpClass(@TempDir Path tempDir) throws Exception {
-		AdvancedAchievements plugin = mock(AdvancedAchievements.class);
+		plugin = mock(AdvancedAchievements.class);
 		when(plugin.getDataFolder()).thenReturn(tempDir.relativize(Paths.get("").toAbsolutePath()).toFile());
-		YamlConfiguration config = YamlConfiguration
+		config = YamlConfiguration
 				.loadConfiguration(new InputStreamReader(H2DatabaseManagerTest.class.getResourceAsStream("/config-h2.yml")));
 		db = new H2DatabaseManager(config, LOGGER, new DatabaseUpdater(LOGGER, null), plugin, newDirectExecutorService());
 		db.initialise();
 		db.extractConfigurationParameters();
+		CacheManager cacheManager = new CacheManager(config, LOGGER, plugin, new AchievementMap(), db);
+		// The journal is not opened: it does not record anything but still runs the collection of each flush.
+		requestsSender = new AsyncCachedRequestsSender(LOGGER, cacheManager, db,
+				new StatisticJournal(config, LOGGER, plugin, cacheManager), new LocalInvalidationBus());
 	}
 
 	@BeforeEach
@@ -73,6 +94,7 @@ class H2DatabaseManagerTest {
 	@Test
 	void testGetPlayerAchievementsList() {
 		db.registerAchievement(testUUID, TEST_ACHIEVEMENT, System.currentTimeMillis());
+		requestsSender.sendBatchedRequests();
 
 		List<AwardedDBAchievement> achievements = db.getPlayerAchievementsList(testUUID);
 		assertEquals(1, achievements.size());
@@ -85,6 +107,7 @@ class H2DatabaseManagerTest {
 	@Test
 	void testGetAchievementsRecipientList() {
 		db.registerAchievement(testUUID, TEST_ACHIEVEMENT, System.currentTimeMillis());
+		requestsSender.sendBatchedRequests();
 
 		List<AwardedDBAchievement> achievements = db.getAchievementsRecipientList(TEST_ACHIEVEMENT);
 		assertEquals(1, achievements.size());
@@ -97,6 +120,7 @@ class H2DatabaseManagerTest {
 	@Test
 	void testAchievementCount() {
 		db.registerAchievement(testUUID, TEST_ACHIEVEMENT, System.currentTimeMillis());
+		requestsSender.sendBatchedRequests();
 
 		Map<UUID, Integer> expected = Collections.singletonMap(testUUID, 1);
 
@@ -110,6 +134,7 @@ class H2DatabaseManagerTest {
 		assertNull(date);
 
 		db.registerAchievement(testUUID, TEST_ACHIEVEMENT, System.currentTimeMillis());
+		requestsSender.sendBatchedRequests();
 
 		date = db.getPlayerAchievementDate(testUUID, TEST_ACHIEVEMENT);
 		assertNotNull(date);
@@ -118,8 +143,10 @@ class H2DatabaseManagerTest {
 	@Test
 	void testDeleteAchievement() {
 		db.registerAchievement(testUUID, TEST_ACHIEVEMENT, System.currentTimeMillis());
+		requestsSender.sendBatchedRequests();
 
 		db.deletePlayerAchievement(testUUID, TEST_ACHIEVEMENT);
+		requestsSender.sendBatchedRequests();
 
 		assertEquals(0, db.getPlayerAchievementNames(testUUID).size());
 	}
@@ -128,12 +155,101 @@ class H2DatabaseManagerTest {
 	void testDeleteAllAchievements() {
 		db.registerAchievement(testUUID, TEST_ACHIEVEMENT, System.currentTimeMillis());
 		db.registerAchievement(testUUID, TEST_ACHIEVEMENT + "2", System.currentTimeMillis());
+		requestsSender.sendBatchedRequests();
 
 		db.deleteAllPlayerAchievements(testUUID);
+		requestsSender.sendBatchedRequests();
 
 		assertEquals(0, db.getPlayerAchievementNames(testUUID).size());
 	}
 
+	@Test
+	void testRegisterThenDeleteAchievementInSameBatch() {
+		db.registerAchievement(testUUID, TEST_ACHIEVEMENT, System.currentTimeMillis());
+		db.deletePlayerAchievement(testUUID, TEST_ACHIEVEMENT);
+		requestsSender.sendBatchedRequests();
+
+		assertEquals(0, db.getPlayerAchievementNames(testUUID).size());
+	}
+
+	@Test
+	void testDeleteAllThenRegisterAchievementInSameBatch() {
+		db.registerAchievement(testUUID, TEST_ACHIEVEMENT, System.currentTimeMillis());
+		requestsSender.sendBatchedRequests();
+
+		db.registerAchievement(testUUID, TEST_ACHIEVEMENT + "2", System.currentTimeMillis());
+		db.deleteAllPlayerAchievements(testUUID);
+		db.registerAchievement(testUUID, TEST_ACHIEVEMENT + "3", System.currentTimeMillis());
+		requestsSender.sendBatchedRequests();
+
+		assertEquals(Collections.singleton(TEST_ACHIEVEMENT + "3"), db.getPlayerAchievementNames(testUUID));
+	}
+
+	@Test
+	void testGetAchievementNamesBeforeBatchIsSent() {
+		db.registerAchievement(testUUID, TEST_ACHIEVEMENT, System.currentTimeMillis());
+		db.registerAchievement(testUUID, TEST_ACHIEVEMENT + "2", System.currentTimeMillis());
+		requestsSender.sendBatchedRequests();
+
+		db.deletePlayerAchievement(testUUID, TEST_ACHIEVEMENT);
+		db.registerAchievement(testUUID, TEST_ACHIEVEMENT + "3", System.currentTimeMillis());
+
+		assertEquals(new HashSet<>(Arrays.asList(TEST_ACHIEVEMENT + "2", TEST_ACHIEVEMENT + "3")),
+				db.getPlayerAchievementNames(testUUID));
+	}
+
+	@Test
+	void testDrainedAchievementWritesRemainVisibleUntilCommitted() {
+		db.registerAchievement(testUUID, TEST_ACHIEVEMENT, System.currentTimeMillis());
+		db.drainPendingAchievementWrites();
+		db.deletePlayerAchievement(testUUID, TEST_ACHIEVEMENT + "2");
+
+		assertEquals(Collections.singleton(TEST_ACHIEVEMENT), db.getPlayerAchievementNames(testUUID));
+
+		// Writing the batch was given up: it is sent again with the next one.
+		db.restoreAchievementWrites();
+		assertEquals(Collections.singleton(TEST_ACHIEVEMENT), db.getPlayerAchievementNames(testUUID));
+		requestsSender.sendBatchedRequests();
+
+		assertEquals(1, db.getPlayerAchievementsList(testUUID).size());
+	}
+
+	@Test
+	void testSharedConnectionIsExclusiveUntilClosed() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<?> otherWrite;
+			try (Connection connection = db.getWriteConnection()) {
+				otherWrite = executor.submit(() -> {
+					db.getConnection().close();
+					return null;
+				});
+				assertThrows(TimeoutException.class, () -> otherWrite.get(100, TimeUnit.MILLISECONDS));
+			}
+			otherWrite.get(1, TimeUnit.SECONDS);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void testGetAchievementReceptionTimesBeforeBatchIsSent() {
+		long now = System.currentTimeMillis();
+		db.registerAchievement(testUUID, TEST_ACHIEVEMENT, now - TimeUnit.DAYS.toMillis(1));
+		db.registerAchievement(testUUID, TEST_ACHIEVEMENT + "2", now - TimeUnit.DAYS.toMillis(1));
+		requestsSender.sendBatchedRequests();
+
+		db.deletePlayerAchievement(testUUID, TEST_ACHIEVEMENT);
+		db.registerAchievement(testUUID, TEST_ACHIEVEMENT + "3", now);
+
+		Map<String, Long> receptionTimes = db.getPlayerAchievementReceptionTimes(testUUID);
+		assertEquals(new HashSet<>(Arrays.asList(TEST_ACHIEVEMENT + "2", TEST_ACHIEVEMENT + "3")),
+				receptionTimes.keySet());
+		assertEquals(now, receptionTimes.get(TEST_ACHIEVEMENT + "3"));
+		assertEquals(db.getPlayerAchievementDate(testUUID, TEST_ACHIEVEMENT + "2"),
+				db.formatReceptionDate(receptionTimes.get(TEST_ACHIEVEMENT + "2")));
+	}
+
 	@Test
 	void testConnectionUpdate() {
 		assertEquals(0, db.getNormalAchievementAmount(testUUID, NormalAchievements.CONNECTIONS));
@@ -146,16 +262,19 @@ class H2DatabaseManagerTest {
 
 	@Test
 	void testGetTopAchievements() {
-		long firstSave = 99L;
+		long now = System.currentTimeMillis();
+		long firstSave = now - TimeUnit.DAYS.toMillis(11);
 
-		db.registerAchievement(testUUID, TEST_ACHIEVEMENT, 100L);
+		db.registerAchievement(testUUID, TEST_ACHIEVEMENT, now - TimeUnit.DAYS.toMillis(10));
+		requestsSender.sendBatchedRequests();
 
-		long secondSave = 199L;
+		long secondSave = now - TimeUnit.DAYS.toMillis(6);
 
 		UUID secondUUID = UUID.randomUUID();
 
-		db.registerAchievement(secondUUID, TEST_ACHIEVEMENT, 200L);
-		db.registerAchievement(secondUUID, TEST_ACHIEVEMENT + "2", 200L);
+		db.registerAchievement(secondUUID, TEST_ACHIEVEMENT, now - TimeUnit.DAYS.toMillis(5));
+		db.registerAchievement(secondUUID, TEST_ACHIEVEMENT + "2", now);
+		requestsSender.sendBatchedRequests();
 
 		Map<String, Integer> expected = new LinkedHashMap<>();
 		expected.put(secondUUID.toString(), 2);
@@ -173,9 +292,58 @@ class H2DatabaseManagerTest {
 		assertEquals(expected, topListSecond);
 	}
 
+	@Test
+	void testGetTopAchievementsAfterDeletions() {
+		long now = System.currentTimeMillis();
+		long weekStart = now - TimeUnit.DAYS.toMillis(7);
+		UUID secondUUID = UUID.randomUUID();
+
+		db.registerAchievement(testUUID, TEST_ACHIEVEMENT, now - TimeUnit.DAYS.toMillis(3));
+		db.registerAchievement(testUUID, TEST_ACHIEVEMENT + "2", now - TimeUnit.DAYS.toMillis(3));
+		db.registerAchievement(secondUUID, TEST_ACHIEVEMENT, now);
+		requestsSender.sendBatchedRequests();
+
+		Map<String, Integer> expected = new LinkedHashMap<>();
+		expected.put(testUUID.toString(), 2);
+		expected.put(secondUUID.toString(), 1);
+		assertEquals(expected, db.getTopList(weekStart));
+
+		db.deletePlayerAchievement(testUUID, TEST_ACHIEVEMENT);
+		db.registerAchievement(secondUUID, TEST_ACHIEVEMENT + "2", now);
+		requestsSender.sendBatchedRequests();
+
+		expected.clear();
+		expected.put(secondUUID.toString(), 2);
+		expected.put(testUUID.toString(), 1);
+		assertEquals(expected, db.getTopList(weekStart));
+	}
+
+	@Test
+	void testGetTopAchievementsAfterReceptionDatesChange() {
+		long now = System.currentTimeMillis();
+		long weekStart = now - TimeUnit.DAYS.toMillis(7);
+		long monthStart = now - TimeUnit.DAYS.toMillis(30);
+
+		db.registerAchievement(testUUID, TEST_ACHIEVEMENT, now - TimeUnit.DAYS.toMillis(10));
+		requestsSender.sendBatchedRequests();
+		assertEquals(Collections.emptyMap(), db.getTopList(weekStart));
+
+		db.registerAchievement(testUUID, TEST_ACHIEVEMENT, now);
+		requestsSender.sendBatchedRequests();
+		assertEquals(Collections.singletonMap(testUUID.toString(), 1), db.getTopList(weekStart));
+		assertEquals(Collections.singletonMap(testUUID.toString(), 1), db.getTopList(monthStart));
+
+		db.registerAchievement(testUUID, TEST_ACHIEVEMENT + "2", now - TimeUnit.DAYS.toMillis(10));
+		db.deleteAllPlayerAchievements(testUUID);
+		db.registerAchievement(testUUID, TEST_ACHIEVEMENT + "3", now);
+		requestsSender.sendBatchedRequests();
+		assertEquals(Collections.singletonMap(testUUID.toString(), 1), db.getTopList(monthStart));
+	}
+
 	@Test
 	void testGetAchievementNameList() {
 		db.registerAchievement(testUUID, TEST_ACHIEVEMENT, System.currentTimeMillis());
+		requestsSender.sendBatchedRequests();
 
 		Set<String> expected = Collections.singleton(TEST_ACHIEVEMENT);
 		Set<String> achNames = db.getPlayerAchievementNames(testUUID);
@@ -206,12 +374,114 @@ class H2DatabaseManagerTest {
 		assertEquals(0, connectionInformation.getCount());
 	}
 
+	@Test
+	void testSchemaVersionIsRecorded() {
+		int[] schemaVersion = ((SQLReadOperation<int[]>) () -> {
+			try (Connection connection = db.getConnection(); PreparedStatement ps = connection
+					.prepareStatement("SELECT version, subcategory_size FROM schema_version");
+					ResultSet rs = ps.executeQuery()) {
+				rs.next();
+				return new int[] { rs.getInt(1), rs.getInt(2) };
+			}
+		}).executeOperation("Retrieving schema version");
+
+		assertEquals(3, schemaVersion[0]);
+		assertEquals(db.mainConfig.getInt("TableMaxSizeOfGroupedSubcategories"), schemaVersion[1]);
+	}
+
+	@Test
+	void testDeltaStatisticWritesFromServersSharingTheDatabase() {
+		config.set("DeltaStatisticWrites", true);
+		db.extractConfigurationParameters();
+		try {
+			CacheManager firstServer = new CacheManager(config, LOGGER, plugin, new AchievementMap(), db);
+			CacheManager secondServer = new CacheManager(config, LOGGER, plugin, new AchievementMap(), db);
+			firstServer.getAndIncrementStatisticAmount(NormalAchievements.DEATHS, testUUID, 3);
+			secondServer.getAndIncrementStatisticAmount(NormalAchievements.DEATHS, testUUID, 4);
+			secondServer.getAndIncrementStatisticAmount(MultipleAchievements.JOBSREBORN, "miner", testUUID, 2);
+			new AsyncCachedRequestsSender(LOGGER, firstServer, db,
+					new StatisticJournal(config, LOGGER, plugin, firstServer), new LocalInvalidationBus())
+							.sendBatchedRequests();
+			new AsyncCachedRequestsSender(LOGGER, secondServer, db,
+					new StatisticJournal(config, LOGGER, plugin, secondServer), new LocalInvalidationBus())
+							.sendBatchedRequests();
+
+			assertEquals(7, db.getNormalAchievementAmount(testUUID, NormalAchievements.DEATHS));
+			assertEquals(3, db.getMultipleAchievementAmount(testUUID, MultipleAchievements.JOBSREBORN, "miner"));
+
+			firstServer.resetPlayerStatistics(testUUID, Collections.singletonList("Deaths"));
+			firstServer.getAndIncrementStatisticAmount(NormalAchievements.DEATHS, testUUID, 1);
+			new AsyncCachedRequestsSender(LOGGER, firstServer, db,
+					new StatisticJournal(config, LOGGER, plugin, firstServer), new LocalInvalidationBus())
+							.sendBatchedRequests();
+
+			assertEquals(1, db.getNormalAchievementAmount(testUUID, NormalAchievements.DEATHS));
+		} finally {
+			config.set("DeltaStatisticWrites", false);
+			db.extractConfigurationParameters();
+		}
+	}
+
+	@Test
+	void testLazyIncrementsAreWrittenAlongsideOtherStatisticsOfThePlayer() {
+		CacheManager cacheManager = new CacheManager(config, LOGGER, plugin, new AchievementMap(), db);
+		AsyncCachedRequestsSender sender = new AsyncCachedRequestsSender(LOGGER, cacheManager, db,
+				new StatisticJournal(config, LOGGER, plugin, cacheManager), new LocalInvalidationBus());
+		cacheManager.getAndIncrementStatisticAmount(NormalAchievements.DEATHS, testUUID, 3);
+		cacheManager.getAndIncrementStatisticAmount(NormalAchievements.BEDS, testUUID, 1);
+		sender.sendBatchedRequests();
+
+		cacheManager.incrementStatisticAmountLazily(NormalAchievements.DEATHS, testUUID, 2);
+		sender.sendBatchedRequests();
+		assertEquals(3, db.getNormalAchievementAmount(testUUID, NormalAchievements.DEATHS));
+
+		cacheManager.getAndIncrementStatisticAmount(NormalAchievements.BEDS, testUUID, 1);
+		sender.sendBatchedRequests();
+		assertEquals(5, db.getNormalAchievementAmount(testUUID, NormalAchievements.DEATHS));
+		assertEquals(2, db.getNormalAchievementAmount(testUUID, NormalAchievements.BEDS));
+	}
+
+	@Test
+	void testDatabaseInvalidationBusNotifiesOtherServers() {
+		List<Set<UUID>> firstServerNotifications = new ArrayList<>();
+		List<Set<UUID>> secondServerNotifications = new ArrayList<>();
+		DatabaseInvalidationBus firstServer = new DatabaseInvalidationBus(LOGGER, db);
+		DatabaseInvalidationBus secondServer = new DatabaseInvalidationBus(LOGGER, db);
+		firstServer.start(firstServerNotifications::add);
+		secondServer.start(secondServerNotifications::add);
+
+		secondServer.publish(Collections.singleton(testUUID));
+		firstServer.poll();
+		secondServer.poll();
+		firstServer.poll();
+
+		assertEquals(Collections.singletonList(Collections.singleton(testUUID)), firstServerNotifications);
+		assertEquals(Collections.emptyList(), secondServerNotifications);
+	}
+
+	@Test
+	void testDatabaseInvalidationBusNotifiesRowsCommittedOutOfOrder() {
+		List<Set<UUID>> notifications = new ArrayList<>();
+		DatabaseInvalidationBus underTest = new DatabaseInvalidationBus(LOGGER, db);
+		underTest.start(notifications::add);
+		UUID otherUUID = UUID.randomUUID();
+
+		// The row with the higher identifier is committed first.
+		insertInvalidation(1_000_002L, otherUUID);
+		underTest.poll();
+		insertInvalidation(1_000_001L, testUUID);
+		underTest.poll();
+		underTest.poll();
+
+		assertEquals(Arrays.asList(Collections.singleton(otherUUID), Collections.singleton(testUUID)), notifications);
+	}
+
 	@Test
 	void testGetNormalAchievementAmount() {
 		assertEquals(0, db.getNormalAchievementAmount(testUUID, NormalAchievements.BEDS));
 
 		((SQLWriteOperation) () -> {
-			try (PreparedStatement ps = db.getConnection()
+			try (Connection connection = db.getWriteConnection(); PreparedStatement ps = connection
 					.prepareStatement("REPLACE INTO beds VALUES ('" + testUUID + "',5)")) {
 				ps.execute();
 			}
@@ -225,7 +495,7 @@ class H2DatabaseManagerTest {
 		assertEquals(0, db.getMultipleAchievementAmount(testUUID, MultipleAchievements.CRAFTS, "diamond_axe"));
 
 		((SQLWriteOperation) () -> {
-			try (PreparedStatement ps = db.getConnection()
+			try (Connection connection = db.getWriteConnection(); PreparedStatement ps = connection
 					.prepareStatement("REPLACE INTO crafts VALUES ('" + testUUID + "','diamond_axe',7)")) {
 				ps.execute();
 			}
@@ -239,11 +509,53 @@ class H2DatabaseManagerTest {
 		assertEquals(1, db.getMultipleAchievementAmount(testUUID, MultipleAchievements.JOBSREBORN, "hunter"));
 	}
 
-	private void clearDatabase() {
+	@Test
+	void testGetPreloadedPlayerData() {
+		db.registerAchievement(testUUID, TEST_ACHIEVEMENT, System.currentTimeMillis());
+		requestsSender.sendBatchedRequests();
+		db.updateConnectionInformation(testUUID, 2);
+		((SQLWriteOperation) () -> {
+			try (Connection connection = db.getWriteConnection()) {
+				try (PreparedStatement ps = connection.prepareStatement("REPLACE INTO beds VALUES ('" + testUUID
+						+ "',5)")) {
+					ps.execute();
+				}
+				try (PreparedStatement ps = connection.prepareStatement("REPLACE INTO crafts VALUES ('" + testUUID
+						+ "','diamond_axe',7)")) {
+					ps.execute();
+				}
+			}
+		}).executeOperation(db.writeExecutor, LOGGER, "Writing beds and crafts statistics");
+
+		PreloadedPlayerData playerData = db.getPreloadedPlayerData(testUUID);
+		assertEquals(Collections.singletonMap(NormalAchievements.BEDS, 5L), playerData.getNormalStatistics());
+		assertEquals(Collections.singletonMap(MultipleAchievements.CRAFTS, Collections.singletonMap("diamond_axe", 7L)),
+				playerData.getMultipleStatistics());
+		assertEquals(Collections.singleton(TEST_ACHIEVEMENT), playerData.getAchievementNames());
+		assertEquals(2, playerData.getConnectionInformation().getCount());
+	}
+
+	private void insertInvalidation(long id, UUID player) {
+		String sql = "INSERT INTO invalidations (id, server, playername, date) VALUES (?,?,?,?)";
 		((SQLWriteOperation) () -> {
-			try (PreparedStatement ps = db.getConnection().prepareStatement("DELETE FROM achievements")) {
+			try (Connection connection = db.getWriteConnection();
+					PreparedStatement ps = connection.prepareStatement(sql)) {
+				ps.setLong(1, id);
+				ps.setString(2, "other-server");
+				ps.setString(3, player.toString());
+				ps.setLong(4, System.currentTimeMillis());
 				ps.execute();
 			}
+		}).executeOperation(db.writeExecutor, LOGGER, "Inserting cache invalidation");
+	}
+
+	private void clearDatabase() {
+		((SQLWriteOperation) () -> {
+			try (Connection connection = db.getWriteConnection(); Statement st = connection.createStatement()) {
+				st.execute("DELETE FROM achievements");
+				st.execute("DELETE FROM daily_achievements");
+				st.execute("DELETE FROM invalidations");
+			}
 		}).executeOperation(db.writeExecutor, LOGGER, "Clearing achievements table");
 	}
 }
@@ -0,0 +1,108 @@
+package com.hm.achievement.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardTest {
+
+	private static final UUID PLAYER_1 = UUID.randomUUID();
+	private static final UUID PLAYER_2 = UUID.randomUUID();
+	private static final UUID PLAYER_3 = UUID.randomUUID();
+
+	@Mock
+	private YamlConfiguration mainConfig;
+	@Mock
+	private AbstractDatabaseManager databaseManager;
+
+	private Leaderboard underTest;
+
+	@BeforeEach
+	void setUp() {
+		underTest = new Leaderboard(mainConfig, Logger.getLogger("LeaderboardTestLogger"), databaseManager);
+	}
+
+	@Test
+	void itShouldRankPlayersByDecreasingAchievementCount() {
+		load(5, 8, 5);
+
+		assertEquals(2, underTest.getRank(PLAYER_1));
+		assertEquals(1, underTest.getRank(PLAYER_2));
+		assertEquals(2, underTest.getRank(PLAYER_3));
+		assertEquals(0, underTest.getRank(UUID.randomUUID()));
+		assertEquals(3, underTest.getRankedPlayerCount());
+		Map<String, Integer> topList = underTest.getTopList(2);
+		assertEquals(Arrays.asList(8, 5), new ArrayList<>(topList.values()));
+		assertEquals(PLAYER_2.toString(), topList.keySet().iterator().next());
+	}
+
+	@Test
+	void itShouldUpdateRanksWhenAchievementsAreReceivedOrDeleted() {
+		load(5, 8, 5);
+
+		underTest.increment(PLAYER_1);
+		underTest.increment(PLAYER_1);
+		underTest.increment(PLAYER_1);
+		underTest.increment(PLAYER_1);
+		underTest.decrement(PLAYER_2);
+		underTest.remove(PLAYER_3);
+
+		assertEquals(1, underTest.getRank(PLAYER_1));
+		assertEquals(2, underTest.getRank(PLAYER_2));
+		assertEquals(0, underTest.getRank(PLAYER_3));
+		Map<UUID, Integer> expectedCounts = new HashMap<>();
+		expectedCounts.put(PLAYER_1, 9);
+		expectedCounts.put(PLAYER_2, 7);
+		assertEquals(expectedCounts, underTest.getAchievementCounts());
+	}
+
+	@Test
+	void itShouldRankPlayersWithMoreAchievementsThanInitialCapacity() {
+		load(1000, 127, 129);
+
+		underTest.increment(PLAYER_2);
+		underTest.increment(PLAYER_2);
+		underTest.increment(PLAYER_2);
+
+		assertEquals(1, underTest.getRank(PLAYER_1));
+		assertEquals(2, underTest.getRank(PLAYER_2));
+		assertEquals(3, underTest.getRank(PLAYER_3));
+	}
+
+	@Test
+	void itShouldNotLoadWithBungeeMode() {
+		when(mainConfig.getBoolean("BungeeMode")).thenReturn(true);
+
+		underTest.load();
+		underTest.increment(PLAYER_1);
+
+		assertFalse(underTest.isLoaded());
+		assertEquals(0, underTest.getRankedPlayerCount());
+		verifyNoInteractions(databaseManager);
+	}
+
+	private void load(int player1Count, int player2Count, int player3Count) {
+		Map<UUID, Integer> achievementCounts = new HashMap<>();
+		achievementCounts.put(PLAYER_1, player1Count);
+		achievementCounts.put(PLAYER_2, player2Count);
+		achievementCounts.put(PLAYER_3, player3Count);
+		when(databaseManager.getPlayersAchievementsAmount()).thenReturn(achievementCounts);
+		underTest.load();
+	}
+}
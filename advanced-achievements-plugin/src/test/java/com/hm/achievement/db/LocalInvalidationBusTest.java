@@ -0,0 +1,106 @@
+package com.hm.achievement.db;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.hm.achievement.AdvancedAchievements;
+import com.hm.achievement.category.MultipleAchievements;
+import com.hm.achievement.category.NormalAchievements;
+import com.hm.achievement.config.AchievementMap;
+
+@ExtendWith(MockitoExtension.class)
+class LocalInvalidationBusTest {
+
+	private static final Logger LOGGER = Logger.getLogger("LocalInvalidationBusTestLogger");
+	private static final UUID PLAYER = UUID.randomUUID();
+	private static final UUID OTHER_PLAYER = UUID.randomUUID();
+
+	@Mock
+	private YamlConfiguration mainConfig;
+	@Mock
+	private AdvancedAchievements advancedAchievements;
+	@Mock
+	private AbstractDatabaseManager databaseManager;
+
+	private CacheManager firstServerCache;
+	private LocalInvalidationBus firstServerBus;
+	private LocalInvalidationBus secondServerBus;
+
+	@BeforeEach
+	void setUp() {
+		firstServerCache = new CacheManager(mainConfig, LOGGER, advancedAchievements, new AchievementMap(),
+				databaseManager);
+		firstServerBus = new LocalInvalidationBus();
+		secondServerBus = new LocalInvalidationBus(firstServerBus);
+		firstServerBus.start(firstServerCache::invalidatePlayers);
+		secondServerBus.start(players -> {});
+	}
+
+	@Test
+	void itShouldDropTheCachedDataOfPlayersModifiedByAnotherServer() {
+		when(databaseManager.getPlayerAchievementNames(PLAYER)).thenReturn(new HashSet<>());
+		firstServerCache.getPlayerAchievements(PLAYER);
+		firstServerCache.getOrCreatePlayerStatistics(PLAYER).put(NormalAchievements.DEATHS,
+				new CachedStatistic(4L, true));
+		CachedStatistic otherPlayerStatistic = new CachedStatistic(2L, true);
+		int stone = firstServerCache.internSubcategoryId(MultipleAchievements.BREAKS, "stone");
+		firstServerCache.getOrCreatePlayerStatistics(OTHER_PLAYER).put(MultipleAchievements.BREAKS, stone,
+				otherPlayerStatistic);
+
+		secondServerBus.publish(Collections.singleton(PLAYER));
+
+		assertNull(firstServerCache.getPlayerStatistics(PLAYER));
+		assertSame(otherPlayerStatistic,
+				firstServerCache.getPlayerStatistics(OTHER_PLAYER).get(MultipleAchievements.BREAKS, stone));
+		firstServerCache.getPlayerAchievements(PLAYER);
+		verify(databaseManager, times(2)).getPlayerAchievementNames(PLAYER);
+	}
+
+	@Test
+	void itShouldKeepStatisticsNotYetWrittenUntilTheNextFlush() {
+		PlayerStatistics statistics = firstServerCache.getOrCreatePlayerStatistics(PLAYER);
+		statistics.put(NormalAchievements.DEATHS, new CachedStatistic(4L, true));
+		CachedStatistic dirtyStatistic = new CachedStatistic(4L, true);
+		dirtyStatistic.increment(1L);
+		int stone = firstServerCache.internSubcategoryId(MultipleAchievements.BREAKS, "stone");
+		statistics.put(MultipleAchievements.BREAKS, stone, dirtyStatistic);
+
+		secondServerBus.publish(Collections.singleton(PLAYER));
+
+		assertSame(statistics, firstServerCache.getPlayerStatistics(PLAYER));
+		assertNull(statistics.get(NormalAchievements.DEATHS));
+		assertSame(dirtyStatistic, statistics.get(MultipleAchievements.BREAKS, stone));
+		assertTrue(statistics.isInvalidated());
+	}
+
+	@Test
+	void itShouldNotDeliverNotificationsToThePublisherOrStoppedBuses() {
+		PlayerStatistics statistics = firstServerCache.getOrCreatePlayerStatistics(PLAYER);
+		CachedStatistic statistic = new CachedStatistic(4L, true);
+		statistics.put(NormalAchievements.DEATHS, statistic);
+
+		firstServerBus.publish(Collections.singleton(PLAYER));
+		firstServerBus.stop();
+		secondServerBus.publish(Collections.singleton(PLAYER));
+
+		assertSame(statistic, firstServerCache.getPlayerStatistics(PLAYER).get(NormalAchievements.DEATHS));
+		assertFalse(statistics.isInvalidated());
+	}
+}
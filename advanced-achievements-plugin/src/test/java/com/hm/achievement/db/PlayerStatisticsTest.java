@@ -0,0 +1,110 @@
+package com.hm.achievement.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.hm.achievement.category.MultipleAchievements;
+import com.hm.achievement.category.NormalAchievements;
+
+class PlayerStatisticsTest {
+
+	private static final int STONE = 0;
+	private static final int DIRT = 1;
+
+	private final PlayerStatistics underTest = new PlayerStatistics(UUID.randomUUID());
+
+	@Test
+	void itShouldStoreStatisticsOfBothKindsOfCategories() {
+		CachedStatistic deaths = new CachedStatistic(1L, true);
+		CachedStatistic stone = new CachedStatistic(2L, true);
+		CachedStatistic stoneKills = new CachedStatistic(3L, true);
+
+		underTest.put(NormalAchievements.DEATHS, deaths);
+		underTest.put(MultipleAchievements.BREAKS, STONE, stone);
+		underTest.put(MultipleAchievements.KILLS, STONE, stoneKills);
+
+		assertSame(deaths, underTest.get(NormalAchievements.DEATHS));
+		assertNull(underTest.get(NormalAchievements.BEDS));
+		assertSame(stone, underTest.get(MultipleAchievements.BREAKS, STONE));
+		assertSame(stoneKills, underTest.get(MultipleAchievements.KILLS, STONE));
+		assertNull(underTest.get(MultipleAchievements.PLACES, STONE));
+	}
+
+	@Test
+	void itShouldKeepAllStatisticsWhenTheTableGrows() {
+		for (int i = 0; i < 100; ++i) {
+			underTest.put(MultipleAchievements.BREAKS, i, new CachedStatistic(i, true));
+		}
+		CachedStatistic replacement = new CachedStatistic(1000L, true);
+		underTest.put(MultipleAchievements.BREAKS, 42, replacement);
+
+		Map<Integer, Long> values = new HashMap<>();
+		underTest.forEachMultipleStatistic((category, subcategoryId, statistic) -> values.put(subcategoryId,
+				statistic.getValue()));
+		assertEquals(100, values.size());
+		assertEquals(7L, values.get(7));
+		assertSame(replacement, underTest.get(MultipleAchievements.BREAKS, 42));
+	}
+
+	@Test
+	void itShouldOnlyAddMissingStatistics() {
+		CachedStatistic stone = new CachedStatistic(2L, true);
+		underTest.put(MultipleAchievements.BREAKS, STONE, stone);
+		Map<Integer, CachedStatistic> loadedStatistics = new HashMap<>();
+		loadedStatistics.put(STONE, new CachedStatistic(5L, true));
+		loadedStatistics.put(DIRT, new CachedStatistic(6L, true));
+
+		underTest.putAllIfAbsent(MultipleAchievements.BREAKS, loadedStatistics);
+
+		assertSame(stone, underTest.get(MultipleAchievements.BREAKS, STONE));
+		assertEquals(6L, underTest.get(MultipleAchievements.BREAKS, DIRT).getValue());
+	}
+
+	@Test
+	void itShouldOnlyRemoveTheExpectedStatistic() {
+		CachedStatistic stone = new CachedStatistic(2L, true);
+		underTest.put(MultipleAchievements.BREAKS, STONE, stone);
+
+		assertFalse(underTest.remove(MultipleAchievements.BREAKS, STONE, new CachedStatistic(2L, true)));
+		assertTrue(underTest.remove(MultipleAchievements.BREAKS, STONE, stone));
+		assertNull(underTest.get(MultipleAchievements.BREAKS, STONE));
+	}
+
+	@Test
+	void itShouldRemoveStatisticsWrittenToTheDatabase() {
+		CachedStatistic deaths = new CachedStatistic(1L, true);
+		CachedStatistic stone = new CachedStatistic(2L, true);
+		CachedStatistic dirt = new CachedStatistic(3L, true);
+		underTest.put(NormalAchievements.DEATHS, deaths);
+		underTest.put(MultipleAchievements.BREAKS, STONE, stone);
+		underTest.put(MultipleAchievements.BREAKS, DIRT, dirt);
+		dirt.increment(1L);
+
+		assertFalse(underTest.isDatabaseConsistent());
+		assertFalse(underTest.removeDatabaseConsistentStatistics());
+		assertNull(underTest.get(NormalAchievements.DEATHS));
+		assertNull(underTest.get(MultipleAchievements.BREAKS, STONE));
+		assertSame(dirt, underTest.get(MultipleAchievements.BREAKS, DIRT));
+
+		dirt.prepareDatabaseWrite();
+		assertTrue(underTest.isDatabaseConsistent());
+		assertTrue(underTest.removeDatabaseConsistentStatistics());
+	}
+
+	@Test
+	void itShouldOnlyReportTheFirstDirtyMark() {
+		assertTrue(underTest.markDirty());
+		assertFalse(underTest.markDirty());
+		underTest.clearDirty();
+		assertTrue(underTest.markDirty());
+	}
+}
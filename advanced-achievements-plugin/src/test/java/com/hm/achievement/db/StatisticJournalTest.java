@@ -0,0 +1,149 @@
+package com.hm.achievement.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.hm.achievement.AdvancedAchievements;
+import com.hm.achievement.category.MultipleAchievements;
+import com.hm.achievement.category.NormalAchievements;
+import com.hm.achievement.config.AchievementMap;
+
+@ExtendWith(MockitoExtension.class)
+class StatisticJournalTest {
+
+	private static final Logger LOGGER = Logger.getLogger("StatisticJournalTestLogger");
+	private static final UUID PLAYER = UUID.randomUUID();
+
+	@Mock
+	private YamlConfiguration mainConfig;
+	@Mock
+	private AdvancedAchievements advancedAchievements;
+	@Mock
+	private AbstractDatabaseManager databaseManager;
+
+	@TempDir
+	Path tempDir;
+
+	@BeforeEach
+	void setUp() {
+		when(advancedAchievements.getDataFolder()).thenReturn(tempDir.toFile());
+	}
+
+	@Test
+	void itShouldReplayJournaledStatisticsAsDirtyValues() {
+		when(mainConfig.getBoolean("StatisticJournal")).thenReturn(true);
+		CacheManager cacheManager = newCacheManager();
+		StatisticJournal underTest = new StatisticJournal(mainConfig, LOGGER, advancedAchievements, cacheManager);
+		underTest.open();
+		modifyStatistic(cacheManager, NormalAchievements.DEATHS, 3L);
+		modifyStatistic(cacheManager, NormalAchievements.DEATHS, 5L);
+		PlayerStatistics statistics = cacheManager.getOrCreatePlayerStatistics(PLAYER);
+		CachedStatistic statistic = new CachedStatistic(0L, true);
+		statistics.put(MultipleAchievements.BREAKS,
+				cacheManager.internSubcategoryId(MultipleAchievements.BREAKS, "stone"), statistic);
+		statistic.setValue(12L);
+		cacheManager.markDirty(statistics);
+		underTest.commit();
+
+		// Simulate a crash: the journal is not closed and the statistics never reach the database.
+		CacheManager restartedCacheManager = newCacheManager();
+		new StatisticJournal(mainConfig, LOGGER, advancedAchievements, restartedCacheManager).open();
+
+		PlayerStatistics replayedStatistics = restartedCacheManager.getPlayerStatistics(PLAYER);
+		CachedStatistic replayedDeaths = replayedStatistics.get(NormalAchievements.DEATHS);
+		assertEquals(5L, replayedDeaths.getValue());
+		assertFalse(replayedDeaths.isDatabaseConsistent());
+		assertTrue(restartedCacheManager.getDirtyPlayers().contains(replayedStatistics));
+		int stone = restartedCacheManager.getSubcategoryId(MultipleAchievements.BREAKS, "stone");
+		assertEquals(12L, replayedStatistics.get(MultipleAchievements.BREAKS, stone).getValue());
+	}
+
+	@Test
+	void itShouldNotReplayStatisticsCoveredByACommittedFlush() {
+		when(mainConfig.getBoolean("StatisticJournal")).thenReturn(true);
+		CacheManager cacheManager = newCacheManager();
+		StatisticJournal underTest = new StatisticJournal(mainConfig, LOGGER, advancedAchievements, cacheManager);
+		underTest.open();
+		modifyStatistic(cacheManager, NormalAchievements.DEATHS, 3L);
+		underTest.commit();
+		long sequence = underTest.rotate(() -> {});
+		modifyStatistic(cacheManager, NormalAchievements.BEDS, 7L);
+		underTest.commit();
+		underTest.truncate(sequence);
+
+		CacheManager restartedCacheManager = newCacheManager();
+		new StatisticJournal(mainConfig, LOGGER, advancedAchievements, restartedCacheManager).open();
+
+		PlayerStatistics replayedStatistics = restartedCacheManager.getPlayerStatistics(PLAYER);
+		assertNull(replayedStatistics.get(NormalAchievements.DEATHS));
+		assertEquals(7L, replayedStatistics.get(NormalAchievements.BEDS).getValue());
+	}
+
+	@Test
+	void itShouldReplayIncrementsAsDeltas() {
+		when(mainConfig.getBoolean("StatisticJournal")).thenReturn(true);
+		CacheManager cacheManager = newCacheManager();
+		StatisticJournal underTest = new StatisticJournal(mainConfig, LOGGER, advancedAchievements, cacheManager);
+		underTest.open();
+		PlayerStatistics statistics = cacheManager.getOrCreatePlayerStatistics(PLAYER);
+		CachedStatistic statistic = new CachedStatistic(10L, true);
+		statistics.put(NormalAchievements.DEATHS, statistic);
+		statistic.increment(4L);
+		cacheManager.markDirty(statistics);
+		underTest.commit();
+
+		CacheManager restartedCacheManager = newCacheManager();
+		new StatisticJournal(mainConfig, LOGGER, advancedAchievements, restartedCacheManager).open();
+
+		CachedStatistic replayedDeaths = restartedCacheManager.getPlayerStatistics(PLAYER)
+				.get(NormalAchievements.DEATHS);
+		Map<String, Long> absoluteValues = new HashMap<>();
+		Map<String, Long> deltaValues = new HashMap<>();
+		replayedDeaths.prepareDatabaseDeltaWrite("deaths", absoluteValues, deltaValues);
+		assertEquals(14L, replayedDeaths.getValue());
+		assertTrue(absoluteValues.isEmpty());
+		assertEquals(Collections.singletonMap("deaths", 4L), deltaValues);
+	}
+
+	@Test
+	void itShouldNotJournalWhenDisabled() {
+		CacheManager cacheManager = newCacheManager();
+		StatisticJournal underTest = new StatisticJournal(mainConfig, LOGGER, advancedAchievements, cacheManager);
+		underTest.open();
+		modifyStatistic(cacheManager, NormalAchievements.DEATHS, 3L);
+		underTest.commit();
+
+		assertFalse(new File(tempDir.toFile(), "journal").exists());
+	}
+
+	private CacheManager newCacheManager() {
+		return new CacheManager(mainConfig, LOGGER, advancedAchievements, new AchievementMap(), databaseManager);
+	}
+
+	private void modifyStatistic(CacheManager cacheManager, NormalAchievements category, long value) {
+		PlayerStatistics statistics = cacheManager.getOrCreatePlayerStatistics(PLAYER);
+		CachedStatistic statistic = statistics.computeIfAbsent(category, () -> new CachedStatistic(0L, true));
+		if (statistic.setValue(value)) {
+			cacheManager.markDirty(statistics);
+		}
+	}
+}
@@ -0,0 +1,114 @@
+package com.hm.achievement.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.hm.achievement.AdvancedAchievements;
+import com.hm.achievement.category.MultipleAchievements;
+import com.hm.achievement.config.AchievementMap;
+import com.hm.achievement.domain.Achievement.AchievementBuilder;
+
+/**
+ * Compares the memory allocated per multiple category increment by CacheManager with the former approach, which
+ * allocated a SubcategoryUUID key for every lookup in a map per category. Relies on the thread allocation counters of
+ * HotSpot JVMs. Disabled by default, run with:
+ * {@code mvn test -Dbenchmark=true -Dtest=SubcategoryLookupBenchmarkTest}
+ */
+@ExtendWith(MockitoExtension.class)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SubcategoryLookupBenchmarkTest {
+
+	private static final Logger LOGGER = Logger.getLogger("SubcategoryLookupBenchmarkLogger");
+	private static final MultipleAchievements CATEGORY = MultipleAchievements.BREAKS;
+	private static final int PLAYERS = 100;
+	private static final int SUBCATEGORIES = 400;
+	private static final int EVENTS = 1_000_000;
+
+	@Mock
+	private YamlConfiguration mainConfig;
+	@Mock
+	private AdvancedAchievements advancedAchievements;
+	@Mock
+	private AbstractDatabaseManager databaseManager;
+
+	private final List<UUID> players = new ArrayList<>();
+	private final List<String> subcategories = new ArrayList<>();
+	private final Map<SubcategoryUUID, CachedStatistic> formerCache = new ConcurrentHashMap<>();
+	private CacheManager cacheManager;
+
+	@BeforeEach
+	void setUp() {
+		AchievementMap achievementMap = new AchievementMap();
+		for (int i = 0; i < SUBCATEGORIES; ++i) {
+			String subcategory = "block_" + i;
+			subcategories.add(subcategory);
+			achievementMap.put(new AchievementBuilder().name("ach" + i).displayName("Display " + i).category(CATEGORY)
+					.subcategory(subcategory).build());
+		}
+		cacheManager = new CacheManager(mainConfig, LOGGER, advancedAchievements, achievementMap, databaseManager);
+		for (int i = 0; i < PLAYERS; ++i) {
+			UUID player = UUID.randomUUID();
+			players.add(player);
+			PlayerStatistics statistics = cacheManager.getOrCreatePlayerStatistics(player);
+			for (String subcategory : subcategories) {
+				statistics.put(CATEGORY, cacheManager.getSubcategoryId(CATEGORY, subcategory),
+						new CachedStatistic(0L, true));
+				formerCache.put(new SubcategoryUUID(subcategory, player), new CachedStatistic(0L, true));
+			}
+		}
+	}
+
+	@Test
+	void compareAllocationsPerEvent() {
+		// Warm up both code paths before measuring, so that they are compiled.
+		incrementWithSubcategoryUUIDs();
+		incrementWithSubcategoryIds();
+
+		double formerBytes = incrementWithSubcategoryUUIDs();
+		double internedBytes = incrementWithSubcategoryIds();
+		LOGGER.info(String.format("Bytes allocated per event: SubcategoryUUID keys %.1f, interned identifiers %.1f",
+				formerBytes, internedBytes));
+
+		String subcategory = subcategories.get(0);
+		assertEquals(formerCache.get(new SubcategoryUUID(subcategory, players.get(0))).getValue(),
+				cacheManager.getAndIncrementStatisticAmount(CATEGORY, subcategory, players.get(0), 0));
+	}
+
+	private double incrementWithSubcategoryUUIDs() {
+		long start = getAllocatedBytes();
+		for (int i = 0; i < EVENTS; ++i) {
+			formerCache.get(new SubcategoryUUID(subcategories.get(i % SUBCATEGORIES), players.get(i % PLAYERS)))
+					.increment(1L);
+		}
+		return (double) (getAllocatedBytes() - start) / EVENTS;
+	}
+
+	private double incrementWithSubcategoryIds() {
+		long start = getAllocatedBytes();
+		for (int i = 0; i < EVENTS; ++i) {
+			cacheManager.getAndIncrementStatisticAmount(CATEGORY, subcategories.get(i % SUBCATEGORIES),
+					players.get(i % PLAYERS), 1);
+		}
+		return (double) (getAllocatedBytes() - start) / EVENTS;
+	}
+
+	private long getAllocatedBytes() {
+		return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+				.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+}
@@ -0,0 +1,150 @@
+package com.hm.achievement.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.hm.achievement.db.WriteExecutor.OverflowPolicy;
+
+class WriteExecutorTest {
+
+	private final List<String> executedWrites = new CopyOnWriteArrayList<>();
+	private final CountDownLatch workerBlocker = new CountDownLatch(1);
+
+	private WriteExecutor underTest;
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		workerBlocker.countDown();
+		underTest.shutdown();
+		underTest.awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void itShouldSpillWritesThatDoNotFitInTheQueue() throws InterruptedException {
+		underTest = new WriteExecutor(Logger.getLogger("WriteExecutorTestLogger"), 1, 2, 10, OverflowPolicy.SPILL);
+		blockWorker();
+		for (int i = 0; i < 5; ++i) {
+			underTest.execute(write("write" + i));
+		}
+
+		assertEquals(5, underTest.getQueueDepth());
+		assertEquals(3, underTest.getSpilledTaskCount());
+
+		workerBlocker.countDown();
+		underTest.shutdown();
+		assertTrue(underTest.awaitTermination(5, TimeUnit.SECONDS));
+		assertEquals(Arrays.asList("write0", "write1", "write2", "write3", "write4"), executedWrites);
+	}
+
+	@Test
+	void itShouldQueueWritesBehindSpilledOnesOnceSpaceIsFreed() throws InterruptedException {
+		underTest = new WriteExecutor(Logger.getLogger("WriteExecutorTestLogger"), 1, 2, 10, OverflowPolicy.SPILL);
+		CountDownLatch secondBlocker = new CountDownLatch(1);
+		CountDownLatch secondStarted = new CountDownLatch(1);
+		blockWorker();
+		underTest.execute(() -> {
+			secondStarted.countDown();
+			try {
+				secondBlocker.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		underTest.execute(write("write0"));
+		underTest.execute(write("write1"));
+		// The worker takes the second blocking task, freeing up space in the queue whilst write1 is still spilled.
+		workerBlocker.countDown();
+		secondStarted.await();
+		underTest.execute(write("write2"));
+
+		secondBlocker.countDown();
+		underTest.shutdown();
+		assertTrue(underTest.awaitTermination(5, TimeUnit.SECONDS));
+		assertEquals(Arrays.asList("write0", "write1", "write2"), executedWrites);
+	}
+
+	@Test
+	void itShouldRejectWritesThatDoNotFitInTheOverflowList() throws InterruptedException {
+		underTest = new WriteExecutor(Logger.getLogger("WriteExecutorTestLogger"), 1, 2, 1, OverflowPolicy.SPILL);
+		blockWorker();
+		for (int i = 0; i < 3; ++i) {
+			underTest.execute(write("write" + i));
+		}
+
+		assertThrows(RejectedExecutionException.class, () -> underTest.execute(write("write3")));
+		assertEquals(1, underTest.getRejectedTaskCount());
+		assertEquals(3, underTest.getQueueDepth());
+
+		workerBlocker.countDown();
+		underTest.shutdown();
+		assertTrue(underTest.awaitTermination(5, TimeUnit.SECONDS));
+		assertEquals(Arrays.asList("write0", "write1", "write2"), executedWrites);
+	}
+
+	@Test
+	void itShouldSkipWritesSupersededByLaterOnesWithTheSameKey() throws InterruptedException {
+		underTest = new WriteExecutor(Logger.getLogger("WriteExecutorTestLogger"), 1, 2, 10, OverflowPolicy.COALESCE);
+		blockWorker();
+		underTest.execute("key", write("register"));
+		underTest.execute(write("delete all"));
+		underTest.execute("key", write("register again"));
+		underTest.execute("other", write("other"));
+
+		assertEquals(1, underTest.getCoalescedTaskCount());
+
+		workerBlocker.countDown();
+		underTest.shutdown();
+		assertTrue(underTest.awaitTermination(5, TimeUnit.SECONDS));
+		assertEquals(Arrays.asList("delete all", "register again", "other"), executedWrites);
+	}
+
+	@Test
+	void itShouldNotCoalesceWritesWithTheSpillPolicy() throws InterruptedException {
+		underTest = new WriteExecutor(Logger.getLogger("WriteExecutorTestLogger"), 1, 2, 10, OverflowPolicy.SPILL);
+		blockWorker();
+		underTest.execute("key", write("register"));
+		underTest.execute("key", write("register again"));
+
+		workerBlocker.countDown();
+		underTest.shutdown();
+		assertTrue(underTest.awaitTermination(5, TimeUnit.SECONDS));
+		assertEquals(Arrays.asList("register", "register again"), executedWrites);
+	}
+
+	@Test
+	void itShouldRejectWritesOnceShutDown() {
+		underTest = new WriteExecutor(Logger.getLogger("WriteExecutorTestLogger"), 1, 2, 10, OverflowPolicy.SPILL);
+		underTest.shutdown();
+
+		assertThrows(RejectedExecutionException.class, () -> underTest.execute(write("write")));
+	}
+
+	private void blockWorker() throws InterruptedException {
+		CountDownLatch workerStarted = new CountDownLatch(1);
+		underTest.execute(() -> {
+			workerStarted.countDown();
+			try {
+				workerBlocker.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		workerStarted.await();
+	}
+
+	private Runnable write(String name) {
+		return () -> executedWrites.add(name);
+	}
+}
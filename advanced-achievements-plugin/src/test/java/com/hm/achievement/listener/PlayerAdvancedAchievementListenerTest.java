@@ -30,6 +30,7 @@ import com.hm.achievement.config.AchievementMap;
 import com.hm.achievement.config.RewardParser;
 import com.hm.achievement.db.AbstractDatabaseManager;
 import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.db.Leaderboard;
 import com.hm.achievement.domain.Achievement;
 import com.hm.achievement.domain.Achievement.AchievementBuilder;
 import com.hm.achievement.domain.Reward;
@@ -70,9 +71,11 @@ class PlayerAdvancedAchievementListenerTest {
 				.loadConfiguration(new InputStreamReader(getClass().getResourceAsStream("/config-reward-reception.yml")));
 		YamlConfiguration langConfig = YamlConfiguration
 				.loadConfiguration(new InputStreamReader(getClass().getResourceAsStream("/lang.yml")));
+		CacheManager cacheManager = new CacheManager(mainConfig, mock(Logger.class), plugin, achievementMap,
+				abstractDatabaseManager);
 		underTest = new PlayerAdvancedAchievementListener(mainConfig, langConfig, 11, mock(Logger.class),
-				new StringBuilder(PLUGIN_HEADER), new CacheManager(plugin, abstractDatabaseManager), plugin, rewardParser,
-				achievementMap, abstractDatabaseManager, null, null, null);
+				new StringBuilder(PLUGIN_HEADER), cacheManager, plugin, rewardParser, achievementMap,
+				abstractDatabaseManager, mock(Leaderboard.class), null, null, null);
 		underTest.extractConfigurationParameters();
 		when(player.getUniqueId()).thenReturn(PLAYER_UUID);
 		when(player.getName()).thenReturn("DarkPyves");
@@ -0,0 +1,82 @@
+package com.hm.achievement.listener.statistics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.hm.achievement.category.MultipleAchievements;
+import com.hm.achievement.config.AchievementMap;
+import com.hm.achievement.db.CacheManager;
+import com.hm.achievement.domain.Achievement.AchievementBuilder;
+import com.hm.achievement.utils.PermissionCache;
+
+@ExtendWith(MockitoExtension.class)
+class AbstractListenerTest {
+
+	@Mock
+	private YamlConfiguration mainConfig;
+	@Mock
+	private CacheManager cacheManager;
+
+	private KillsListener underTest;
+
+	@BeforeEach
+	void setUp() {
+		AchievementMap achievementMap = new AchievementMap();
+		int i = 0;
+		for (String subcategory : Arrays.asList("zombie", "zombie|pig_zombie", "skeleton", "Nice Pet|Bob", "sheep:14")) {
+			achievementMap.put(new AchievementBuilder().name("ach" + i).displayName("Display " + i++)
+					.category(MultipleAchievements.KILLS).subcategory(subcategory).build());
+		}
+		underTest = new KillsListener(mainConfig, 16, achievementMap, cacheManager, new PermissionCache(mainConfig));
+		underTest.extractConfigurationParameters();
+	}
+
+	@Test
+	void shouldMatchSingleAndGroupedSubcategories() {
+		assertEquals(new HashSet<>(Arrays.asList("zombie", "zombie|pig_zombie")),
+				underTest.getMatchingSubcategories("zombie"));
+		assertEquals(Collections.singleton("zombie|pig_zombie"), underTest.getMatchingSubcategories("pig_zombie"));
+		assertEquals(Collections.singleton("Nice Pet|Bob"), underTest.getMatchingSubcategories("Nice Pet"));
+		assertTrue(underTest.getMatchingSubcategories("pig").isEmpty());
+	}
+
+	@Test
+	void shouldReturnTheSameSetForEveryEvent() {
+		assertSame(underTest.getMatchingSubcategories("skeleton"), underTest.getMatchingSubcategories("skeleton"));
+	}
+
+	@Test
+	void shouldMatchIdentifiersSpanningSeveralElementsOfAGroup() {
+		assertEquals(Collections.singleton("zombie|pig_zombie"),
+				underTest.getMatchingSubcategories("zombie|pig_zombie"));
+	}
+
+	@Test
+	void shouldPrecomputeTypeSubcategories() {
+		AbstractListener.TypeSubcategories zombie = underTest.buildTypeSubcategories("zombie");
+		AbstractListener.TypeSubcategories sheep = underTest.buildTypeSubcategories("sheep");
+
+		assertEquals("achievement.count.kills.zombie", zombie.getPermissionNode());
+		assertSame(underTest.getMatchingSubcategories("zombie"), zombie.getSubcategories());
+		assertFalse(zombie.hasDataValues());
+		assertTrue(sheep.getSubcategories().isEmpty());
+		assertTrue(sheep.hasDataValues());
+		assertEquals(Collections.singleton("sheep:14"), underTest.getMatchingSubcategories(sheep, 14));
+		assertNull(underTest.buildTypeSubcategories("cow"));
+	}
+
+}
@@ -0,0 +1,99 @@
+package com.hm.achievement.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PermissionCacheTest {
+
+	private static final String PERMISSION = "achievement.count.breaks.stone";
+
+	@Mock
+	private YamlConfiguration mainConfig;
+	@Mock
+	private Player player;
+
+	private PermissionCache underTest;
+
+	@BeforeEach
+	void setUp() {
+		underTest = new PermissionCache(mainConfig);
+	}
+
+	@Test
+	void itShouldResolveEachPermissionOnceUntilCleared() {
+		when(mainConfig.getInt("PermissionCacheDuration", 0)).thenReturn(1200);
+		when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+		when(player.hasPermission(PERMISSION)).thenReturn(true);
+		underTest.extractConfigurationParameters();
+		int nodeId = underTest.getNodeId(PERMISSION);
+
+		assertTrue(underTest.hasPermission(player, nodeId));
+		assertTrue(underTest.hasPermission(player, nodeId));
+		assertFalse(underTest.isNPC(player));
+		assertFalse(underTest.isNPC(player));
+		verify(player).hasPermission(PERMISSION);
+		verify(player).hasMetadata("NPC");
+		assertEquals(2, underTest.getHitCount());
+		assertEquals(2, underTest.getMissCount());
+
+		underTest.clear();
+		assertTrue(underTest.hasPermission(player, nodeId));
+		verify(player, times(2)).hasPermission(PERMISSION);
+	}
+
+	@Test
+	void itShouldDropTheDecisionsOfPlayersChangingWorld() {
+		when(mainConfig.getInt("PermissionCacheDuration", 0)).thenReturn(1200);
+		when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+		when(player.hasPermission(PERMISSION)).thenReturn(true, false);
+		underTest.extractConfigurationParameters();
+		int nodeId = underTest.getNodeId(PERMISSION);
+		PlayerChangedWorldEvent event = mock(PlayerChangedWorldEvent.class);
+		when(event.getPlayer()).thenReturn(player);
+
+		assertTrue(underTest.hasPermission(player, nodeId));
+		underTest.onWorldChanged(event);
+
+		assertFalse(underTest.hasPermission(player, nodeId));
+	}
+
+	@Test
+	void itShouldAssignStableIdentifiersToPermissionNodes() {
+		int nodeId = underTest.getNodeId(PERMISSION);
+
+		assertEquals(nodeId, underTest.getNodeId(PERMISSION));
+		assertEquals(underTest.getNodeId("achievement.stone_1"), underTest.getAchievementNodeId("stone_1"));
+		assertNotEquals(nodeId, underTest.getAchievementNodeId("stone_1"));
+	}
+
+	@Test
+	void itShouldNotCacheDecisionsIfDisabled() {
+		when(mainConfig.getInt("PermissionCacheDuration", 0)).thenReturn(0);
+		underTest.extractConfigurationParameters();
+		int nodeId = underTest.getNodeId(PERMISSION);
+
+		underTest.hasPermission(player, nodeId);
+		underTest.hasPermission(player, nodeId);
+
+		verify(player, times(2)).hasPermission(PERMISSION);
+		assertEquals(0, underTest.getHitCount() + underTest.getMissCount());
+	}
+}
@@ -0,0 +1,105 @@
+package com.hm.achievement.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.UUID;
+import java.util.function.LongConsumer;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.hm.achievement.category.MultipleAchievements;
+import com.hm.achievement.category.NormalAchievements;
+import com.hm.achievement.db.CacheManager;
+
+@ExtendWith(MockitoExtension.class)
+class StatisticIncrementCoalescerTest {
+
+	private static final UUID PLAYER_UUID = UUID.randomUUID();
+
+	@Mock
+	private YamlConfiguration mainConfig;
+	@Mock
+	private CacheManager cacheManager;
+	@Mock
+	private StatisticIncreaseHandler statisticIncreaseHandler;
+	@Mock
+	private Player player;
+
+	private StatisticIncrementCoalescer underTest;
+
+	@BeforeEach
+	void setUp() {
+		underTest = new StatisticIncrementCoalescer(mainConfig, cacheManager, statisticIncreaseHandler);
+	}
+
+	@Test
+	void itShouldApplyEachAccumulatedDeltaOnce() {
+		when(player.getUniqueId()).thenReturn(PLAYER_UUID);
+		underTest.add(player, NormalAchievements.PICKUPS, 1);
+		underTest.add(player, NormalAchievements.PICKUPS, 2);
+		underTest.add(player, MultipleAchievements.BREAKS, Collections.singleton("stone"), 1);
+		underTest.add(player, MultipleAchievements.BREAKS, new HashSet<>(Arrays.asList("stone", "stone|dirt")), 1);
+
+		underTest.run();
+
+		verify(cacheManager).incrementStatisticAmount(eq(NormalAchievements.PICKUPS), eq(PLAYER_UUID), eq(3), any());
+		verify(cacheManager).incrementStatisticAmount(eq(MultipleAchievements.BREAKS), eq("stone"), eq(PLAYER_UUID),
+				eq(2), any());
+		verify(cacheManager).incrementStatisticAmount(eq(MultipleAchievements.BREAKS), eq("stone|dirt"),
+				eq(PLAYER_UUID), eq(1), any());
+		assertEquals(4, underTest.getTotalEvents());
+		assertEquals(3, underTest.getTotalIncrements());
+		assertEquals(4.0 / 3, underTest.getLastTickRatio(), 0.001);
+	}
+
+	@Test
+	void itShouldEvaluateThresholdsAgainstTheFinalValue() {
+		when(player.getUniqueId()).thenReturn(PLAYER_UUID);
+		underTest.add(player, NormalAchievements.ARROWS, 1);
+		underTest.add(player, NormalAchievements.ARROWS, 1);
+
+		underTest.run();
+
+		ArgumentCaptor<LongConsumer> valueConsumer = ArgumentCaptor.forClass(LongConsumer.class);
+		verify(cacheManager).incrementStatisticAmount(eq(NormalAchievements.ARROWS), eq(PLAYER_UUID), eq(2),
+				valueConsumer.capture());
+		valueConsumer.getValue().accept(42L);
+		verify(statisticIncreaseHandler).checkThresholdsAndAchievements(player, NormalAchievements.ARROWS, 42L);
+		verifyNoMoreInteractions(statisticIncreaseHandler);
+	}
+
+	@Test
+	void itShouldNotApplyDeltasTwice() {
+		when(player.getUniqueId()).thenReturn(PLAYER_UUID);
+		underTest.add(player, NormalAchievements.PICKUPS, 1);
+		underTest.run();
+		underTest.run();
+
+		verify(cacheManager).incrementStatisticAmount(eq(NormalAchievements.PICKUPS), eq(PLAYER_UUID), eq(1), any());
+		assertEquals(1, underTest.getTotalIncrements());
+	}
+
+	@Test
+	void itShouldDoNothingWithoutPendingDeltas() {
+		underTest.run();
+
+		verifyNoInteractions(cacheManager);
+		assertEquals(0.0, underTest.getLastTickRatio());
+	}
+}
@@ -62,4 +62,18 @@ class StringHelperTest {
 		assertEquals("Player Pyves is in the Nether at position 1 5 8", result);
 	}
 
+	@Test
+	void shouldReplacePlayerPlaceholdersWithSnapshottedValues() {
+		when(player.getName()).thenReturn("Pyves");
+		when(player.getLocation()).thenReturn(new Location(world, 1, 5, 8));
+		when(player.getWorld()).thenReturn(world);
+		when(world.getName()).thenReturn("Nether");
+
+		String[] playerPlaceholderValues = StringHelper.getPlayerPlaceholderValues(player);
+		String result = StringHelper.replacePlayerPlaceholders("PLAYER_WORLD PLAYER_X PLAYER_Y PLAYER_Z PLAYER",
+				playerPlaceholderValues);
+
+		assertEquals("Nether 1 5 8 Pyves", result);
+	}
+
 }